@@ -0,0 +1,52 @@
+package com.savdev.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Runs the benchmarks once per thread count and writes the results of every run into a JSON file:
+ *  `<jmh.results>/results-threads-<N>.json`
+ *
+ * JSON results of two runs (before and after a change) can be compared,
+ *  for instance with https://jmh.morethan.io, so regressions are visible.
+ *
+ * System properties:
+ *  - `jmh.threads` - comma separated thread counts, `1,4` by default
+ *  - `jmh.results` - directory for the JSON results, `target/jmh-results` by default
+ *
+ * All the arguments are the usual JMH command line options, for instance:
+ *  `java -Djmh.threads=1,8 -jar target/benchmarks.jar StreamsConcatenation -p elementsPerStream=32`
+ */
+public final class BenchmarksRunner {
+
+  private BenchmarksRunner() {}
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+    int[] threads = Arrays.stream(System.getProperty("jmh.threads", "1,4").split(","))
+      .map(String::trim)
+      .mapToInt(Integer::parseInt)
+      .toArray();
+    Path results = Path.of(System.getProperty("jmh.results", "target/jmh-results"));
+    Files.createDirectories(results);
+
+    var commandLine = new CommandLineOptions(args);
+    for (int t : threads) {
+      var options = new OptionsBuilder()
+        .parent(commandLine)
+        .threads(t)
+        .resultFormat(ResultFormatType.JSON)
+        .result(results.resolve("results-threads-" + t + ".json").toString())
+        .build();
+      new Runner(options).run();
+    }
+  }
+}
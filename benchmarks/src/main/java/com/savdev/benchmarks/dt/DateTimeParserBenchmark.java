@@ -0,0 +1,97 @@
+package com.savdev.benchmarks.dt;
+
+import com.savdev.dt.parse.FixedDateTimeParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timestamps of a feed into epoch millis: `DateTimeFormatter` per value
+ *  vs a compiled `FixedDateTimeParser` from the same strings and from the bytes of a line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeParserBenchmark {
+
+  private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+  @Param({"dd.MM.yyyy HH:mm", "dd.MM.yyyy'T'HH:mm:ss.SSSZ"})
+  public String pattern;
+
+  @Param({"10000"})
+  public int values;
+
+  private String[] texts;
+  private byte[] bytes;
+  private long[] epochMillis;
+  private DateTimeFormatter formatter;
+  private FixedDateTimeParser parser;
+  private boolean zoned;
+
+  @Setup
+  public void setUp() {
+    formatter = DateTimeFormatter.ofPattern(pattern).withZone(BERLIN);
+    parser = FixedDateTimeParser.compile(pattern).withZone(BERLIN);
+    zoned = pattern.endsWith("Z");
+    var random = new Random(42);
+    var time = LocalDateTime.of(2024, 1, 1, 0, 0);
+    texts = new String[values];
+    var line = new StringBuilder();
+    for (int i = 0; i < values; i++) {
+      //a feed is ordered by time, mostly
+      time = time.plusSeconds(random.nextInt(600)).plusNanos(random.nextInt(1000) * 1_000_000L);
+      texts[i] = formatter.format(time.atZone(ZoneOffset.ofHours(random.nextInt(-5, 6))));
+      line.append(texts[i]);
+    }
+    bytes = line.toString().getBytes(StandardCharsets.US_ASCII);
+    epochMillis = new long[values];
+  }
+
+  @Benchmark
+  public long[] formatter_perValue() {
+    for (int i = 0; i < values; i++) {
+      epochMillis[i] = zoned
+        ? ZonedDateTime.parse(texts[i], formatter).toInstant().toEpochMilli()
+        : LocalDateTime.parse(texts[i], formatter).atZone(BERLIN).toInstant().toEpochMilli();
+    }
+    return epochMillis;
+  }
+
+  @Benchmark
+  public long[] parser_strings() {
+    for (int i = 0; i < values; i++) {
+      parser.parse(texts[i], 0, texts[i].length(), epochMillis, i);
+    }
+    return epochMillis;
+  }
+
+  @Benchmark
+  public long[] parser_bytes() {
+    int length = parser.length();
+    for (int i = 0, from = 0; i < values; i++, from += length) {
+      parser.parse(bytes, from, from + length, epochMillis, i);
+    }
+    return epochMillis;
+  }
+}
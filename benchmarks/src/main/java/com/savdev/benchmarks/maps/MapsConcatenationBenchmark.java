@@ -0,0 +1,102 @@
+package com.savdev.benchmarks.maps;
+
+import com.savdev.maps.SortedMapsMerge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.summingLong;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Strategies of `MapsConcatenationTest` and `SortedMapsMergeTest`:
+ *  3 maps of `size` entries each, every 10th key is present in all the maps and must be merged.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapsConcatenationBenchmark {
+
+  @Param({"100", "10000", "100000"})
+  public int size;
+
+  private List<HashMap<String, Long>> maps;
+  private List<TreeMap<String, Long>> sortedMaps;
+
+  @Setup
+  public void setUp() {
+    maps = IntStream.range(0, 3)
+      .mapToObj(m -> IntStream.range(0, size)
+        .mapToObj(i -> i % 10 == 0 ? "key" + i : "key" + m + "-" + i)
+        .collect(toMap(k -> k, k -> 1L, Long::sum, HashMap::new)))
+      .toList();
+    sortedMaps = maps.stream()
+      .map(TreeMap::new)
+      .toList();
+  }
+
+  @Benchmark
+  public Map<String, Long> flatMap_toMap() {
+    return maps.stream()
+      .flatMap(map -> map.entrySet().stream())
+      .collect(toMap(Map.Entry::getKey, Map.Entry::getValue, Long::sum));
+  }
+
+  @Benchmark
+  public Map<String, Long> flatMap_collect_hashMap() {
+    return maps.stream()
+      .flatMap(map -> map.entrySet().stream())
+      .collect(
+        HashMap::new,
+        (m, e) -> m.merge(e.getKey(), e.getValue(), Long::sum),
+        (m1, m2) -> m2.forEach((k, v) -> m1.merge(k, v, Long::sum)));
+  }
+
+  @Benchmark
+  public Map<String, Long> flatMap_groupingBy() {
+    return maps.stream()
+      .flatMap(map -> map.entrySet().stream())
+      .collect(groupingBy(Map.Entry::getKey, summingLong(Map.Entry::getValue)));
+  }
+
+  @Benchmark
+  public Map<String, Long> loop_merge() {
+    var result = new HashMap<String, Long>();
+    for (Map<String, Long> map : maps) {
+      map.forEach((k, v) -> result.merge(k, v, Long::sum));
+    }
+    return result;
+  }
+
+  @Benchmark
+  public Map<String, Long> sorted_flatMap_toTreeMap() {
+    return sortedMaps.stream()
+      .flatMap(map -> map.entrySet().stream())
+      .collect(toMap(Map.Entry::getKey, Map.Entry::getValue, Long::sum, TreeMap::new));
+  }
+
+  @Benchmark
+  public NavigableMap<String, Long> sorted_kWayMerge() {
+    return SortedMapsMerge.toNavigableMap(sortedMaps, Long::sum);
+  }
+}
@@ -0,0 +1,74 @@
+package com.savdev.benchmarks.numeric;
+
+import com.savdev.data.types.numeric.allocate.Allocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pro-rata distribution of a total by weights: `BigDecimal.divide` per share, which does not sum up to the total,
+ *  vs the exact largest remainder `Allocation`, sequential and parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllocationBenchmark {
+
+  private static final long TOTAL = 987_654_321_00L;
+
+  @Param({"100000", "3000000"})
+  public int size;
+
+  private long[] weights;
+  private long[] shares;
+  private BigDecimal[] bigDecimalShares;
+
+  @Setup
+  public void setUp() {
+    weights = new Random(42).longs(size, 0, 1_000_000).toArray();
+    shares = new long[size];
+    bigDecimalShares = new BigDecimal[size];
+  }
+
+  @Benchmark
+  public BigDecimal[] bigDecimal_dividePerShare() {
+    var total = BigDecimal.valueOf(TOTAL, 2);
+    long sum = 0;
+    for (long weight : weights) {
+      sum += weight;
+    }
+    var weightSum = BigDecimal.valueOf(sum);
+    for (int i = 0; i < size; i++) {
+      bigDecimalShares[i] = total.multiply(BigDecimal.valueOf(weights[i])).divide(weightSum, 2, RoundingMode.HALF_EVEN);
+    }
+    return bigDecimalShares;
+  }
+
+  @Benchmark
+  public long[] allocation() {
+    Allocation.allocate(TOTAL, weights, shares);
+    return shares;
+  }
+
+  @Benchmark
+  public long[] allocation_parallel() {
+    Allocation.allocateParallel(TOTAL, weights, shares);
+    return shares;
+  }
+}
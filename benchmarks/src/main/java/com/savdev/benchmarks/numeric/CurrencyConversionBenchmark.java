@@ -0,0 +1,90 @@
+package com.savdev.benchmarks.numeric;
+
+import com.savdev.data.types.numeric.fx.BatchConverter;
+import com.savdev.data.types.numeric.fx.RateTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ledger lines in 4 currencies converted into EUR with `divide(rate, 4, HALF_UP)`:
+ *  a `BigDecimal` per line vs `BatchConverter` on one thread and on the fork/join pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyConversionBenchmark {
+
+  @Param({"100000", "10000000"})
+  public int lines;
+
+  private long[] amounts;
+  private int[] currencies;
+  private long[] converted;
+  private BigDecimal[] bigDecimalAmounts;
+  private BigDecimal[] bigDecimalRates;
+  private BatchConverter converter;
+
+  @Setup
+  public void setUp() {
+    var rates = RateTable.builder("EUR")
+      .rate("USD", "1.0915")
+      .rate("GBP", "0.8563")
+      .rate("CHF", "0.9387")
+      .rate("NOK", new BigDecimal("11.7342"), 1)
+      .build();
+    converter = BatchConverter.of(rates, 2, 4, RoundingMode.HALF_UP);
+    bigDecimalRates = new BigDecimal[rates.size()];
+    for (int i = 0; i < rates.size(); i++) {
+      bigDecimalRates[i] = rates.rate(i).toBigDecimal();
+    }
+    var random = new Random(42);
+    amounts = new long[lines];
+    currencies = new int[lines];
+    converted = new long[lines];
+    bigDecimalAmounts = new BigDecimal[lines];
+    for (int i = 0; i < lines; i++) {
+      amounts[i] = random.nextLong(100_000_000);
+      currencies[i] = random.nextInt(rates.size());
+      bigDecimalAmounts[i] = BigDecimal.valueOf(amounts[i], 2);
+    }
+  }
+
+  @Benchmark
+  public long[] bigDecimal_perLine() {
+    for (int i = 0; i < lines; i++) {
+      converted[i] = bigDecimalAmounts[i]
+        .divide(bigDecimalRates[currencies[i]], 4, RoundingMode.HALF_UP)
+        .unscaledValue().longValue();
+    }
+    return converted;
+  }
+
+  @Benchmark
+  public long[] batch_oneThread() {
+    converter.convert(amounts, currencies, converted, 0, lines);
+    return converted;
+  }
+
+  @Benchmark
+  public long[] batch_forkJoin() {
+    converter.convert(amounts, currencies, converted);
+    return converted;
+  }
+}
@@ -0,0 +1,115 @@
+package com.savdev.benchmarks.numeric;
+
+import com.savdev.data.types.numeric.kernels.DecimalKernels;
+import com.savdev.data.types.numeric.money.FixedDecimal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Columns of amounts in cents: the `BigDecimal` loops of `BigDecimalTest` and `FinancialOperationsTest`
+ *  vs the scalar and the vectorized `DecimalKernels`.
+ *
+ * - sum of the amounts
+ * - scaling by the rate `1.0915`, rounded back to cents with `HALF_EVEN`
+ * - rounding amounts with 4 decimal places to cents with `HALF_UP`
+ *
+ * The forked JVM enables `jdk.incubator.vector`, `vectorized` is false without it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class DecimalKernelsBenchmark {
+
+  @Param({"1000", "100000"})
+  public int size;
+
+  @Param({"true", "false"})
+  public boolean vectorized;
+
+  private long[] cents;
+  private long[] fourDecimals;
+  private long[] result;
+  private BigDecimal[] bigDecimals;
+  private BigDecimal[] bigDecimalsFourDecimals;
+  private DecimalKernels kernels;
+  private final FixedDecimal rate = FixedDecimal.of("1.0915");
+  private final BigDecimal bigDecimalRate = new BigDecimal("1.0915");
+
+  @Setup
+  public void setUp() {
+    kernels = vectorized ? DecimalKernels.get() : DecimalKernels.scalar();
+    var random = new Random(42);
+    cents = new long[size];
+    fourDecimals = new long[size];
+    result = new long[size];
+    bigDecimals = new BigDecimal[size];
+    bigDecimalsFourDecimals = new BigDecimal[size];
+    for (int i = 0; i < size; i++) {
+      cents[i] = random.nextLong(100_000_000);
+      fourDecimals[i] = random.nextLong(1_000_000_000_000L);
+      bigDecimals[i] = BigDecimal.valueOf(cents[i], 2);
+      bigDecimalsFourDecimals[i] = BigDecimal.valueOf(fourDecimals[i], 4);
+    }
+  }
+
+  @Benchmark
+  public BigDecimal bigDecimal_sum() {
+    var sum = BigDecimal.ZERO;
+    for (var amount : bigDecimals) {
+      sum = sum.add(amount);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long kernels_sum() {
+    return kernels.sum(cents);
+  }
+
+  @Benchmark
+  public long[] bigDecimal_multiplyByRate() {
+    for (int i = 0; i < size; i++) {
+      result[i] = bigDecimals[i].multiply(bigDecimalRate)
+        .setScale(2, RoundingMode.HALF_EVEN)
+        .unscaledValue().longValue();
+    }
+    return result;
+  }
+
+  @Benchmark
+  public long[] kernels_multiplyByRate() {
+    kernels.multiply(cents, rate, RoundingMode.HALF_EVEN, result);
+    return result;
+  }
+
+  @Benchmark
+  public long[] bigDecimal_round() {
+    for (int i = 0; i < size; i++) {
+      result[i] = bigDecimalsFourDecimals[i].setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+    return result;
+  }
+
+  @Benchmark
+  public long[] kernels_round() {
+    kernels.rescale(fourDecimals, 4, 2, RoundingMode.HALF_UP, result);
+    return result;
+  }
+}
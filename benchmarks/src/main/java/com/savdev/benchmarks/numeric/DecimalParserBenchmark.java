@@ -0,0 +1,81 @@
+package com.savdev.benchmarks.numeric;
+
+import com.savdev.data.types.numeric.parse.DecimalParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices with two decimal places in a file: `new BigDecimal(new String(bytes))` per field vs `DecimalParser`.
+ *  The score is parses per microsecond, times a million for parses per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecimalParserBenchmark {
+
+  private static final int FIELDS = 10_000;
+
+  private byte[] file;
+  private String text;
+  private final int[] starts = new int[FIELDS + 1];
+  private final long[] values = new long[FIELDS];
+  private final DecimalParser parser = DecimalParser.of(2);
+
+  @Setup
+  public void setUp() {
+    var random = new Random(42);
+    var builder = new StringBuilder();
+    for (int i = 0; i < FIELDS; i++) {
+      starts[i] = builder.length();
+      builder.append(BigDecimal.valueOf(random.nextLong(10_000_000), 2).toPlainString());
+    }
+    starts[FIELDS] = builder.length();
+    text = builder.toString();
+    file = text.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FIELDS)
+  public long[] bigDecimal_fromString() {
+    for (int i = 0; i < FIELDS; i++) {
+      var field = new String(file, starts[i], starts[i + 1] - starts[i], StandardCharsets.US_ASCII);
+      values[i] = new BigDecimal(field).movePointRight(2).longValueExact();
+    }
+    return values;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FIELDS)
+  public long[] parser_bytes() {
+    for (int i = 0; i < FIELDS; i++) {
+      parser.parse(file, starts[i], starts[i + 1], values, i);
+    }
+    return values;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FIELDS)
+  public long[] parser_charSequence() {
+    for (int i = 0; i < FIELDS; i++) {
+      parser.parse(text, starts[i], starts[i + 1], values, i);
+    }
+    return values;
+  }
+}
@@ -0,0 +1,60 @@
+package com.savdev.benchmarks.numeric;
+
+import com.savdev.data.types.numeric.aggregate.DecimalCollectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * An exact sum of 100M amounts with two decimal places in a parallel stream:
+ *  `reduce(BigDecimal.ZERO, BigDecimal::add)` vs `DecimalCollectors` over `BigDecimal` elements and over unscaled longs.
+ *  The amounts are generated, 100M of them do not fit into memory as `BigDecimal` objects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecimalSumBenchmark {
+
+  @Param({"100000000"})
+  public long size;
+
+  @Benchmark
+  public BigDecimal bigDecimal_reduce() {
+    return LongStream.range(0, size).parallel()
+      .mapToObj(i -> BigDecimal.valueOf(cents(i), 2))
+      .reduce(BigDecimal.ZERO, BigDecimal::add);
+  }
+
+  @Benchmark
+  public BigDecimal collector_bigDecimals() {
+    return LongStream.range(0, size).parallel()
+      .mapToObj(i -> BigDecimal.valueOf(cents(i), 2))
+      .collect(DecimalCollectors.summingBigDecimal());
+  }
+
+  @Benchmark
+  public BigDecimal collector_unscaledLongs() {
+    return DecimalCollectors.summarizing(LongStream.range(0, size).parallel().map(DecimalSumBenchmark::cents), 2).sum();
+  }
+
+  /**
+   * Pseudo-random amounts from -80000.00 to 87772.15
+   */
+  private static long cents(long i) {
+    return (i * 0x9E3779B97F4A7C15L >>> 40) - 8_000_000;
+  }
+}
@@ -0,0 +1,92 @@
+package com.savdev.benchmarks.numeric;
+
+import com.savdev.data.types.numeric.loan.Amortization;
+import com.savdev.data.types.numeric.loan.Loan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monthly cash flows of a portfolio of 30-year loans: eager `BigDecimal` schedules per loan vs lazy schedules
+ *  of `Amortization`, summed up in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoanAmortizationBenchmark {
+
+  private static final int PERIODS = 360;
+
+  @Param({"1000", "10000"})
+  public int loans;
+
+  private List<Loan> portfolio;
+  private final Amortization amortization = Amortization.monthly();
+
+  @Setup
+  public void setUp() {
+    var random = new Random(42);
+    portfolio = new ArrayList<>();
+    for (int i = 0; i < loans; i++) {
+      //a few rates, as a portfolio has, so the annuity factors are shared
+      var rate = BigDecimal.valueOf(300 + random.nextInt(20) * 25, 4).toPlainString();
+      portfolio.add(Loan.of(random.nextLong(50_000_00, 1_000_000_00), rate, PERIODS));
+    }
+  }
+
+  @Benchmark
+  public BigDecimal[] bigDecimal_eagerSchedules() {
+    var mc = MathContext.DECIMAL128;
+    var months = BigDecimal.valueOf(12);
+    var schedules = new ArrayList<List<BigDecimal>>();
+    for (var loan : portfolio) {
+      var annualRate = loan.annualRate().toBigDecimal();
+      var r = annualRate.divide(months, mc);
+      var payment = BigDecimal.valueOf(loan.principal(), 2)
+        .multiply(r.divide(BigDecimal.ONE.subtract(BigDecimal.ONE.add(r).pow(-PERIODS, mc)), mc))
+        .setScale(2, RoundingMode.HALF_EVEN);
+      var balance = BigDecimal.valueOf(loan.principal(), 2);
+      var schedule = new ArrayList<BigDecimal>(PERIODS);
+      for (int period = 1; period <= PERIODS; period++) {
+        var interest = balance.multiply(annualRate).divide(months, 2, RoundingMode.HALF_EVEN);
+        var principal = period == PERIODS ? balance : payment.subtract(interest).min(balance);
+        balance = balance.subtract(principal);
+        schedule.add(interest.add(principal));
+      }
+      schedules.add(schedule);
+    }
+    var flows = new BigDecimal[PERIODS];
+    Arrays.fill(flows, BigDecimal.ZERO);
+    for (var schedule : schedules) {
+      for (int i = 0; i < PERIODS; i++) {
+        flows[i] = flows[i].add(schedule.get(i));
+      }
+    }
+    return flows;
+  }
+
+  @Benchmark
+  public long amortization_lazyParallel() {
+    return amortization.cashFlows(portfolio).totalPayments();
+  }
+}
@@ -0,0 +1,88 @@
+package com.savdev.benchmarks.numeric;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The money math of `FinancialOperationsTest` on `BigDecimal` vs `FixedDecimal`:
+ *  amounts with two decimal places are summed, and converted by the rate `1.0915` with 4 decimal places.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+  @Param({"1000", "100000"})
+  public int size;
+
+  private BigDecimal[] bigDecimals;
+  private FixedDecimal[] fixedDecimals;
+  private final BigDecimal bigDecimalRate = new BigDecimal("1.0915");
+  private final FixedDecimal fixedDecimalRate = FixedDecimal.of("1.0915");
+
+  @Setup
+  public void setUp() {
+    var random = new Random(42);
+    bigDecimals = new BigDecimal[size];
+    fixedDecimals = new FixedDecimal[size];
+    for (int i = 0; i < size; i++) {
+      long cents = random.nextLong(100_000_000);
+      bigDecimals[i] = BigDecimal.valueOf(cents, 2);
+      fixedDecimals[i] = FixedDecimal.of(cents, 2);
+    }
+  }
+
+  @Benchmark
+  public BigDecimal bigDecimal_sum() {
+    var sum = BigDecimal.ZERO;
+    for (var amount : bigDecimals) {
+      sum = sum.add(amount);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public FixedDecimal fixedDecimal_sum() {
+    var sum = FixedDecimal.ZERO;
+    for (var amount : fixedDecimals) {
+      sum = sum.add(amount);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public BigDecimal bigDecimal_convert() {
+    var sum = BigDecimal.ZERO;
+    for (var amount : bigDecimals) {
+      sum = sum.add(amount.divide(bigDecimalRate, 4, RoundingMode.HALF_UP));
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public FixedDecimal fixedDecimal_convert() {
+    var sum = FixedDecimal.ZERO;
+    for (var amount : fixedDecimals) {
+      sum = sum.add(amount.divide(fixedDecimalRate, 4, RoundingMode.HALF_UP));
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,96 @@
+package com.savdev.benchmarks.numeric;
+
+import com.savdev.data.types.numeric.format.MoneyFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Amounts with two decimal places formatted for GERMANY, `125.000,00 €`:
+ *  a `NumberFormat` per amount, as services do, as it is not thread-safe, vs a shared `MoneyFormatter`.
+ *  The score is amounts per microsecond.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyFormatterBenchmark {
+
+  private static final int AMOUNTS = 10_000;
+
+  private final long[] amounts = new long[AMOUNTS];
+  private final BigDecimal[] decimals = new BigDecimal[AMOUNTS];
+  private final MoneyFormatter formatter = MoneyFormatter.currency(Locale.GERMANY);
+  private final StringBuilder text = new StringBuilder();
+  private byte[] file;
+
+  @Setup
+  public void setUp() {
+    var random = new Random(42);
+    for (int i = 0; i < AMOUNTS; i++) {
+      amounts[i] = random.nextLong(100_000_000_00L);
+      decimals[i] = BigDecimal.valueOf(amounts[i], 2);
+    }
+    file = new byte[AMOUNTS * formatter.maxLength()];
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(AMOUNTS)
+  public int numberFormat_perAmount() {
+    int length = 0;
+    for (int i = 0; i < AMOUNTS; i++) {
+      length += NumberFormat.getCurrencyInstance(Locale.GERMANY).format(decimals[i]).length();
+    }
+    return length;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(AMOUNTS)
+  public byte[] numberFormat_toBytes() {
+    var format = NumberFormat.getCurrencyInstance(Locale.GERMANY);
+    int position = 0;
+    for (int i = 0; i < AMOUNTS; i++) {
+      byte[] bytes = format.format(decimals[i]).getBytes(StandardCharsets.UTF_8);
+      System.arraycopy(bytes, 0, file, position, bytes.length);
+      position += bytes.length;
+    }
+    return file;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(AMOUNTS)
+  public StringBuilder formatter_appendable() {
+    text.setLength(0);
+    for (int i = 0; i < AMOUNTS; i++) {
+      formatter.format(amounts[i], 2, text);
+    }
+    return text;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(AMOUNTS)
+  public byte[] formatter_bytes() {
+    int position = 0;
+    for (int i = 0; i < AMOUNTS; i++) {
+      position = formatter.format(amounts[i], 2, file, position);
+    }
+    return file;
+  }
+}
@@ -0,0 +1,88 @@
+package com.savdev.benchmarks.numeric;
+
+import com.savdev.data.types.numeric.fx.RateRegistry;
+import com.savdev.data.types.numeric.fx.RateTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payments in 4 currencies converted into EUR one by one, by the currency code of a payment:
+ *  a rate parsed from the quotes with a `MathContext` and its units per conversion
+ *  vs a rate of a `RateRegistry` snapshot, normalized when it was published.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateRegistryBenchmark {
+
+  private static final String[] CODES = {"USD", "GBP", "CHF", "NOK"};
+
+  @Param({"10000"})
+  public int payments;
+
+  private BigDecimal[] amounts;
+  private String[] currencies;
+  private BigDecimal[] converted;
+  private Map<String, String> quotes;
+  private Map<String, Long> units;
+  private RateRegistry registry;
+
+  @Setup
+  public void setUp() {
+    quotes = Map.of("USD", "1.0915", "GBP", "0.8563", "CHF", "0.9387", "NOK", "117342.0000");
+    units = Map.of("USD", 1L, "GBP", 1L, "CHF", 1L, "NOK", 10000L);
+    var builder = RateTable.builder("EUR");
+    for (String code : CODES) {
+      builder.rate(code, new BigDecimal(quotes.get(code)), units.get(code));
+    }
+    registry = new RateRegistry();
+    registry.publish(builder.build());
+    var random = new Random(42);
+    amounts = new BigDecimal[payments];
+    currencies = new String[payments];
+    converted = new BigDecimal[payments];
+    for (int i = 0; i < payments; i++) {
+      amounts[i] = BigDecimal.valueOf(random.nextLong(100_000_000), 2);
+      currencies[i] = CODES[random.nextInt(CODES.length)];
+    }
+  }
+
+  @Benchmark
+  public BigDecimal[] quotes_perConversion() {
+    for (int i = 0; i < payments; i++) {
+      var context = new MathContext(34, RoundingMode.HALF_EVEN);
+      var rate = new BigDecimal(quotes.get(currencies[i]))
+        .divide(BigDecimal.valueOf(units.get(currencies[i])), context);
+      converted[i] = amounts[i].divide(rate, 4, RoundingMode.HALF_UP);
+    }
+    return converted;
+  }
+
+  @Benchmark
+  public BigDecimal[] registry_snapshot() {
+    var snapshot = registry.snapshot();
+    for (int i = 0; i < payments; i++) {
+      converted[i] = snapshot.rate(currencies[i], "EUR").convert(amounts[i], 4, RoundingMode.HALF_UP);
+    }
+    return converted;
+  }
+}
@@ -0,0 +1,92 @@
+package com.savdev.benchmarks.streams;
+
+import com.savdev.streams.Streams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Approaches of `StreamElementIndicesTest` to attach an index to every element.
+ *
+ * `atomicInteger_parallel` is measured only to show the cost of the contention,
+ *  its indices do not match the positions of the elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamElementIndicesBenchmark {
+
+  @Param({"1000", "1000000"})
+  public int size;
+
+  private List<String> names;
+
+  @Setup
+  public void setUp() {
+    names = IntStream.range(0, size)
+      .mapToObj(i -> "name" + i)
+      .toList();
+  }
+
+  @Benchmark
+  public void rangeOverCollection(Blackhole blackhole) {
+    IntStream.range(0, names.size())
+      .mapToObj(i -> new Indexed(i, names.get(i)))
+      .forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public void atomicInteger_sequential(Blackhole blackhole) {
+    var i = new AtomicInteger();
+    names.stream()
+      .map(e -> new Indexed(i.getAndIncrement(), e))
+      .forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public void atomicInteger_parallel(Blackhole blackhole) {
+    var i = new AtomicInteger();
+    names.parallelStream()
+      .map(e -> new Indexed(i.getAndIncrement(), e))
+      .forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public void zipWithIndex_sequential(Blackhole blackhole) {
+    Streams.zipWithIndex(names.stream())
+      .forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public void zipWithIndex_parallel(Blackhole blackhole) {
+    Streams.zipWithIndex(names.parallelStream())
+      .forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public void forEachIndexed_parallel(Blackhole blackhole) {
+    Streams.forEachIndexed(names.parallelStream(), (index, name) -> {
+      blackhole.consume(index);
+      blackhole.consume(name);
+    });
+  }
+
+  record Indexed(int index, String name) {}
+}
@@ -0,0 +1,66 @@
+package com.savdev.benchmarks.streams;
+
+import com.savdev.streams.batch.ExtendedStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Enrichment of elements with two computed fields, `ExtendStreamElementTest`:
+ *  a wrapper object per element vs the parallel arrays of `ExtendedStream`.
+ *  Run with `-prof gc` to see the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamExtendElementBenchmark {
+
+  private record Enriched(String name, long length, double score) {}
+
+  @Param({"1000000", "10000000"})
+  public int size;
+
+  private List<String> names;
+
+  @Setup
+  public void setUp() {
+    names = IntStream.range(0, size).mapToObj(i -> "name-" + i).toList();
+  }
+
+  @Benchmark
+  public double wrapper_simpleEntry() {
+    return names.stream()
+      .map(n -> new AbstractMap.SimpleEntry<>(n, (long) n.length()))
+      .map(e -> new Enriched(e.getKey(), e.getValue(), e.getValue() * 0.5 + e.getKey().charAt(5)))
+      .filter(e -> e.length() > 8)
+      .mapToDouble(Enriched::score)
+      .sum();
+  }
+
+  @Benchmark
+  public double extendedStream_cursor() {
+    var enriched = ExtendedStream.builder(names.stream());
+    var length = enriched.addLong(c -> c.element().length());
+    var score = enriched.addDouble(c -> c.get(length) * 0.5 + c.element().charAt(5));
+    return enriched.build()
+      .filter(c -> c.get(length) > 8)
+      .mapToDouble(c -> c.get(score))
+      .sum();
+  }
+}
@@ -0,0 +1,92 @@
+package com.savdev.benchmarks.streams;
+
+import com.savdev.streams.join.HashJoin;
+import com.savdev.streams.join.SortMergeJoin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Joining employees with departments: a `Map` lookup on one thread vs the hash join and the sort-merge join
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamJoinBenchmark {
+
+  public record Department(long id, String name) {}
+
+  public record Employee(long id, long departmentId) {}
+
+  @Param({"1000", "1000000"})
+  public int departmentsCount;
+
+  @Param({"1000000"})
+  public int employeesCount;
+
+  private List<Department> departments;
+  private List<Employee> employees;
+  private List<Employee> employeesSorted;
+
+  @Setup
+  public void setUp() {
+    departments = IntStream.range(0, departmentsCount)
+      .mapToObj(i -> new Department(i, "department-" + i))
+      .toList();
+    var random = new Random(42);
+    //random department ids, sequential ids would make the lookups cache friendly
+    employees = IntStream.range(0, employeesCount)
+      .mapToObj(i -> new Employee(i, random.nextInt(departmentsCount)))
+      .toList();
+    employeesSorted = employees.stream()
+      .sorted(Comparator.comparingLong(Employee::departmentId))
+      .toList();
+  }
+
+  @Benchmark
+  public long mapLookup_singleThread() {
+    var byId = departments.stream()
+      .collect(Collectors.toMap(Department::id, Function.identity()));
+    return employees.stream()
+      .filter(e -> byId.containsKey(e.departmentId()))
+      .mapToLong(e -> byId.get(e.departmentId()).id())
+      .sum();
+  }
+
+  @Benchmark
+  public long hashJoin_parallel() {
+    return HashJoin.build(departments.parallelStream(), Department::id)
+      .inner(employees.parallelStream(), Employee::departmentId)
+      .mapToLong(j -> j.right().id())
+      .sum();
+  }
+
+  @Benchmark
+  public long sortMergeJoin_sortedInputs() {
+    return SortMergeJoin.inner(
+        employeesSorted.stream(), Employee::departmentId,
+        departments.stream(), Department::id,
+        Comparator.<Long>naturalOrder())
+      .mapToLong(j -> j.right().id())
+      .sum();
+  }
+}
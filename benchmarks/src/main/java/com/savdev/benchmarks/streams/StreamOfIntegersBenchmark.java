@@ -0,0 +1,64 @@
+package com.savdev.benchmarks.streams;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Boxed vs primitive ranges of `StreamOfIntegersTest`
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamOfIntegersBenchmark {
+
+  @Param({"1000", "1000000"})
+  public int size;
+
+  @Benchmark
+  public long primitive_sum() {
+    return IntStream.range(0, size)
+      .asLongStream()
+      .sum();
+  }
+
+  @Benchmark
+  public long boxed_mapToLong_sum() {
+    return IntStream.range(0, size)
+      .boxed()
+      .mapToLong(Integer::longValue)
+      .sum();
+  }
+
+  @Benchmark
+  public long boxed_reduce() {
+    return IntStream.range(0, size)
+      .boxed()
+      .map(Integer::longValue)
+      .reduce(0L, Long::sum);
+  }
+
+  @Benchmark
+  public int[] primitive_toArray() {
+    return IntStream.range(0, size).toArray();
+  }
+
+  @Benchmark
+  public List<Integer> boxed_toList() {
+    return IntStream.range(0, size).boxed().toList();
+  }
+}
@@ -0,0 +1,68 @@
+package com.savdev.benchmarks.streams;
+
+import com.savdev.streams.profile.PipelineProfiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of `PipelineProfiler` on a parsing pipeline, by the sample rate
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamPipelineProfilerBenchmark {
+
+  @Param({"100000"})
+  public int size;
+
+  @Param({"64", "1024"})
+  public int sampleEvery;
+
+  private List<String> lines;
+
+  @Setup
+  public void setUp() {
+    var random = new Random(42);
+    lines = random.ints(size, 0, 1_000_000)
+      .mapToObj(v -> v + "," + random.nextDouble())
+      .toList();
+  }
+
+  @Benchmark
+  public double plain() {
+    return lines.stream()
+      .map(line -> line.split(","))
+      .filter(fields -> fields[0].length() > 3)
+      .map(fields -> Double.parseDouble(fields[1]))
+      .mapToDouble(Double::doubleValue)
+      .sum();
+  }
+
+  @Benchmark
+  public double profiled() {
+    return PipelineProfiler.create("lines", sampleEvery)
+      .profile(lines.stream())
+      .map("split", line -> line.split(","))
+      .filter("long", fields -> fields[0].length() > 3)
+      .map("parse", fields -> Double.parseDouble(fields[1]))
+      .stream()
+      .mapToDouble(Double::doubleValue)
+      .sum();
+  }
+}
@@ -0,0 +1,75 @@
+package com.savdev.benchmarks.streams;
+
+import com.savdev.streams.stats.StatsCollectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top 100 and p50/p99 of a stream: `sorted()` of all the elements vs `StatsCollectors` with a fixed memory.
+ *  The accuracy of the sketch on the same values is asserted by `StatsCollectorsTest`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamTopKAndQuantilesBenchmark {
+
+  @Param({"10000", "1000000"})
+  public int size;
+
+  @Param({"false", "true"})
+  public boolean parallel;
+
+  private List<Double> values;
+
+  @Setup
+  public void setUp() {
+    values = new Random(42).doubles(size).map(v -> v * v * 1_000).boxed().toList();
+  }
+
+  @Benchmark
+  public List<Double> topK_sortedLimit() {
+    return (parallel ? values.parallelStream() : values.stream())
+      .sorted(Comparator.reverseOrder())
+      .limit(100)
+      .toList();
+  }
+
+  @Benchmark
+  public List<Double> topK_heap() {
+    return (parallel ? values.parallelStream() : values.stream())
+      .collect(StatsCollectors.topK(100, Comparator.naturalOrder()));
+  }
+
+  @Benchmark
+  public double[] quantiles_sorted() {
+    var sorted = (parallel ? values.parallelStream() : values.stream())
+      .mapToDouble(Double::doubleValue)
+      .sorted()
+      .toArray();
+    return new double[]{sorted[(int) (0.5 * sorted.length)], sorted[(int) (0.99 * sorted.length)]};
+  }
+
+  @Benchmark
+  public double[] quantiles_sketch() {
+    return (parallel ? values.parallelStream() : values.stream())
+      .collect(StatsCollectors.quantiles(Double::doubleValue))
+      .quantiles(0.5, 0.99);
+  }
+}
@@ -0,0 +1,74 @@
+package com.savdev.benchmarks.streams;
+
+import com.savdev.streams.Streams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Checks the claim of `StreamsConcatenationTest`:
+ *  `flatMap` outperforms `Stream.concat` when each input stream contains fewer than 32 elements.
+ *  And compares both with a single spliterator over all the streams, `Streams.concat`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamsConcatenationBenchmark {
+
+  @Param({"4", "32", "256", "4096"})
+  public int elementsPerStream;
+
+  @Param({"3", "64"})
+  public int streams;
+
+  private List<List<Integer>> sources;
+
+  @Setup
+  public void setUp() {
+    sources = IntStream.range(0, streams)
+      .mapToObj(s -> IntStream.range(0, elementsPerStream).boxed().toList())
+      .toList();
+  }
+
+  @Benchmark
+  public long concat_viaReduce() {
+    return sources.stream()
+      .map(List::stream)
+      .reduce(Stream::concat)
+      .orElseGet(Stream::empty)
+      .mapToLong(Integer::longValue)
+      .sum();
+  }
+
+  @Benchmark
+  public long concat_viaFlatMap() {
+    return sources.stream()
+      .map(List::stream)
+      .flatMap(s -> s)
+      .mapToLong(Integer::longValue)
+      .sum();
+  }
+
+  @Benchmark
+  public long concat_viaStreamsConcat() {
+    return Streams.concat(sources.stream().map(List::stream).toList())
+      .mapToLong(Integer::longValue)
+      .sum();
+  }
+}
@@ -0,0 +1,83 @@
+package com.savdev.benchmarks.streams;
+
+import com.savdev.streams.primitive.PrimitiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * The boxed flatten idiom of `StreamsFlattenTest.int2List` vs `mapMulti` into primitive sinks:
+ *  every element `N` is expanded into `N % 8 + 1` values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamsFlattenBenchmark {
+
+  @Param({"1000", "1000000"})
+  public int size;
+
+  private List<Integer> values;
+
+  @Setup
+  public void setUp() {
+    values = IntStream.range(0, size).boxed().toList();
+  }
+
+  @Benchmark
+  public long boxed_flatMap() {
+    return values.stream()
+      .flatMap(e -> int2List(e).stream())
+      .mapToLong(Integer::longValue)
+      .sum();
+  }
+
+  @Benchmark
+  public long primitive_mapMulti() {
+    return PrimitiveStreams.flatten(IntStream.range(0, size), StreamsFlattenBenchmark::int2Ints)
+      .asLongStream()
+      .sum();
+  }
+
+  @Benchmark
+  public int[] boxed_flatMap_toArray() {
+    return values.stream()
+      .flatMap(e -> int2List(e).stream())
+      .mapToInt(Integer::intValue)
+      .toArray();
+  }
+
+  @Benchmark
+  public int[] primitive_flatteningToIntArray() {
+    return values.stream()
+      .collect(PrimitiveStreams.flatteningToIntArray((Integer e, IntConsumer sink) -> int2Ints(e, sink)));
+  }
+
+  private static List<Integer> int2List(Integer i) {
+    return IntStream.rangeClosed(1, i % 8 + 1).boxed()
+      .map(v -> v + 10)
+      .toList();
+  }
+
+  private static void int2Ints(int i, IntConsumer sink) {
+    for (int v = 1; v <= i % 8 + 1; v++) {
+      sink.accept(v + 10);
+    }
+  }
+}
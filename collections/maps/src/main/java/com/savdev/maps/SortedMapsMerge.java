@@ -0,0 +1,192 @@
+package com.savdev.maps;
+
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * K-way merge of already sorted maps (or sorted iterators of entries).
+ *
+ * Concatenating sorted maps via `flatMap` + `toMap` throws away the ordering, and a `TreeMap` re-sorts everything:
+ *  O(n log n) time and O(n) memory.
+ *
+ * The merge keeps a min-heap (`PriorityQueue`) of cursors, one per source, ordered by the current key of a cursor.
+ *  - every entry is taken in O(log k), so n entries are merged in O(n log k),
+ *  - only k cursors are kept in memory, but not the entries, if the result goes to a consumer or a lazy stream,
+ *  - entries with the same key from different sources are merged via `mergeFunction`,
+ *    values are passed to it in the order of the sources.
+ */
+public final class SortedMapsMerge {
+
+  private SortedMapsMerge() {}
+
+  /**
+   * All the maps must be sorted by the same comparator (or all by the natural ordering).
+   */
+  public static <K, V> void merge(
+    List<? extends SortedMap<K, V>> maps,
+    BinaryOperator<V> mergeFunction,
+    BiConsumer<? super K, ? super V> consumer) {
+    var it = mergingIterator(iterators(maps), comparator(maps), mergeFunction);
+    while (it.hasNext()) {
+      var entry = it.next();
+      consumer.accept(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Lazy, ordered stream of merged entries.
+   */
+  public static <K, V> Stream<Map.Entry<K, V>> stream(
+    List<? extends SortedMap<K, V>> maps,
+    BinaryOperator<V> mergeFunction) {
+    return StreamSupport.stream(
+      Spliterators.spliteratorUnknownSize(
+        mergingIterator(iterators(maps), comparator(maps), mergeFunction),
+        Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL),
+      false);
+  }
+
+  /**
+   * Merged entries are put into a `TreeMap` of the same comparator, in the ascending order of keys,
+   *  a sorted `List` or `Stream` of them is {@link #stream(List, BinaryOperator)}.
+   */
+  public static <K, V> NavigableMap<K, V> toNavigableMap(
+    List<? extends SortedMap<K, V>> maps,
+    BinaryOperator<V> mergeFunction) {
+    Comparator<? super K> comparator = comparator(maps);
+    var result = new TreeMap<K, V>(comparator);
+    mergingIterator(iterators(maps), comparator, mergeFunction)
+      .forEachRemaining(entry -> result.put(entry.getKey(), entry.getValue()));
+    return result;
+  }
+
+  /**
+   * Merges iterators, each of them must return entries sorted by the `comparator`.
+   *
+   * @param comparator `null` for the natural ordering of keys
+   */
+  public static <K, V> Iterator<Map.Entry<K, V>> mergingIterator(
+    List<? extends Iterator<? extends Map.Entry<K, V>>> sources,
+    Comparator<? super K> comparator,
+    BinaryOperator<V> mergeFunction) {
+    return new MergingIterator<>(sources, comparator, mergeFunction);
+  }
+
+  private static <K, V> List<Iterator<Map.Entry<K, V>>> iterators(List<? extends SortedMap<K, V>> maps) {
+    return maps.stream()
+      .map(map -> map.entrySet().iterator())
+      .toList();
+  }
+
+  private static <K> Comparator<? super K> comparator(List<? extends SortedMap<K, ?>> maps) {
+    if (maps.isEmpty()) {
+      return null;
+    }
+    Comparator<? super K> comparator = maps.getFirst().comparator();
+    for (SortedMap<K, ?> map : maps) {
+      if (!Objects.equals(comparator, map.comparator())) {
+        throw new IllegalArgumentException("Maps must be sorted by the same comparator, but found: "
+          + comparator + " and " + map.comparator());
+      }
+    }
+    return comparator;
+  }
+
+  private static final class MergingIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+    private final PriorityQueue<Cursor<K, V>> heap;
+    private final Comparator<? super K> keyComparator;
+    private final BinaryOperator<V> mergeFunction;
+
+    @SuppressWarnings("unchecked")
+    MergingIterator(
+      List<? extends Iterator<? extends Map.Entry<K, V>>> sources,
+      Comparator<? super K> comparator,
+      BinaryOperator<V> mergeFunction) {
+      this.keyComparator = comparator != null
+        ? comparator
+        : (k1, k2) -> ((Comparable<? super K>) k1).compareTo(k2);
+      this.mergeFunction = mergeFunction;
+      //equal keys are taken in the order of the sources, so the merge function gets values in that order
+      this.heap = new PriorityQueue<>(
+        Math.max(1, sources.size()),
+        Comparator.<Cursor<K, V>, K>comparing(c -> c.key, keyComparator)
+          .thenComparingInt(c -> c.source));
+      for (int i = 0; i < sources.size(); i++) {
+        var cursor = new Cursor<K, V>(sources.get(i), i);
+        if (cursor.advance()) {
+          heap.add(cursor);
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !heap.isEmpty();
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+      var cursor = heap.poll();
+      if (cursor == null) {
+        throw new NoSuchElementException();
+      }
+      K key = cursor.key;
+      V value = cursor.value;
+      reinsert(cursor);
+      while (!heap.isEmpty() && keyComparator.compare(heap.peek().key, key) == 0) {
+        var duplicate = heap.poll();
+        value = mergeFunction.apply(value, duplicate.value);
+        reinsert(duplicate);
+      }
+      return new AbstractMap.SimpleImmutableEntry<>(key, value);
+    }
+
+    private void reinsert(Cursor<K, V> cursor) {
+      if (cursor.advance()) {
+        heap.add(cursor);
+      }
+    }
+  }
+
+  /**
+   * The current entry of a single source. Key and value are copied,
+   *  because an entry of a `TreeMap` iterator is a live view.
+   */
+  private static final class Cursor<K, V> {
+    private final Iterator<? extends Map.Entry<K, V>> iterator;
+    private final int source;
+    private K key;
+    private V value;
+
+    Cursor(Iterator<? extends Map.Entry<K, V>> iterator, int source) {
+      this.iterator = iterator;
+      this.source = source;
+    }
+
+    boolean advance() {
+      if (!iterator.hasNext()) {
+        return false;
+      }
+      var entry = iterator.next();
+      key = entry.getKey();
+      value = entry.getValue();
+      return true;
+    }
+  }
+}
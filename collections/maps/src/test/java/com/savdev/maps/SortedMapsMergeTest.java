@@ -0,0 +1,115 @@
+package com.savdev.maps;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class SortedMapsMergeTest {
+
+  @Test
+  public void merge_toConsumer_keepsOrdering() {
+    var map1 = new TreeMap<>(Map.of(1, "a", 4, "d", 7, "g"));
+    var map2 = new TreeMap<>(Map.of(2, "b", 5, "e"));
+    var map3 = new TreeMap<>(Map.of(3, "c", 6, "f", 8, "h"));
+
+    var keys = new ArrayList<Integer>();
+    var values = new ArrayList<String>();
+    SortedMapsMerge.merge(
+      List.of(map1, map2, map3),
+      (v1, v2) -> v1 + v2,
+      (k, v) -> {
+        keys.add(k);
+        values.add(v);
+      });
+
+    Assertions.assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8), keys);
+    Assertions.assertEquals(List.of("a", "b", "c", "d", "e", "f", "g", "h"), values);
+  }
+
+  /**
+   * Values of duplicated keys are passed to the merge function in the order of the maps
+   */
+  @Test
+  public void merge_duplicatedKeys_mergedInSourcesOrder() {
+    var map1 = new TreeMap<>(Map.of("name1", "1", "name2", "2"));
+    var map2 = new TreeMap<>(Map.of("name1", "3"));
+    var map3 = new TreeMap<>(Map.of("name1", "4", "name3", "5"));
+
+    var merged = SortedMapsMerge.stream(
+        List.of(map1, map2, map3),
+        (v1, v2) -> v1 + "+" + v2)
+      .toList();
+
+    Assertions.assertEquals(
+      List.of(Map.entry("name1", "1+3+4"), Map.entry("name2", "2"), Map.entry("name3", "5")),
+      merged);
+  }
+
+  @Test
+  public void toNavigableMap_sameAsTreeMap() {
+    var maps = IntStream.range(0, 10)
+      .mapToObj(m -> IntStream.range(0, 1000)
+        .filter(i -> i % (m + 2) == 0)
+        .boxed()
+        .collect(Collectors.toMap(i -> i, i -> 1L, Long::sum, TreeMap::new)))
+      .toList();
+
+    var expected = new TreeMap<Integer, Long>();
+    maps.forEach(map -> map.forEach((k, v) -> expected.merge(k, v, Long::sum)));
+
+    var actual = SortedMapsMerge.toNavigableMap(maps, Long::sum);
+
+    Assertions.assertEquals(expected, actual);
+    Assertions.assertEquals(expected.firstKey(), actual.firstKey());
+    Assertions.assertEquals(expected.lastEntry(), actual.lastEntry());
+  }
+
+  @Test
+  public void toNavigableMap_customComparator() {
+    var map1 = new TreeMap<Integer, String>(Comparator.reverseOrder());
+    map1.put(1, "a");
+    map1.put(3, "c");
+    var map2 = new TreeMap<Integer, String>(Comparator.reverseOrder());
+    map2.put(2, "b");
+
+    var merged = SortedMapsMerge.toNavigableMap(List.of(map1, map2), (v1, v2) -> v1);
+
+    Assertions.assertEquals(List.of(3, 2, 1), new ArrayList<>(merged.keySet()));
+    Assertions.assertEquals(Comparator.reverseOrder(), merged.comparator());
+  }
+
+  @Test
+  public void merge_differentComparators_notAllowed() {
+    var map1 = new TreeMap<Integer, String>(Comparator.reverseOrder());
+    var map2 = new TreeMap<Integer, String>();
+
+    var e = Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> SortedMapsMerge.toNavigableMap(List.of(map1, map2), (v1, v2) -> v1));
+    Assertions.assertTrue(e.getMessage().startsWith("Maps must be sorted by the same comparator"));
+  }
+
+  /**
+   * Sources could be any sorted iterators, not only maps, for instance, sorted files read line by line
+   */
+  @Test
+  public void mergingIterator_ofSortedIterators() {
+    var it = SortedMapsMerge.<Integer, Integer>mergingIterator(
+      List.of(
+        List.of(Map.entry(1, 1), Map.entry(3, 1)).iterator(),
+        List.of(Map.entry(1, 1), Map.entry(2, 1), Map.entry(3, 1)).iterator()),
+      null,
+      Integer::sum);
+
+    var result = new ArrayList<Map.Entry<Integer, Integer>>();
+    it.forEachRemaining(result::add);
+    Assertions.assertEquals(List.of(Map.entry(1, 2), Map.entry(2, 1), Map.entry(3, 2)), result);
+  }
+}
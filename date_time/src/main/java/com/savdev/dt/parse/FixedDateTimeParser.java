@@ -0,0 +1,451 @@
+package com.savdev.dt.parse;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneRules;
+import java.util.Objects;
+
+/**
+ * Parses date-times of a fixed width pattern, like `dd.MM.yyyy HH:mm` or `dd.MM.yyyy'T'HH:mm:ss.SSSZ`,
+ *  straight from `CharSequence` and `byte[]` ranges into epoch millis, without a `TemporalAccessor` per value.
+ *
+ * The pattern is compiled once: every field has a fixed position in the text, a value is parsed by
+ *  checking the literals and reading the digits at their positions, no matter what the other fields are.
+ *
+ * - supported letters: `yyyy` or `uuuu`, `MM`, `dd`, `HH`, `mm`, `ss`, `S` to `SSSSSSSSS`,
+ *    and an offset `Z` or `xx` as `+0500`, `xxx` as `+05:00`, other characters and quoted text are literals
+ * - the values are the same as `DateTimeFormatter.ofPattern(pattern)` parses, with its default SMART resolving:
+ *    `31.04.2020` is `30.04.2020`, `24:00` is the midnight of the next day
+ * - a value without an offset is a local date-time of the {@link #withZone(ZoneId) zone} of the parser, UTC by default,
+ *    the same as `LocalDateTime.atZone(zone)`, a value with an offset is an instant, the zone is not used then
+ * - errors are return codes, not exceptions, the value is not changed then:
+ *    {@link #LENGTH}, {@link #MALFORMED} for a literal or a digit, which do not match, {@link #RANGE} for a field
+ * - a year has exactly 4 digits, while `DateTimeFormatter` would also parse `20201` as a year, when a literal follows it
+ *
+ * The parser is immutable and thread-safe.
+ */
+public final class FixedDateTimeParser {
+
+  public static final int OK = 0;
+  public static final int LENGTH = 1;
+  public static final int MALFORMED = 2;
+  public static final int RANGE = 3;
+
+  private static final int ABSENT = -1;
+  private static final int MAX_OFFSET_SECONDS = 18 * 3600;
+  private static final int SECONDS_PER_DAY = 24 * 3600;
+  private static final int NANOS_PER_MILLI = 1_000_000;
+  //`LocalDate.toEpochDay()` of `0000-01-01`
+  private static final long DAYS_0000_TO_1970 = 719_528;
+  private static final int[] NANO_FACTORS = {
+    1_000_000_000, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1};
+
+  //an error of the local seconds or of the offset, `ERROR + code`, below any valid value
+  private static final long ERROR = Long.MIN_VALUE;
+  private static final int OFFSET_ERROR = Integer.MIN_VALUE;
+
+  //the source is read by an accessor, as in `DecimalParser`:
+  // the generic methods are inlined with a constant accessor into every public method
+  private interface Source<S> {
+    int at(S source, int index);
+  }
+
+  //a byte of a UTF-8 sequence is negative, and never matches a digit or an ASCII literal
+  private static final Source<byte[]> BYTES = (bytes, index) -> bytes[index];
+  private static final Source<CharSequence> CHARS = CharSequence::charAt;
+
+  private final Layout layout;
+  private final ZoneId zone;
+  private final ZoneRules rules;
+  //the last local interval of one offset of the zone, replaced by any thread, which parses a value out of it
+  private volatile Window window;
+
+  /**
+   * Positions of the fields in the text, {@link #ABSENT} for a field, which is not in the pattern
+   */
+  private record Layout(String pattern, int length, int[] literalPositions, char[] literals, boolean yearOfEra,
+                        int year, int month, int day, int hour, int minute, int second,
+                        int fraction, int fractionDigits, int offset, boolean offsetColon) {}
+
+  /**
+   * Local epoch seconds `[from, to)`, which have the same single offset
+   */
+  private record Window(long from, long to, int offset) {}
+
+  private FixedDateTimeParser(Layout layout, ZoneId zone) {
+    this.layout = layout;
+    this.zone = zone;
+    this.rules = zone.getRules();
+    this.window = rules.isFixedOffset()
+      ? new Window(Long.MIN_VALUE, Long.MAX_VALUE, rules.getOffset(Instant.EPOCH).getTotalSeconds())
+      : new Window(0, 0, 0);
+  }
+
+  /**
+   * @param pattern a pattern of `DateTimeFormatter.ofPattern`, with a year, a month and a day
+   * @throws IllegalArgumentException if the pattern has fields of a variable width, or is incomplete
+   */
+  public static FixedDateTimeParser compile(String pattern) {
+    return new FixedDateTimeParser(layout(Objects.requireNonNull(pattern, "pattern")), ZoneOffset.UTC);
+  }
+
+  /**
+   * @return a parser of the same pattern, which parses local date-times in the zone
+   */
+  public FixedDateTimeParser withZone(ZoneId zone) {
+    return new FixedDateTimeParser(layout, Objects.requireNonNull(zone, "zone"));
+  }
+
+  public String pattern() {
+    return layout.pattern;
+  }
+
+  public ZoneId zone() {
+    return zone;
+  }
+
+  /**
+   * @return the length of every value of the pattern
+   */
+  public int length() {
+    return layout.length;
+  }
+
+  /**
+   * @return {@link #OK}, and the epoch millis are in `epochMillis[index]`, or an error code
+   */
+  public int parse(CharSequence text, int from, int to, long[] epochMillis, int index) {
+    Objects.checkFromToIndex(from, to, text.length());
+    return parse(text, CHARS, from, to, epochMillis, index);
+  }
+
+  public int parse(byte[] bytes, int from, int to, long[] epochMillis, int index) {
+    Objects.checkFromToIndex(from, to, bytes.length);
+    return parse(bytes, BYTES, from, to, epochMillis, index);
+  }
+
+  /**
+   * @return the date and the time of the whole text without its offset, as `LocalDateTime.parse` returns it,
+   *  or null, if it cannot be parsed
+   */
+  public LocalDateTime parseLocalDateTime(CharSequence text) {
+    if (text.length() != layout.length) {
+      return null;
+    }
+    int nano = nano(text, CHARS, 0);
+    long local = nano < 0 ? ERROR : localSeconds(text, CHARS, 0, nano);
+    if (local < ERROR + RANGE + 1 || (layout.offset != ABSENT && offsetSeconds(text, CHARS, 0) < OFFSET_ERROR + RANGE + 1)) {
+      return null;
+    }
+    return LocalDateTime.ofEpochSecond(local, nano, ZoneOffset.UTC);
+  }
+
+  /**
+   * @return the name of a return code, for logs
+   */
+  public static String describe(int code) {
+    return switch (code) {
+      case OK -> "OK";
+      case LENGTH -> "LENGTH";
+      case MALFORMED -> "MALFORMED";
+      case RANGE -> "RANGE";
+      default -> throw new IllegalArgumentException("Unknown code " + code);
+    };
+  }
+
+  @Override
+  public String toString() {
+    return layout.pattern + " in " + zone;
+  }
+
+  private <S> int parse(S source, Source<S> at, int from, int to, long[] epochMillis, int index) {
+    if (to - from != layout.length) {
+      return LENGTH;
+    }
+    int nano = nano(source, at, from);
+    if (nano < 0) {
+      return MALFORMED;
+    }
+    long local = localSeconds(source, at, from, nano);
+    if (local < ERROR + RANGE + 1) {
+      return (int) (local - ERROR);
+    }
+    int offset;
+    if (layout.offset == ABSENT) {
+      offset = zoneOffset(local);
+    } else {
+      offset = offsetSeconds(source, at, from);
+      if (offset < OFFSET_ERROR + RANGE + 1) {
+        return offset - OFFSET_ERROR;
+      }
+    }
+    epochMillis[index] = (local - offset) * 1000 + nano / NANOS_PER_MILLI;
+    return OK;
+  }
+
+  /**
+   * @return the nano-of-second, 0 without a fraction, or -1, if a digit does not match
+   */
+  private <S> int nano(S source, Source<S> at, int from) {
+    if (layout.fraction == ABSENT) {
+      return 0;
+    }
+    int value = 0;
+    int invalid = 0;
+    for (int i = from + layout.fraction, end = i + layout.fractionDigits; i < end; i++) {
+      int digit = at.at(source, i) - '0';
+      invalid |= digit | (9 - digit);
+      value = value * 10 + digit;
+    }
+    return invalid < 0 ? -1 : value * NANO_FACTORS[layout.fractionDigits];
+  }
+
+  /**
+   * Checks the literals, and reads the date and the time
+   *
+   * @return the local epoch seconds, or `ERROR + code`
+   */
+  private <S> long localSeconds(S source, Source<S> at, int from, int nano) {
+    var layout = this.layout;
+    int[] positions = layout.literalPositions;
+    char[] literals = layout.literals;
+    for (int i = 0; i < positions.length; i++) {
+      if (at.at(source, from + positions[i]) != literals[i]) {
+        return ERROR + MALFORMED;
+      }
+    }
+    int year = digits4(source, at, from + layout.year);
+    int month = digits2(source, at, from + layout.month);
+    int day = digits2(source, at, from + layout.day);
+    int hour = layout.hour == ABSENT ? 0 : digits2(source, at, from + layout.hour);
+    int minute = layout.minute == ABSENT ? 0 : digits2(source, at, from + layout.minute);
+    int second = layout.second == ABSENT ? 0 : digits2(source, at, from + layout.second);
+    if ((year | month | day | hour | minute | second) < 0) {
+      return ERROR + MALFORMED;
+    }
+    if (month < 1 || month > 12 || day < 1 || day > 31 || (year == 0 && layout.yearOfEra)
+      || minute > 59 || second > 59 || (hour > 23 && (hour != 24 || (minute | second | nano) != 0))) {
+      return ERROR + RANGE;
+    }
+    //SMART resolving: the last day of the month instead of a day beyond it
+    day = Math.min(day, monthLength(year, month));
+    //`24:00` is just the 24th hour of the day
+    return epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second;
+  }
+
+  /**
+   * @return the offset of the text in seconds, or `OFFSET_ERROR + code`
+   */
+  private <S> int offsetSeconds(S source, Source<S> at, int from) {
+    int i = from + layout.offset;
+    int sign = at.at(source, i);
+    int hours = digits2(source, at, i + 1);
+    int colon = layout.offsetColon ? 1 : 0;
+    int minutes = digits2(source, at, i + 3 + colon);
+    if ((sign != '+' && sign != '-') || (hours | minutes) < 0 || (colon == 1 && at.at(source, i + 3) != ':')) {
+      return OFFSET_ERROR + MALFORMED;
+    }
+    int seconds = hours * 3600 + minutes * 60;
+    if (minutes > 59 || seconds > MAX_OFFSET_SECONDS) {
+      return OFFSET_ERROR + RANGE;
+    }
+    return sign == '-' ? -seconds : seconds;
+  }
+
+  private int zoneOffset(long localSeconds) {
+    var window = this.window;
+    if (localSeconds >= window.from && localSeconds < window.to) {
+      return window.offset;
+    }
+    return lookup(localSeconds);
+  }
+
+  /**
+   * The offset of `LocalDateTime.atZone`, with the interval between the transitions around it:
+   *  the next values of a feed are in the same interval, usually
+   */
+  private int lookup(long localSeconds) {
+    //not the offset of the result: a local date-time in a gap is moved forward by the length of the gap
+    long epochSecond = LocalDateTime.ofEpochSecond(localSeconds, 0, ZoneOffset.UTC)
+      .atZone(zone)
+      .toEpochSecond();
+    int offset = (int) (localSeconds - epochSecond);
+    var instant = Instant.ofEpochSecond(epochSecond);
+    //the transitions at or before the instant, and after it
+    var previous = rules.previousTransition(instant.plusSeconds(1));
+    var next = rules.nextTransition(instant);
+    long from = previous == null ? Long.MIN_VALUE
+      : Math.max(localSeconds(previous.getDateTimeBefore()), localSeconds(previous.getDateTimeAfter()));
+    long to = next == null ? Long.MAX_VALUE
+      : Math.min(localSeconds(next.getDateTimeBefore()), localSeconds(next.getDateTimeAfter()));
+    //a gap or an overlap is not cached, it is looked up every time
+    if (from <= localSeconds && localSeconds < to
+      && (previous == null || previous.getOffsetAfter().getTotalSeconds() == offset)) {
+      this.window = new Window(from, to, offset);
+    }
+    return offset;
+  }
+
+  private static long localSeconds(LocalDateTime dateTime) {
+    return dateTime.toEpochSecond(ZoneOffset.UTC);
+  }
+
+  /**
+   * @return the value of 2 ASCII digits, or a negative value, if one is not a digit
+   */
+  private static <S> int digits2(S source, Source<S> at, int index) {
+    int high = at.at(source, index) - '0';
+    int low = at.at(source, index + 1) - '0';
+    return (high | low | (9 - high) | (9 - low)) < 0 ? -1 : high * 10 + low;
+  }
+
+  private static <S> int digits4(S source, Source<S> at, int index) {
+    int high = digits2(source, at, index);
+    int low = digits2(source, at, index + 2);
+    return (high | low) < 0 ? -1 : high * 100 + low;
+  }
+
+  private static boolean isLeap(int year) {
+    return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+  }
+
+  private static int monthLength(int year, int month) {
+    return switch (month) {
+      case 2 -> isLeap(year) ? 29 : 28;
+      case 4, 6, 9, 11 -> 30;
+      default -> 31;
+    };
+  }
+
+  /**
+   * `LocalDate.of(year, month, day).toEpochDay()` for the years `0000` to `9999`
+   */
+  private static long epochDay(int year, int month, int day) {
+    long days = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400
+      + (367 * month - 362) / 12 + day - 1;
+    if (month > 2) {
+      days -= isLeap(year) ? 1 : 2;
+    }
+    return days - DAYS_0000_TO_1970;
+  }
+
+  private static Layout layout(String pattern) {
+    var literalPositions = new StringBuilder();
+    var literals = new StringBuilder();
+    //positions of `yyyy`, `MM`, `dd`, `HH`, `mm`, `ss`, `S...`, `Z`
+    int[] fields = {ABSENT, ABSENT, ABSENT, ABSENT, ABSENT, ABSENT, ABSENT, ABSENT};
+    String letters = "yMdHmsSZ";
+    boolean yearOfEra = true;
+    int fractionDigits = 0;
+    boolean offsetColon = false;
+    int length = 0;
+    int i = 0;
+    while (i < pattern.length()) {
+      char c = pattern.charAt(i);
+      if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+        int count = 1;
+        while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+          count++;
+        }
+        int width;
+        char field = c;
+        switch (c) {
+          case 'y', 'u' -> {
+            width = requireCount(pattern, c, count, 4);
+            field = 'y';
+            yearOfEra = c == 'y';
+          }
+          case 'M', 'd', 'H', 'm', 's' -> width = requireCount(pattern, c, count, 2);
+          case 'S' -> {
+            if (count > 9) {
+              throw new IllegalArgumentException(
+                "Pattern letter 'S' must be repeated 1 to 9 times, but was " + count + " in " + pattern);
+            }
+            width = fractionDigits = count;
+          }
+          case 'Z' -> {
+            if (count > 3) {
+              throw new IllegalArgumentException(
+                "Pattern letter 'Z' must be repeated 1 to 3 times, but was " + count + " in " + pattern);
+            }
+            width = 5;
+          }
+          case 'x' -> {
+            if (count != 2 && count != 3) {
+              throw new IllegalArgumentException(
+                "Pattern letter 'x' must be repeated 2 or 3 times, but was " + count + " in " + pattern);
+            }
+            offsetColon = count == 3;
+            width = count == 3 ? 6 : 5;
+            field = 'Z';
+          }
+          default -> throw new IllegalArgumentException(
+            "Pattern letter '" + c + "' is not supported by a fixed width parser, but was in " + pattern);
+        }
+        int f = letters.indexOf(field);
+        if (fields[f] != ABSENT) {
+          throw new IllegalArgumentException("Pattern must have one field '" + c + "', but was " + pattern);
+        }
+        fields[f] = length;
+        length += width;
+        i += count;
+      } else if (c == '\'') {
+        int end = i + 1;
+        var text = new StringBuilder();
+        while (true) {
+          if (end == pattern.length()) {
+            throw new IllegalArgumentException("Pattern has an unclosed quote: " + pattern);
+          }
+          if (pattern.charAt(end) == '\'') {
+            if (end + 1 < pattern.length() && pattern.charAt(end + 1) == '\'') {
+              text.append('\'');
+              end += 2;
+              continue;
+            }
+            break;
+          }
+          text.append(pattern.charAt(end++));
+        }
+        //`''` outside of a quoted text is a quote
+        if (end == i + 1) {
+          text.append('\'');
+        }
+        for (int t = 0; t < text.length(); t++) {
+          literalPositions.append((char) length++);
+          literals.append(text.charAt(t));
+        }
+        i = end + 1;
+      } else if ("[]{}#".indexOf(c) >= 0) {
+        throw new IllegalArgumentException("Pattern character '" + c + "' is not supported by a fixed width parser, "
+          + "but was in " + pattern);
+      } else {
+        literalPositions.append((char) length++);
+        literals.append(c);
+        i++;
+      }
+    }
+    if (fields[0] == ABSENT || fields[1] == ABSENT || fields[2] == ABSENT) {
+      throw new IllegalArgumentException("Pattern must have a year, a month and a day, but was " + pattern);
+    }
+    for (int f = 4; f <= 6; f++) {
+      if (fields[f] != ABSENT && fields[f - 1] == ABSENT) {
+        throw new IllegalArgumentException("Pattern must have '" + letters.charAt(f - 1) + "' for '"
+          + letters.charAt(f) + "', but was " + pattern);
+      }
+    }
+    return new Layout(pattern, length, literalPositions.chars().toArray(), literals.toString().toCharArray(),
+      yearOfEra, fields[0], fields[1], fields[2], fields[3], fields[4], fields[5],
+      fields[6], fractionDigits, fields[7], offsetColon);
+  }
+
+  private static int requireCount(String pattern, char letter, int count, int expected) {
+    if (count != expected) {
+      throw new IllegalArgumentException("Pattern letter '" + letter + "' must be repeated " + expected
+        + " times, but was " + count + " in " + pattern);
+    }
+    return expected;
+  }
+}
@@ -0,0 +1,194 @@
+package com.savdev.dt.parse;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+import static com.savdev.dt.DateTimeFormatters.BERLIN_ZONE_ID;
+import static com.savdev.dt.DateTimeFormatters.DATE_TIME_SIMPLE_FORMAT;
+import static com.savdev.dt.DateTimeFormatters.DATE_TIME_ZERO_ZONE_FORMAT;
+import static com.savdev.dt.DateTimeFormatters.DATE_TIME_ZONE_FORMAT;
+
+public class FixedDateTimeParserTest {
+
+  static final int SAMPLES = 20_000;
+  static final String[] PATTERNS = {
+    DATE_TIME_SIMPLE_FORMAT,
+    DATE_TIME_ZERO_ZONE_FORMAT,
+    DATE_TIME_ZONE_FORMAT,
+    "yyyy-MM-dd'T'HH:mm:ss.SSSxxx",
+    "uuuuMMddHHmmss",
+    "uuuu-MM-dd HH:mm:ss.SSSSSSSSS",
+    "yyyy/MM/dd"
+  };
+  //characters, which are likely to break a field or a literal
+  static final String MUTATIONS = "0123456789.:+-TZ 'x";
+
+  final Random random = new Random(42);
+
+  @Test
+  @DisplayName("`24.11.2020T21:45:54.964+0500` into epoch millis and `LocalDateTime`")
+  public void parseFromTimezoneString() {
+    var parser = FixedDateTimeParser.compile(DATE_TIME_ZONE_FORMAT);
+    long[] millis = new long[1];
+
+    Assertions.assertEquals(FixedDateTimeParser.OK, parser.parse("24.11.2020T21:45:54.964+0500", 0, 28, millis, 0));
+    Assertions.assertEquals(
+      ZonedDateTime.of(2020, 11, 24, 21, 45, 54, 964_000_000, ZoneOffset.ofHours(5)).toInstant().toEpochMilli(),
+      millis[0]);
+    Assertions.assertEquals(
+      LocalDateTime.of(2020, 11, 24, 21, 45, 54, 964_000_000),
+      parser.parseLocalDateTime("24.11.2020T21:45:54.964+0500"));
+
+    //a local date-time is in the zone of the parser
+    var berlin = FixedDateTimeParser.compile(DATE_TIME_SIMPLE_FORMAT).withZone(BERLIN_ZONE_ID);
+    byte[] line = "id=7;ts=24.11.2020 21:45;".getBytes(StandardCharsets.US_ASCII);
+    Assertions.assertEquals(FixedDateTimeParser.OK, berlin.parse(line, 8, 24, millis, 0));
+    Assertions.assertEquals(
+      ZonedDateTime.of(2020, 11, 24, 20, 45, 0, 0, ZoneOffset.UTC).toInstant().toEpochMilli(),
+      millis[0]);
+  }
+
+  @Test
+  @DisplayName("SMART resolving of `DateTimeFormatter`: the last day of a month and `24:00`")
+  public void parse_smartResolving() {
+    var parser = FixedDateTimeParser.compile(DATE_TIME_SIMPLE_FORMAT);
+
+    Assertions.assertEquals(LocalDateTime.of(2020, 4, 30, 10, 0), parser.parseLocalDateTime("31.04.2020 10:00"));
+    Assertions.assertEquals(LocalDateTime.of(2021, 2, 28, 10, 0), parser.parseLocalDateTime("29.02.2021 10:00"));
+    Assertions.assertEquals(LocalDateTime.of(2021, 1, 1, 0, 0), parser.parseLocalDateTime("31.12.2020 24:00"));
+    Assertions.assertNull(parser.parseLocalDateTime("01.01.2020 24:01"));
+  }
+
+  @Test
+  @DisplayName("Error codes instead of exceptions, the value is not changed")
+  public void parse_errorCodes() {
+    var parser = FixedDateTimeParser.compile(DATE_TIME_ZONE_FORMAT);
+    long[] millis = {-1};
+
+    Assertions.assertEquals(FixedDateTimeParser.LENGTH, parse(parser, "24.11.2020T21:45:54.964+05:00", millis));
+    Assertions.assertEquals(FixedDateTimeParser.MALFORMED, parse(parser, "24.11.2020 21:45:54.964+0500", millis));
+    Assertions.assertEquals(FixedDateTimeParser.MALFORMED, parse(parser, "24.11.2020T21:45:54.96a+0500", millis));
+    Assertions.assertEquals(FixedDateTimeParser.MALFORMED, parse(parser, "24.11.2020T21:45:54.964 0500", millis));
+    Assertions.assertEquals(FixedDateTimeParser.RANGE, parse(parser, "24.13.2020T21:45:54.964+0500", millis));
+    Assertions.assertEquals(FixedDateTimeParser.RANGE, parse(parser, "24.11.2020T21:45:60.964+0500", millis));
+    Assertions.assertEquals(FixedDateTimeParser.RANGE, parse(parser, "24.11.2020T21:45:54.964+1900", millis));
+    Assertions.assertEquals(FixedDateTimeParser.RANGE, parse(parser, "24.11.0000T21:45:54.964+0500", millis));
+    Assertions.assertEquals(-1, millis[0]);
+    Assertions.assertEquals("RANGE", FixedDateTimeParser.describe(FixedDateTimeParser.RANGE));
+  }
+
+  @Test
+  @DisplayName("Patterns of a variable width are rejected, when compiled")
+  public void compile_invalidPatterns() {
+    var e = Assertions.assertThrows(IllegalArgumentException.class, () -> FixedDateTimeParser.compile("d.MM.yyyy"));
+    Assertions.assertEquals("Pattern letter 'd' must be repeated 2 times, but was 1 in d.MM.yyyy", e.getMessage());
+    e = Assertions.assertThrows(IllegalArgumentException.class, () -> FixedDateTimeParser.compile("EEE dd.MM.yyyy"));
+    Assertions.assertEquals(
+      "Pattern letter 'E' is not supported by a fixed width parser, but was in EEE dd.MM.yyyy", e.getMessage());
+    e = Assertions.assertThrows(IllegalArgumentException.class, () -> FixedDateTimeParser.compile("HH:mm"));
+    Assertions.assertEquals("Pattern must have a year, a month and a day, but was HH:mm", e.getMessage());
+    e = Assertions.assertThrows(IllegalArgumentException.class, () -> FixedDateTimeParser.compile("dd.MM.yyyy mm:ss"));
+    Assertions.assertEquals("Pattern must have 'H' for 'm', but was dd.MM.yyyy mm:ss", e.getMessage());
+    e = Assertions.assertThrows(IllegalArgumentException.class, () -> FixedDateTimeParser.compile("dd.MM.yyyy'T"));
+    Assertions.assertEquals("Pattern has an unclosed quote: dd.MM.yyyy'T", e.getMessage());
+  }
+
+  /**
+   * Formatted date-times and their random mutations, in Berlin with its DST transitions:
+   *  a value is parsed, if `DateTimeFormatter` parses it, to the same instant and `LocalDateTime`
+   */
+  @Test
+  @DisplayName("The same values as `DateTimeFormatter`, for valid and mutated texts")
+  public void parse_sameAsDateTimeFormatter() {
+    for (String pattern : PATTERNS) {
+      var formatter = DateTimeFormatter.ofPattern(pattern);
+      var parser = FixedDateTimeParser.compile(pattern).withZone(BERLIN_ZONE_ID);
+      for (int i = 0; i < SAMPLES; i++) {
+        var dateTime = randomDateTime().atZone(randomZone());
+        String text = formatter.format(dateTime);
+        if (random.nextBoolean()) {
+          var chars = text.toCharArray();
+          for (int m = 1 + random.nextInt(2); m > 0; m--) {
+            chars[random.nextInt(chars.length)] = MUTATIONS.charAt(random.nextInt(MUTATIONS.length()));
+          }
+          text = new String(chars);
+        }
+        assertSameAsFormatter(pattern, formatter, parser, text);
+      }
+    }
+  }
+
+  private void assertSameAsFormatter(String pattern, DateTimeFormatter formatter,
+                                     FixedDateTimeParser parser, String text) {
+    Long expected;
+    LocalDateTime expectedLocal;
+    try {
+      var parsed = formatter.withZone(BERLIN_ZONE_ID).parse(text);
+      expectedLocal = pattern.contains("HH") ? LocalDateTime.from(parsed) : null;
+      //a date is parsed as the start of the day
+      var zoned = expectedLocal != null
+        ? ZonedDateTime.from(parsed)
+        : LocalDate.from(parsed).atStartOfDay(BERLIN_ZONE_ID);
+      expected = zoned.toInstant().toEpochMilli();
+    } catch (DateTimeParseException e) {
+      expected = null;
+      expectedLocal = null;
+    }
+    long[] millis = new long[2];
+    int code = parser.parse(text, 0, text.length(), millis, 0);
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    int bytesCode = parser.parse(bytes, 0, bytes.length, millis, 1);
+
+    Assertions.assertEquals(expected != null, code == FixedDateTimeParser.OK,
+      pattern + ": " + text + " is " + FixedDateTimeParser.describe(code));
+    Assertions.assertEquals(code, bytesCode, text);
+    if (expected != null) {
+      Assertions.assertEquals(expected, millis[0], text);
+      Assertions.assertEquals(expected, millis[1], text);
+      if (expectedLocal != null) {
+        Assertions.assertEquals(expectedLocal, parser.parseLocalDateTime(text), text);
+      }
+    } else {
+      Assertions.assertNull(parser.parseLocalDateTime(text), text);
+    }
+  }
+
+  /**
+   * Mostly recent date-times, with DST transitions and the last seconds of days among them
+   */
+  private LocalDateTime randomDateTime() {
+    var base = switch (random.nextInt(4)) {
+      case 0 -> LocalDateTime.of(1 + random.nextInt(9999), 1, 1, 0, 0);
+      case 1 -> LocalDateTime.of(2020 + random.nextInt(10), 3, 25 + random.nextInt(7), 1, 0);
+      case 2 -> LocalDateTime.of(2020 + random.nextInt(10), 10, 25 + random.nextInt(7), 1, 0);
+      default -> LocalDateTime.of(1990 + random.nextInt(50), 1, 1, 0, 0);
+    };
+    return base.plusSeconds(random.nextInt(random.nextBoolean() ? 4 * 3600 : 366 * 24 * 3600))
+      .plusNanos(random.nextInt(1_000_000_000))
+      .truncatedTo(random.nextBoolean() ? ChronoUnit.MILLIS : ChronoUnit.NANOS);
+  }
+
+  private ZoneId randomZone() {
+    return switch (random.nextInt(3)) {
+      case 0 -> BERLIN_ZONE_ID;
+      case 1 -> ZoneOffset.UTC;
+      default -> ZoneOffset.ofTotalSeconds(random.nextInt(-12 * 4, 15 * 4) * 15 * 60);
+    };
+  }
+
+  private static int parse(FixedDateTimeParser parser, String text, long[] millis) {
+    return parser.parse(text, 0, text.length(), millis, 0);
+  }
+}
@@ -0,0 +1,241 @@
+package com.savdev.data.types.numeric.aggregate;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+import com.savdev.data.types.numeric.money.ScaledMath;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * An exact sum, count, minimum and maximum of decimal values, without an object per value.
+ *
+ * - the sum is a 128-bit integer of the biggest scale seen so far: a value of the same scale is added with a carry,
+ *    a value of a smaller scale is multiplied into 128 bits first
+ * - what does not fit 128 bits, is spilled into a `BigInteger`, the result is exact for any values
+ * - the minimum and the maximum are kept as unscaled longs with scales, and compared in 128 bits
+ * - the sum has the scale of `reduce(BigDecimal.ZERO, BigDecimal::add)`, the biggest scale, but at least 0
+ *
+ * It is not thread-safe: a collector keeps one per thread, and {@link #combine(DecimalAccumulator) combines} them.
+ */
+public final class DecimalAccumulator {
+
+  //the high word is spilled before a multiplied value is added, so the sum of 2^61 and more longs never overflows
+  private static final long HIGH_LIMIT = 1L << 61;
+
+  private long high;
+  private long low;
+  private BigInteger spill = BigInteger.ZERO;
+  private int scale;
+  private long count;
+
+  //the extremes of the values, which fit a long with a scale from 0 to 18
+  private boolean compact;
+  private long minUnscaled;
+  private int minScale;
+  private long maxUnscaled;
+  private int maxScale;
+  //the extremes of all other values
+  private BigDecimal minInflated;
+  private BigDecimal maxInflated;
+
+  /**
+   * @param scale from 0 to 18, `12500` with the scale 2 is `125.00`
+   */
+  public void add(long unscaled, int scale) {
+    if (scale < 0 || scale > ScaledMath.MAX_SCALE) {
+      throw new IllegalArgumentException("Scale must be from 0 to " + ScaledMath.MAX_SCALE + ", but was " + scale);
+    }
+    count++;
+    sum(unscaled, scale);
+    if (!compact) {
+      compact = true;
+      minUnscaled = maxUnscaled = unscaled;
+      minScale = maxScale = scale;
+    } else if (compare(unscaled, scale, minUnscaled, minScale) < 0) {
+      minUnscaled = unscaled;
+      minScale = scale;
+    } else if (compare(unscaled, scale, maxUnscaled, maxScale) > 0) {
+      maxUnscaled = unscaled;
+      maxScale = scale;
+    }
+  }
+
+  public void add(FixedDecimal value) {
+    if (value.isCompact()) {
+      add(value.unscaledValue(), value.scale());
+    } else {
+      add(value.toBigDecimal());
+    }
+  }
+
+  /**
+   * A value of up to 18 digits with a scale from 0 to 18 is added as a long
+   */
+  public void add(BigDecimal value) {
+    if (value.scale() >= 0 && value.scale() <= ScaledMath.MAX_SCALE && value.precision() <= ScaledMath.MAX_SCALE) {
+      //`unscaledValue()` creates a `BigInteger` with an array, the moved `BigDecimal` is small enough
+      // to be eliminated by the escape analysis
+      add(value.movePointRight(value.scale()).longValue(), value.scale());
+      return;
+    }
+    count++;
+    if (value.scale() > scale) {
+      grow(value.scale());
+    }
+    spill = spill.add(value.unscaledValue().multiply(BigInteger.TEN.pow(scale - value.scale())));
+    minInflated = minInflated == null || value.compareTo(minInflated) < 0 ? value : minInflated;
+    maxInflated = maxInflated == null || value.compareTo(maxInflated) > 0 ? value : maxInflated;
+  }
+
+  /**
+   * Adds all the values of the other accumulator, the other one is not changed
+   *
+   * @return this accumulator
+   */
+  public DecimalAccumulator combine(DecimalAccumulator other) {
+    if (other.scale > scale) {
+      grow(other.scale);
+    }
+    var power = BigInteger.TEN.pow(scale - other.scale);
+    spill = spill.add(other.spill.multiply(power));
+    if (other.scale == scale && fits(other.high) && fits(high)) {
+      long sum = low + other.low;
+      high += other.high + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+      low = sum;
+    } else {
+      spill = spill.add(other.wide().multiply(power));
+    }
+    count += other.count;
+    if (other.compact) {
+      if (!compact || compare(other.minUnscaled, other.minScale, minUnscaled, minScale) < 0) {
+        minUnscaled = other.minUnscaled;
+        minScale = other.minScale;
+      }
+      if (!compact || compare(other.maxUnscaled, other.maxScale, maxUnscaled, maxScale) > 0) {
+        maxUnscaled = other.maxUnscaled;
+        maxScale = other.maxScale;
+      }
+      compact = true;
+    }
+    if (other.minInflated != null) {
+      minInflated = minInflated == null || other.minInflated.compareTo(minInflated) < 0 ? other.minInflated : minInflated;
+      maxInflated = maxInflated == null || other.maxInflated.compareTo(maxInflated) > 0 ? other.maxInflated : maxInflated;
+    }
+    return this;
+  }
+
+  public long count() {
+    return count;
+  }
+
+  /**
+   * @return the exact sum, zero, if there are no values
+   */
+  public BigDecimal sum() {
+    return new BigDecimal(spill.add(wide()), scale);
+  }
+
+  /**
+   * @return the average rounded to the scale, zero, if there are no values
+   */
+  public BigDecimal average(int scale, RoundingMode mode) {
+    if (count == 0) {
+      return BigDecimal.ZERO.setScale(scale, mode);
+    }
+    return sum().divide(BigDecimal.valueOf(count), scale, mode);
+  }
+
+  /**
+   * Of equal values with different scales, like `1.5` and `1.50`, any one is returned
+   */
+  public Optional<BigDecimal> min() {
+    var min = compact ? BigDecimal.valueOf(minUnscaled, minScale) : null;
+    if (minInflated != null && (min == null || minInflated.compareTo(min) < 0)) {
+      min = minInflated;
+    }
+    return Optional.ofNullable(min);
+  }
+
+  public Optional<BigDecimal> max() {
+    var max = compact ? BigDecimal.valueOf(maxUnscaled, maxScale) : null;
+    if (maxInflated != null && (max == null || maxInflated.compareTo(max) > 0)) {
+      max = maxInflated;
+    }
+    return Optional.ofNullable(max);
+  }
+
+  @Override
+  public String toString() {
+    return "DecimalAccumulator{count=" + count + ", sum=" + sum() + ", min=" + min().orElse(null)
+      + ", max=" + max().orElse(null) + "}";
+  }
+
+  private void sum(long value, int scale) {
+    if (scale > this.scale) {
+      grow(scale);
+    }
+    if (scale == this.scale) {
+      long sum = low + value;
+      high += (value >> 63) + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+      low = sum;
+      return;
+    }
+    int shift = this.scale - scale;
+    if (shift > ScaledMath.MAX_SCALE) {
+      //the sum got a huge scale from a `BigDecimal`
+      spill = spill.add(BigInteger.valueOf(value).multiply(BigInteger.TEN.pow(shift)));
+      return;
+    }
+    //a value of a smaller scale: `value * 10^shift` in 128 bits, less than 2^123 by magnitude
+    long power = ScaledMath.pow10(shift);
+    if (!fits(high)) {
+      spill = spill.add(wide());
+      high = 0;
+      low = 0;
+    }
+    long productLow = value * power;
+    long sum = low + productLow;
+    high += Math.multiplyHigh(value, power) + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+    low = sum;
+  }
+
+  /**
+   * The sum gets a bigger scale: the 128-bit part is spilled, and the spill is scaled up
+   */
+  private void grow(int scale) {
+    spill = spill.add(wide()).multiply(BigInteger.TEN.pow(scale - this.scale));
+    high = 0;
+    low = 0;
+    this.scale = scale;
+  }
+
+  private BigInteger wide() {
+    return new BigInteger(ByteBuffer.allocate(16).putLong(high).putLong(low).array());
+  }
+
+  private static boolean fits(long high) {
+    return Math.abs(high) < HIGH_LIMIT;
+  }
+
+  /**
+   * Compares `left * 10^-leftScale` with `right * 10^-rightScale`, the value of the smaller scale is scaled up in 128 bits
+   */
+  static int compare(long left, int leftScale, long right, int rightScale) {
+    if (leftScale == rightScale) {
+      return Long.compare(left, right);
+    }
+    if (leftScale < rightScale) {
+      return compareScaled(left, ScaledMath.pow10(rightScale - leftScale), right);
+    }
+    return -compareScaled(right, ScaledMath.pow10(leftScale - rightScale), left);
+  }
+
+  private static int compareScaled(long value, long power, long other) {
+    long high = Math.multiplyHigh(value, power);
+    long otherHigh = other >> 63;
+    return high != otherHigh ? Long.compare(high, otherHigh) : Long.compareUnsigned(value * power, other);
+  }
+}
@@ -0,0 +1,105 @@
+package com.savdev.data.types.numeric.aggregate;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+import com.savdev.data.types.numeric.money.ScaledMath;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.LongStream;
+
+/**
+ * Exact sums of money for sequential and parallel streams, instead of `reduce(BigDecimal.ZERO, BigDecimal::add)`,
+ *  which creates a `BigDecimal` on every step.
+ *
+ * - every thread adds into its own {@link DecimalAccumulator}, a 128-bit scaled integer,
+ *    the accumulators of the threads are combined exactly
+ * - a `BigDecimal` is created only for the result
+ * - amounts are unscaled longs with a scale, `FixedDecimal` or `BigDecimal` values
+ *
+ * The sums are the same as of `reduce(BigDecimal.ZERO, BigDecimal::add)`, the scale included.
+ */
+public final class DecimalCollectors {
+
+  private DecimalCollectors() {}
+
+  /**
+   * @param unscaled the amount as an unscaled long of the scale, `12500` for `125.00` with the scale 2
+   */
+  public static <T> Collector<T, ?, BigDecimal> summing(ToLongFunction<? super T> unscaled, int scale) {
+    checkScale(scale);
+    return collector((accumulator, element) -> accumulator.add(unscaled.applyAsLong(element), scale),
+      DecimalAccumulator::sum);
+  }
+
+  public static Collector<BigDecimal, ?, BigDecimal> summingBigDecimal() {
+    return collector(DecimalAccumulator::add, DecimalAccumulator::sum);
+  }
+
+  public static Collector<FixedDecimal, ?, BigDecimal> summingFixedDecimal() {
+    return collector(DecimalAccumulator::add, DecimalAccumulator::sum);
+  }
+
+  /**
+   * @return the exact average rounded to the scale of the amounts, zero for no elements
+   */
+  public static <T> Collector<T, ?, BigDecimal> averaging(
+    ToLongFunction<? super T> unscaled, int scale, RoundingMode mode) {
+    checkScale(scale);
+    Objects.requireNonNull(mode, "mode");
+    return collector((accumulator, element) -> accumulator.add(unscaled.applyAsLong(element), scale),
+      accumulator -> accumulator.average(scale, mode));
+  }
+
+  /**
+   * @return the exact average rounded to the scale, zero for no elements
+   */
+  public static Collector<BigDecimal, ?, BigDecimal> averagingBigDecimal(int scale, RoundingMode mode) {
+    Objects.requireNonNull(mode, "mode");
+    return collector(DecimalAccumulator::add, accumulator -> accumulator.average(scale, mode));
+  }
+
+  /**
+   * @return the count, the sum, the minimum and the maximum, see {@link DecimalAccumulator#min()}
+   */
+  public static <T> Collector<T, ?, DecimalAccumulator> summarizing(ToLongFunction<? super T> unscaled, int scale) {
+    checkScale(scale);
+    return collector((accumulator, element) -> accumulator.add(unscaled.applyAsLong(element), scale),
+      Function.identity());
+  }
+
+  public static Collector<BigDecimal, ?, DecimalAccumulator> summarizingBigDecimal() {
+    return collector(DecimalAccumulator::add, Function.identity());
+  }
+
+  /**
+   * A column of unscaled amounts without boxing: `LongStream.collect` with an accumulator per thread
+   */
+  public static DecimalAccumulator summarizing(LongStream unscaled, int scale) {
+    checkScale(scale);
+    return unscaled.collect(
+      DecimalAccumulator::new,
+      (accumulator, value) -> accumulator.add(value, scale),
+      DecimalAccumulator::combine);
+  }
+
+  private static <T, R> Collector<T, DecimalAccumulator, R> collector(
+    BiConsumer<DecimalAccumulator, T> add, Function<DecimalAccumulator, R> finisher) {
+    return Collector.of(
+      DecimalAccumulator::new,
+      add,
+      DecimalAccumulator::combine,
+      finisher,
+      Collector.Characteristics.UNORDERED);
+  }
+
+  private static void checkScale(int scale) {
+    if (scale < 0 || scale > ScaledMath.MAX_SCALE) {
+      throw new IllegalArgumentException("Scale must be from 0 to " + ScaledMath.MAX_SCALE + ", but was " + scale);
+    }
+  }
+}
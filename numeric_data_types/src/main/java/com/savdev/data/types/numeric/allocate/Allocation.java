@@ -0,0 +1,273 @@
+package com.savdev.data.types.numeric.allocate;
+
+import java.math.BigInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Splits a total in minor units into shares by weights, the shares sum up to the total exactly,
+ *  unlike `total.divide(parts, 2, mode)` per share, which leaves cents over or missing.
+ *
+ * The largest remainder method:
+ * - every share gets the floor of `total * weight / sum of weights`
+ * - the minor units, which are left, go one by one to the shares with the largest remainders of the division,
+ *    of equal remainders, to the share with the lower index, so the result is deterministic
+ * - a negative total is split as its magnitude, and the shares are negated
+ *
+ * No object is created per share, the remainders are kept in the array of the shares:
+ *  the remainder, which is the last one to get a unit, is found by a radix selection over its bits.
+ *  Shares are processed in segments of {@link #SEGMENT_SIZE}, in parallel by {@link #allocateParallel}.
+ */
+public final class Allocation {
+
+  /**
+   * Shares per segment of a parallel allocation
+   */
+  public static final int SEGMENT_SIZE = 16 * 1024;
+
+  //longs, which are exactly represented by a double
+  private static final long EXACT_DOUBLE = 1L << 53;
+  //bits of a digit of the radix selection, its histogram fits into the L1 cache
+  private static final int RADIX_BITS = 11;
+
+  private Allocation() {}
+
+  /**
+   * @param weights not negative, not all zero, `{1, 2, 3}` and `{0.1, 0.2, 0.3}` as unscaled longs are the same
+   * @return the shares, `allocate(10000, 1, 1, 1)` is `{3334, 3333, 3333}`
+   */
+  public static long[] allocate(long total, long... weights) {
+    var shares = new long[weights.length];
+    allocate(total, weights, shares);
+    return shares;
+  }
+
+  public static void allocate(long total, long[] weights, long[] shares) {
+    allocate(total, weights, shares, false);
+  }
+
+  /**
+   * The same shares, as {@link #allocate(long, long[], long[])}, the segments are processed in the common fork/join pool
+   */
+  public static void allocateParallel(long total, long[] weights, long[] shares) {
+    allocate(total, weights, shares, true);
+  }
+
+  /**
+   * Equal shares: the first `total % shares.length` shares get one minor unit more,
+   *  `100000.00` in 360 payments is 280 payments of `277.78` and 80 of `277.77`
+   */
+  public static void split(long total, long[] shares) {
+    if (shares.length == 0) {
+      throw new IllegalArgumentException("Shares must not be empty");
+    }
+    long magnitude = Math.absExact(total);
+    long quotient = magnitude / shares.length;
+    long remainder = magnitude % shares.length;
+    long sign = Long.signum(total);
+    for (int i = 0; i < shares.length; i++) {
+      shares[i] = sign * (i < remainder ? quotient + 1 : quotient);
+    }
+  }
+
+  private static void allocate(long total, long[] weights, long[] shares, boolean parallel) {
+    int size = weights.length;
+    if (size != shares.length) {
+      throw new IllegalArgumentException(
+        "Weights and shares must have the same length, but were " + size + " and " + shares.length);
+    }
+    if (size == 0) {
+      throw new IllegalArgumentException("Weights must not be empty");
+    }
+    long magnitude = Math.absExact(total);
+    int segments = (size + SEGMENT_SIZE - 1) / SEGMENT_SIZE;
+
+    long weightSum = segments(segments, parallel)
+      .mapToLong(s -> weightSum(weights, from(s), to(s, size)))
+      .reduce(0, Math::addExact);
+    if (weightSum == 0) {
+      throw new IllegalArgumentException("Weights must not all be zero");
+    }
+    double reciprocal = 1.0 / weightSum;
+    long floors = segments(segments, parallel)
+      .mapToLong(s -> remainders(magnitude, weights, weightSum, reciprocal, shares, from(s), to(s, size)))
+      .sum();
+    //less than the number of shares, as every remainder is less than a unit
+    long left = magnitude - floors;
+
+    //the shares with the remainders above the threshold get a unit, and `ties` shares with the threshold remainder
+    long threshold = Long.MAX_VALUE;
+    long ties = 0;
+    long[] tiesBefore = new long[segments];
+    if (left > 0) {
+      long[] selection = select(shares, left, weightSum, segments, parallel);
+      threshold = selection[0];
+      ties = selection[1];
+      long selected = threshold;
+      long[] tiesPerSegment = segments(segments, parallel)
+        .mapToLong(s -> count(shares, selected, from(s), to(s, size)))
+        .toArray();
+      for (int s = 1; s < segments; s++) {
+        tiesBefore[s] = tiesBefore[s - 1] + tiesPerSegment[s - 1];
+      }
+    }
+    long lastThreshold = threshold;
+    long lastTies = ties;
+    long sign = total < 0 ? -1 : 1;
+    segments(segments, parallel).forEach(s -> round(magnitude, weights, weightSum, reciprocal, shares,
+      from(s), to(s, size), lastThreshold, lastTies - tiesBefore[s], sign));
+  }
+
+  private static long weightSum(long[] weights, int from, int to) {
+    long sum = 0;
+    for (int i = from; i < to; i++) {
+      if (weights[i] < 0) {
+        throw new IllegalArgumentException("Weights must not be negative, but weights[" + i + "] was " + weights[i]);
+      }
+      sum = Math.addExact(sum, weights[i]);
+    }
+    return sum;
+  }
+
+  /**
+   * Writes the remainders of `total * weight / weightSum` into the shares
+   *
+   * @return the sum of the floors
+   */
+  private static long remainders(long total, long[] weights, long weightSum, double reciprocal,
+                                 long[] shares, int from, int to) {
+    long floors = 0;
+    for (int i = from; i < to; i++) {
+      long quotient = quotient(total, weights[i], weightSum, reciprocal);
+      //the remainder is less than 2^63, so it is exact even if the product overflows a long
+      shares[i] = total * weights[i] - quotient * weightSum;
+      floors += quotient;
+    }
+    return floors;
+  }
+
+  /**
+   * Radix selection of the `left`-th largest remainder, {@link #RADIX_BITS} per pass from the highest ones:
+   *  a histogram of the next digit of the remainders, which have the digits selected so far
+   *
+   * @return the threshold remainder, and how many shares with it get a unit
+   */
+  private static long[] select(long[] remainders, long left, long weightSum, int segments, boolean parallel) {
+    int size = remainders.length;
+    long prefix = 0;
+    long mask = 0;
+    long needed = left;
+    //the bits above the biggest remainder are zero for all of them
+    int bits = Math.max(64 - Long.numberOfLeadingZeros(weightSum - 1), 1);
+    while (bits > 0) {
+      int width = Math.min(bits, RADIX_BITS);
+      int shift = bits - width;
+      long selectedPrefix = prefix;
+      long selectedMask = mask;
+      long[] counts = segments(segments, parallel)
+        .mapToObj(s -> histogram(remainders, selectedPrefix, selectedMask, shift, width, from(s), to(s, size)))
+        .reduce(Allocation::addAll)
+        .orElseThrow();
+      for (int digit = counts.length - 1; digit >= 0; digit--) {
+        if (counts[digit] >= needed) {
+          prefix |= (long) digit << shift;
+          break;
+        }
+        needed -= counts[digit];
+      }
+      mask |= ((1L << width) - 1) << shift;
+      bits = shift;
+    }
+    return new long[] {prefix, needed};
+  }
+
+  private static long[] histogram(long[] remainders, long prefix, long mask, int shift, int width, int from, int to) {
+    long[] counts = new long[1 << width];
+    int digitMask = (1 << width) - 1;
+    for (int i = from; i < to; i++) {
+      long remainder = remainders[i];
+      if ((remainder & mask) == prefix) {
+        counts[(int) (remainder >>> shift) & digitMask]++;
+      }
+    }
+    return counts;
+  }
+
+  private static long[] addAll(long[] left, long[] right) {
+    var sum = new long[left.length];
+    for (int i = 0; i < sum.length; i++) {
+      sum[i] = left[i] + right[i];
+    }
+    return sum;
+  }
+
+  private static long count(long[] remainders, long value, int from, int to) {
+    long count = 0;
+    for (int i = from; i < to; i++) {
+      if (remainders[i] == value) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Replaces the remainders by the shares
+   *
+   * @param ties how many shares with the threshold remainder from this segment on get a unit
+   */
+  private static void round(long total, long[] weights, long weightSum, double reciprocal, long[] shares,
+                            int from, int to, long threshold, long ties, long sign) {
+    for (int i = from; i < to; i++) {
+      long remainder = shares[i];
+      long share = quotient(total, weights[i], weightSum, reciprocal);
+      //branch-free for the random remainders, a tie is rare
+      share += remainder > threshold ? 1 : 0;
+      if (remainder == threshold && ties > 0) {
+        share++;
+        ties--;
+      }
+      shares[i] = sign * share;
+    }
+  }
+
+  /**
+   * The floor of `total * weight / weightSum`, the same way as `BatchConverter` divides:
+   *  a product of up to 53 bits is estimated by the reciprocal, and corrected by its remainder,
+   *  a bigger one is divided by a `long` division, and one beyond a long by a `BigInteger`
+   */
+  private static long quotient(long total, long weight, long weightSum, double reciprocal) {
+    long product = total * weight;
+    if (Math.multiplyHigh(total, weight) == 0 && product >= 0) {
+      if (product >= EXACT_DOUBLE) {
+        return product / weightSum;
+      }
+      long quotient = (long) (product * reciprocal);
+      long remainder = product - quotient * weightSum;
+      while (remainder < 0) {
+        quotient--;
+        remainder += weightSum;
+      }
+      while (remainder >= weightSum) {
+        quotient++;
+        remainder -= weightSum;
+      }
+      return quotient;
+    }
+    return BigInteger.valueOf(total).multiply(BigInteger.valueOf(weight))
+      .divide(BigInteger.valueOf(weightSum))
+      .longValueExact();
+  }
+
+  private static IntStream segments(int segments, boolean parallel) {
+    var stream = IntStream.range(0, segments);
+    return parallel ? stream.parallel() : stream;
+  }
+
+  private static int from(int segment) {
+    return segment * SEGMENT_SIZE;
+  }
+
+  private static int to(int segment, int size) {
+    return (int) Math.min((long) (segment + 1) * SEGMENT_SIZE, size);
+  }
+}
@@ -0,0 +1,337 @@
+package com.savdev.data.types.numeric.format;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+import com.savdev.data.types.numeric.money.Money;
+import com.savdev.data.types.numeric.money.ScaledMath;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Formats amounts exactly as a `DecimalFormat` does, `$125,000.00` for US and `125.000,00 €` for GERMANY,
+ *  but is immutable and thread-safe, so one instance per locale is shared by all the threads.
+ *
+ * - the format is compiled once: prefixes, suffixes with the currency symbol, separators, digits,
+ *    grouping size, fraction digits and the rounding mode, both as chars and as UTF-8 bytes
+ * - digits are written straight into an `Appendable` or a `byte[]`, no `String`, `BigDecimal`
+ *    or `StringBuffer` is created per amount
+ * - a not compact `FixedDecimal` is formatted by a copy of the `DecimalFormat`
+ * - scientific notation and multipliers, like percents, are not supported
+ */
+public final class MoneyFormatter {
+
+  //the digits of a long, the integer part of a scaled long never has more
+  private static final int LONG_DIGITS = 19;
+
+  //a part of the output, as chars for an `Appendable`, and as bytes for a `byte[]`
+  private record Text(String chars, byte[] utf8) {
+    static Text of(String chars) {
+      return new Text(chars, chars.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  //the output is written by an accessor: the same formatting loop for both kinds of output
+  private interface Target<T> {
+    int put(T target, int position, Text text) throws IOException;
+  }
+
+  private static final Target<Appendable> CHARS = (out, position, text) -> {
+    out.append(text.chars());
+    return position;
+  };
+
+  private static final Target<byte[]> BYTES = (out, position, text) -> {
+    byte[] bytes = text.utf8();
+    System.arraycopy(bytes, 0, out, position, bytes.length);
+    return position + bytes.length;
+  };
+
+  private final DecimalFormat format;
+  private final Currency currency;
+  private final Text positivePrefix;
+  private final Text positiveSuffix;
+  private final Text negativePrefix;
+  private final Text negativeSuffix;
+  private final Text decimalSeparator;
+  private final Text groupingSeparator;
+  private final Text[] digits = new Text[10];
+  //0, if grouping is not used
+  private final int groupingSize;
+  private final int minimumIntegerDigits;
+  private final int minimumFractionDigits;
+  private final int maximumFractionDigits;
+  private final boolean decimalSeparatorAlwaysShown;
+  private final RoundingMode roundingMode;
+  private final int maxLength;
+
+  private MoneyFormatter(DecimalFormat format) {
+    this.format = format;
+    var pattern = format.toPattern();
+    this.currency = hasUnquoted(pattern, '¤') ? format.getCurrency() : null;
+    var symbols = format.getDecimalFormatSymbols();
+    this.positivePrefix = Text.of(format.getPositivePrefix());
+    this.positiveSuffix = Text.of(format.getPositiveSuffix());
+    this.negativePrefix = Text.of(format.getNegativePrefix());
+    this.negativeSuffix = Text.of(format.getNegativeSuffix());
+    //a currency format uses the monetary decimal separator
+    this.decimalSeparator = Text.of(String.valueOf(currency != null
+      ? symbols.getMonetaryDecimalSeparator()
+      : symbols.getDecimalSeparator()));
+    this.groupingSeparator = Text.of(String.valueOf(currency != null
+      ? symbols.getMonetaryGroupingSeparator()
+      : symbols.getGroupingSeparator()));
+    for (int i = 0; i < digits.length; i++) {
+      digits[i] = Text.of(String.valueOf((char) (symbols.getZeroDigit() + i)));
+    }
+    this.groupingSize = format.isGroupingUsed() ? format.getGroupingSize() : 0;
+    this.minimumIntegerDigits = format.getMinimumIntegerDigits();
+    this.minimumFractionDigits = format.getMinimumFractionDigits();
+    this.maximumFractionDigits = format.getMaximumFractionDigits();
+    this.decimalSeparatorAlwaysShown = format.isDecimalSeparatorAlwaysShown();
+    this.roundingMode = format.getRoundingMode();
+    int integerDigits = Math.max(LONG_DIGITS, minimumIntegerDigits);
+    this.maxLength = Math.max(positivePrefix.utf8().length + positiveSuffix.utf8().length,
+        negativePrefix.utf8().length + negativeSuffix.utf8().length)
+      + (integerDigits + Math.max(Math.min(maximumFractionDigits, ScaledMath.MAX_SCALE), minimumFractionDigits))
+        * digits[9].utf8().length
+      + (groupingSize > 0 ? integerDigits / groupingSize * groupingSeparator.utf8().length : 0)
+      + decimalSeparator.utf8().length;
+  }
+
+  /**
+   * @return a formatter of `NumberFormat.getCurrencyInstance(locale)`, `$125,000.00` for `Locale.US`
+   */
+  public static MoneyFormatter currency(Locale locale) {
+    return of(NumberFormat.getCurrencyInstance(Objects.requireNonNull(locale, "locale")));
+  }
+
+  /**
+   * @return a currency formatter of the locale for another currency, `125.000,00 $` for `Locale.GERMANY` and USD
+   */
+  public static MoneyFormatter currency(Locale locale, Currency currency) {
+    var format = NumberFormat.getCurrencyInstance(Objects.requireNonNull(locale, "locale"));
+    format.setCurrency(Objects.requireNonNull(currency, "currency"));
+    return of(format);
+  }
+
+  /**
+   * @return a formatter of the `DecimalFormat` pattern with the symbols of the locale,
+   *  `###,###,###.00` formats `125000` as `125,000.00` for `Locale.US`
+   */
+  public static MoneyFormatter pattern(String pattern, Locale locale) {
+    return of(new DecimalFormat(
+      Objects.requireNonNull(pattern, "pattern"),
+      DecimalFormatSymbols.getInstance(Objects.requireNonNull(locale, "locale"))));
+  }
+
+  /**
+   * @return a formatter of a copy of the format, later changes of the format are not seen
+   */
+  public static MoneyFormatter of(NumberFormat format) {
+    if (!(Objects.requireNonNull(format, "format") instanceof DecimalFormat decimalFormat)) {
+      throw new IllegalArgumentException("Format must be a DecimalFormat, but was " + format.getClass().getName());
+    }
+    var copy = (DecimalFormat) decimalFormat.clone();
+    if (hasUnquoted(copy.toPattern(), 'E')) {
+      throw new IllegalArgumentException("Scientific notation is not supported, but the pattern was " + copy.toPattern());
+    }
+    if (copy.getMultiplier() != 1) {
+      throw new IllegalArgumentException("Multiplier must be 1, but was " + copy.getMultiplier());
+    }
+    if (copy.getMaximumIntegerDigits() < LONG_DIGITS) {
+      throw new IllegalArgumentException(
+        "Maximum integer digits must be at least " + LONG_DIGITS + ", but was " + copy.getMaximumIntegerDigits());
+    }
+    return new MoneyFormatter(copy);
+  }
+
+  /**
+   * @return the currency of the currency symbol, or null, if the pattern has no currency symbol
+   */
+  public Currency currency() {
+    return currency;
+  }
+
+  /**
+   * @return the maximum number of bytes, which an amount with a scale from 0 to 18 is formatted into
+   */
+  public int maxLength() {
+    return maxLength;
+  }
+
+  public String format(FixedDecimal amount) {
+    return format(amount, new StringBuilder()).toString();
+  }
+
+  public String format(Money money) {
+    return format(money, new StringBuilder()).toString();
+  }
+
+  /**
+   * An `IOException` of the output is thrown as an `UncheckedIOException`
+   *
+   * @return the output
+   */
+  public <A extends Appendable> A format(long unscaled, int scale, A out) {
+    checkScale(scale);
+    try {
+      write(unscaled, scale, out, CHARS, 0);
+      return out;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not append the amount", e);
+    }
+  }
+
+  public <A extends Appendable> A format(FixedDecimal amount, A out) {
+    if (amount.isCompact()) {
+      return format(amount.unscaledValue(), amount.scale(), out);
+    }
+    try {
+      out.append(fallback(amount.toBigDecimal()));
+      return out;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not append the amount", e);
+    }
+  }
+
+  /**
+   * @throws IllegalArgumentException if the formatter shows another currency symbol
+   */
+  public <A extends Appendable> A format(Money money, A out) {
+    if (currency != null && !currency.equals(money.currency())) {
+      throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + money.currency());
+    }
+    return format(money.amount(), out);
+  }
+
+  /**
+   * Writes the amount as UTF-8, at most {@link #maxLength()} bytes
+   *
+   * @return the index after the last written byte
+   * @throws IndexOutOfBoundsException if the amount does not fit into the array
+   */
+  public int format(long unscaled, int scale, byte[] out, int offset) {
+    checkScale(scale);
+    Objects.checkIndex(offset, out.length + 1);
+    try {
+      return write(unscaled, scale, out, BYTES, offset);
+    } catch (IOException e) {
+      //a byte array is not closed and not full, the exception is never thrown
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public int format(FixedDecimal amount, byte[] out, int offset) {
+    if (amount.isCompact()) {
+      return format(amount.unscaledValue(), amount.scale(), out, offset);
+    }
+    byte[] bytes = fallback(amount.toBigDecimal()).getBytes(StandardCharsets.UTF_8);
+    System.arraycopy(bytes, 0, out, offset, bytes.length);
+    return offset + bytes.length;
+  }
+
+  /**
+   * The same steps, as `DecimalFormat` takes:
+   * - the value is rounded to the maximum fraction digits, a negative value rounded to zero keeps its sign, `-$0.00`
+   * - trailing zeros are dropped down to the minimum fraction digits
+   * - integer digits are padded with zeros up to the minimum integer digits, `.50` for the pattern `###.00`
+   * - a zero is written, if there are neither integer nor fraction digits
+   */
+  private <T> int write(long unscaled, int scale, T out, Target<T> target, int position) throws IOException {
+    long value = unscaled;
+    int fraction = scale;
+    if (scale > maximumFractionDigits) {
+      value = ScaledMath.rescale(unscaled, scale, maximumFractionDigits, roundingMode);
+      fraction = maximumFractionDigits;
+    }
+    if (value == Long.MIN_VALUE) {
+      //its magnitude is not a long
+      return target.put(out, position, Text.of(fallback(BigDecimal.valueOf(unscaled, scale))));
+    }
+    long magnitude = Math.abs(value);
+    long power = ScaledMath.pow10(fraction);
+    long integer = magnitude / power;
+    long fractional = magnitude - integer * power;
+    while (fraction > minimumFractionDigits && fractional % 10 == 0) {
+      fractional /= 10;
+      fraction--;
+    }
+    int integerDigits = Math.max(integer == 0 ? 0 : digits(integer), minimumIntegerDigits);
+    if (integerDigits == 0 && fraction == 0 && minimumFractionDigits == 0) {
+      integerDigits = 1;
+    }
+    boolean negative = unscaled < 0;
+    position = target.put(out, position, negative ? negativePrefix : positivePrefix);
+    for (int i = integerDigits - 1; i >= 0; i--) {
+      int digit = 0;
+      if (i < LONG_DIGITS) {
+        long place = ScaledMath.pow10(i);
+        digit = (int) (integer / place);
+        integer -= digit * place;
+      }
+      position = target.put(out, position, digits[digit]);
+      if (groupingSize > 0 && i > 0 && i % groupingSize == 0) {
+        position = target.put(out, position, groupingSeparator);
+      }
+    }
+    if (fraction > 0 || minimumFractionDigits > 0 || decimalSeparatorAlwaysShown) {
+      position = target.put(out, position, decimalSeparator);
+    }
+    for (int i = fraction - 1; i >= 0; i--) {
+      long place = ScaledMath.pow10(i);
+      int digit = (int) (fractional / place);
+      fractional -= digit * place;
+      position = target.put(out, position, digits[digit]);
+    }
+    for (int i = fraction; i < minimumFractionDigits; i++) {
+      position = target.put(out, position, digits[0]);
+    }
+    return target.put(out, position, negative ? negativeSuffix : positiveSuffix);
+  }
+
+  /**
+   * A `DecimalFormat` is not thread-safe, every call formats with its own copy
+   */
+  private String fallback(BigDecimal value) {
+    return ((DecimalFormat) format.clone()).format(value);
+  }
+
+  private static int digits(long positive) {
+    int digits = 1;
+    while (digits < LONG_DIGITS && positive >= ScaledMath.pow10(digits)) {
+      digits++;
+    }
+    return digits;
+  }
+
+  private static void checkScale(int scale) {
+    if (scale < 0 || scale > ScaledMath.MAX_SCALE) {
+      throw new IllegalArgumentException("Scale must be from 0 to " + ScaledMath.MAX_SCALE + ", but was " + scale);
+    }
+  }
+
+  /**
+   * @return true, if the pattern has the symbol outside of quotes
+   */
+  private static boolean hasUnquoted(String pattern, char symbol) {
+    boolean quoted = false;
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (c == '\'') {
+        quoted = !quoted;
+      } else if (c == symbol && !quoted) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
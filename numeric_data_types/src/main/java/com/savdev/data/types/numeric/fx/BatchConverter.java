@@ -0,0 +1,176 @@
+package com.savdev.data.types.numeric.fx;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+import com.savdev.data.types.numeric.money.ScaledMath;
+
+import java.math.RoundingMode;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Converts columns of amounts with a {@link RateTable}, the same as
+ *  `BigDecimal.valueOf(amount, inputScale).multiply(units).divide(rate, outputScale, mode)` per line, but:
+ *
+ * - amounts are scaled longs of one input scale, currencies are indices of the rate table,
+ *    converted amounts are written as scaled longs of the output scale into an output array
+ * - per currency, the scaling and the divisor are precomputed with a `double` reciprocal of the divisor:
+ *    the quotient is estimated by a multiplication, then corrected by its remainder,
+ *    so it is exact and rounded the same as by `BigDecimal` for every {@link RoundingMode}
+ * - a line, which scaled value does not fit into 53 bits, is divided by a `long` division,
+ *    and a line, which does not fit into a long at all, by {@link FixedDecimal}
+ * - batches are split into segments of {@link #SEGMENT_SIZE} lines, converted in parallel in the common fork/join pool
+ */
+public final class BatchConverter {
+
+  /**
+   * Lines per segment of a parallel conversion, a smaller batch is converted by the calling thread
+   */
+  public static final int SEGMENT_SIZE = 16 * 1024;
+
+  private final RateTable rates;
+  private final int inputScale;
+  private final int outputScale;
+  private final RoundingMode mode;
+  //per currency: amount * multiplier / divisor, a zero multiplier is for a rate without the fast path
+  private final long[] multipliers;
+  private final long[] divisors;
+  private final double[] reciprocals;
+
+  private BatchConverter(RateTable rates, int inputScale, int outputScale, RoundingMode mode) {
+    this.rates = rates;
+    this.inputScale = inputScale;
+    this.outputScale = outputScale;
+    this.mode = mode;
+    int size = rates.size();
+    this.multipliers = new long[size];
+    this.divisors = new long[size];
+    this.reciprocals = new double[size];
+    for (int i = 0; i < size; i++) {
+      FixedDecimal rate = rates.rate(i);
+      if (!rate.isCompact()) {
+        continue;
+      }
+      //(a * 10^-is * 10^u) / (r * 10^-rs) with the output scale: a * 10^(os - is + rs + u) / r
+      int shift = outputScale - inputScale + rate.scale() + rates.unitExponent(i);
+      long multiplier = 1;
+      long divisor = rate.unscaledValue();
+      if (shift > ScaledMath.MAX_SCALE) {
+        continue;
+      } else if (shift >= 0) {
+        multiplier = ScaledMath.pow10(shift);
+      } else if (-shift > ScaledMath.MAX_SCALE
+        || Math.multiplyHigh(divisor, ScaledMath.pow10(-shift)) != 0
+        || divisor * ScaledMath.pow10(-shift) < 0) {
+        continue;
+      } else {
+        divisor *= ScaledMath.pow10(-shift);
+      }
+      multipliers[i] = multiplier;
+      divisors[i] = divisor;
+      reciprocals[i] = 1.0 / divisor;
+    }
+  }
+
+  /**
+   * @param inputScale scale of the amounts, 2 for cents
+   * @param outputScale scale of the converted amounts, 4 for `divide(rate, 4, HALF_UP)`
+   */
+  public static BatchConverter of(RateTable rates, int inputScale, int outputScale, RoundingMode mode) {
+    Objects.requireNonNull(rates, "rates");
+    Objects.requireNonNull(mode, "mode");
+    checkScale("Input", inputScale);
+    checkScale("Output", outputScale);
+    return new BatchConverter(rates, inputScale, outputScale, mode);
+  }
+
+  private static void checkScale(String name, int scale) {
+    if (scale < 0 || scale > ScaledMath.MAX_SCALE) {
+      throw new IllegalArgumentException(
+        name + " scale must be from 0 to " + ScaledMath.MAX_SCALE + ", but was " + scale);
+    }
+  }
+
+  public RateTable rates() {
+    return rates;
+  }
+
+  /**
+   * Converts the batch: `converted[i] = convert(amounts[i], currencies[i])`
+   *
+   * @throws ArithmeticException if a converted amount does not fit into a long,
+   *  or for `UNNECESSARY`, if rounding is necessary; the output is partially written then
+   */
+  public void convert(long[] amounts, int[] currencies, long[] converted) {
+    if (amounts.length != currencies.length || amounts.length != converted.length) {
+      throw new IllegalArgumentException("Amounts, currencies and converted amounts must have the same length, but were "
+        + amounts.length + ", " + currencies.length + " and " + converted.length);
+    }
+    if (amounts.length <= SEGMENT_SIZE) {
+      convert(amounts, currencies, converted, 0, amounts.length);
+    } else {
+      ForkJoinPool.commonPool().invoke(new Segment(amounts, currencies, converted, 0, amounts.length));
+    }
+  }
+
+  /**
+   * Converts the lines from `from` inclusive to `to` exclusive on the calling thread
+   */
+  public void convert(long[] amounts, int[] currencies, long[] converted, int from, int to) {
+    for (int i = from; i < to; i++) {
+      converted[i] = convert(amounts[i], currencies[i]);
+    }
+  }
+
+  /**
+   * @param amount scaled by the input scale
+   * @param currency index of the currency in the rate table
+   * @return the converted amount, scaled by the output scale
+   */
+  public long convert(long amount, int currency) {
+    long multiplier = multipliers[currency];
+    long scaled = amount * multiplier;
+    if (multiplier == 0 || Math.multiplyHigh(amount, multiplier) != scaled >> 63) {
+      return convertExactly(amount, currency);
+    }
+    return ScaledMath.divide(scaled, divisors[currency], reciprocals[currency], mode);
+  }
+
+  private long convertExactly(long amount, int currency) {
+    //amount * 10^u is the same value as the amount with the scale decreased by u
+    return FixedDecimal.of(amount, inputScale - rates.unitExponent(currency))
+      .divide(rates.rate(currency), outputScale, mode)
+      .unscaledValue();
+  }
+
+  //a fork/join task is never serialized
+  @SuppressWarnings("serial")
+  private final class Segment extends RecursiveAction {
+
+    private final long[] amounts;
+    private final int[] currencies;
+    private final long[] converted;
+    private final int from;
+    private final int to;
+
+    Segment(long[] amounts, int[] currencies, long[] converted, int from, int to) {
+      this.amounts = amounts;
+      this.currencies = currencies;
+      this.converted = converted;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= SEGMENT_SIZE) {
+        convert(amounts, currencies, converted, from, to);
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(
+        new Segment(amounts, currencies, converted, from, middle),
+        new Segment(amounts, currencies, converted, middle, to));
+    }
+  }
+}
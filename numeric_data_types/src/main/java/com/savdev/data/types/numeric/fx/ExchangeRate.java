@@ -0,0 +1,171 @@
+package com.savdev.data.types.numeric.fx;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+import com.savdev.data.types.numeric.money.MathContexts;
+import com.savdev.data.types.numeric.money.ScaledMath;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * A rate of a currency pair of a {@link RateRegistry} snapshot, everything but the conversion itself is precomputed.
+ *
+ * - the rate is normalized to one unit of the target currency of its table:
+ *    `840.3361` EUR for 10000 NOK is `0.08403361` EUR for 1 NOK
+ * - a quoted rate converts into the target currency of its table by a division, `amountInNOK = amountInEUR / 0.08403361`,
+ *    the inverse one back by a multiplication, `amountInEUR = amountInNOK * 0.08403361`,
+ *    both are exact with the rounding of the result only
+ * - an amount is converted as `amount * multiplier * 10^exponent / divisor` of scaled longs, as `BatchConverter` does:
+ *    the divisor of a quoted rate has a `double` reciprocal, the quotient is estimated by it and corrected by its remainder,
+ *    only an amount, which does not fit into a long, when scaled, is converted by {@link FixedDecimal}
+ * - {@link #factor()} is the amount of the target of the pair for one unit of its source,
+ *    its reciprocal is computed once for a quoted rate
+ */
+public final class ExchangeRate {
+
+  //34 digits, as `MathContext.DECIMAL128`
+  private static final MathContext FACTOR_PRECISION = MathContexts.of(34, RoundingMode.HALF_EVEN);
+
+  private final Currency from;
+  private final Currency to;
+  private final FixedDecimal rate;
+  private final BigDecimal decimalRate;
+  //true: amounts are divided by the rate, false: multiplied
+  private final boolean quoted;
+  private final BigDecimal factor;
+  //`factor = multiplier * 10^exponent / divisor`, the multiplier is 1 for a quoted rate, the divisor for an inverse one,
+  // a zero multiplier is for a rate, which unscaled value does not fit into a long
+  private final long multiplier;
+  private final long divisor;
+  private final double reciprocal;
+  private final int exponent;
+
+  private ExchangeRate(Currency from, Currency to, FixedDecimal rate, boolean quoted) {
+    this.from = from;
+    this.to = to;
+    this.rate = rate;
+    this.decimalRate = rate.toBigDecimal();
+    this.quoted = quoted;
+    this.factor = quoted ? BigDecimal.ONE.divide(decimalRate, FACTOR_PRECISION) : decimalRate;
+    boolean compact = rate.isCompact();
+    long unscaled = compact ? rate.unscaledValue() : 0;
+    this.multiplier = !compact ? 0 : quoted ? 1 : unscaled;
+    this.divisor = quoted && compact ? unscaled : 1;
+    this.reciprocal = 1.0 / divisor;
+    this.exponent = quoted ? rate.scale() : -rate.scale();
+  }
+
+  /**
+   * @param perUnit the price of one unit of the target currency in the source currency
+   */
+  static ExchangeRate quoted(Currency source, Currency target, FixedDecimal perUnit) {
+    return new ExchangeRate(source, target, perUnit, true);
+  }
+
+  static ExchangeRate inverse(Currency target, Currency source, FixedDecimal perUnit) {
+    return new ExchangeRate(target, source, perUnit, false);
+  }
+
+  static ExchangeRate identity(Currency currency) {
+    return new ExchangeRate(currency, currency, FixedDecimal.ONE, false);
+  }
+
+  public Currency from() {
+    return from;
+  }
+
+  public Currency to() {
+    return to;
+  }
+
+  /**
+   * @return the published rate per one unit of the target currency of its table
+   */
+  public FixedDecimal rate() {
+    return rate;
+  }
+
+  /**
+   * @return true, if amounts are divided by the rate, false for an inverse rate, which multiplies them
+   */
+  public boolean isQuoted() {
+    return quoted;
+  }
+
+  /**
+   * @return the amount of {@link #to()} for one unit of {@link #from()}:
+   *  exact for an inverse rate, rounded to 34 digits for a quoted one
+   */
+  public BigDecimal factor() {
+    return factor;
+  }
+
+  /**
+   * The same as `amount.divide(rate, scale, mode)` with the rate per one unit,
+   *  or `amount.multiply(rate).setScale(scale, mode)` for an inverse rate
+   */
+  public BigDecimal convert(BigDecimal amount, int scale, RoundingMode mode) {
+    if (amount.precision() <= ScaledMath.MAX_SCALE && amount.scale() >= 0 && amount.scale() <= ScaledMath.MAX_SCALE) {
+      //a compact value of the scale 0, no `BigInteger` is created, unlike by `unscaledValue()`
+      long unscaled = amount.movePointRight(amount.scale()).longValue();
+      try {
+        return BigDecimal.valueOf(convert(unscaled, amount.scale(), scale, mode), scale);
+      } catch (ArithmeticException e) {
+        //the result does not fit into a long, or `UNNECESSARY` fails below again
+      }
+    }
+    return quoted
+      ? amount.divide(decimalRate, scale, mode)
+      : amount.multiply(decimalRate).setScale(scale, mode);
+  }
+
+  public FixedDecimal convert(FixedDecimal amount, int scale, RoundingMode mode) {
+    if (amount.isCompact()) {
+      try {
+        return FixedDecimal.of(convert(amount.unscaledValue(), amount.scale(), scale, mode), scale);
+      } catch (ArithmeticException e) {
+        //the result does not fit into a long, or `UNNECESSARY` fails below again
+      }
+    }
+    return convertExactly(amount, scale, mode);
+  }
+
+  /**
+   * @return the converted amount as an unscaled long of the result scale, nothing is allocated,
+   *  unless the scaled amount does not fit into a long
+   * @throws ArithmeticException if the result does not fit into a long
+   */
+  public long convert(long unscaled, int scale, int resultScale, RoundingMode mode) {
+    //amount * 10^-scale * factor with the result scale: unscaled * multiplier * 10^shift / divisor
+    int shift = resultScale - scale + exponent;
+    long scaled = unscaled * multiplier;
+    if (multiplier != 0 && Math.multiplyHigh(unscaled, multiplier) == scaled >> 63
+      && shift >= -ScaledMath.MAX_SCALE && shift <= ScaledMath.MAX_SCALE) {
+      if (shift >= 0) {
+        long power = ScaledMath.pow10(shift);
+        long dividend = scaled * power;
+        if (Math.multiplyHigh(scaled, power) == dividend >> 63) {
+          return divisor == 1 ? dividend : ScaledMath.divide(dividend, divisor, reciprocal, mode);
+        }
+      } else {
+        long power = ScaledMath.pow10(-shift);
+        long by = divisor * power;
+        if (Math.multiplyHigh(divisor, power) == 0 && by > 0) {
+          return ScaledMath.divide(scaled, by, mode);
+        }
+      }
+    }
+    return convertExactly(FixedDecimal.of(unscaled, scale), resultScale, mode).unscaledValue();
+  }
+
+  private FixedDecimal convertExactly(FixedDecimal amount, int scale, RoundingMode mode) {
+    return quoted ? amount.divide(rate, scale, mode) : amount.multiply(rate, scale, mode);
+  }
+
+  @Override
+  public String toString() {
+    return from + "/" + to + (quoted ? " divide by " : " multiply by ") + rate;
+  }
+}
@@ -0,0 +1,164 @@
+package com.savdev.data.types.numeric.fx;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The current exchange rates of all the published {@link RateTable rate tables}, for many reading threads.
+ *
+ * - a published table replaces the previous table of the same target currency
+ * - every publication builds a new immutable {@link Snapshot}, and swaps it by a volatile write:
+ *    readers never take a lock and never see a half-published table
+ * - a snapshot has a precomputed {@link ExchangeRate} for every pair of a table:
+ *    from a source currency into the target one, and back, the rates are normalized to one unit when published
+ * - a lookup by a currency pair is two hash lookups and an array access, nothing is created
+ * - a pair of two tables is taken from the table published last
+ *
+ * Take a {@link #snapshot()} once for a batch, to convert all its lines with the same rates.
+ */
+public final class RateRegistry {
+
+  //written under the lock of the registry only
+  private final Map<Currency, RateTable> tables = new LinkedHashMap<>();
+  private volatile Snapshot snapshot = new Snapshot(0, List.of());
+
+  /**
+   * Builds a new snapshot with the table, it is visible to the readers, when the method returns
+   */
+  public synchronized void publish(RateTable table) {
+    Objects.requireNonNull(table, "table");
+    //the table moves to the end, it is the last published one
+    tables.remove(table.target());
+    tables.put(table.target(), table);
+    snapshot = new Snapshot(snapshot.version + 1, List.copyOf(tables.values()));
+  }
+
+  /**
+   * @return the rates, which are not changed by later publications
+   */
+  public Snapshot snapshot() {
+    return snapshot;
+  }
+
+  /**
+   * @throws IllegalArgumentException if the current snapshot has no rate for the pair
+   */
+  public ExchangeRate rate(String from, String to) {
+    return snapshot.rate(from, to);
+  }
+
+  public ExchangeRate rate(Currency from, Currency to) {
+    return snapshot.rate(from, to);
+  }
+
+  /**
+   * Immutable rates of all the pairs of the published tables,
+   *  currencies are numbered, the rates are in an array of `size * size` pairs
+   */
+  public static final class Snapshot {
+
+    private final long version;
+    private final Map<Currency, Integer> indices;
+    private final Map<String, Integer> codes;
+    private final Currency[] currencies;
+    private final ExchangeRate[] rates;
+
+    private Snapshot(long version, List<RateTable> tables) {
+      this.version = version;
+      var indices = new HashMap<Currency, Integer>();
+      var currencies = new ArrayList<Currency>();
+      for (var table : tables) {
+        add(table.target(), indices, currencies);
+        for (int i = 0; i < table.size(); i++) {
+          add(table.currency(i), indices, currencies);
+        }
+      }
+      int size = currencies.size();
+      this.currencies = currencies.toArray(new Currency[0]);
+      this.rates = new ExchangeRate[size * size];
+      for (int i = 0; i < size; i++) {
+        rates[i * size + i] = ExchangeRate.identity(this.currencies[i]);
+      }
+      for (var table : tables) {
+        int target = indices.get(table.target());
+        for (int i = 0; i < table.size(); i++) {
+          int source = indices.get(table.currency(i));
+          var perUnit = FixedDecimal.of(table.rate(i).toBigDecimal().movePointLeft(table.unitExponent(i)));
+          rates[source * size + target] = ExchangeRate.quoted(table.currency(i), table.target(), perUnit);
+          rates[target * size + source] = ExchangeRate.inverse(table.target(), table.currency(i), perUnit);
+        }
+      }
+      this.indices = Map.copyOf(indices);
+      var codes = new HashMap<String, Integer>();
+      indices.forEach((currency, index) -> codes.put(currency.getCurrencyCode(), index));
+      this.codes = Map.copyOf(codes);
+    }
+
+    private static void add(Currency currency, Map<Currency, Integer> indices, List<Currency> currencies) {
+      if (indices.putIfAbsent(currency, currencies.size()) == null) {
+        currencies.add(currency);
+      }
+    }
+
+    /**
+     * @return the number of publications, which the snapshot includes
+     */
+    public long version() {
+      return version;
+    }
+
+    public int size() {
+      return currencies.length;
+    }
+
+    /**
+     * @throws IllegalArgumentException if there is no rate for the currency
+     */
+    public int index(Currency currency) {
+      Integer index = indices.get(currency);
+      if (index == null) {
+        throw new IllegalArgumentException("No rate for currency " + currency);
+      }
+      return index;
+    }
+
+    public int index(String currencyCode) {
+      Integer index = codes.get(currencyCode);
+      if (index == null) {
+        throw new IllegalArgumentException("No rate for currency " + currencyCode);
+      }
+      return index;
+    }
+
+    public Currency currency(int index) {
+      return currencies[index];
+    }
+
+    public ExchangeRate rate(Currency from, Currency to) {
+      return rate(index(from), index(to));
+    }
+
+    public ExchangeRate rate(String from, String to) {
+      return rate(index(from), index(to));
+    }
+
+    /**
+     * @param from index of the currency, see {@link #index(Currency)}
+     * @throws IllegalArgumentException if the currencies are not in one table
+     */
+    public ExchangeRate rate(int from, int to) {
+      var rate = rates[from * currencies.length + to];
+      if (rate == null) {
+        throw new IllegalArgumentException("No rate from " + currencies[from] + " to " + currencies[to]);
+      }
+      return rate;
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package com.savdev.data.types.numeric.fx;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable exchange rates into one target currency.
+ *
+ * A rate is the price of `units` of the target currency in a source currency:
+ * - `1.0915` USD for 1 EUR, the target is EUR: `amountInEUR = amountInUSD / 1.0915`
+ * - `840.3361` EUR for 10000 NOK, the target is NOK: `amountInNOK = amountInEUR * 10000 / 840.3361`
+ *
+ * Currencies are numbered in the order they are added, the numbers are used as a column of a batch,
+ *  see {@link #encode(String...)}.
+ */
+public final class RateTable {
+
+  private final Currency target;
+  private final Currency[] currencies;
+  private final FixedDecimal[] rates;
+  private final int[] unitExponents;
+  private final Map<String, Integer> indices;
+
+  private RateTable(Builder builder) {
+    this.target = builder.target;
+    this.currencies = builder.currencies.toArray(new Currency[0]);
+    this.rates = builder.rates.toArray(new FixedDecimal[0]);
+    this.unitExponents = builder.unitExponents.stream().mapToInt(Integer::intValue).toArray();
+    this.indices = Map.copyOf(builder.indices);
+  }
+
+  public static Builder builder(Currency target) {
+    return new Builder(Objects.requireNonNull(target, "target"));
+  }
+
+  public static Builder builder(String target) {
+    return builder(Currency.getInstance(target));
+  }
+
+  public Currency target() {
+    return target;
+  }
+
+  public int size() {
+    return currencies.length;
+  }
+
+  /**
+   * @throws IllegalArgumentException if there is no rate for the currency
+   */
+  public int index(String currencyCode) {
+    Integer index = indices.get(currencyCode);
+    if (index == null) {
+      throw new IllegalArgumentException("No rate for currency " + currencyCode);
+    }
+    return index;
+  }
+
+  /**
+   * @return the column of currency indices for the currency codes of a batch
+   */
+  public int[] encode(String... currencyCodes) {
+    int[] column = new int[currencyCodes.length];
+    for (int i = 0; i < column.length; i++) {
+      column[i] = index(currencyCodes[i]);
+    }
+    return column;
+  }
+
+  public Currency currency(int index) {
+    return currencies[index];
+  }
+
+  public FixedDecimal rate(int index) {
+    return rates[index];
+  }
+
+  /**
+   * @return the exponent of the units of the rate: 0 for a rate per 1, 4 for a rate per 10000
+   */
+  public int unitExponent(int index) {
+    return unitExponents[index];
+  }
+
+  public static final class Builder {
+
+    private final Currency target;
+    private final List<Currency> currencies = new ArrayList<>();
+    private final List<FixedDecimal> rates = new ArrayList<>();
+    private final List<Integer> unitExponents = new ArrayList<>();
+    private final Map<String, Integer> indices = new HashMap<>();
+
+    private Builder(Currency target) {
+      this.target = target;
+    }
+
+    /**
+     * @param rate the price of 1 unit of the target currency
+     */
+    public Builder rate(String currencyCode, String rate) {
+      return rate(currencyCode, new BigDecimal(rate), 1);
+    }
+
+    /**
+     * @param rate the price of `units` of the target currency
+     * @param units a power of ten
+     */
+    public Builder rate(String currencyCode, BigDecimal rate, long units) {
+      if (indices.containsKey(currencyCode)) {
+        throw new IllegalArgumentException("Rate of " + currencyCode + " is already added");
+      }
+      if (rate.signum() <= 0) {
+        throw new IllegalArgumentException("Rate of " + currencyCode + " must be positive, but was " + rate);
+      }
+      int exponent = exponentOf(units);
+      indices.put(currencyCode, currencies.size());
+      currencies.add(Currency.getInstance(currencyCode));
+      rates.add(FixedDecimal.of(rate));
+      unitExponents.add(exponent);
+      return this;
+    }
+
+    private static int exponentOf(long units) {
+      int exponent = 0;
+      long power = 1;
+      while (power < units && exponent < 18) {
+        power *= 10;
+        exponent++;
+      }
+      if (power != units) {
+        throw new IllegalArgumentException("Units must be a power of ten, but was " + units);
+      }
+      return exponent;
+    }
+
+    public RateTable build() {
+      return new RateTable(this);
+    }
+  }
+}
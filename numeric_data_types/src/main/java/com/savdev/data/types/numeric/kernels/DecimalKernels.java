@@ -0,0 +1,61 @@
+package com.savdev.data.types.numeric.kernels;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+
+import java.math.RoundingMode;
+
+/**
+ * Bulk arithmetic on columns of scaled longs, see {@link com.savdev.data.types.numeric.money.ScaledMath}.
+ *
+ * - {@link #get()} uses the SIMD lanes of `jdk.incubator.vector`, if the module is enabled:
+ *    `--add-modules jdk.incubator.vector`, otherwise it is the same as {@link #scalar()}
+ * - both give exactly the same results and throw the same exceptions, the results are the same as of `BigDecimal`
+ * - overflow is detected: `ArithmeticException`, as for `Math.addExact`,
+ *    the result array is partially written then
+ */
+public interface DecimalKernels {
+
+  /**
+   * @return the vectorized kernels, if `jdk.incubator.vector` is enabled, the scalar ones otherwise
+   */
+  static DecimalKernels get() {
+    return KernelsLoader.BEST;
+  }
+
+  static DecimalKernels scalar() {
+    return ScalarKernels.INSTANCE;
+  }
+
+  /**
+   * @return true, if the kernels use SIMD lanes
+   */
+  boolean isVectorized();
+
+  /**
+   * @return the exact sum
+   * @throws ArithmeticException only if the sum does not fit into a long,
+   *  an intermediate overflow of a partial sum is not an error
+   */
+  long sum(long[] values);
+
+  /**
+   * `result[i] = left[i] + right[i]` of the same scale
+   */
+  void add(long[] left, long[] right, long[] result);
+
+  /**
+   * `result[i] = values[i] * factor`, the scale does not change
+   */
+  void multiply(long[] values, long factor, long[] result);
+
+  /**
+   * Rounds every value, as `BigDecimal.setScale(toScale, mode)`
+   */
+  void rescale(long[] values, int fromScale, int toScale, RoundingMode mode, long[] result);
+
+  /**
+   * Scales by a rate and rounds to the scale of the values:
+   *  `result[i] = values[i] * rate`, as `BigDecimal.multiply(rate).setScale(scaleOfValues, mode)`
+   */
+  void multiply(long[] values, FixedDecimal rate, RoundingMode mode, long[] result);
+}
@@ -0,0 +1,27 @@
+package com.savdev.data.types.numeric.kernels;
+
+/**
+ * Loads the vectorized kernels by reflection, only if `jdk.incubator.vector` is in the boot layer,
+ *  otherwise their class would fail with a `NoClassDefFoundError`
+ */
+final class KernelsLoader {
+
+  static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+  static final DecimalKernels BEST = load();
+
+  private KernelsLoader() {}
+
+  private static DecimalKernels load() {
+    if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+      return ScalarKernels.INSTANCE;
+    }
+    try {
+      return (DecimalKernels) Class.forName(KernelsLoader.class.getPackageName() + ".VectorKernels")
+        .getDeclaredConstructor()
+        .newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return ScalarKernels.INSTANCE;
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.savdev.data.types.numeric.kernels;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+import com.savdev.data.types.numeric.money.ScaledMath;
+
+import java.math.RoundingMode;
+
+/**
+ * One value at a time, also the fallback of the vectorized kernels for the tails and for the chunks,
+ *  which do not fit into their fast path
+ */
+final class ScalarKernels implements DecimalKernels {
+
+  static final ScalarKernels INSTANCE = new ScalarKernels();
+
+  private ScalarKernels() {}
+
+  @Override
+  public boolean isVectorized() {
+    return false;
+  }
+
+  @Override
+  public long sum(long[] values) {
+    return sum(values, 0, values.length);
+  }
+
+  /**
+   * A 128-bit sum: the low word with the carry into the high word
+   */
+  static long sum(long[] values, int from, int to) {
+    long low = 0;
+    long high = 0;
+    for (int i = from; i < to; i++) {
+      long value = values[i];
+      long sum = low + value;
+      high += (value >> 63) + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+      low = sum;
+    }
+    if (high != low >> 63) {
+      throw new ArithmeticException("long overflow");
+    }
+    return low;
+  }
+
+  @Override
+  public void add(long[] left, long[] right, long[] result) {
+    checkLengths(left, right, result);
+    add(left, right, result, 0, left.length);
+  }
+
+  static void add(long[] left, long[] right, long[] result, int from, int to) {
+    for (int i = from; i < to; i++) {
+      result[i] = Math.addExact(left[i], right[i]);
+    }
+  }
+
+  @Override
+  public void multiply(long[] values, long factor, long[] result) {
+    checkLengths(values, result);
+    multiply(values, factor, result, 0, values.length);
+  }
+
+  static void multiply(long[] values, long factor, long[] result, int from, int to) {
+    for (int i = from; i < to; i++) {
+      result[i] = Math.multiplyExact(values[i], factor);
+    }
+  }
+
+  @Override
+  public void rescale(long[] values, int fromScale, int toScale, RoundingMode mode, long[] result) {
+    checkLengths(values, result);
+    rescale(values, fromScale, toScale, mode, result, 0, values.length);
+  }
+
+  static void rescale(long[] values, int fromScale, int toScale, RoundingMode mode, long[] result, int from, int to) {
+    for (int i = from; i < to; i++) {
+      result[i] = ScaledMath.rescale(values[i], fromScale, toScale, mode);
+    }
+  }
+
+  @Override
+  public void multiply(long[] values, FixedDecimal rate, RoundingMode mode, long[] result) {
+    checkLengths(values, result);
+    multiply(values, rate, mode, result, 0, values.length);
+  }
+
+  static void multiply(long[] values, FixedDecimal rate, RoundingMode mode, long[] result, int from, int to) {
+    long unscaledRate = rate.isCompact() ? rate.unscaledValue() : 0;
+    for (int i = from; i < to; i++) {
+      long value = values[i];
+      long product = value * unscaledRate;
+      if (unscaledRate != 0 && Math.multiplyHigh(value, unscaledRate) == product >> 63) {
+        result[i] = ScaledMath.rescale(product, rate.scale(), 0, mode);
+      } else {
+        //the value is taken with the scale 0, so the scale of the product is the scale of the rate
+        result[i] = FixedDecimal.of(value).multiply(rate, 0, mode).unscaledValue();
+      }
+    }
+  }
+
+  static void checkLengths(long[] values, long[] result) {
+    if (values.length != result.length) {
+      throw new IllegalArgumentException(
+        "Values and result must have the same length, but were " + values.length + " and " + result.length);
+    }
+  }
+
+  static void checkLengths(long[] left, long[] right, long[] result) {
+    if (left.length != right.length || left.length != result.length) {
+      throw new IllegalArgumentException("Left, right and result must have the same length, but were "
+        + left.length + ", " + right.length + " and " + result.length);
+    }
+  }
+}
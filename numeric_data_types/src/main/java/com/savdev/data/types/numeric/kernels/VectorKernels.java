@@ -0,0 +1,205 @@
+package com.savdev.data.types.numeric.kernels;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+import com.savdev.data.types.numeric.money.ScaledMath;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.math.RoundingMode;
+
+/**
+ * The kernels on the preferred SIMD lanes of the CPU: 8 longs with AVX-512, 4 with AVX2.
+ *
+ * - overflow is checked for a whole vector, if any lane overflows, the chunk is computed again by {@link ScalarKernels},
+ *    which then throws for the exact value, and computes the exact sum
+ * - there is no SIMD division of longs, a quotient is estimated by a multiplication of `double`s with the reciprocal
+ *    of the divisor, and corrected by the remainder, so a lane, which does not fit into 53 bits, falls back as well
+ * - the lengths, which are not a multiple of the lanes, are finished by {@link ScalarKernels}
+ *
+ * Loaded only by {@link KernelsLoader}, as it needs `--add-modules jdk.incubator.vector`.
+ */
+final class VectorKernels implements DecimalKernels {
+
+  private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+  //longs, which are exactly represented by a double
+  private static final long EXACT_DOUBLE = 1L << 53;
+
+  @Override
+  public boolean isVectorized() {
+    return true;
+  }
+
+  @Override
+  public long sum(long[] values) {
+    int bound = SPECIES.loopBound(values.length);
+    var sums = LongVector.zero(SPECIES);
+    //sign bits of the lanes are set, if a lane has overflown
+    var overflows = LongVector.zero(SPECIES);
+    for (int i = 0; i < bound; i += SPECIES.length()) {
+      var v = LongVector.fromArray(SPECIES, values, i);
+      var s = sums.add(v);
+      overflows = overflows.or(sums.lanewise(VectorOperators.XOR, s).and(v.lanewise(VectorOperators.XOR, s)));
+      sums = s;
+    }
+    if (overflows.compare(VectorOperators.LT, 0).anyTrue()) {
+      return ScalarKernels.sum(values, 0, values.length);
+    }
+    long sum = 0;
+    try {
+      for (int lane = 0; lane < SPECIES.length(); lane++) {
+        sum = Math.addExact(sum, sums.lane(lane));
+      }
+      for (int i = bound; i < values.length; i++) {
+        sum = Math.addExact(sum, values[i]);
+      }
+    } catch (ArithmeticException partialOverflow) {
+      //the lanes may overflow, while the whole sum does not
+      return ScalarKernels.sum(values, 0, values.length);
+    }
+    return sum;
+  }
+
+  @Override
+  public void add(long[] left, long[] right, long[] result) {
+    ScalarKernels.checkLengths(left, right, result);
+    int bound = SPECIES.loopBound(left.length);
+    for (int i = 0; i < bound; i += SPECIES.length()) {
+      var a = LongVector.fromArray(SPECIES, left, i);
+      var b = LongVector.fromArray(SPECIES, right, i);
+      var s = a.add(b);
+      var overflow = a.lanewise(VectorOperators.XOR, s).and(b.lanewise(VectorOperators.XOR, s));
+      if (overflow.compare(VectorOperators.LT, 0).anyTrue()) {
+        ScalarKernels.add(left, right, result, i, i + SPECIES.length());
+      } else {
+        s.intoArray(result, i);
+      }
+    }
+    ScalarKernels.add(left, right, result, bound, left.length);
+  }
+
+  @Override
+  public void multiply(long[] values, long factor, long[] result) {
+    ScalarKernels.checkLengths(values, result);
+    //|value| <= MAX / |factor| cannot overflow, |Long.MIN_VALUE| is negative, so it is out of the limit as well
+    long limit = factor == 0 || factor == Long.MIN_VALUE ? 0 : Long.MAX_VALUE / Math.abs(factor);
+    int bound = factor == 0 || factor == Long.MIN_VALUE ? 0 : SPECIES.loopBound(values.length);
+    for (int i = 0; i < bound; i += SPECIES.length()) {
+      var v = LongVector.fromArray(SPECIES, values, i);
+      if (!withinLimit(v, limit)) {
+        ScalarKernels.multiply(values, factor, result, i, i + SPECIES.length());
+      } else {
+        v.mul(factor).intoArray(result, i);
+      }
+    }
+    ScalarKernels.multiply(values, factor, result, bound, values.length);
+  }
+
+  @Override
+  public void rescale(long[] values, int fromScale, int toScale, RoundingMode mode, long[] result) {
+    ScalarKernels.checkLengths(values, result);
+    int down = fromScale - toScale;
+    if (down < 0) {
+      if (-down <= ScaledMath.MAX_SCALE) {
+        multiply(values, ScaledMath.pow10(-down), result);
+      } else {
+        ScalarKernels.rescale(values, fromScale, toScale, mode, result, 0, values.length);
+      }
+      return;
+    }
+    if (down == 0 || down > ScaledMath.MAX_SCALE) {
+      ScalarKernels.rescale(values, fromScale, toScale, mode, result, 0, values.length);
+      return;
+    }
+    long divisor = ScaledMath.pow10(down);
+    double reciprocal = 1.0 / divisor;
+    int bound = SPECIES.loopBound(values.length);
+    for (int i = 0; i < bound; i += SPECIES.length()) {
+      var v = LongVector.fromArray(SPECIES, values, i);
+      if (!withinLimit(v, EXACT_DOUBLE) || !divide(v, divisor, reciprocal, mode, result, i)) {
+        ScalarKernels.rescale(values, fromScale, toScale, mode, result, i, i + SPECIES.length());
+      }
+    }
+    ScalarKernels.rescale(values, fromScale, toScale, mode, result, bound, values.length);
+  }
+
+  @Override
+  public void multiply(long[] values, FixedDecimal rate, RoundingMode mode, long[] result) {
+    ScalarKernels.checkLengths(values, result);
+    long unscaledRate = rate.isCompact() ? rate.unscaledValue() : 0;
+    //the product must fit into 53 bits for the division by the reciprocal
+    long limit = unscaledRate == 0 ? 0 : EXACT_DOUBLE / Math.abs(unscaledRate);
+    int bound = limit == 0 ? 0 : SPECIES.loopBound(values.length);
+    long divisor = ScaledMath.pow10(rate.scale() <= ScaledMath.MAX_SCALE ? rate.scale() : 0);
+    double reciprocal = 1.0 / divisor;
+    for (int i = 0; i < bound; i += SPECIES.length()) {
+      var v = LongVector.fromArray(SPECIES, values, i);
+      if (!withinLimit(v, limit)) {
+        ScalarKernels.multiply(values, rate, mode, result, i, i + SPECIES.length());
+      } else if (divisor == 1) {
+        v.mul(unscaledRate).intoArray(result, i);
+      } else if (!divide(v.mul(unscaledRate), divisor, reciprocal, mode, result, i)) {
+        ScalarKernels.multiply(values, rate, mode, result, i, i + SPECIES.length());
+      }
+    }
+    ScalarKernels.multiply(values, rate, mode, result, bound, values.length);
+  }
+
+  /**
+   * The rounding decision of {@link ScaledMath#round} for the lanes: a quotient and a remainder of the absolute values.
+   *  It is a separate method, as the vectors are kept in registers, only if all the methods are inlined,
+   *  and a method of more than 325 bytes is not.
+   */
+  private static VectorMask<Long> roundsAway(LongVector v, LongVector q, LongVector r, long divisor,
+                                             VectorMask<Long> inexact, RoundingMode mode) {
+    return switch (mode) {
+      case UP -> inexact;
+      case DOWN, UNNECESSARY -> SPECIES.maskAll(false);
+      case CEILING -> inexact.and(v.compare(VectorOperators.GT, 0));
+      case FLOOR -> inexact.and(v.compare(VectorOperators.LT, 0));
+      //compares the remainder with the half of the divisor: r vs divisor - r
+      case HALF_UP -> r.compare(VectorOperators.GE, LongVector.broadcast(SPECIES, divisor).sub(r));
+      case HALF_DOWN -> r.compare(VectorOperators.GT, LongVector.broadcast(SPECIES, divisor).sub(r));
+      case HALF_EVEN -> r.add(q.and(1)).compare(VectorOperators.GT, LongVector.broadcast(SPECIES, divisor).sub(r));
+    };
+  }
+
+  /**
+   * @return true, if `|v| <= limit` for all the lanes
+   */
+  private static boolean withinLimit(LongVector v, long limit) {
+    return !v.abs().compare(VectorOperators.UNSIGNED_GT, limit).anyTrue();
+  }
+
+  /**
+   * Divides the lanes, which fit into 53 bits, by the divisor with rounding, as {@link ScaledMath#divide}
+   *
+   * @return false, if the lanes are not written, as rounding is necessary for `UNNECESSARY`
+   */
+  private static boolean divide(LongVector v, long divisor, double reciprocal, RoundingMode mode, long[] result, int offset) {
+    var a = v.abs();
+    var q = (LongVector) ((DoubleVector) a.convert(VectorOperators.L2D, 0))
+      .mul(reciprocal)
+      .convert(VectorOperators.D2L, 0);
+    var r = a.sub(q.mul(divisor));
+    //the estimate is off by at most 1: |quotient| < 2^50 for a divisor of at least 10, the error of the double is 2^-52
+    var low = r.compare(VectorOperators.LT, 0);
+    q = q.sub(1, low);
+    r = r.add(divisor, low);
+    var high = r.compare(VectorOperators.GE, divisor);
+    q = q.add(1, high);
+    r = r.sub(divisor, high);
+
+    var inexact = r.compare(VectorOperators.NE, 0);
+    if (mode == RoundingMode.UNNECESSARY && inexact.anyTrue()) {
+      return false;
+    }
+    q.add(1, roundsAway(v, q, r, divisor, inexact, mode))
+      .lanewise(VectorOperators.NEG, v.compare(VectorOperators.LT, 0))
+      .intoArray(result, offset);
+    return true;
+  }
+}
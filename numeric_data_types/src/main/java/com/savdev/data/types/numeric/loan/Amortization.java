@@ -0,0 +1,138 @@
+package com.savdev.data.types.numeric.loan;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+import com.savdev.data.types.numeric.money.ScaledMath;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Amortization of fixed-rate loans by equal payments, amounts are longs in minor units.
+ *
+ * - the payment is `principal * r / (1 - (1 + r)^-n)`, rounded to a minor unit, where `r` is the rate of a period;
+ *    the annuity factor `r / (1 - (1 + r)^-n)` is computed once per rate and number of periods, and reused by all loans
+ * - the interest of a period is `balance * annualRate / periodsPerYear`, rounded to a minor unit,
+ *    the rate of a period is not rounded
+ * - the last payment is the interest and the whole balance, so the principals of a schedule sum up to the loan exactly
+ * - schedules are lazy, {@link #schedule(Loan)} keeps only the loan and the payment,
+ *    periods are computed, while they are iterated
+ *
+ * The engine is immutable and thread-safe, the cache of the factors is shared.
+ */
+public final class Amortization {
+
+  //34 digits, the factor is exact to far less than a minor unit of any loan, which fits a long
+  private static final MathContext FACTOR_PRECISION = MathContext.DECIMAL128;
+
+  /**
+   * The values of one rate and number of periods
+   *
+   * @param rate    the unscaled annual rate, or 0, if the interest is computed by `FixedDecimal`
+   * @param divisor `periodsPerYear * 10^scale of the rate`, or 0, if it does not fit a long
+   */
+  record Terms(FixedDecimal annualRate, long rate, long divisor, BigDecimal factor) {
+  }
+
+  private record TermsKey(FixedDecimal annualRate, int periods) {
+  }
+
+  private final int periodsPerYear;
+  private final RoundingMode roundingMode;
+  private final Map<TermsKey, Terms> terms = new ConcurrentHashMap<>();
+
+  private Amortization(int periodsPerYear, RoundingMode roundingMode) {
+    this.periodsPerYear = periodsPerYear;
+    this.roundingMode = roundingMode;
+  }
+
+  /**
+   * @return monthly payments, the payment and the interest are rounded half even, as banks do
+   */
+  public static Amortization monthly() {
+    return of(12, RoundingMode.HALF_EVEN);
+  }
+
+  public static Amortization of(int periodsPerYear, RoundingMode roundingMode) {
+    if (periodsPerYear < 1) {
+      throw new IllegalArgumentException("Periods per year must be at least 1, but was " + periodsPerYear);
+    }
+    if (Objects.requireNonNull(roundingMode, "roundingMode") == RoundingMode.UNNECESSARY) {
+      throw new IllegalArgumentException("Rounding mode must round, but was " + roundingMode);
+    }
+    return new Amortization(periodsPerYear, roundingMode);
+  }
+
+  public AmortizationSchedule schedule(Loan loan) {
+    var terms = terms(loan);
+    return new AmortizationSchedule(this, loan, terms, payment(loan.principal(), terms));
+  }
+
+  /**
+   * @return the equal payment of all the periods, but the last one, in minor units
+   */
+  public long payment(Loan loan) {
+    return payment(loan.principal(), terms(loan));
+  }
+
+  /**
+   * Sums up the cash flows of all the loans per period, schedules are computed in parallel,
+   *  none of them is kept in memory
+   *
+   * @throws ArithmeticException if a sum overflows a long
+   */
+  public CashFlows cashFlows(Collection<Loan> loans) {
+    int periods = loans.stream().mapToInt(Loan::periods).max().orElse(0);
+    return loans.parallelStream()
+      .collect(
+        () -> new CashFlows(periods),
+        (flows, loan) -> schedule(loan).forEach(flows::add),
+        CashFlows::addAll);
+  }
+
+  long interest(long balance, Terms terms) {
+    long product = balance * terms.rate();
+    if (terms.divisor() != 0 && Math.multiplyHigh(balance, terms.rate()) == product >> 63) {
+      return ScaledMath.divide(product, terms.divisor(), roundingMode);
+    }
+    return FixedDecimal.of(balance).multiply(terms.annualRate())
+      .divide(FixedDecimal.of(periodsPerYear), 0, roundingMode)
+      .unscaledValue();
+  }
+
+  private long payment(long principal, Terms terms) {
+    return BigDecimal.valueOf(principal).multiply(terms.factor())
+      .setScale(0, roundingMode)
+      .longValueExact();
+  }
+
+  private Terms terms(Loan loan) {
+    return terms.computeIfAbsent(new TermsKey(loan.annualRate(), loan.periods()), this::newTerms);
+  }
+
+  private Terms newTerms(TermsKey key) {
+    var annualRate = key.annualRate();
+    long rate = 0;
+    long divisor = 0;
+    if (annualRate.isCompact()) {
+      long power = ScaledMath.pow10(annualRate.scale());
+      rate = annualRate.unscaledValue();
+      divisor = power <= Long.MAX_VALUE / periodsPerYear ? power * periodsPerYear : 0;
+    }
+    var periodRate = annualRate.toBigDecimal().divide(BigDecimal.valueOf(periodsPerYear), FACTOR_PRECISION);
+    BigDecimal factor;
+    if (periodRate.signum() == 0) {
+      factor = BigDecimal.ONE.divide(BigDecimal.valueOf(key.periods()), FACTOR_PRECISION);
+    } else {
+      //r / (1 - (1 + r)^-n) = r * q / (q - 1), where q = (1 + r)^n
+      var growth = BigDecimal.ONE.add(periodRate).pow(key.periods(), FACTOR_PRECISION);
+      factor = periodRate.multiply(growth, FACTOR_PRECISION)
+        .divide(growth.subtract(BigDecimal.ONE), FACTOR_PRECISION);
+    }
+    return new Terms(annualRate, rate, divisor, factor);
+  }
+}
@@ -0,0 +1,99 @@
+package com.savdev.data.types.numeric.loan;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A lazy schedule of a loan: periods are computed, while they are iterated, nothing is kept but the loan and the payment.
+ *  Every iteration starts from the first period again.
+ *
+ * - {@link #forEach(InstallmentConsumer)} passes the amounts of a period as longs, no object is created per period
+ * - {@link #iterator()} and {@link #stream()} create an {@link Installment} per period
+ */
+public final class AmortizationSchedule implements Iterable<Installment> {
+
+  @FunctionalInterface
+  public interface InstallmentConsumer {
+    void accept(int period, long payment, long interest, long principal, long balance);
+  }
+
+  private final Amortization amortization;
+  private final Loan loan;
+  private final Amortization.Terms terms;
+  private final long payment;
+
+  AmortizationSchedule(Amortization amortization, Loan loan, Amortization.Terms terms, long payment) {
+    this.amortization = amortization;
+    this.loan = loan;
+    this.terms = terms;
+    this.payment = payment;
+  }
+
+  public Loan loan() {
+    return loan;
+  }
+
+  /**
+   * @return the equal payment of all the periods, but the last one
+   */
+  public long payment() {
+    return payment;
+  }
+
+  public void forEach(InstallmentConsumer consumer) {
+    long balance = loan.principal();
+    for (int period = 1; period <= loan.periods(); period++) {
+      long interest = amortization.interest(balance, terms);
+      long principal = principal(period, interest, balance);
+      balance -= principal;
+      consumer.accept(period, interest + principal, interest, principal, balance);
+    }
+  }
+
+  @Override
+  public Iterator<Installment> iterator() {
+    return new Iterator<>() {
+      int period;
+      long balance = loan.principal();
+
+      @Override
+      public boolean hasNext() {
+        return period < loan.periods();
+      }
+
+      @Override
+      public Installment next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        period++;
+        long interest = amortization.interest(balance, terms);
+        long principal = principal(period, interest, balance);
+        balance -= principal;
+        return new Installment(period, interest + principal, interest, principal, balance);
+      }
+    };
+  }
+
+  @Override
+  public Spliterator<Installment> spliterator() {
+    return Spliterators.spliterator(iterator(), loan.periods(),
+      Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+  }
+
+  public Stream<Installment> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * The last period repays the whole balance, the rounding differences of all the payments included,
+   *  no earlier period repays more than the balance
+   */
+  private long principal(int period, long interest, long balance) {
+    return period == loan.periods() ? balance : Math.min(payment - interest, balance);
+  }
+}
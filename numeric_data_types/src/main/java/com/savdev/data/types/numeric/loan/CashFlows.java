@@ -0,0 +1,87 @@
+package com.savdev.data.types.numeric.loan;
+
+/**
+ * Payments, interest and principal of a portfolio summed up per period, in minor units.
+ *  The sums are exact, an overflow throws an `ArithmeticException`.
+ */
+public final class CashFlows {
+
+  private final long[] payments;
+  private final long[] interest;
+  private final long[] principal;
+  private long loans;
+
+  CashFlows(int periods) {
+    this.payments = new long[periods];
+    this.interest = new long[periods];
+    this.principal = new long[periods];
+  }
+
+  void add(int period, long payment, long interest, long principal, long balance) {
+    int i = period - 1;
+    payments[i] = Math.addExact(payments[i], payment);
+    this.interest[i] = Math.addExact(this.interest[i], interest);
+    this.principal[i] = Math.addExact(this.principal[i], principal);
+    if (period == 1) {
+      loans++;
+    }
+  }
+
+  void addAll(CashFlows other) {
+    for (int i = 0; i < payments.length; i++) {
+      payments[i] = Math.addExact(payments[i], other.payments[i]);
+      interest[i] = Math.addExact(interest[i], other.interest[i]);
+      principal[i] = Math.addExact(principal[i], other.principal[i]);
+    }
+    loans += other.loans;
+  }
+
+  /**
+   * @return the number of periods of the longest loan
+   */
+  public int periods() {
+    return payments.length;
+  }
+
+  public long loans() {
+    return loans;
+  }
+
+  /**
+   * @param period from 1 to {@link #periods()}
+   */
+  public long payment(int period) {
+    return payments[period - 1];
+  }
+
+  public long interest(int period) {
+    return interest[period - 1];
+  }
+
+  public long principal(int period) {
+    return principal[period - 1];
+  }
+
+  public long totalPayments() {
+    return total(payments);
+  }
+
+  public long totalInterest() {
+    return total(interest);
+  }
+
+  /**
+   * @return the sum of the principals of all the loans, all of them are repaid
+   */
+  public long totalPrincipal() {
+    return total(principal);
+  }
+
+  private static long total(long[] values) {
+    long total = 0;
+    for (long value : values) {
+      total = Math.addExact(total, value);
+    }
+    return total;
+  }
+}
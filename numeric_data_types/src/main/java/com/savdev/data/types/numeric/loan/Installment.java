@@ -0,0 +1,11 @@
+package com.savdev.data.types.numeric.loan;
+
+/**
+ * One period of a schedule, amounts are in minor units
+ *
+ * @param period    from 1 to the number of periods of the loan
+ * @param payment   interest and principal
+ * @param balance   the principal, which is left after the payment
+ */
+public record Installment(int period, long payment, long interest, long principal, long balance) {
+}
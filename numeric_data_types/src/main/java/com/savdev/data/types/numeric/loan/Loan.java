@@ -0,0 +1,32 @@
+package com.savdev.data.types.numeric.loan;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+
+import java.util.Objects;
+
+/**
+ * A fixed-rate loan, repaid by equal payments
+ *
+ * @param principal  in minor units, `10000000` for `100000.00`
+ * @param annualRate `0.06` for 6% a year
+ * @param periods    the number of payments, `360` for 30 years of monthly payments
+ */
+public record Loan(long principal, FixedDecimal annualRate, int periods) {
+
+  public Loan {
+    Objects.requireNonNull(annualRate, "annualRate");
+    if (principal < 0) {
+      throw new IllegalArgumentException("Principal must not be negative, but was " + principal);
+    }
+    if (annualRate.signum() < 0) {
+      throw new IllegalArgumentException("Annual rate must not be negative, but was " + annualRate);
+    }
+    if (periods < 1) {
+      throw new IllegalArgumentException("Periods must be at least 1, but was " + periods);
+    }
+  }
+
+  public static Loan of(long principal, String annualRate, int periods) {
+    return new Loan(principal, FixedDecimal.of(annualRate), periods);
+  }
+}
@@ -0,0 +1,248 @@
+package com.savdev.data.types.numeric.money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * An immutable decimal number, stored as a scaled long: `unscaled * 10^-scale`.
+ *
+ * - scales from 0 to {@link ScaledMath#MAX_SCALE} with an unscaled long are the compact form,
+ *    all the operations on it are long arithmetic without allocations, except of the result itself
+ * - `add`, `subtract` and `multiply` are exact, if the result overflows a long,
+ *    it is transparently stored as a `BigDecimal`, and the result of a later operation
+ *    is compact again, once it fits into a long
+ * - rounding in `setScale`, `multiply` and `divide` is bit-identical to `BigDecimal`
+ *    for all the {@link RoundingMode}s
+ *
+ * `equals` is the same as for `BigDecimal`: `2.0` is not equal to `2.00`, use `compareTo` for the values.
+ */
+public final class FixedDecimal implements Comparable<FixedDecimal> {
+
+  public static final FixedDecimal ZERO = new FixedDecimal(0, 0, null);
+  public static final FixedDecimal ONE = new FixedDecimal(1, 0, null);
+
+  private final long unscaled;
+  private final int scale;
+  //not null only if the value does not fit into the compact form
+  private final BigDecimal inflated;
+
+  private FixedDecimal(long unscaled, int scale, BigDecimal inflated) {
+    this.unscaled = unscaled;
+    this.scale = scale;
+    this.inflated = inflated;
+  }
+
+  /**
+   * @return `unscaled * 10^-scale`, for example `of(12500000, 2)` is `125000.00`
+   */
+  public static FixedDecimal of(long unscaled, int scale) {
+    if (unscaled != Long.MIN_VALUE && scale >= 0 && scale <= ScaledMath.MAX_SCALE) {
+      return new FixedDecimal(unscaled, scale, null);
+    }
+    return of(BigDecimal.valueOf(unscaled, scale));
+  }
+
+  public static FixedDecimal of(long value) {
+    return of(value, 0);
+  }
+
+  public static FixedDecimal of(String value) {
+    return of(new BigDecimal(value));
+  }
+
+  public static FixedDecimal of(BigDecimal value) {
+    Objects.requireNonNull(value, "value");
+    BigInteger unscaledValue = value.unscaledValue();
+    int scale = value.scale();
+    if (unscaledValue.bitLength() < 64 && scale >= 0 && scale <= ScaledMath.MAX_SCALE) {
+      long compact = unscaledValue.longValue();
+      //Long.MIN_VALUE cannot be negated
+      if (compact != Long.MIN_VALUE) {
+        return new FixedDecimal(compact, scale, null);
+      }
+    }
+    return new FixedDecimal(0, scale, value);
+  }
+
+  /**
+   * @return the unscaled value
+   * @throws ArithmeticException if the value is not compact
+   */
+  public long unscaledValue() {
+    if (inflated != null) {
+      throw new ArithmeticException("Unscaled value does not fit into a long: " + inflated.unscaledValue());
+    }
+    return unscaled;
+  }
+
+  public int scale() {
+    return scale;
+  }
+
+  /**
+   * @return true, if the value is stored as a scaled long
+   */
+  public boolean isCompact() {
+    return inflated == null;
+  }
+
+  public int signum() {
+    return inflated == null ? Long.signum(unscaled) : inflated.signum();
+  }
+
+  public FixedDecimal negate() {
+    return inflated == null ? new FixedDecimal(-unscaled, scale, null) : of(inflated.negate());
+  }
+
+  public FixedDecimal abs() {
+    return signum() < 0 ? negate() : this;
+  }
+
+  /**
+   * The scale of the result is the biggest of both scales, as for `BigDecimal.add`
+   */
+  public FixedDecimal add(FixedDecimal other) {
+    if (inflated == null && other.inflated == null) {
+      int resultScale = Math.max(scale, other.scale);
+      if (fitsScaledUp(unscaled, resultScale - scale) && fitsScaledUp(other.unscaled, resultScale - other.scale)) {
+        long left = unscaled * ScaledMath.pow10(resultScale - scale);
+        long right = other.unscaled * ScaledMath.pow10(resultScale - other.scale);
+        long sum = left + right;
+        if (((left ^ sum) & (right ^ sum)) >= 0) {
+          return of(sum, resultScale);
+        }
+      }
+    }
+    return of(toBigDecimal().add(other.toBigDecimal()));
+  }
+
+  public FixedDecimal subtract(FixedDecimal other) {
+    return add(other.negate());
+  }
+
+  /**
+   * The scale of the result is the sum of both scales, as for `BigDecimal.multiply`
+   */
+  public FixedDecimal multiply(FixedDecimal other) {
+    int resultScale = scale + other.scale;
+    if (inflated == null && other.inflated == null && resultScale <= ScaledMath.MAX_SCALE
+      && fitsProduct(unscaled, other.unscaled)) {
+      return of(unscaled * other.unscaled, resultScale);
+    }
+    return of(toBigDecimal().multiply(other.toBigDecimal()));
+  }
+
+  /**
+   * Multiplies and rounds the product to the scale, as `multiply(other).setScale(scale, mode)`,
+   *  but without an intermediate result
+   */
+  public FixedDecimal multiply(FixedDecimal other, int scale, RoundingMode mode) {
+    int productScale = this.scale + other.scale;
+    if (inflated == null && other.inflated == null && productScale <= ScaledMath.MAX_SCALE
+      && fitsProduct(unscaled, other.unscaled)) {
+      return rescaled(unscaled * other.unscaled, productScale, scale, mode);
+    }
+    return of(toBigDecimal().multiply(other.toBigDecimal()).setScale(scale, mode));
+  }
+
+  /**
+   * The same as `BigDecimal.divide(divisor, scale, mode)`
+   *
+   * @throws ArithmeticException for a zero divisor, or for `UNNECESSARY`, if rounding is necessary
+   */
+  public FixedDecimal divide(FixedDecimal divisor, int scale, RoundingMode mode) {
+    if (inflated == null && divisor.inflated == null && scale >= 0 && scale <= ScaledMath.MAX_SCALE) {
+      //quotient * 10^scale = (a * 10^-sa) / (b * 10^-sb) * 10^scale = a * 10^(scale - sa + sb) / b
+      int shift = scale - this.scale + divisor.scale;
+      if (shift >= 0 ? fitsScaledUp(unscaled, shift) : fitsScaledUp(divisor.unscaled, -shift)) {
+        //a zero operand is not scaled, as its shift may be bigger than the biggest power of ten
+        long dividend = shift > 0 && unscaled != 0 ? unscaled * ScaledMath.pow10(shift) : unscaled;
+        long divisorValue = shift < 0 && divisor.unscaled != 0
+          ? divisor.unscaled * ScaledMath.pow10(-shift)
+          : divisor.unscaled;
+        return of(ScaledMath.divide(dividend, divisorValue, mode), scale);
+      }
+    }
+    return of(toBigDecimal().divide(divisor.toBigDecimal(), scale, mode));
+  }
+
+  /**
+   * The same as `BigDecimal.setScale(scale, mode)`
+   *
+   * @throws ArithmeticException for `UNNECESSARY`, if rounding is necessary
+   */
+  public FixedDecimal setScale(int scale, RoundingMode mode) {
+    if (scale == this.scale) {
+      return this;
+    }
+    if (inflated == null) {
+      return rescaled(unscaled, this.scale, scale, mode);
+    }
+    return of(inflated.setScale(scale, mode));
+  }
+
+  private static FixedDecimal rescaled(long unscaled, int fromScale, int toScale, RoundingMode mode) {
+    if (toScale >= 0 && toScale <= ScaledMath.MAX_SCALE
+      && (toScale < fromScale || fitsScaledUp(unscaled, toScale - fromScale))) {
+      return of(ScaledMath.rescale(unscaled, fromScale, toScale, mode), toScale);
+    }
+    return of(BigDecimal.valueOf(unscaled, fromScale).setScale(toScale, mode));
+  }
+
+  private static boolean fitsProduct(long left, long right) {
+    return Math.multiplyHigh(left, right) == (left * right) >> 63;
+  }
+
+  private static boolean fitsScaledUp(long value, int exponent) {
+    if (exponent > ScaledMath.MAX_SCALE) {
+      return value == 0;
+    }
+    return fitsProduct(value, ScaledMath.pow10(exponent));
+  }
+
+  public BigDecimal toBigDecimal() {
+    return inflated == null ? BigDecimal.valueOf(unscaled, scale) : inflated;
+  }
+
+  /**
+   * Compares the values, ignoring the scales, as `BigDecimal.compareTo`
+   */
+  @Override
+  public int compareTo(FixedDecimal other) {
+    if (inflated == null && other.inflated == null) {
+      if (scale == other.scale) {
+        return Long.compare(unscaled, other.unscaled);
+      }
+      if (scale < other.scale) {
+        if (fitsScaledUp(unscaled, other.scale - scale)) {
+          return Long.compare(unscaled * ScaledMath.pow10(other.scale - scale), other.unscaled);
+        }
+      } else if (fitsScaledUp(other.unscaled, scale - other.scale)) {
+        return Long.compare(unscaled, other.unscaled * ScaledMath.pow10(scale - other.scale));
+      }
+    }
+    return toBigDecimal().compareTo(other.toBigDecimal());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof FixedDecimal that)) return false;
+    //both forms are canonical: a value, which fits into the compact form, is never inflated
+    return inflated == null
+      ? that.inflated == null && unscaled == that.unscaled && scale == that.scale
+      : inflated.equals(that.inflated);
+  }
+
+  @Override
+  public int hashCode() {
+    return inflated == null ? 31 * Long.hashCode(unscaled) + scale : inflated.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return toBigDecimal().toString();
+  }
+}
@@ -0,0 +1,42 @@
+package com.savdev.data.types.numeric.money;
+
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Shared `MathContext` instances, instead of `new MathContext(precision, mode)` per operation.
+ *  A `MathContext` is immutable, so one instance of every precision up to {@link #MAX_CACHED_PRECISION}
+ *  and every rounding mode is created once.
+ */
+public final class MathContexts {
+
+  /**
+   * The precision of `MathContext.DECIMAL128` and a few digits more
+   */
+  public static final int MAX_CACHED_PRECISION = 40;
+
+  private static final RoundingMode[] MODES = RoundingMode.values();
+  private static final MathContext[] CONTEXTS = new MathContext[(MAX_CACHED_PRECISION + 1) * MODES.length];
+
+  static {
+    for (int precision = 0; precision <= MAX_CACHED_PRECISION; precision++) {
+      for (var mode : MODES) {
+        CONTEXTS[precision * MODES.length + mode.ordinal()] = new MathContext(precision, mode);
+      }
+    }
+  }
+
+  private MathContexts() {}
+
+  /**
+   * @return a shared instance, a new one only for a precision above {@link #MAX_CACHED_PRECISION}
+   */
+  public static MathContext of(int precision, RoundingMode mode) {
+    Objects.requireNonNull(mode, "mode");
+    if (precision >= 0 && precision <= MAX_CACHED_PRECISION) {
+      return CONTEXTS[precision * MODES.length + mode.ordinal()];
+    }
+    return new MathContext(precision, mode);
+  }
+}
@@ -0,0 +1,146 @@
+package com.savdev.data.types.numeric.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * An amount of money: a {@link FixedDecimal} and a currency.
+ *
+ * Amounts with two to four decimal places, like `125000.00`, are scaled longs, no `BigDecimal` is created per operation.
+ * Operations on amounts of different currencies fail with an `IllegalArgumentException`.
+ */
+public final class Money implements Comparable<Money> {
+
+  private final FixedDecimal amount;
+  private final Currency currency;
+
+  private Money(FixedDecimal amount, Currency currency) {
+    this.amount = amount;
+    this.currency = currency;
+  }
+
+  public static Money of(FixedDecimal amount, Currency currency) {
+    return new Money(Objects.requireNonNull(amount, "amount"), Objects.requireNonNull(currency, "currency"));
+  }
+
+  public static Money of(String amount, Currency currency) {
+    return of(FixedDecimal.of(amount), currency);
+  }
+
+  public static Money of(BigDecimal amount, Currency currency) {
+    return of(FixedDecimal.of(amount), currency);
+  }
+
+  /**
+   * @return an amount in the minor units of the currency, for example `ofMinor(12500000, USD)` is `125000.00 USD`
+   */
+  public static Money ofMinor(long minorUnits, Currency currency) {
+    return of(FixedDecimal.of(minorUnits, fractionDigits(currency)), currency);
+  }
+
+  public static Money zero(Currency currency) {
+    return ofMinor(0, currency);
+  }
+
+  public FixedDecimal amount() {
+    return amount;
+  }
+
+  public Currency currency() {
+    return currency;
+  }
+
+  public Money add(Money other) {
+    checkCurrency(other);
+    return new Money(amount.add(other.amount), currency);
+  }
+
+  public Money subtract(Money other) {
+    checkCurrency(other);
+    return new Money(amount.subtract(other.amount), currency);
+  }
+
+  public Money negate() {
+    return new Money(amount.negate(), currency);
+  }
+
+  /**
+   * @return the exact product, its scale is the sum of the scales
+   */
+  public Money multiply(FixedDecimal factor) {
+    return new Money(amount.multiply(factor), currency);
+  }
+
+  /**
+   * @return the product, rounded to the scale of this amount
+   */
+  public Money multiply(FixedDecimal factor, RoundingMode mode) {
+    return new Money(amount.multiply(factor, amount.scale(), mode), currency);
+  }
+
+  /**
+   * @return the quotient, rounded to the scale of this amount
+   */
+  public Money divide(FixedDecimal divisor, RoundingMode mode) {
+    return new Money(amount.divide(divisor, amount.scale(), mode), currency);
+  }
+
+  public Money setScale(int scale, RoundingMode mode) {
+    return new Money(amount.setScale(scale, mode), currency);
+  }
+
+  /**
+   * @return the amount, rounded to the default fraction digits of the currency, 2 for USD and EUR, 0 for JPY
+   */
+  public Money rounded(RoundingMode mode) {
+    return setScale(fractionDigits(currency), mode);
+  }
+
+  public int signum() {
+    return amount.signum();
+  }
+
+  public BigDecimal toBigDecimal() {
+    return amount.toBigDecimal();
+  }
+
+  /**
+   * Compares the amounts of the same currency, ignoring the scales
+   */
+  @Override
+  public int compareTo(Money other) {
+    checkCurrency(other);
+    return amount.compareTo(other.amount);
+  }
+
+  private void checkCurrency(Money other) {
+    if (!currency.equals(other.currency)) {
+      throw new IllegalArgumentException(
+        "Currency mismatch: " + currency.getCurrencyCode() + " and " + other.currency.getCurrencyCode());
+    }
+  }
+
+  private static int fractionDigits(Currency currency) {
+    //pseudo currencies, like XXX, have no fraction digits: -1
+    return Math.max(currency.getDefaultFractionDigits(), 0);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof Money money)) return false;
+    return amount.equals(money.amount) && currency.equals(money.currency);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * amount.hashCode() + currency.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return amount + " " + currency.getCurrencyCode();
+  }
+}
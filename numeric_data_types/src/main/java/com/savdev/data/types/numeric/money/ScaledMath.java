@@ -0,0 +1,155 @@
+package com.savdev.data.types.numeric.money;
+
+import java.math.RoundingMode;
+
+/**
+ * Arithmetic of scaled longs: a decimal number is `unscaled * 10^-scale`, the same as `BigDecimal`,
+ *  but without an allocation per operation.
+ *
+ * Rounding gives exactly the same result as `BigDecimal` for every {@link RoundingMode}.
+ */
+public final class ScaledMath {
+
+  /**
+   * The biggest scale, which power of ten fits into a long
+   */
+  public static final int MAX_SCALE = 18;
+
+  private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+  //longs, which are exactly represented by a double
+  private static final long EXACT_DOUBLE = 1L << 53;
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i <= MAX_SCALE; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  private ScaledMath() {}
+
+  /**
+   * @return `10^exponent`, for an exponent from 0 to {@link #MAX_SCALE}
+   */
+  public static long pow10(int exponent) {
+    return POWERS_OF_TEN[exponent];
+  }
+
+  /**
+   * Divides and rounds the quotient, as `BigDecimal.divide(divisor, 0, mode)` does it for integers
+   *
+   * @throws ArithmeticException for a zero divisor, for `UNNECESSARY` with a remainder,
+   *  and for `Long.MIN_VALUE / -1`
+   */
+  public static long divide(long dividend, long divisor, RoundingMode mode) {
+    if (divisor == 0) {
+      throw new ArithmeticException(dividend == 0 ? "Division undefined" : "Division by zero");
+    }
+    if (dividend == Long.MIN_VALUE && divisor == -1) {
+      throw new ArithmeticException("Overflow");
+    }
+    return round(dividend / divisor, dividend % divisor, divisor, mode);
+  }
+
+  /**
+   * The same as {@link #divide(long, long, RoundingMode)}, with a precomputed `1.0 / divisor`:
+   *  a dividend of up to 53 bits is divided by a multiplication, the estimate is corrected by its remainder,
+   *  a bigger one by a `long` division
+   *
+   * @param divisor positive
+   */
+  public static long divide(long dividend, long divisor, double reciprocal, RoundingMode mode) {
+    if (dividend > EXACT_DOUBLE || dividend < -EXACT_DOUBLE) {
+      return divide(dividend, divisor, mode);
+    }
+    //the estimate is off by at most 2, as |quotient| <= 2^53, and the error of the double is 2^-52
+    long quotient = (long) (dividend * reciprocal);
+    long remainder = dividend - quotient * divisor;
+    if (dividend >= 0) {
+      while (remainder < 0) {
+        quotient--;
+        remainder += divisor;
+      }
+      while (remainder >= divisor) {
+        quotient++;
+        remainder -= divisor;
+      }
+    } else {
+      while (remainder > 0) {
+        quotient++;
+        remainder -= divisor;
+      }
+      while (remainder <= -divisor) {
+        quotient--;
+        remainder += divisor;
+      }
+    }
+    return round(quotient, remainder, divisor, mode);
+  }
+
+  /**
+   * Rounds a truncated quotient by its remainder, when the quotient is computed some other way,
+   *  for instance with a reciprocal of the divisor
+   *
+   * @param remainder `dividend - quotient * divisor`, it has the sign of the dividend, as `%` does
+   * @throws ArithmeticException for `UNNECESSARY` with a remainder
+   */
+  public static long round(long quotient, long remainder, long divisor, RoundingMode mode) {
+    if (remainder == 0) {
+      return quotient;
+    }
+    //sign of the exact result: 1 or -1; the decisions are comparisons without branches,
+    // as a mispredicted branch per value costs more than the whole division by a reciprocal
+    long sign = ((remainder ^ divisor) >> 63) | 1;
+    long r = Math.abs(remainder);
+    //compares the remainder with the half of the divisor without an overflow: |r| vs |d| - |r|,
+    // unsigned, as |Long.MIN_VALUE| does not fit into a long
+    long rest = Math.abs(divisor) - r;
+    boolean away = switch (mode) {
+      case UP -> true;
+      case DOWN -> false;
+      case CEILING -> sign > 0;
+      case FLOOR -> sign < 0;
+      case HALF_UP -> Long.compareUnsigned(r, rest) >= 0;
+      case HALF_DOWN -> Long.compareUnsigned(r, rest) > 0;
+      //a tie is rounded away only for an odd quotient
+      case HALF_EVEN -> Long.compareUnsigned(r + (quotient & 1), rest) > 0;
+      case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+    };
+    return away ? quotient + sign : quotient;
+  }
+
+  /**
+   * Changes the scale of an unscaled value, as `BigDecimal.setScale(toScale, mode)` does it
+   *
+   * @throws ArithmeticException if the result does not fit into a long, or for `UNNECESSARY` with a remainder
+   */
+  public static long rescale(long unscaled, int fromScale, int toScale, RoundingMode mode) {
+    if (toScale >= fromScale) {
+      int up = toScale - fromScale;
+      if (up > MAX_SCALE) {
+        if (unscaled == 0) {
+          return 0;
+        }
+        throw new ArithmeticException("Overflow");
+      }
+      return Math.multiplyExact(unscaled, pow10(up));
+    }
+    int down = fromScale - toScale;
+    if (down > MAX_SCALE) {
+      //the divisor does not fit into a long, but it is bigger than any unscaled value: |quotient| < 1
+      if (unscaled == 0) {
+        return 0;
+      }
+      int sign = unscaled < 0 ? -1 : 1;
+      return switch (mode) {
+        case UP -> sign;
+        case CEILING -> sign > 0 ? 1 : 0;
+        case FLOOR -> sign < 0 ? -1 : 0;
+        case DOWN, HALF_UP, HALF_DOWN, HALF_EVEN -> 0;
+        case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+      };
+    }
+    return divide(unscaled, pow10(down), mode);
+  }
+}
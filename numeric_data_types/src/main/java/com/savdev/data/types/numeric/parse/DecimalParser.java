@@ -0,0 +1,242 @@
+package com.savdev.data.types.numeric.parse;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+import com.savdev.data.types.numeric.money.ScaledMath;
+
+import java.nio.ByteBuffer;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Parses decimal literals straight from `byte[]`, `ByteBuffer` and `CharSequence` ranges into scaled longs,
+ *  without a `String`, a `char[]` or a `BigDecimal` per field.
+ *
+ * - an optional sign `+` or `-`, digits with grouping separators between them, and an optional decimal mark:
+ *    `-125,000.00` for US, `-125.000,00` for GERMANY, as `NumberFormat` formats them
+ * - the value is written as `unscaled` of the parser scale into `values[index]`:
+ *    `125000.5` with the scale 2 is `12500050`, use `FixedDecimal.of(values[index], scale)` for a fixed-point value
+ * - errors are return codes, not exceptions, `values[index]` is not changed then:
+ *    {@link #EMPTY}, {@link #MALFORMED}, {@link #OVERFLOW}, and {@link #INEXACT} for not zero digits beyond the scale
+ * - bytes are ASCII or UTF-8 digits, a separator, which is not ASCII, like the narrow no-break space of FRANCE,
+ *    is matched only in a `CharSequence`
+ *
+ * The parser is immutable and thread-safe.
+ */
+public final class DecimalParser {
+
+  public static final int OK = 0;
+  public static final int EMPTY = 1;
+  public static final int MALFORMED = 2;
+  public static final int OVERFLOW = 3;
+  public static final int INEXACT = 4;
+
+  //the literal has grouping separators, too many digits or errors, it is parsed by the general loop
+  private static final int NOT_SIMPLE = -1;
+  //digits of a long, which cannot overflow
+  private static final int SAFE_DIGITS = 18;
+
+  //a bigger value overflows, when a digit is appended
+  private static final long LAST_SAFE = Long.MAX_VALUE / 10;
+
+  //the source is read by an accessor: the small generic `parseSimple` is inlined into the public methods,
+  // and the constant accessor into it, so every public method gets its own specialized loop
+  private interface Source<S> {
+    int at(S source, int index);
+  }
+
+  //a byte is not masked: a byte of a UTF-8 sequence is negative, and never matches a digit or a separator
+  private static final Source<byte[]> BYTES = (bytes, index) -> bytes[index];
+  private static final Source<CharSequence> CHARS = CharSequence::charAt;
+  private static final Source<ByteBuffer> BUFFER = ByteBuffer::get;
+
+  private final int scale;
+  private final char decimalSeparator;
+  private final char groupingSeparator;
+
+  private DecimalParser(int scale, char decimalSeparator, char groupingSeparator) {
+    this.scale = scale;
+    this.decimalSeparator = decimalSeparator;
+    this.groupingSeparator = groupingSeparator;
+  }
+
+  /**
+   * @return a parser of `125,000.00`, as `Locale.US` formats it
+   */
+  public static DecimalParser of(int scale) {
+    return of(scale, '.', ',');
+  }
+
+  /**
+   * @return a parser of the decimal mark and the grouping separator of the locale, `125.000,00` for `Locale.GERMANY`
+   */
+  public static DecimalParser of(int scale, Locale locale) {
+    var symbols = DecimalFormatSymbols.getInstance(Objects.requireNonNull(locale, "locale"));
+    return of(scale, symbols.getDecimalSeparator(), symbols.getGroupingSeparator());
+  }
+
+  public static DecimalParser of(int scale, char decimalSeparator, char groupingSeparator) {
+    if (scale < 0 || scale > ScaledMath.MAX_SCALE) {
+      throw new IllegalArgumentException("Scale must be from 0 to " + ScaledMath.MAX_SCALE + ", but was " + scale);
+    }
+    if (decimalSeparator == groupingSeparator) {
+      throw new IllegalArgumentException(
+        "Grouping separator must differ from the decimal separator, but both were '" + decimalSeparator + "'");
+    }
+    return new DecimalParser(scale, decimalSeparator, groupingSeparator);
+  }
+
+  public int scale() {
+    return scale;
+  }
+
+  /**
+   * @return {@link #OK}, and the value is in `values[index]`, or an error code
+   */
+  public int parse(CharSequence text, int from, int to, long[] values, int index) {
+    Objects.checkFromToIndex(from, to, text.length());
+    int code = parseSimple(text, CHARS, from, to, values, index);
+    return code != NOT_SIMPLE ? code : parse(text, CHARS, from, to, values, index);
+  }
+
+  public int parse(byte[] bytes, int from, int to, long[] values, int index) {
+    Objects.checkFromToIndex(from, to, bytes.length);
+    int code = parseSimple(bytes, BYTES, from, to, values, index);
+    return code != NOT_SIMPLE ? code : parse(bytes, BYTES, from, to, values, index);
+  }
+
+  /**
+   * Reads by absolute indices, the position of the buffer is not changed
+   */
+  public int parse(ByteBuffer buffer, int from, int to, long[] values, int index) {
+    Objects.checkFromToIndex(from, to, buffer.limit());
+    int code = parseSimple(buffer, BUFFER, from, to, values, index);
+    return code != NOT_SIMPLE ? code : parse(buffer, BUFFER, from, to, values, index);
+  }
+
+  /**
+   * @return the value of the whole text as a fixed-point number, or null, if it cannot be parsed
+   */
+  public FixedDecimal parse(CharSequence text) {
+    long[] value = new long[1];
+    return parse(text, 0, text.length(), value, 0) == OK ? FixedDecimal.of(value[0], scale) : null;
+  }
+
+  /**
+   * @return the name of a return code, for logs
+   */
+  public static String describe(int code) {
+    return switch (code) {
+      case OK -> "OK";
+      case EMPTY -> "EMPTY";
+      case MALFORMED -> "MALFORMED";
+      case OVERFLOW -> "OVERFLOW";
+      case INEXACT -> "INEXACT";
+      default -> throw new IllegalArgumentException("Unknown code " + code);
+    };
+  }
+
+  /**
+   * The typical literal: `[-]digits[.digits]` without grouping, at most 18 digits,
+   *  and not more fraction digits, than the scale
+   *
+   * @return {@link #NOT_SIMPLE} for any other literal
+   */
+  private <S> int parseSimple(S source, Source<S> access, int from, int to, long[] values, int index) {
+    int i = from;
+    boolean negative = i < to && access.at(source, i) == '-';
+    if (negative) {
+      i++;
+    }
+    int start = i;
+    long value = 0;
+    int digit;
+    while (i < to && (digit = access.at(source, i) - '0') >= 0 && digit <= 9) {
+      value = value * 10 + digit;
+      i++;
+    }
+    int digits = i - start;
+    int fraction = 0;
+    if (i < to && access.at(source, i) == decimalSeparator) {
+      start = ++i;
+      while (i < to && (digit = access.at(source, i) - '0') >= 0 && digit <= 9) {
+        value = value * 10 + digit;
+        i++;
+      }
+      fraction = i - start;
+      digits += fraction;
+    }
+    if (i != to || digits == 0 || digits > SAFE_DIGITS || fraction > scale) {
+      return NOT_SIMPLE;
+    }
+    return store(negative ? -value : value, fraction, values, index);
+  }
+
+  private <S> int parse(S source, Source<S> access, int from, int to, long[] values, int index) {
+    if (from == to) {
+      return EMPTY;
+    }
+    int i = from;
+    int c = access.at(source, i);
+    boolean negative = c == '-';
+    if (negative || c == '+') {
+      i++;
+    }
+    long value = 0;
+    //digits after the decimal mark, -1 before it
+    int fraction = -1;
+    boolean digits = false;
+    boolean inexact = false;
+    //a grouping separator must be between two digits
+    boolean afterDigit = false;
+    boolean afterGrouping = false;
+    for (; i < to; i++) {
+      c = access.at(source, i);
+      int digit = c - '0';
+      if (digit >= 0 && digit <= 9) {
+        digits = true;
+        afterDigit = true;
+        afterGrouping = false;
+        if (fraction >= 0) {
+          if (fraction == scale) {
+            inexact |= digit != 0;
+            continue;
+          }
+          fraction++;
+        }
+        if (value >= LAST_SAFE && (value > LAST_SAFE || digit > 7)) {
+          return OVERFLOW;
+        }
+        value = value * 10 + digit;
+      } else if (c == decimalSeparator && fraction < 0 && !afterGrouping) {
+        fraction = 0;
+        afterDigit = false;
+      } else if (c == groupingSeparator && fraction < 0 && afterDigit) {
+        afterDigit = false;
+        afterGrouping = true;
+      } else {
+        return MALFORMED;
+      }
+    }
+    if (!digits || afterGrouping) {
+      return MALFORMED;
+    }
+    return inexact ? INEXACT : store(negative ? -value : value, fraction, values, index);
+  }
+
+  /**
+   * Appends the missing fraction digits, apart from `parse`, as it must stay small enough to be inlined
+   */
+  private int store(long value, int fraction, long[] values, int index) {
+    int missing = scale - Math.max(fraction, 0);
+    if (missing > 0) {
+      long power = ScaledMath.pow10(missing);
+      if (Math.abs(value) > Long.MAX_VALUE / power) {
+        return OVERFLOW;
+      }
+      value *= power;
+    }
+    values[index] = value;
+    return OK;
+  }
+}
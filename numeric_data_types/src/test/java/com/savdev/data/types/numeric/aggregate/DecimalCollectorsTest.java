@@ -0,0 +1,146 @@
+package com.savdev.data.types.numeric.aggregate;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecimalCollectorsTest {
+
+  static final int SAMPLES = 100_000;
+
+  /**
+   * Random amounts of mixed scales, huge and tiny ones among them: the same sum and scale as the `BigDecimal` reduce
+   */
+  @Test
+  public void summingBigDecimal_sameAsReduce() {
+    var values = randomValues(new Random(42), SAMPLES);
+    var expected = values.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+
+    assertEquals(expected, values.stream().collect(DecimalCollectors.summingBigDecimal()));
+    assertEquals(expected, values.parallelStream().collect(DecimalCollectors.summingBigDecimal()));
+    assertEquals(expected, values.parallelStream().map(FixedDecimal::of).collect(DecimalCollectors.summingFixedDecimal()));
+  }
+
+  /**
+   * A sum of longs overflows a long after two values, the 128-bit sum does not
+   */
+  @Test
+  public void summing_beyondLong() {
+    var expected = BigDecimal.valueOf(Long.MAX_VALUE, 2).multiply(BigDecimal.valueOf(1000))
+      .add(BigDecimal.valueOf(Long.MIN_VALUE, 2));
+
+    var actual = LongStream.range(0, 1001)
+      .mapToObj(i -> i == 500 ? Long.MIN_VALUE : Long.MAX_VALUE)
+      .parallel()
+      .collect(DecimalCollectors.summing(Long::longValue, 2));
+
+    assertEquals(expected, actual);
+  }
+
+  /**
+   * Longs of the scale 0 are multiplied by 10^18 to be added to values of the scale 18,
+   *  their sum is far beyond 128 bits and spills into a `BigInteger`
+   */
+  @Test
+  public void summing_spillsBeyond128Bits() {
+    var random = new Random(7);
+    var values = Stream.generate(() -> random.nextBoolean()
+        ? BigDecimal.valueOf(Long.MAX_VALUE - random.nextInt(1000))
+        : BigDecimal.valueOf(random.nextLong(), 18))
+      .limit(10_000)
+      .toList();
+
+    assertEquals(
+      values.stream().reduce(BigDecimal.ZERO, BigDecimal::add),
+      values.parallelStream().collect(DecimalCollectors.summingBigDecimal()));
+  }
+
+  @Test
+  public void averaging_sameAsBigDecimal() {
+    var random = new Random(11);
+    long[] cents = random.longs(SAMPLES, -1_000_000_00L, 1_000_000_00L).toArray();
+    var sum = LongStream.of(cents).mapToObj(c -> BigDecimal.valueOf(c, 2)).reduce(BigDecimal.ZERO, BigDecimal::add);
+
+    for (var mode : List.of(RoundingMode.HALF_EVEN, RoundingMode.FLOOR, RoundingMode.UP)) {
+      var expected = sum.divide(BigDecimal.valueOf(SAMPLES), 2, mode);
+      assertEquals(expected, LongStream.of(cents).boxed().parallel()
+        .collect(DecimalCollectors.averaging(Long::longValue, 2, mode)));
+      assertEquals(expected, LongStream.of(cents).mapToObj(c -> BigDecimal.valueOf(c, 2)).parallel()
+        .collect(DecimalCollectors.averagingBigDecimal(2, mode)));
+    }
+  }
+
+  @Test
+  public void summarizing_minAndMax() {
+    var values = randomValues(new Random(3), SAMPLES);
+
+    var summary = values.parallelStream().collect(DecimalCollectors.summarizingBigDecimal());
+
+    assertEquals(SAMPLES, summary.count());
+    assertEquals(values.stream().reduce(BigDecimal.ZERO, BigDecimal::add), summary.sum());
+    assertEquals(0, values.stream().min(Comparator.naturalOrder()).orElseThrow().compareTo(summary.min().orElseThrow()));
+    assertEquals(0, values.stream().max(Comparator.naturalOrder()).orElseThrow().compareTo(summary.max().orElseThrow()));
+  }
+
+  @Test
+  public void summarizing_longStream() {
+    var summary = DecimalCollectors.summarizing(LongStream.rangeClosed(-1_000_000, 3_000_000).parallel(), 2);
+
+    assertEquals(4_000_001, summary.count());
+    assertEquals(
+      BigDecimal.valueOf(LongStream.rangeClosed(-1_000_000, 3_000_000).sum(), 2),
+      summary.sum());
+    assertEquals(new BigDecimal("-10000.00"), summary.min().orElseThrow());
+    assertEquals(new BigDecimal("30000.00"), summary.max().orElseThrow());
+  }
+
+  @Test
+  public void summarizing_empty() {
+    var summary = Stream.<BigDecimal>empty().collect(DecimalCollectors.summarizingBigDecimal());
+    assertEquals(0, summary.count());
+    assertEquals(BigDecimal.ZERO, summary.sum());
+    assertEquals(new BigDecimal("0.00"), summary.average(2, RoundingMode.HALF_EVEN));
+    assertTrue(summary.min().isEmpty());
+  }
+
+  @Test
+  public void compare_differentScales() {
+    var random = new Random(5);
+    for (int i = 0; i < SAMPLES; i++) {
+      long left = random.nextLong() >> random.nextInt(64);
+      long right = random.nextLong() >> random.nextInt(64);
+      int leftScale = random.nextInt(19);
+      int rightScale = random.nextInt(19);
+      assertEquals(
+        Integer.signum(BigDecimal.valueOf(left, leftScale).compareTo(BigDecimal.valueOf(right, rightScale))),
+        Integer.signum(DecimalAccumulator.compare(left, leftScale, right, rightScale)),
+        left + "E-" + leftScale + " vs " + right + "E-" + rightScale);
+    }
+  }
+
+  @Test
+  public void summing_invalidScale() {
+    var e = assertThrows(IllegalArgumentException.class, () -> DecimalCollectors.summing(Long::longValue, 19));
+    assertEquals("Scale must be from 0 to 18, but was 19", e.getMessage());
+  }
+
+  private static List<BigDecimal> randomValues(Random random, int size) {
+    return Stream.generate(() -> switch (random.nextInt(10)) {
+        case 0 -> new BigDecimal(random.nextLong() + "" + Math.abs(random.nextLong())).movePointLeft(random.nextInt(30));
+        case 1 -> BigDecimal.valueOf(random.nextLong(), -random.nextInt(5));
+        default -> BigDecimal.valueOf(random.nextLong(-1_000_000_00L, 1_000_000_00L), random.nextInt(5));
+      })
+      .limit(size)
+      .collect(Collectors.toList());
+  }
+}
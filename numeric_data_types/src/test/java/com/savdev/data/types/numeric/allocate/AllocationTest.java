@@ -0,0 +1,130 @@
+package com.savdev.data.types.numeric.allocate;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AllocationTest {
+
+  /**
+   * `100.00 / 3` with `BigDecimal.divide` is `33.33` per share, a cent is lost
+   */
+  @Test
+  public void allocate_noCentDrift() {
+    var perShare = new BigDecimal("100.00").divide(BigDecimal.valueOf(3), 2, RoundingMode.HALF_EVEN);
+    assertEquals(new BigDecimal("99.99"), perShare.multiply(BigDecimal.valueOf(3)));
+
+    assertArrayEquals(new long[] {33_34, 33_33, 33_33}, Allocation.allocate(100_00, 1, 1, 1));
+    assertArrayEquals(new long[] {2500_00, 2500_00, 2500_00}, Allocation.allocate(7500_00, 1, 1, 1));
+    //pro rata: 10% fee, 30% and 60%
+    assertArrayEquals(new long[] {1_00, 3_00, 6_01}, Allocation.allocate(10_01, 10, 30, 60));
+    assertArrayEquals(new long[] {-33_34, -33_33, -33_33}, Allocation.allocate(-100_00, 1, 1, 1));
+    assertArrayEquals(new long[] {0, 100_00, 0}, Allocation.allocate(100_00, 0, 5, 0));
+  }
+
+  @Test
+  public void split_installments() {
+    long[] payments = new long[360];
+    Allocation.split(100_000_00, payments);
+
+    assertEquals(27_778, payments[0]);
+    assertEquals(27_778, payments[279]);
+    assertEquals(27_777, payments[280]);
+    assertEquals(100_000_00, LongStream.of(payments).sum());
+    assertArrayEquals(Allocation.allocate(100_000_00, LongStream.generate(() -> 1).limit(360).toArray()), payments);
+  }
+
+  /**
+   * Random totals and weights, overflowing products among them: the same shares as sorting exact remainders
+   */
+  @Test
+  public void allocate_random_sameAsSortedRemainders() {
+    var random = new Random(42);
+    for (int i = 0; i < 2_000; i++) {
+      int size = 1 + random.nextInt(200);
+      long total = random.nextBoolean() ? random.nextLong(-1_000_000_00, 1_000_000_00) : random.nextLong() >> 2;
+      int bound = random.nextInt(4);
+      long[] weights = LongStream.generate(() -> switch (bound) {
+          case 0 -> random.nextInt(3);
+          case 1 -> random.nextInt(100);
+          case 2 -> random.nextLong(1L << 40);
+          default -> random.nextLong(Long.MAX_VALUE / 256);
+        })
+        .limit(size)
+        .toArray();
+      if (LongStream.of(weights).allMatch(w -> w == 0)) {
+        weights[0] = 1;
+      }
+
+      long[] shares = Allocation.allocate(total, weights);
+
+      assertArrayEquals(largestRemainder(total, weights), shares);
+      assertEquals(total, LongStream.of(shares).sum());
+    }
+  }
+
+  @Test
+  public void allocateParallel_millionsOfShares() {
+    var random = new Random(7);
+    long[] weights = random.longs(3_000_000, 0, 1_000).toArray();
+    long total = 987_654_321_00L;
+
+    long[] sequential = new long[weights.length];
+    Allocation.allocate(total, weights, sequential);
+    long[] parallel = new long[weights.length];
+    Allocation.allocateParallel(total, weights, parallel);
+
+    assertArrayEquals(sequential, parallel);
+    assertEquals(total, LongStream.of(parallel).sum());
+    //many equal remainders: the lower index wins a tie, in the parallel mode, too
+    long[] equal = LongStream.generate(() -> 1).limit(weights.length).toArray();
+    Allocation.allocateParallel(total, equal, parallel);
+    long[] split = new long[weights.length];
+    Allocation.split(total, split);
+    assertArrayEquals(split, parallel);
+  }
+
+  @Test
+  public void allocate_invalid() {
+    var e = assertThrows(IllegalArgumentException.class, () -> Allocation.allocate(100, 1, -1));
+    assertEquals("Weights must not be negative, but weights[1] was -1", e.getMessage());
+    e = assertThrows(IllegalArgumentException.class, () -> Allocation.allocate(100, 0, 0));
+    assertEquals("Weights must not all be zero", e.getMessage());
+    e = assertThrows(IllegalArgumentException.class, () -> Allocation.allocate(100, new long[3], new long[2]));
+    assertEquals("Weights and shares must have the same length, but were 3 and 2", e.getMessage());
+    assertThrows(ArithmeticException.class, () -> Allocation.allocate(100, Long.MAX_VALUE, 1));
+  }
+
+  /**
+   * The textbook method on `BigInteger`: floors, then units to the indices sorted by remainder and index
+   */
+  private static long[] largestRemainder(long total, long[] weights) {
+    var magnitude = BigInteger.valueOf(total).abs();
+    var weightSum = LongStream.of(weights).mapToObj(BigInteger::valueOf).reduce(BigInteger.ZERO, BigInteger::add);
+    long[] shares = new long[weights.length];
+    var remainders = new BigInteger[weights.length];
+    var left = magnitude;
+    for (int i = 0; i < weights.length; i++) {
+      var division = magnitude.multiply(BigInteger.valueOf(weights[i])).divideAndRemainder(weightSum);
+      shares[i] = division[0].longValueExact();
+      remainders[i] = division[1];
+      left = left.subtract(division[0]);
+    }
+    IntStream.range(0, weights.length).boxed()
+      .sorted(Comparator.<Integer, BigInteger>comparing(i -> remainders[i]).reversed().thenComparing(i -> i))
+      .limit(left.longValueExact())
+      .forEach(i -> shares[i]++);
+    for (int i = 0; i < shares.length; i++) {
+      shares[i] *= Long.signum(total);
+    }
+    return shares;
+  }
+}
@@ -0,0 +1,140 @@
+package com.savdev.data.types.numeric.format;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+import com.savdev.data.types.numeric.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyFormatterTest {
+
+  static final int SAMPLES = 20_000;
+  static final FixedDecimal amount = FixedDecimal.of("125000.00");
+
+  static final List<Locale> LOCALES = List.of(
+    Locale.US, Locale.GERMANY, Locale.FRANCE, Locale.UK, Locale.JAPAN, Locale.of("de", "CH"),
+    Locale.of("hi", "IN"), Locale.of("ar", "EG"));
+
+  static final List<String> PATTERNS = List.of("###,###,###.00", "#,##0.###", "0000.0", "#", "¤ #,##0.00;(¤ #,##0.00)");
+
+  @Test
+  public void currency_sameAsNumberFormat() {
+    assertEquals("$125,000.00", MoneyFormatter.currency(Locale.US).format(amount));
+    assertEquals(
+      NumberFormat.getCurrencyInstance(Locale.GERMANY).format(new BigDecimal("125000.00")),
+      MoneyFormatter.currency(Locale.GERMANY).format(amount));
+    assertEquals("125.000,00 €", MoneyFormatter.currency(Locale.GERMANY).format(amount));
+    assertEquals("-$0.02", MoneyFormatter.currency(Locale.US).format(FixedDecimal.of("-0.015")));
+    assertEquals("-$0.00", MoneyFormatter.currency(Locale.US).format(FixedDecimal.of("-0.001")));
+  }
+
+  @Test
+  public void pattern_sameAsDecimalFormat() {
+    var formatter = MoneyFormatter.pattern("###,###,###.00", Locale.US);
+    assertEquals("125,000.00", formatter.format(amount));
+    assertEquals(".50", formatter.format(FixedDecimal.of("0.5")));
+    assertEquals("125,000.00", formatter.format(FixedDecimal.of("125000.005")));
+    assertEquals("1.5", MoneyFormatter.pattern("#,##0.###", Locale.US).format(FixedDecimal.of("1.50")));
+    assertEquals("0", MoneyFormatter.pattern("#", Locale.US).format(FixedDecimal.ZERO));
+  }
+
+  @Test
+  public void money_currencyOfFormatter() {
+    var usd = Currency.getInstance("USD");
+    var money = Money.of("125000.00", usd);
+    assertEquals("$125,000.00", MoneyFormatter.currency(Locale.US).format(money));
+    assertEquals(
+      NumberFormat.getCurrencyInstance(Locale.GERMANY).format(new BigDecimal("125000.00"))
+        .replace("€", usd.getSymbol(Locale.GERMANY)),
+      MoneyFormatter.currency(Locale.GERMANY, usd).format(money));
+
+    var e = assertThrows(IllegalArgumentException.class, () -> MoneyFormatter.currency(Locale.GERMANY).format(money));
+    assertEquals("Currency mismatch: EUR and USD", e.getMessage());
+    //a pattern without a currency symbol formats any currency
+    assertEquals("125,000.00", MoneyFormatter.pattern("###,###,###.00", Locale.US).format(money));
+  }
+
+  /**
+   * Random amounts of all scales, as a `String`, into an `Appendable` and into UTF-8 bytes,
+   *  the same text as `DecimalFormat.format(BigDecimal)` for every locale and pattern
+   */
+  @Test
+  public void format_random_sameAsDecimalFormat() {
+    var random = new Random(42);
+    for (var locale : LOCALES) {
+      check(NumberFormat.getCurrencyInstance(locale), random);
+      for (var pattern : PATTERNS) {
+        check(new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(locale)), random);
+      }
+    }
+    var halfUp = NumberFormat.getCurrencyInstance(Locale.US);
+    halfUp.setRoundingMode(RoundingMode.HALF_UP);
+    check(halfUp, random);
+  }
+
+  private static void check(NumberFormat format, Random random) {
+    var formatter = MoneyFormatter.of(format);
+    byte[] bytes = new byte[formatter.maxLength() + 1];
+    for (int i = 0; i < SAMPLES; i++) {
+      int scale = random.nextInt(19);
+      long unscaled = switch (i) {
+        case 0 -> Long.MAX_VALUE;
+        case 1 -> Long.MIN_VALUE;
+        case 2 -> 0;
+        default -> random.nextBoolean() ? random.nextLong() : random.nextLong() >> random.nextInt(64);
+      };
+      var expected = format.format(BigDecimal.valueOf(unscaled, scale));
+      var message = unscaled + " with scale " + scale + " for " + ((DecimalFormat) format).toPattern();
+
+      assertEquals(expected, formatter.format(unscaled, scale, new StringBuilder()).toString(), message);
+      int end = formatter.format(unscaled, scale, bytes, 1);
+      assertEquals(expected, new String(bytes, 1, end - 1, StandardCharsets.UTF_8), message);
+    }
+  }
+
+  @Test
+  public void format_sharedBetweenThreads() {
+    var formatter = MoneyFormatter.currency(Locale.GERMANY);
+    var mismatches = IntStream.range(0, SAMPLES).parallel()
+      .filter(i -> !formatter.format(FixedDecimal.of(i * 37L, 2))
+        .equals(NumberFormat.getCurrencyInstance(Locale.GERMANY).format(BigDecimal.valueOf(i * 37L, 2))))
+      .count();
+    assertEquals(0, mismatches);
+  }
+
+  @Test
+  public void format_notCompact() {
+    var huge = FixedDecimal.of(new BigDecimal("123456789012345678901234.5"));
+    assertEquals(
+      NumberFormat.getCurrencyInstance(Locale.US).format(huge.toBigDecimal()),
+      MoneyFormatter.currency(Locale.US).format(huge));
+  }
+
+  @Test
+  public void format_bytesTooSmall() {
+    var formatter = MoneyFormatter.currency(Locale.US);
+    assertThrows(IndexOutOfBoundsException.class, () -> formatter.format(12500000, 2, new byte[5], 0));
+  }
+
+  @Test
+  public void of_notSupported() {
+    var e = assertThrows(IllegalArgumentException.class, () -> MoneyFormatter.of(NumberFormat.getPercentInstance()));
+    assertEquals("Multiplier must be 1, but was 100", e.getMessage());
+    e = assertThrows(IllegalArgumentException.class, () -> MoneyFormatter.pattern("0.###E0", Locale.US));
+    assertEquals("Scientific notation is not supported, but the pattern was 0.###E0", e.getMessage());
+    e = assertThrows(IllegalArgumentException.class, () -> MoneyFormatter.currency(Locale.US).format(1, 19, new StringBuilder()));
+    assertEquals("Scale must be from 0 to 18, but was 19", e.getMessage());
+  }
+}
@@ -0,0 +1,121 @@
+package com.savdev.data.types.numeric.fx;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchConverterTest {
+
+  final Random random = new Random(42);
+
+  /**
+   * The conversions of `FinancialOperationsTest`, as a batch of lines
+   */
+  @Test
+  public void convert_financialOperationsRates() {
+    var toEur = RateTable.builder("EUR").rate("USD", "1.0915").build();
+    var usd = BatchConverter.of(toEur, 2, 4, RoundingMode.HALF_UP);
+    var converted = new long[2];
+    usd.convert(new long[]{25075, -25075}, toEur.encode("USD", "USD"), converted);
+    assertArrayEquals(new long[]{2297297, -2297297}, converted);
+
+    var toNok = RateTable.builder("NOK").rate("EUR", new BigDecimal("840.3361"), 10000).build();
+    var eur = BatchConverter.of(toNok, 2, 4, RoundingMode.HALF_UP);
+    assertEquals(11900000, eur.convert(10000, toNok.index("EUR")));
+  }
+
+  /**
+   * Every line is the same as the `BigDecimal` path, for all the rounding modes, scales and magnitudes
+   */
+  @Test
+  public void convert_sameAsBigDecimal() {
+    for (int table = 0; table < 200; table++) {
+      var builder = RateTable.builder("EUR");
+      String[] codes = {"USD", "GBP", "JPY", "NOK", "CHF"};
+      for (String code : codes) {
+        var rate = BigDecimal.valueOf(1 + random.nextLong(random.nextBoolean() ? 1_000_000 : Long.MAX_VALUE), random.nextInt(12));
+        builder.rate(code, rate, random.nextBoolean() ? 1 : 10000);
+      }
+      var rates = builder.build();
+      int inputScale = random.nextInt(5);
+      int outputScale = random.nextInt(7);
+      for (RoundingMode mode : RoundingMode.values()) {
+        var converter = BatchConverter.of(rates, inputScale, outputScale, mode);
+        for (int line = 0; line < 200; line++) {
+          long amount = randomAmount();
+          int currency = random.nextInt(codes.length);
+          BigDecimal expected;
+          try {
+            expected = BigDecimal.valueOf(amount, inputScale)
+              .multiply(BigDecimal.TEN.pow(rates.unitExponent(currency)))
+              .divide(rates.rate(currency).toBigDecimal(), outputScale, mode);
+          } catch (ArithmeticException e) {
+            assertThrows(ArithmeticException.class, () -> converter.convert(amount, currency));
+            continue;
+          }
+          if (expected.unscaledValue().bitLength() < 64) {
+            assertEquals(expected.unscaledValue().longValue(), converter.convert(amount, currency),
+              amount + " " + rates.currency(currency) + " at " + rates.rate(currency) + " " + mode);
+          } else {
+            assertThrows(ArithmeticException.class, () -> converter.convert(amount, currency));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void convert_parallelSegments_sameAsSequential() {
+    var rates = RateTable.builder("EUR")
+      .rate("USD", "1.0915")
+      .rate("GBP", "0.8563")
+      .rate("NOK", new BigDecimal("11.7342"), 1)
+      .build();
+    int lines = BatchConverter.SEGMENT_SIZE * 10 + 7;
+    var amounts = new long[lines];
+    var currencies = new int[lines];
+    for (int i = 0; i < lines; i++) {
+      amounts[i] = random.nextLong(-10_000_000_000L, 10_000_000_000L);
+      currencies[i] = random.nextInt(rates.size());
+    }
+    var converter = BatchConverter.of(rates, 2, 4, RoundingMode.HALF_EVEN);
+    var parallel = new long[lines];
+    converter.convert(amounts, currencies, parallel);
+    var sequential = new long[lines];
+    converter.convert(amounts, currencies, sequential, 0, lines);
+    assertArrayEquals(sequential, parallel);
+  }
+
+  @Test
+  public void rateTable_invalid() {
+    var builder = RateTable.builder("EUR").rate("USD", "1.0915");
+    assertEquals("Rate of USD is already added",
+      assertThrows(IllegalArgumentException.class, () -> builder.rate("USD", "1.1")).getMessage());
+    assertEquals("Rate of GBP must be positive, but was 0",
+      assertThrows(IllegalArgumentException.class, () -> builder.rate("GBP", "0")).getMessage());
+    assertEquals("Units must be a power of ten, but was 300",
+      assertThrows(IllegalArgumentException.class, () -> builder.rate("GBP", BigDecimal.ONE, 300)).getMessage());
+    assertEquals("No rate for currency CHF",
+      assertThrows(IllegalArgumentException.class, () -> builder.build().encode("USD", "CHF")).getMessage());
+
+    var converter = BatchConverter.of(builder.build(), 2, 4, RoundingMode.HALF_UP);
+    assertEquals("Amounts, currencies and converted amounts must have the same length, but were 2, 2 and 1",
+      assertThrows(IllegalArgumentException.class,
+        () -> converter.convert(new long[2], new int[2], new long[1])).getMessage());
+    assertEquals("Output scale must be from 0 to 18, but was 19",
+      assertThrows(IllegalArgumentException.class,
+        () -> BatchConverter.of(builder.build(), 2, 19, RoundingMode.HALF_UP)).getMessage());
+  }
+
+  long randomAmount() {
+    return switch (random.nextInt(4)) {
+      case 0 -> random.nextLong() >> random.nextInt(64);
+      case 1 -> random.nextBoolean() ? Long.MAX_VALUE - random.nextInt(3) : Long.MIN_VALUE + random.nextInt(3);
+      default -> random.nextLong(-100_000_000_000L, 100_000_000_000L);
+    };
+  }
+}
@@ -0,0 +1,176 @@
+package com.savdev.data.types.numeric.fx;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+import com.savdev.data.types.numeric.money.MathContexts;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateRegistryTest {
+
+  static final int PUBLICATIONS = 20_000;
+
+  /**
+   * The conversions of `BatchConverterTest`, by the rates of a registry, and back
+   */
+  @Test
+  public void rate_normalizedPerUnit() {
+    var registry = new RateRegistry();
+    registry.publish(RateTable.builder("EUR").rate("USD", "1.0915").build());
+    registry.publish(RateTable.builder("NOK").rate("EUR", new BigDecimal("840.3361"), 10000).build());
+
+    var usdEur = registry.rate("USD", "EUR");
+    assertEquals(new BigDecimal("229.7297"), usdEur.convert(new BigDecimal("250.75"), 4, RoundingMode.HALF_UP));
+    assertEquals(-2297297, usdEur.convert(-25075, 2, 4, RoundingMode.HALF_UP));
+    assertTrue(usdEur.isQuoted());
+
+    var eurNok = registry.rate("EUR", "NOK");
+    assertEquals(new BigDecimal("0.08403361"), eurNok.rate().toBigDecimal());
+    assertEquals(FixedDecimal.of("1190.0000"), eurNok.convert(FixedDecimal.of("100.00"), 4, RoundingMode.HALF_UP));
+    var nokEur = registry.rate(Currency.getInstance("NOK"), Currency.getInstance("EUR"));
+    assertFalse(nokEur.isQuoted());
+    assertEquals(new BigDecimal("100.00"), nokEur.convert(new BigDecimal("1190.0000"), 2, RoundingMode.HALF_UP));
+    assertEquals(new BigDecimal("11.90000048790002000390082015993363"), eurNok.factor());
+    assertEquals(new BigDecimal("0.08403361"), nokEur.factor());
+
+    var eur = registry.rate("EUR", "EUR");
+    assertEquals(new BigDecimal("12.34"), eur.convert(new BigDecimal("12.34"), 2, RoundingMode.HALF_UP));
+  }
+
+  /**
+   * The long, `FixedDecimal` and `BigDecimal` conversions of quoted and inverse rates are the same
+   *  as the exact division and multiplication, for all the rounding modes, scales and magnitudes
+   */
+  @Test
+  public void convert_sameAsBigDecimal() {
+    var random = new Random(42);
+    for (int table = 0; table < 200; table++) {
+      var rate = BigDecimal.valueOf(1 + random.nextLong(random.nextBoolean() ? 1_000_000 : Long.MAX_VALUE), random.nextInt(12));
+      var registry = new RateRegistry();
+      registry.publish(RateTable.builder("EUR").rate("USD", rate, random.nextBoolean() ? 1 : 10000).build());
+      int scale = random.nextInt(5);
+      int resultScale = random.nextInt(7);
+      for (ExchangeRate pair : new ExchangeRate[]{registry.rate("USD", "EUR"), registry.rate("EUR", "USD")}) {
+        var perUnit = pair.rate().toBigDecimal();
+        for (RoundingMode mode : RoundingMode.values()) {
+          for (int line = 0; line < 50; line++) {
+            long unscaled = switch (random.nextInt(3)) {
+              case 0 -> random.nextLong() >> random.nextInt(64);
+              default -> random.nextLong(-100_000_000_000L, 100_000_000_000L);
+            };
+            var amount = BigDecimal.valueOf(unscaled, scale);
+            BigDecimal expected;
+            try {
+              expected = pair.isQuoted()
+                ? amount.divide(perUnit, resultScale, mode)
+                : amount.multiply(perUnit).setScale(resultScale, mode);
+            } catch (ArithmeticException e) {
+              assertThrows(ArithmeticException.class, () -> pair.convert(amount, resultScale, mode));
+              assertThrows(ArithmeticException.class, () -> pair.convert(unscaled, scale, resultScale, mode));
+              continue;
+            }
+            String message = amount + " " + pair + " " + mode;
+            assertEquals(expected, pair.convert(amount, resultScale, mode), message);
+            assertEquals(expected, pair.convert(FixedDecimal.of(unscaled, scale), resultScale, mode).toBigDecimal(), message);
+            if (expected.unscaledValue().bitLength() < 64) {
+              assertEquals(expected.unscaledValue().longValue(), pair.convert(unscaled, scale, resultScale, mode), message);
+            } else {
+              assertThrows(ArithmeticException.class, () -> pair.convert(unscaled, scale, resultScale, mode));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void publish_snapshotsAreIsolated() {
+    var registry = new RateRegistry();
+    registry.publish(RateTable.builder("EUR").rate("USD", "1.0915").build());
+    var before = registry.snapshot();
+
+    registry.publish(RateTable.builder("EUR").rate("USD", "1.1000").rate("GBP", "0.8500").build());
+    var after = registry.snapshot();
+
+    assertEquals(1, before.version());
+    assertEquals(2, after.version());
+    assertEquals(FixedDecimal.of("1.0915"), before.rate("USD", "EUR").rate());
+    assertEquals(FixedDecimal.of("1.1000"), after.rate("USD", "EUR").rate());
+    assertThrows(IllegalArgumentException.class, () -> before.rate("GBP", "EUR"));
+    assertEquals(3, after.size());
+    //a lookup creates nothing, the pair is the same instance
+    assertSame(after.rate("GBP", "EUR"), after.rate(after.index("GBP"), after.index(Currency.getInstance("EUR"))));
+  }
+
+  @Test
+  public void rate_missing() {
+    var registry = new RateRegistry();
+    registry.publish(RateTable.builder("EUR").rate("USD", "1.0915").build());
+    registry.publish(RateTable.builder("NOK").rate("GBP", new BigDecimal("7.35"), 100).build());
+
+    var e = assertThrows(IllegalArgumentException.class, () -> registry.rate("CHF", "EUR"));
+    assertEquals("No rate for currency CHF", e.getMessage());
+    //cross rates are not derived
+    e = assertThrows(IllegalArgumentException.class, () -> registry.rate("USD", "GBP"));
+    assertEquals("No rate from USD to GBP", e.getMessage());
+  }
+
+  /**
+   * The n-th publication has the rate n: a reader never sees a rate of another version in a snapshot
+   */
+  @Test
+  public void snapshot_consistentUnderConcurrentPublications() throws InterruptedException {
+    var registry = new RateRegistry();
+    var done = new AtomicBoolean();
+    var failure = new AtomicReference<Throwable>();
+    var readers = new ArrayList<Thread>();
+    for (int r = 0; r < 3; r++) {
+      var reader = new Thread(() -> {
+        try {
+          long last = 0;
+          while (!done.get()) {
+            var snapshot = registry.snapshot();
+            long version = snapshot.version();
+            assertTrue(version >= last);
+            last = version;
+            if (version > 0) {
+              var rate = snapshot.rate("USD", "EUR");
+              assertEquals(0, FixedDecimal.of(version).compareTo(rate.rate()));
+              assertEquals(0, FixedDecimal.of(version).compareTo(snapshot.rate("EUR", "USD").rate()));
+            }
+          }
+        } catch (Throwable t) {
+          failure.set(t);
+        }
+      });
+      reader.start();
+      readers.add(reader);
+    }
+    for (int i = 1; i <= PUBLICATIONS; i++) {
+      registry.publish(RateTable.builder("EUR").rate("USD", String.valueOf(i)).build());
+    }
+    done.set(true);
+    for (var reader : readers) {
+      reader.join();
+    }
+
+    assertNull(failure.get());
+    assertEquals(PUBLICATIONS, registry.snapshot().version());
+  }
+
+  @Test
+  public void mathContexts_shared() {
+    assertSame(MathContexts.of(34, RoundingMode.HALF_EVEN), MathContexts.of(34, RoundingMode.HALF_EVEN));
+    assertEquals(MathContext.DECIMAL128, MathContexts.of(34, RoundingMode.HALF_EVEN));
+    assertEquals(new MathContext(50, RoundingMode.UP), MathContexts.of(50, RoundingMode.UP));
+  }
+}
@@ -0,0 +1,178 @@
+package com.savdev.data.types.numeric.kernels;
+
+import com.savdev.data.types.numeric.money.FixedDecimal;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Both kernels must give the results of `BigDecimal`, the vectorized ones run,
+ *  as surefire enables `jdk.incubator.vector`, see `pom.xml`
+ */
+public class DecimalKernelsTest {
+
+  static final DecimalKernels VECTOR = DecimalKernels.get();
+  static final DecimalKernels SCALAR = DecimalKernels.scalar();
+
+  final Random random = new Random(42);
+
+  @Test
+  public void get_vectorizedIfModuleEnabled() {
+    assertEquals(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(), VECTOR.isVectorized());
+    assertFalse(SCALAR.isVectorized());
+  }
+
+  @Test
+  public void sum_exact() {
+    for (int n = 0; n < 200; n++) {
+      var values = randomValues(n, n % 3 == 0);
+      var expected = BigInteger.ZERO;
+      for (long value : values) {
+        expected = expected.add(BigInteger.valueOf(value));
+      }
+      for (var kernels : new DecimalKernels[]{VECTOR, SCALAR}) {
+        if (expected.bitLength() < 64) {
+          assertEquals(expected.longValue(), kernels.sum(values));
+        } else {
+          assertThrows(ArithmeticException.class, () -> kernels.sum(values));
+        }
+      }
+    }
+  }
+
+  /**
+   * Partial sums of the lanes overflow, but the whole sum fits into a long
+   */
+  @Test
+  public void sum_intermediateOverflow_isNotAnError() {
+    var values = new long[64];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i % 2 == 0 ? Long.MAX_VALUE : -Long.MAX_VALUE + 1;
+    }
+    assertEquals(32, VECTOR.sum(values));
+    assertEquals(32, SCALAR.sum(values));
+  }
+
+  @Test
+  public void add_multiply_overflowDetected() {
+    for (int n = 0; n < 200; n++) {
+      var left = randomValues(n, n % 4 == 0);
+      var right = randomValues(n, n % 5 == 0);
+      long factor = random.nextInt(3) == 0 ? random.nextLong() : random.nextLong(-10_000, 10_000);
+      assertSameResult(result -> SCALAR.add(left, right, result), result -> VECTOR.add(left, right, result), n);
+      assertSameResult(result -> SCALAR.multiply(left, factor, result), result -> VECTOR.multiply(left, factor, result), n);
+      for (int i = 0; i < n; i++) {
+        long[] sum = new long[1];
+        int index = i;
+        assertResult(() -> BigDecimal.valueOf(left[index]).add(BigDecimal.valueOf(right[index])),
+          () -> SCALAR.add(new long[]{left[index]}, new long[]{right[index]}, sum), sum);
+      }
+    }
+  }
+
+  @Test
+  public void rescale_allRoundingModes() {
+    for (int n = 0; n < 300; n++) {
+      var values = randomValues(n, n % 7 == 0);
+      int fromScale = random.nextInt(10);
+      int toScale = random.nextInt(10);
+      for (RoundingMode mode : RoundingMode.values()) {
+        assertSameResult(
+          result -> SCALAR.rescale(values, fromScale, toScale, mode, result),
+          result -> VECTOR.rescale(values, fromScale, toScale, mode, result), n);
+        long[] result = new long[n];
+        try {
+          VECTOR.rescale(values, fromScale, toScale, mode, result);
+        } catch (ArithmeticException e) {
+          continue;
+        }
+        for (int i = 0; i < n; i++) {
+          var expected = BigDecimal.valueOf(values[i], fromScale).setScale(toScale, mode);
+          assertEquals(expected.unscaledValue().longValueExact(), result[i]);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void multiplyByRate_allRoundingModes() {
+    for (int n = 0; n < 300; n++) {
+      var values = randomValues(n, n % 7 == 0);
+      var rate = FixedDecimal.of(random.nextLong(-2_000_000, 2_000_000), random.nextInt(7));
+      for (RoundingMode mode : RoundingMode.values()) {
+        assertSameResult(
+          result -> SCALAR.multiply(values, rate, mode, result),
+          result -> VECTOR.multiply(values, rate, mode, result), n);
+        long[] result = new long[n];
+        try {
+          VECTOR.multiply(values, rate, mode, result);
+        } catch (ArithmeticException e) {
+          continue;
+        }
+        for (int i = 0; i < n; i++) {
+          var expected = BigDecimal.valueOf(values[i], 2).multiply(rate.toBigDecimal()).setScale(2, mode);
+          assertEquals(expected.unscaledValue().longValueExact(), result[i]);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void lengthsMustMatch() {
+    var e = assertThrows(IllegalArgumentException.class, () -> VECTOR.multiply(new long[3], 2, new long[2]));
+    assertEquals("Values and result must have the same length, but were 3 and 2", e.getMessage());
+  }
+
+  interface Kernel {
+    void apply(long[] result);
+  }
+
+  /**
+   * The same results, or both throw an `ArithmeticException`
+   */
+  static void assertSameResult(Kernel scalar, Kernel vector, int length) {
+    long[] expected = new long[length];
+    long[] actual = new long[length];
+    try {
+      scalar.apply(expected);
+    } catch (ArithmeticException e) {
+      assertThrows(ArithmeticException.class, () -> vector.apply(actual));
+      return;
+    }
+    vector.apply(actual);
+    assertArrayEquals(expected, actual);
+  }
+
+  static void assertResult(java.util.function.Supplier<BigDecimal> expected, Runnable kernel, long[] result) {
+    var value = expected.get();
+    if (value.unscaledValue().bitLength() < 64) {
+      kernel.run();
+      assertEquals(value.unscaledValue().longValue(), result[0]);
+    } else {
+      assertThrows(ArithmeticException.class, kernel::run);
+    }
+  }
+
+  /**
+   * Mostly amounts in cents, some columns with the edges of a long, which do not fit into the fast path
+   */
+  long[] randomValues(int length, boolean withEdges) {
+    var values = new long[length];
+    for (int i = 0; i < length; i++) {
+      values[i] = random.nextLong(-100_000_000_000L, 100_000_000_000L);
+      if (withEdges && random.nextInt(8) == 0) {
+        values[i] = switch (random.nextInt(3)) {
+          case 0 -> Long.MAX_VALUE - random.nextInt(3);
+          case 1 -> Long.MIN_VALUE + random.nextInt(3);
+          default -> random.nextLong();
+        };
+      }
+    }
+    return values;
+  }
+}
@@ -0,0 +1,144 @@
+package com.savdev.data.types.numeric.loan;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AmortizationTest {
+
+  static final Amortization monthly = Amortization.monthly();
+
+  /**
+   * 100000.00 for 30 years at 6% is the textbook example: 599.55 a month
+   */
+  @Test
+  public void payment_textbookLoan() {
+    var loan = Loan.of(100_000_00, "0.06", 360);
+    assertEquals(599_55, monthly.payment(loan));
+
+    var first = monthly.schedule(loan).iterator().next();
+    assertEquals(new Installment(1, 599_55, 500_00, 99_55, 99_900_45), first);
+  }
+
+  /**
+   * The same division as `FinancialOperationsTest.loanAmortization`: 277.78 a month,
+   *  the last payment repays the rest of 276.98
+   */
+  @Test
+  public void schedule_zeroRate_lastPaymentReconciles() {
+    var schedule = monthly.schedule(Loan.of(100_000_00, "0", 360));
+    assertEquals(277_78, schedule.payment());
+
+    var installments = schedule.stream().toList();
+    assertEquals(360, installments.size());
+    assertEquals(new Installment(360, 276_98, 0, 276_98, 0), installments.getLast());
+    assertEquals(100_000_00, installments.stream().mapToLong(Installment::principal).sum());
+  }
+
+  /**
+   * Random loans: the lazy schedule is the same as an eager `BigDecimal` schedule,
+   *  the principals sum up to the loan, and the last balance is zero
+   */
+  @Test
+  public void schedule_random_sameAsBigDecimal() {
+    var random = new Random(42);
+    for (int i = 0; i < 300; i++) {
+      var loan = randomLoan(random);
+      var expected = bigDecimalSchedule(loan);
+      var actual = new ArrayList<Installment>();
+      monthly.schedule(loan).forEach(actual::add);
+      assertEquals(expected, actual, loan.toString());
+
+      long[] repaid = new long[1];
+      long[] lastBalance = new long[1];
+      monthly.schedule(loan).forEach((period, payment, interest, principal, balance) -> {
+        repaid[0] += principal;
+        lastBalance[0] = balance;
+      });
+      assertEquals(loan.principal(), repaid[0], loan.toString());
+      assertEquals(0, lastBalance[0], loan.toString());
+    }
+  }
+
+  /**
+   * A balance times an unscaled rate, which overflows a long, is computed by `FixedDecimal`
+   */
+  @Test
+  public void schedule_hugeLoan_sameAsBigDecimal() {
+    var loan = Loan.of(Long.MAX_VALUE / 1000, "0.0712345678912", 12);
+    assertEquals(bigDecimalSchedule(loan), monthly.schedule(loan).stream().toList());
+  }
+
+  @Test
+  public void cashFlows_parallel_sameAsSequentialSums() {
+    var random = new Random(7);
+    var loans = IntStream.range(0, 2_000).mapToObj(i -> randomLoan(random)).toList();
+
+    var flows = monthly.cashFlows(loans);
+
+    long[] payments = new long[flows.periods()];
+    long[] interest = new long[flows.periods()];
+    for (var loan : loans) {
+      for (var installment : monthly.schedule(loan)) {
+        payments[installment.period() - 1] += installment.payment();
+        interest[installment.period() - 1] += installment.interest();
+      }
+    }
+    assertEquals(2_000, flows.loans());
+    for (int period = 1; period <= flows.periods(); period++) {
+      assertEquals(payments[period - 1], flows.payment(period));
+      assertEquals(interest[period - 1], flows.interest(period));
+      assertEquals(flows.payment(period), flows.interest(period) + flows.principal(period));
+    }
+    assertEquals(loans.stream().mapToLong(Loan::principal).sum(), flows.totalPrincipal());
+    assertEquals(flows.totalInterest() + flows.totalPrincipal(), flows.totalPayments());
+  }
+
+  @Test
+  public void loan_invalid() {
+    var e = assertThrows(IllegalArgumentException.class, () -> Loan.of(100, "0.05", 0));
+    assertEquals("Periods must be at least 1, but was 0", e.getMessage());
+    e = assertThrows(IllegalArgumentException.class, () -> Loan.of(100, "-0.05", 12));
+    assertEquals("Annual rate must not be negative, but was -0.05", e.getMessage());
+    e = assertThrows(IllegalArgumentException.class, () -> Amortization.of(12, RoundingMode.UNNECESSARY));
+    assertEquals("Rounding mode must round, but was UNNECESSARY", e.getMessage());
+  }
+
+  private static Loan randomLoan(Random random) {
+    long principal = random.nextLong(1, 1_000_000_00L);
+    var rate = BigDecimal.valueOf(random.nextInt(0, 15_000), 5);
+    int periods = List.of(12, 60, 120, 180, 240, 360).get(random.nextInt(6)) + random.nextInt(2);
+    return Loan.of(principal, rate.toPlainString(), periods);
+  }
+
+  private static List<Installment> bigDecimalSchedule(Loan loan) {
+    var mc = MathContext.DECIMAL128;
+    var mode = RoundingMode.HALF_EVEN;
+    var months = BigDecimal.valueOf(12);
+    var annualRate = loan.annualRate().toBigDecimal();
+    var r = annualRate.divide(months, mc);
+    var factor = r.signum() == 0
+      ? BigDecimal.ONE.divide(BigDecimal.valueOf(loan.periods()), mc)
+      : r.divide(BigDecimal.ONE.subtract(BigDecimal.ONE.add(r).pow(-loan.periods(), mc)), mc);
+    var payment = BigDecimal.valueOf(loan.principal()).multiply(factor).setScale(0, mode);
+
+    var schedule = new ArrayList<Installment>();
+    var balance = BigDecimal.valueOf(loan.principal());
+    for (int period = 1; period <= loan.periods(); period++) {
+      var interest = balance.multiply(annualRate).divide(months, 0, mode);
+      var principal = period == loan.periods() ? balance : payment.subtract(interest).min(balance);
+      balance = balance.subtract(principal);
+      schedule.add(new Installment(period, interest.add(principal).longValueExact(), interest.longValueExact(),
+        principal.longValueExact(), balance.longValueExact()));
+    }
+    return schedule;
+  }
+}
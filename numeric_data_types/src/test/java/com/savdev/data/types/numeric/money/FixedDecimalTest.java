@@ -0,0 +1,170 @@
+package com.savdev.data.types.numeric.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixedDecimalTest {
+
+  static final Currency USD = Currency.getInstance("USD");
+  static final Currency EUR = Currency.getInstance("EUR");
+
+  //the properties are checked for many random values, the seed makes a failure reproducible
+  static final int SAMPLES = 20_000;
+  final Random random = new Random(42);
+
+  @Test
+  public void financialOperations_sameAsBigDecimal() {
+    var amount = FixedDecimal.of("125000.00");
+    assertTrue(amount.isCompact());
+    assertEquals(12500000, amount.unscaledValue());
+
+    assertEquals("229.7297",
+      FixedDecimal.of("250.75").divide(FixedDecimal.of("1.0915"), 4, RoundingMode.HALF_UP).toString());
+    assertEquals("1190.0000", FixedDecimal.of("100.00").multiply(FixedDecimal.of(10000))
+      .divide(FixedDecimal.of("840.3361"), 4, RoundingMode.HALF_UP).toString());
+    assertEquals("277.78",
+      FixedDecimal.of("100000.00").divide(FixedDecimal.of(360), 2, RoundingMode.HALF_EVEN).toString());
+    assertEquals("2500.00",
+      FixedDecimal.of("7500.00").divide(FixedDecimal.of(3), 2, RoundingMode.UP).toString());
+  }
+
+  @Test
+  public void money_currencyMustMatch() {
+    var total = Money.ofMinor(12500000, USD).add(Money.of("0.015", USD));
+    assertEquals("125000.015 USD", total.toString());
+    assertEquals("125000.02 USD", total.rounded(RoundingMode.HALF_EVEN).toString());
+
+    var e = assertThrows(IllegalArgumentException.class, () -> total.add(Money.zero(EUR)));
+    assertEquals("Currency mismatch: USD and EUR", e.getMessage());
+  }
+
+  /**
+   * The result does not fit into a long, it is a `BigDecimal` now, and a scaled long again, once it fits
+   */
+  @Test
+  public void overflow_fallsBackToBigDecimal() {
+    var max = FixedDecimal.of(Long.MAX_VALUE, 2);
+    var sum = max.add(FixedDecimal.of("0.01"));
+    assertFalse(sum.isCompact());
+    assertEquals(BigDecimal.valueOf(Long.MAX_VALUE, 2).add(new BigDecimal("0.01")), sum.toBigDecimal());
+
+    var back = sum.subtract(FixedDecimal.of("0.01"));
+    assertTrue(back.isCompact());
+    assertEquals(max, back);
+
+    var product = max.multiply(max);
+    assertFalse(product.isCompact());
+    assertEquals(BigDecimal.valueOf(Long.MAX_VALUE, 2).pow(2), product.toBigDecimal());
+    assertThrows(ArithmeticException.class, product::unscaledValue);
+  }
+
+  @Test
+  public void add_subtract_multiply_exact() {
+    for (int i = 0; i < SAMPLES; i++) {
+      var left = randomDecimal();
+      var right = randomDecimal();
+      assertSame(left.toBigDecimal().add(right.toBigDecimal()), left.add(right));
+      assertSame(left.toBigDecimal().subtract(right.toBigDecimal()), left.subtract(right));
+      assertSame(left.toBigDecimal().multiply(right.toBigDecimal()), left.multiply(right));
+      assertEquals(left.toBigDecimal().compareTo(right.toBigDecimal()), left.compareTo(right));
+    }
+  }
+
+  @Test
+  public void setScale_allRoundingModes() {
+    for (int i = 0; i < SAMPLES; i++) {
+      var value = randomDecimal();
+      int scale = random.nextInt(ScaledMath.MAX_SCALE + 3) - 1;
+      for (RoundingMode mode : RoundingMode.values()) {
+        assertRounding(() -> value.toBigDecimal().setScale(scale, mode), () -> value.setScale(scale, mode));
+      }
+    }
+  }
+
+  @Test
+  public void divide_allRoundingModes() {
+    for (int i = 0; i < SAMPLES; i++) {
+      var dividend = randomDecimal();
+      var divisor = random.nextInt(10) == 0 ? FixedDecimal.of(random.nextInt(3) - 1, 2) : randomDecimal();
+      int scale = random.nextInt(ScaledMath.MAX_SCALE + 1);
+      for (RoundingMode mode : RoundingMode.values()) {
+        assertRounding(
+          () -> dividend.toBigDecimal().divide(divisor.toBigDecimal(), scale, mode),
+          () -> dividend.divide(divisor, scale, mode));
+      }
+    }
+  }
+
+  @Test
+  public void multiply_allRoundingModes() {
+    for (int i = 0; i < SAMPLES; i++) {
+      var left = randomDecimal();
+      var right = randomDecimal();
+      int scale = random.nextInt(ScaledMath.MAX_SCALE + 1);
+      for (RoundingMode mode : RoundingMode.values()) {
+        assertRounding(
+          () -> left.toBigDecimal().multiply(right.toBigDecimal()).setScale(scale, mode),
+          () -> left.multiply(right, scale, mode));
+      }
+    }
+  }
+
+  /**
+   * Exact halves are the hardest cases: `x.5` must go to the right neighbour for every mode
+   */
+  @Test
+  public void halves_allRoundingModes() {
+    for (int i = 0; i < SAMPLES; i++) {
+      int drop = 1 + random.nextInt(ScaledMath.MAX_SCALE);
+      long half = 5 * ScaledMath.pow10(drop - 1);
+      long units = random.nextLong(-1000, 1000);
+      long unscaled = units * ScaledMath.pow10(drop) + (units < 0 ? -half : half);
+      var value = FixedDecimal.of(unscaled, drop);
+      for (RoundingMode mode : RoundingMode.values()) {
+        assertRounding(() -> value.toBigDecimal().setScale(0, mode), () -> value.setScale(0, mode));
+      }
+    }
+  }
+
+  void assertRounding(Supplier<BigDecimal> expected, Supplier<FixedDecimal> actual) {
+    BigDecimal expectedValue;
+    try {
+      expectedValue = expected.get();
+    } catch (ArithmeticException e) {
+      //only the type: even BigDecimal itself has different messages for a zero divisor, depending on the values
+      assertThrows(ArithmeticException.class, actual::get);
+      return;
+    }
+    assertSame(expectedValue, actual.get());
+  }
+
+  /**
+   * Bit-identical: the same unscaled value and the same scale, not only the same value
+   */
+  static void assertSame(BigDecimal expected, FixedDecimal actual) {
+    assertEquals(expected, actual.toBigDecimal());
+    assertEquals(FixedDecimal.of(expected), actual);
+  }
+
+  /**
+   * Mostly small amounts with 0 to 4 decimal places, but also any magnitude, the boundaries of a long
+   *  and values, which are already `BigDecimal`s
+   */
+  FixedDecimal randomDecimal() {
+    int scale = random.nextInt(5) == 0 ? random.nextInt(ScaledMath.MAX_SCALE + 1) : random.nextInt(5);
+    return switch (random.nextInt(6)) {
+      case 0 -> FixedDecimal.of(random.nextLong() >> random.nextInt(64), scale);
+      case 1 -> FixedDecimal.of(random.nextBoolean() ? Long.MAX_VALUE - random.nextInt(3) : Long.MIN_VALUE + random.nextInt(3), scale);
+      case 2 -> FixedDecimal.of(random.nextInt(3) - 1, scale);
+      case 3 -> FixedDecimal.of(BigDecimal.valueOf(random.nextLong(), scale).multiply(BigDecimal.valueOf(random.nextLong())));
+      default -> FixedDecimal.of(random.nextLong(-100_000_000, 100_000_000), scale);
+    };
+  }
+}
@@ -0,0 +1,145 @@
+package com.savdev.data.types.numeric.parse;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Random;
+
+import static com.savdev.data.types.numeric.parse.DecimalParser.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecimalParserTest {
+
+  final long[] values = new long[1];
+  final Random random = new Random(42);
+
+  /**
+   * The amount of `FinancialOperationsTest.currencyFormat_fromLocale` without the currency symbol
+   */
+  @Test
+  public void parse_localeFormats() {
+    var us = DecimalParser.of(2, Locale.US);
+    var text = "$125,000.00";
+    assertEquals(OK, us.parse(text, 1, text.length(), values, 0));
+    assertEquals(12500000, values[0]);
+
+    var germany = DecimalParser.of(2, Locale.GERMANY);
+    text = "-125.000,5 €";
+    assertEquals(OK, germany.parse(text, 0, text.length() - 2, values, 0));
+    assertEquals(-12500050, values[0]);
+
+    assertEquals(new BigDecimal("125000.00"), us.parse("125000").toBigDecimal());
+    assertNull(us.parse("125.000,00"));
+  }
+
+  @Test
+  public void parse_bytesAndBuffers() {
+    var parser = DecimalParser.of(4);
+    var line = "USD;250.75;1.0915\n".getBytes(StandardCharsets.US_ASCII);
+    assertEquals(OK, parser.parse(line, 4, 10, values, 0));
+    assertEquals(2507500, values[0]);
+
+    var direct = ByteBuffer.allocateDirect(line.length).put(line);
+    assertEquals(OK, parser.parse(direct, 11, 17, values, 0));
+    assertEquals(10915, values[0]);
+    assertEquals(line.length, direct.position());
+  }
+
+  @Test
+  public void parse_errorCodes() {
+    var parser = DecimalParser.of(2);
+    values[0] = 42;
+    assertCode(EMPTY, parser, "");
+    for (var malformed : new String[]{"-", "+", ".", "1.2.3", ",100", "1,,000", "1,000,", "1,.5", "1.5,0", "1e5", " 1", "1 ", "--1", "½"}) {
+      assertCode(MALFORMED, parser, malformed);
+    }
+    assertCode(OVERFLOW, parser, "92233720368547758.08");
+    assertCode(OVERFLOW, parser, "100000000000000000");
+    assertCode(INEXACT, parser, "1.005");
+    //the values are not changed on errors
+    assertEquals(42, values[0]);
+
+    assertCode(OK, parser, "92233720368547758.07");
+    assertEquals(Long.MAX_VALUE, values[0]);
+    assertCode(OK, parser, "-1.000");
+    assertEquals(-100, values[0]);
+    assertCode(OK, parser, "12.");
+    assertEquals(1200, values[0]);
+    assertCode(OK, parser, ".5");
+    assertEquals(50, values[0]);
+    assertEquals("INEXACT", DecimalParser.describe(INEXACT));
+  }
+
+  /**
+   * Whatever `NumberFormat` formats for the locale is parsed back to the same value
+   */
+  @Test
+  public void parse_numberFormatOutput() {
+    for (var locale : new Locale[]{Locale.US, Locale.GERMANY, Locale.FRANCE, Locale.of("de", "CH")}) {
+      var format = NumberFormat.getNumberInstance(locale);
+      format.setMinimumFractionDigits(2);
+      format.setMaximumFractionDigits(2);
+      var parser = DecimalParser.of(2, locale);
+      for (int i = 0; i < 10_000; i++) {
+        long cents = random.nextLong(-1_000_000_000_000L, 1_000_000_000_000L);
+        var text = format.format(BigDecimal.valueOf(cents, 2));
+        //NumberFormat uses the minus sign U+2212 for some locales
+        text = text.replace('−', '-');
+        assertEquals(OK, parser.parse(text, 0, text.length(), values, 0), text);
+        assertEquals(cents, values[0], text);
+      }
+    }
+  }
+
+  /**
+   * Random texts of digits, signs and separators: a parsed value is the value of `new BigDecimal` without grouping
+   */
+  @Test
+  public void parse_sameAsBigDecimal() {
+    var parser = DecimalParser.of(3);
+    var alphabet = "0123456789000.,-+";
+    var builder = new StringBuilder();
+    for (int i = 0; i < 200_000; i++) {
+      builder.setLength(0);
+      int length = random.nextInt(25);
+      for (int j = 0; j < length; j++) {
+        builder.append(j > 0 && random.nextInt(4) > 0 ? (char) ('0' + random.nextInt(10)) : alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      var text = builder.toString();
+      int code = parser.parse(text, 0, text.length(), values, 0);
+      BigDecimal expected;
+      try {
+        expected = new BigDecimal(text.replace(",", ""));
+      } catch (NumberFormatException e) {
+        assertTrue(code != OK, text);
+        continue;
+      }
+      if (code == OK) {
+        assertEquals(expected.setScale(3).unscaledValue().longValueExact(), values[0], text);
+        var bytes = text.getBytes(StandardCharsets.US_ASCII);
+        assertEquals(OK, parser.parse(bytes, 0, bytes.length, values, 0));
+      } else if (code == INEXACT) {
+        assertTrue(expected.stripTrailingZeros().scale() > 3, text);
+      } else if (code == OVERFLOW) {
+        assertTrue(expected.setScale(3, RoundingMode.DOWN).unscaledValue().bitLength() >= 63, text);
+      }
+    }
+  }
+
+  @Test
+  public void of_invalid() {
+    var e = assertThrows(IllegalArgumentException.class, () -> DecimalParser.of(2, '.', '.'));
+    assertEquals("Grouping separator must differ from the decimal separator, but both were '.'", e.getMessage());
+    e = assertThrows(IllegalArgumentException.class, () -> DecimalParser.of(19));
+    assertEquals("Scale must be from 0 to 18, but was 19", e.getMessage());
+  }
+
+  void assertCode(int expected, DecimalParser parser, String text) {
+    assertEquals(DecimalParser.describe(expected), DecimalParser.describe(parser.parse(text, 0, text.length(), values, 0)), text);
+  }
+}
@@ -0,0 +1,141 @@
+package com.savdev.streams;
+
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Maps elements on virtual threads, with at most `maxConcurrency` calls in flight.
+ *
+ * Pulling the next result first submits new calls, until `maxConcurrency` calls are in flight,
+ *  then takes a single result:
+ *  - ordered - the result of the oldest call, the calls in flight are the bounded reorder buffer,
+ *  - unordered - the first completed result.
+ * A result is kept only until it is taken, so at most `maxConcurrency` results are in memory.
+ * Both modes watch the completion queue, so a failed call is reported, as soon as it fails,
+ *  even if the calls before it in the encounter order are still running.
+ *
+ * The spliterator itself is sequential (not splittable), the concurrency comes from the virtual threads.
+ */
+final class AsyncMappingSpliterator<T, R> implements Spliterator<R> {
+
+  private final Spliterator<T> source;
+  private final Function<? super T, ? extends R> mapper;
+  private final int maxConcurrency;
+  private final boolean ordered;
+
+  private final ExecutorService executor;
+  //the calls in the order of completion, drained by every take, so it is not longer than the calls in flight
+  private final ExecutorCompletionService<R> completion;
+  //all the calls in flight, in the order of the submission
+  private final ArrayDeque<Future<R>> inFlight = new ArrayDeque<>();
+  private boolean sourceExhausted;
+
+  AsyncMappingSpliterator(Spliterator<T> source, Function<? super T, ? extends R> mapper, int maxConcurrency, boolean ordered) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("Max concurrency must be at least 1, but was " + maxConcurrency);
+    }
+    this.source = source;
+    this.mapper = mapper;
+    this.maxConcurrency = maxConcurrency;
+    this.ordered = ordered;
+    this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    this.completion = new ExecutorCompletionService<>(executor);
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super R> action) {
+    try {
+      while (!sourceExhausted && inFlight.size() < maxConcurrency) {
+        sourceExhausted = !source.tryAdvance(this::submit);
+      }
+    } catch (RuntimeException | Error e) {
+      //a failure upstream, for instance of a `map` before this one
+      cancel();
+      throw e;
+    }
+    if (inFlight.isEmpty()) {
+      executor.shutdown();
+      return false;
+    }
+    action.accept(take());
+    return true;
+  }
+
+  private void submit(T element) {
+    inFlight.add(completion.submit(() -> mapper.apply(element)));
+  }
+
+  private R take() {
+    Future<R> next;
+    try {
+      if (ordered) {
+        next = inFlight.peek();
+        //waits for the oldest call, but any failed call is taken first
+        while (true) {
+          Future<R> done = next.isDone() ? completion.poll() : completion.take();
+          if (done == null) {
+            break;
+          }
+          if (done.state() == Future.State.FAILED) {
+            next = done;
+            break;
+          }
+        }
+        inFlight.remove(next);
+      } else {
+        next = completion.take();
+        inFlight.remove(next);
+      }
+      return next.get();
+    } catch (ExecutionException e) {
+      cancel();
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      cancel();
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for an async result", e);
+    } catch (CancellationException e) {
+      cancel();
+      throw e;
+    }
+  }
+
+  /**
+   * Interrupts all the calls in flight, no new calls are submitted
+   */
+  void cancel() {
+    sourceExhausted = true;
+    inFlight.forEach(f -> f.cancel(true));
+    inFlight.clear();
+    executor.shutdownNow();
+  }
+
+  @Override
+  public Spliterator<R> trySplit() {
+    return null;
+  }
+
+  @Override
+  public long estimateSize() {
+    return source.estimateSize();
+  }
+
+  @Override
+  public int characteristics() {
+    return ordered ? ORDERED : 0;
+  }
+}
@@ -0,0 +1,119 @@
+package com.savdev.streams;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A single spliterator over a range `[from, to)` of source spliterators.
+ *
+ * Unlike a chain of `Stream.concat`, the depth of calls does not depend on the number of sources:
+ *  the current source is found by an index, but not by delegating through the nested concatenations.
+ *
+ * Splitting:
+ *  - while the range contains several sources, it is split at the source boundary,
+ *    that halves the number of elements (if all the sizes are known) or the number of sources,
+ *  - a single remaining source is split by its own spliterator.
+ */
+final class ConcatSpliterator<T> implements Spliterator<T> {
+
+  private final List<Spliterator<? extends T>> sources;
+  private final int to;
+  private final int characteristics;
+  private int current;
+
+  ConcatSpliterator(List<Spliterator<? extends T>> sources, int from, int to) {
+    this.sources = sources;
+    this.current = from;
+    this.to = to;
+    this.characteristics = characteristics(sources, from, to);
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    while (current < to) {
+      if (sources.get(current).tryAdvance(action)) {
+        return true;
+      }
+      current++;
+    }
+    return false;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super T> action) {
+    for (; current < to; current++) {
+      sources.get(current).forEachRemaining(action);
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Spliterator<T> trySplit() {
+    int remaining = to - current;
+    if (remaining == 0) {
+      return null;
+    }
+    if (remaining == 1) {
+      //read-only spliterator, so `? extends T` can be safely treated as `T`
+      return (Spliterator<T>) sources.get(current).trySplit();
+    }
+    int boundary = boundary();
+    var prefix = new ConcatSpliterator<>(sources, current, boundary);
+    current = boundary;
+    return prefix;
+  }
+
+  /**
+   * @return the first source of the suffix, `current < boundary < to`
+   */
+  private int boundary() {
+    long total = estimateSize();
+    if (total == Long.MAX_VALUE) {
+      return current + (to - current) / 2;
+    }
+    long prefixSize = 0;
+    for (int i = current; i < to - 1; i++) {
+      prefixSize += sources.get(i).estimateSize();
+      if (prefixSize >= total / 2) {
+        return i + 1;
+      }
+    }
+    return to - 1;
+  }
+
+  @Override
+  public long estimateSize() {
+    long size = 0;
+    for (int i = current; i < to; i++) {
+      size += sources.get(i).estimateSize();
+      if (size < 0) {
+        return Long.MAX_VALUE;
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public int characteristics() {
+    return characteristics;
+  }
+
+  /**
+   * The same as `Stream.concat` does: only the characteristics, common for all the sources,
+   *  DISTINCT and SORTED are not preserved by a concatenation, and the size is not exact if the sum overflows.
+   */
+  private static int characteristics(List<? extends Spliterator<?>> sources, int from, int to) {
+    int characteristics = ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    long size = 0;
+    for (int i = from; i < to; i++) {
+      characteristics &= sources.get(i).characteristics();
+      size += sources.get(i).estimateSize();
+      if (size < 0) {
+        characteristics &= ~(SIZED | SUBSIZED);
+        size = Long.MAX_VALUE;
+      }
+    }
+    return characteristics;
+  }
+}
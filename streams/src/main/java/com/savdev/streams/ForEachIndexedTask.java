@@ -0,0 +1,51 @@
+package com.savdev.streams;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel traversal of {@link IndexingSpliterator}, that passes elements with indices directly to the consumer,
+ *  there is no stream in between, so no {@link Indexed} wrapper is allocated.
+ */
+//a fork/join task is never serialized, the spliterator and the consumer are not serializable either
+@SuppressWarnings("serial")
+final class ForEachIndexedTask<T> extends RecursiveAction {
+
+  private final IndexingSpliterator<T> spliterator;
+  private final IndexedConsumer<? super T> consumer;
+  private final long targetSize;
+
+  ForEachIndexedTask(IndexingSpliterator<T> spliterator, IndexedConsumer<? super T> consumer) {
+    this(spliterator, consumer, targetSize(spliterator.estimateSize()));
+  }
+
+  private ForEachIndexedTask(IndexingSpliterator<T> spliterator, IndexedConsumer<? super T> consumer, long targetSize) {
+    this.spliterator = spliterator;
+    this.consumer = consumer;
+    this.targetSize = targetSize;
+  }
+
+  /**
+   * The same as for the JDK stream tasks: 4 leaf tasks per a thread of the pool
+   */
+  private static long targetSize(long size) {
+    long leafs = ForkJoinPool.getCommonPoolParallelism() * 4L;
+    return Math.max(1, size / leafs);
+  }
+
+  @Override
+  protected void compute() {
+    var forked = new ArrayList<ForEachIndexedTask<T>>();
+    IndexingSpliterator<T> prefix;
+    while (spliterator.estimateSize() > targetSize && (prefix = spliterator.trySplit()) != null) {
+      var task = new ForEachIndexedTask<T>(prefix, consumer, targetSize);
+      task.fork();
+      forked.add(task);
+    }
+    spliterator.forEachRemaining(consumer);
+    for (ForEachIndexedTask<T> task : forked) {
+      task.join();
+    }
+  }
+}
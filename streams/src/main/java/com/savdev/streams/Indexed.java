@@ -0,0 +1,6 @@
+package com.savdev.streams;
+
+/**
+ * A stream element with its position in the encounter order of the source stream, starting with 0
+ */
+public record Indexed<T>(long index, T value) {}
@@ -0,0 +1,10 @@
+package com.savdev.streams;
+
+/**
+ * Accepts a stream element with its position, without wrapping them into {@link Indexed}
+ */
+@FunctionalInterface
+public interface IndexedConsumer<T> {
+
+  void accept(long index, T value);
+}
@@ -0,0 +1,110 @@
+package com.savdev.streams;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Attaches the position in the encounter order to every element of the source.
+ *
+ * The index is not a shared counter, every split knows its own first index (`offset`):
+ *  - SUBSIZED source - the prefix, returned by the source `trySplit()`, has an exact size,
+ *    so the index of the suffix is computed arithmetically,
+ *  - not SUBSIZED source - the size of a prefix is unknown, so the prefix is taken as a batch of elements,
+ *    read into an array (the same way as the JDK splits an `Iterator`),
+ *    the size of the batch is the offset of the remaining elements.
+ */
+final class IndexingSpliterator<T> implements Spliterator<Indexed<T>>, Consumer<T> {
+
+  //the same batch sizes as for `Spliterators.spliteratorUnknownSize`
+  private static final int BATCH_UNIT = 1 << 10;
+  private static final int MAX_BATCH = 1 << 25;
+
+  private final Spliterator<T> source;
+  private long index;
+  private int batch;
+  //the element, taken by the last `tryAdvance` of the source
+  private T current;
+
+  IndexingSpliterator(Spliterator<T> source, long offset) {
+    this.source = source;
+    this.index = offset;
+  }
+
+  boolean tryAdvance(IndexedConsumer<? super T> action) {
+    if (!source.tryAdvance(this)) {
+      return false;
+    }
+    T value = current;
+    current = null;
+    action.accept(index++, value);
+    return true;
+  }
+
+  void forEachRemaining(IndexedConsumer<? super T> action) {
+    source.forEachRemaining(value -> action.accept(index++, value));
+  }
+
+  @Override
+  public void accept(T value) {
+    current = value;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super Indexed<T>> action) {
+    return tryAdvance((i, value) -> action.accept(new Indexed<>(i, value)));
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super Indexed<T>> action) {
+    forEachRemaining((i, value) -> action.accept(new Indexed<>(i, value)));
+  }
+
+  @Override
+  public IndexingSpliterator<T> trySplit() {
+    if (source.hasCharacteristics(SUBSIZED)) {
+      var prefix = source.trySplit();
+      if (prefix == null) {
+        return null;
+      }
+      var result = new IndexingSpliterator<>(prefix, index);
+      index += prefix.getExactSizeIfKnown();
+      return result;
+    }
+    return splitBatch();
+  }
+
+  private IndexingSpliterator<T> splitBatch() {
+    int n = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+    long estimate = source.estimateSize();
+    if (estimate < n) {
+      n = (int) estimate;
+    }
+    var elements = new Object[Math.max(n, 1)];
+    int taken = 0;
+    while (taken < n && source.tryAdvance(this)) {
+      elements[taken++] = current;
+    }
+    current = null;
+    if (taken == 0) {
+      return null;
+    }
+    batch = taken;
+    @SuppressWarnings("unchecked")
+    Spliterator<T> prefix = (Spliterator<T>) Spliterators.spliterator(
+      elements, 0, taken, source.characteristics() & ~(SORTED | DISTINCT));
+    var result = new IndexingSpliterator<>(prefix, index);
+    index += taken;
+    return result;
+  }
+
+  @Override
+  public long estimateSize() {
+    return source.estimateSize();
+  }
+
+  @Override
+  public int characteristics() {
+    return (source.characteristics() & (ORDERED | SIZED | SUBSIZED | IMMUTABLE | CONCURRENT)) | NONNULL;
+  }
+}
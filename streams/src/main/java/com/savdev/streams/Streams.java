@@ -0,0 +1,171 @@
+package com.savdev.streams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.BaseStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Stream operations, that are missing in the JDK `Stream` API.
+ */
+public final class Streams {
+
+  private Streams() {}
+
+  /**
+   * Concatenates any number of streams into one, without `Stream.concat` chains
+   *  and without `flatMap`, see {@link #concat(List)}
+   */
+  @SafeVarargs
+  public static <T> Stream<T> concat(Stream<? extends T>... streams) {
+    //the elements are copied, the varargs array itself does not escape
+    var list = new ArrayList<Stream<? extends T>>(streams.length);
+    for (Stream<? extends T> stream : streams) {
+      list.add(stream);
+    }
+    return concat(list);
+  }
+
+  /**
+   * - `streams.reduce(Stream::concat)` builds a chain of nested concatenations,
+   *    accessing an element costs a call per level, a deep chain causes StackOverflowError.
+   * - `flatMap(s -> s)` has no such issue, but the result is neither SIZED nor splittable,
+   *    so a parallel pipeline runs on a single thread.
+   *
+   * This concatenation is a single spliterator over all the sources:
+   *  - constant stack depth, whatever the number of streams is,
+   *  - exact size, if all the sources are sized,
+   *  - parallel splitting at the source boundaries,
+   *  - parallel, if any of the streams is parallel, closing the result closes all the streams.
+   */
+  public static <T> Stream<T> concat(List<? extends Stream<? extends T>> streams) {
+    var spliterators = new ArrayList<Spliterator<? extends T>>(streams.size());
+    for (Stream<? extends T> stream : streams) {
+      spliterators.add(stream.spliterator());
+    }
+    boolean parallel = streams.stream().anyMatch(BaseStream::isParallel);
+    return StreamSupport.stream(new ConcatSpliterator<>(spliterators, 0, spliterators.size()), parallel)
+      .onClose(() -> closeAll(streams));
+  }
+
+  /**
+   * All the streams get closed, even if some of them throw an exception,
+   *  the first exception is thrown, the others are added to it as suppressed.
+   */
+  private static void closeAll(List<? extends BaseStream<?, ?>> streams) {
+    Throwable first = null;
+    for (BaseStream<?, ?> stream : streams) {
+      try {
+        stream.close();
+      } catch (Throwable e) {
+        if (first == null) {
+          first = e;
+        } else {
+          first.addSuppressed(e);
+        }
+      }
+    }
+    if (first instanceof RuntimeException e) {
+      throw e;
+    }
+    if (first instanceof Error e) {
+      throw e;
+    }
+  }
+
+  /**
+   * Attaches to every element its position in the encounter order of the stream, starting with 0.
+   *
+   * Unlike a shared `AtomicInteger` in `map`, see `StreamElementIndicesTest`, there is no contention
+   *  and the indices are correct in a parallel stream: every split knows the index of its first element.
+   */
+  public static <T> Stream<Indexed<T>> zipWithIndex(Stream<T> stream) {
+    return StreamSupport.stream(new IndexingSpliterator<>(stream.spliterator(), 0), stream.isParallel())
+      .onClose(stream::close);
+  }
+
+  /**
+   * The same as {@link #zipWithIndex(Stream)}, but elements and indices are passed to the consumer directly,
+   *  without {@link Indexed} wrappers.
+   *  For a parallel stream the consumer is called concurrently from the common `ForkJoinPool`.
+   */
+  public static <T> void forEachIndexed(Stream<T> stream, IndexedConsumer<? super T> consumer) {
+    var spliterator = new IndexingSpliterator<>(stream.spliterator(), 0);
+    if (stream.isParallel()) {
+      new ForEachIndexedTask<>(spliterator, consumer).invoke();
+    } else {
+      spliterator.forEachRemaining(consumer);
+    }
+  }
+
+  /**
+   * Maps every element with a slow (blocking) function, for instance a call of a remote service,
+   *  running at most `maxConcurrency` calls at the same time, each on its own virtual thread.
+   *
+   * - `ordered` - results come in the encounter order of the stream,
+   *    a fast call waits for the slower calls, submitted before it,
+   *    otherwise results come in the order of completion,
+   * - at most `maxConcurrency` results are kept in memory,
+   * - the first failed call cancels (interrupts) all the other calls, its exception is thrown to the caller
+   *    as soon as it fails, in the ordered mode too, not when its result is reached in the encounter order,
+   * - a failure of the source stream cancels the calls in flight as well,
+   * - closing the stream cancels all the calls in flight,
+   *    use try-with-resources, if the stream is not fully consumed (`limit`, `findFirst`).
+   *
+   * The result is a sequential stream.
+   */
+  public static <T, R> Stream<R> mapAsync(
+    Stream<T> stream,
+    Function<? super T, ? extends R> mapper,
+    int maxConcurrency,
+    boolean ordered) {
+    var spliterator = new AsyncMappingSpliterator<T, R>(stream.spliterator(), mapper, maxConcurrency, ordered);
+    return StreamSupport.stream(spliterator, false)
+      .onClose(spliterator::cancel)
+      .onClose(stream::close);
+  }
+
+  /**
+   * Splits the stream into lists of `size` elements, the last chunk might be smaller, for instance, for bulk writes.
+   *
+   * Lazy, a chunk is built only when it is requested.
+   *  A sized source (list, array, range) is split in parallel at chunk boundaries.
+   */
+  public static <T> Stream<List<T>> chunked(Stream<T> stream, int size) {
+    return windows(stream, size, size, true);
+  }
+
+  /**
+   * Sliding windows of `size` elements, a new window starts every `step` elements, for instance, for moving statistics.
+   *  Only full windows are returned.
+   */
+  public static <T> Stream<List<T>> sliding(Stream<T> stream, int size, int step) {
+    return windows(stream, size, step, false);
+  }
+
+  /**
+   * The same as {@link #chunked(Stream, int)}, but without a new list per chunk:
+   *  the same read-only buffer is passed for every chunk, so the consumer must process it synchronously
+   *  and must not keep a reference to it. Sequential.
+   */
+  public static <T> void forEachChunk(Stream<T> stream, int size, Consumer<? super List<T>> consumer) {
+    new WindowSpliterator<>(stream.spliterator(), size, size, true).forEachRemainingReusing(consumer);
+  }
+
+  /**
+   * The same as {@link #sliding(Stream, int, int)}, but the same read-only buffer is passed for every window,
+   *  see {@link #forEachChunk(Stream, int, Consumer)}
+   */
+  public static <T> void forEachWindow(Stream<T> stream, int size, int step, Consumer<? super List<T>> consumer) {
+    new WindowSpliterator<>(stream.spliterator(), size, step, false).forEachRemainingReusing(consumer);
+  }
+
+  private static <T> Stream<List<T>> windows(Stream<T> stream, int size, int step, boolean partial) {
+    return StreamSupport.stream(new WindowSpliterator<>(stream.spliterator(), size, step, partial), stream.isParallel())
+      .onClose(stream::close);
+  }
+}
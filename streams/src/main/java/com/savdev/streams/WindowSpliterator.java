@@ -0,0 +1,225 @@
+package com.savdev.streams;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Groups elements of the source into windows of `size` elements, a new window starts every `step` elements:
+ *  - `step == size` - chunks (batches),
+ *  - `step < size` - overlapping sliding windows,
+ *  - `step > size` - windows with gaps.
+ *
+ * Splitting a SUBSIZED source keeps the window boundaries:
+ *  the prefix gets all the windows, that start within its elements,
+ *  the elements of its last window(s), that belong to the suffix, are copied from the suffix (`carry`).
+ *  The suffix then starts with these copied elements (`pending`) and skips the ones before its first window start.
+ *  Only the carry (less than `size` elements) is copied, the rest is split in parallel.
+ *
+ * A source without exact sizes is split by batches of windows, the same way the JDK splits an `Iterator`.
+ */
+final class WindowSpliterator<T> implements Spliterator<List<T>>, Consumer<T> {
+
+  private static final int BATCH_UNIT = 1 << 10;
+  private static final int MAX_BATCH = 1 << 25;
+
+  private final int size;
+  private final int step;
+  //emit the last window, even if it has less than `size` elements, only for chunks (`step == size`)
+  private final boolean partial;
+
+  //elements before the source
+  private List<T> pending;
+  private int pendingPosition;
+  private final Spliterator<T> source;
+  //elements after the source, copied from the suffix
+  private final List<T> tail;
+  private int tailPosition;
+
+  //elements to drop before the next window start
+  private long skip;
+  //windows, that start in this spliterator
+  private long windowsLeft;
+
+  //the current window during the traversal
+  private final List<T> window;
+  private T current;
+  private int batch;
+
+  WindowSpliterator(Spliterator<T> source, int size, int step, boolean partial) {
+    this(source, size, step, partial, List.of(), List.of(), 0, Long.MAX_VALUE);
+  }
+
+  private WindowSpliterator(
+    Spliterator<T> source, int size, int step, boolean partial,
+    List<T> pending, List<T> tail, long skip, long windowsLeft) {
+    if (size < 1 || step < 1) {
+      throw new IllegalArgumentException("Window size and step must be positive, but were " + size + " and " + step);
+    }
+    this.source = source;
+    this.size = size;
+    this.step = step;
+    this.partial = partial;
+    this.pending = pending;
+    this.tail = tail;
+    this.skip = skip;
+    this.windowsLeft = windowsLeft;
+    this.window = new ArrayList<>(size);
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super List<T>> action) {
+    if (!fill()) {
+      return false;
+    }
+    action.accept(new ArrayList<>(window));
+    slide();
+    return true;
+  }
+
+  /**
+   * The same list instance is passed to the `action` for every window,
+   *  the action must not keep it after it returns
+   */
+  void forEachRemainingReusing(Consumer<? super List<T>> action) {
+    var view = Collections.unmodifiableList(window);
+    while (fill()) {
+      action.accept(view);
+      slide();
+    }
+  }
+
+  /**
+   * @return true, if the `window` contains the next window to emit
+   */
+  private boolean fill() {
+    if (windowsLeft == 0) {
+      return false;
+    }
+    for (; skip > 0; skip--) {
+      if (!next()) {
+        windowsLeft = 0;
+        return false;
+      }
+    }
+    while (window.size() < size && next()) {
+      window.add(current);
+    }
+    current = null;
+    if (window.size() == size || (partial && !window.isEmpty())) {
+      return true;
+    }
+    windowsLeft = 0;
+    window.clear();
+    return false;
+  }
+
+  private void slide() {
+    windowsLeft--;
+    if (window.size() < size) {
+      //the last, partial window
+      windowsLeft = 0;
+      window.clear();
+    } else if (step >= size) {
+      skip = step - size;
+      window.clear();
+    } else {
+      window.subList(0, step).clear();
+    }
+  }
+
+  /**
+   * Takes the next element into `current`: pending elements, then the source, then the tail
+   */
+  private boolean next() {
+    if (pendingPosition < pending.size()) {
+      current = pending.get(pendingPosition++);
+      return true;
+    }
+    if (source.tryAdvance(this)) {
+      return true;
+    }
+    if (tailPosition < tail.size()) {
+      current = tail.get(tailPosition++);
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public void accept(T value) {
+    current = value;
+  }
+
+  @Override
+  public Spliterator<List<T>> trySplit() {
+    if (windowsLeft == 0) {
+      return null;
+    }
+    if (!source.hasCharacteristics(SUBSIZED)) {
+      return splitBatch();
+    }
+    if (!window.isEmpty()) {
+      //the traversal has already started
+      return null;
+    }
+    var prefixSource = source.trySplit();
+    if (prefixSource == null) {
+      return null;
+    }
+    var prefixPending = pending.subList(pendingPosition, pending.size());
+    long count = prefixPending.size() + prefixSource.getExactSizeIfKnown();
+    long prefixWindows = count > skip ? Math.min(windowsLeft, (count - skip + step - 1) / step) : 0;
+
+    long lastStart = skip + (prefixWindows - 1) * step;
+    var carry = new ArrayList<T>();
+    pending = List.of();
+    pendingPosition = 0;
+    if (prefixWindows > 0) {
+      for (long i = count; i < lastStart + size && next(); i++) {
+        carry.add(current);
+      }
+      current = null;
+    }
+    pending = carry;
+
+    var prefix = new WindowSpliterator<>(
+      prefixSource, size, step, partial, prefixPending, carry, skip, prefixWindows);
+    skip = prefixWindows > 0 ? lastStart + step - count : skip - count;
+    if (windowsLeft != Long.MAX_VALUE) {
+      windowsLeft -= prefixWindows;
+    }
+    return prefix;
+  }
+
+  private Spliterator<List<T>> splitBatch() {
+    int n = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+    var windows = new ArrayList<List<T>>();
+    while (windows.size() < n && tryAdvance(windows::add)) {
+      //windows are added by `tryAdvance`
+    }
+    if (windows.isEmpty()) {
+      return null;
+    }
+    batch = windows.size();
+    return Spliterators.spliterator(windows.toArray(), ORDERED | NONNULL);
+  }
+
+  @Override
+  public long estimateSize() {
+    long elements = source.estimateSize();
+    if (elements == Long.MAX_VALUE) {
+      return Long.MAX_VALUE;
+    }
+    elements += window.size() + (pending.size() - pendingPosition) + (tail.size() - tailPosition) - skip;
+    return elements <= 0 ? 0 : Math.min(windowsLeft, (elements + step - 1) / step);
+  }
+
+  @Override
+  public int characteristics() {
+    return (source.characteristics() & ORDERED) | NONNULL;
+  }
+}
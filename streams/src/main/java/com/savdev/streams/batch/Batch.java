@@ -0,0 +1,48 @@
+package com.savdev.streams.batch;
+
+import java.util.List;
+
+/**
+ * A chunk of elements with their fields, as a structure of arrays: every field is a column,
+ *  a primitive or a reference array, indexed by the row of the element.
+ *
+ * Filters do not move the data, they only shrink the selection: rows of the elements, that passed.
+ */
+final class Batch<T> {
+
+  final ExtendedStream.Builder<T> owner;
+  final long[][] longs;
+  final double[][] doubles;
+  final Object[][] objects;
+  final Cursor<T> cursor = new Cursor<>(this);
+
+  private final List<T> elements;
+  final int[] selection;
+  int selected;
+
+  Batch(ExtendedStream.Builder<T> owner, List<T> elements, int longColumns, int doubleColumns, int objectColumns) {
+    this.owner = owner;
+    this.elements = elements;
+    int size = elements.size();
+    this.longs = new long[longColumns][size];
+    this.doubles = new double[doubleColumns][size];
+    this.objects = new Object[objectColumns][size];
+    this.selection = new int[size];
+    for (int i = 0; i < size; i++) {
+      selection[i] = i;
+    }
+    this.selected = size;
+  }
+
+  T element(int row) {
+    return elements.get(row);
+  }
+
+  /**
+   * Moves the cursor to the selected element
+   */
+  Cursor<T> at(int selectedIndex) {
+    cursor.row = selection[selectedIndex];
+    return cursor;
+  }
+}
@@ -0,0 +1,47 @@
+package com.savdev.streams.batch;
+
+/**
+ * A flyweight view of the current element and its fields.
+ *
+ * The same cursor is moved over all the elements of a batch, do not keep it,
+ *  copy the values you need, for instance in `ExtendedStream.map`.
+ */
+public final class Cursor<T> {
+
+  private final Batch<T> batch;
+  int row;
+
+  Cursor(Batch<T> batch) {
+    this.batch = batch;
+  }
+
+  public T element() {
+    return batch.element(row);
+  }
+
+  public long get(LongField field) {
+    check(field.owner, field.column, batch.longs.length);
+    return batch.longs[field.column][row];
+  }
+
+  public double get(DoubleField field) {
+    check(field.owner, field.column, batch.doubles.length);
+    return batch.doubles[field.column][row];
+  }
+
+  @SuppressWarnings("unchecked")
+  public <V> V get(Field<V> field) {
+    check(field.owner, field.column, batch.objects.length);
+    return (V) batch.objects[field.column][row];
+  }
+
+  private void check(ExtendedStream.Builder<?> owner, int column, int columns) {
+    if (owner != batch.owner) {
+      throw new IllegalArgumentException("The field belongs to another extended stream");
+    }
+    //the builder is still open, the stream was built before the field was declared
+    if (column >= columns) {
+      throw new IllegalArgumentException("The field was declared after the extended stream was built");
+    }
+  }
+}
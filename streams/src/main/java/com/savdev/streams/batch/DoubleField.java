@@ -0,0 +1,15 @@
+package com.savdev.streams.batch;
+
+/**
+ * A handle of a `double` field, a column of an {@link ExtendedStream}
+ */
+public final class DoubleField {
+
+  final ExtendedStream.Builder<?> owner;
+  final int column;
+
+  DoubleField(ExtendedStream.Builder<?> owner, int column) {
+    this.owner = owner;
+    this.column = column;
+  }
+}
@@ -0,0 +1,241 @@
+package com.savdev.streams.batch;
+
+import com.savdev.streams.Streams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Extends stream elements with computed fields without a wrapper per element,
+ *  see `ExtendStreamElementTest` for the anonymous object and `SimpleEntry` wrappers:
+ *
+ * <pre>
+ * var names = ExtendedStream.builder(Stream.of("Alice", "Bob", "Charlie"));
+ * LongField length = names.addLong(c -&gt; c.element().length());
+ * Field&lt;String&gt; upper = names.add(c -&gt; c.element().toUpperCase());
+ * List&lt;String&gt; result = names.build()
+ *   .filter(c -&gt; c.get(length) &gt; 3)
+ *   .map(c -&gt; c.get(upper) + ":" + c.get(length))
+ *   .toList();
+ * </pre>
+ *
+ * - the stream is processed in batches (chunks of elements), every field is a parallel array of the batch,
+ *   `long` and `double` fields are primitive arrays,
+ * - fields are declared by a {@link Builder}, it is mutable and returns the handle of every field,
+ *   an extended stream is immutable, {@link #filter} returns a new stage, as `Stream.filter` does,
+ * - fields and filters are applied column by column, in the declaration order,
+ *   a field can read the fields, that are declared before it,
+ * - the code downstream sees a {@link Cursor}, a flyweight, that is moved over the batch,
+ *   so there is an allocation per batch, but not per element,
+ * - a parallel source is processed in parallel, batch by batch.
+ *
+ * The stages share the source, so only one of them can be consumed, as with `Stream`.
+ * A field is computed for a whole batch, so a short-circuit operation (`findFirst`, `limit`)
+ *  still computes the fields of the batch, in which it stops.
+ */
+public final class ExtendedStream<T> {
+
+  public static final int DEFAULT_BATCH_SIZE = 1024;
+
+  private final Builder<T> owner;
+  private final List<Step<T>> steps;
+  private final int longColumns;
+  private final int doubleColumns;
+  private final int objectColumns;
+
+  private ExtendedStream(Builder<T> owner, List<Step<T>> steps) {
+    this.owner = owner;
+    this.steps = steps;
+    this.longColumns = owner.longColumns;
+    this.doubleColumns = owner.doubleColumns;
+    this.objectColumns = owner.objectColumns;
+  }
+
+  private ExtendedStream(ExtendedStream<T> previous, Step<T> step) {
+    this.owner = previous.owner;
+    var steps = new ArrayList<>(previous.steps);
+    steps.add(step);
+    this.steps = List.copyOf(steps);
+    this.longColumns = previous.longColumns;
+    this.doubleColumns = previous.doubleColumns;
+    this.objectColumns = previous.objectColumns;
+  }
+
+  /**
+   * An extended stream without fields, only filters
+   */
+  public static <T> ExtendedStream<T> of(Stream<T> source) {
+    return builder(source).build();
+  }
+
+  public static <T> ExtendedStream<T> of(Stream<T> source, int batchSize) {
+    return builder(source, batchSize).build();
+  }
+
+  public static <T> Builder<T> builder(Stream<T> source) {
+    return builder(source, DEFAULT_BATCH_SIZE);
+  }
+
+  public static <T> Builder<T> builder(Stream<T> source, int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be at least 1, but was " + batchSize);
+    }
+    return new Builder<>(source, batchSize);
+  }
+
+  /**
+   * Keeps the elements, that match the predicate, this stage is not changed
+   */
+  public ExtendedStream<T> filter(Predicate<? super Cursor<T>> predicate) {
+    return new ExtendedStream<>(this, filterStep(predicate));
+  }
+
+  /**
+   * Back to a usual stream, the mapper must not return the cursor itself
+   */
+  public <R> Stream<R> map(Function<? super Cursor<T>, ? extends R> mapper) {
+    return batches().mapMulti((batch, sink) -> {
+      for (int i = 0; i < batch.selected; i++) {
+        sink.accept(mapper.apply(batch.at(i)));
+      }
+    });
+  }
+
+  public LongStream mapToLong(ToLongFunction<? super Cursor<T>> mapper) {
+    return batches().mapMultiToLong((batch, sink) -> {
+      for (int i = 0; i < batch.selected; i++) {
+        sink.accept(mapper.applyAsLong(batch.at(i)));
+      }
+    });
+  }
+
+  public DoubleStream mapToDouble(ToDoubleFunction<? super Cursor<T>> mapper) {
+    return batches().mapMultiToDouble((batch, sink) -> {
+      for (int i = 0; i < batch.selected; i++) {
+        sink.accept(mapper.applyAsDouble(batch.at(i)));
+      }
+    });
+  }
+
+  /**
+   * In a parallel stream the action is called concurrently, from different batches
+   */
+  public void forEach(Consumer<? super Cursor<T>> action) {
+    batches().forEach(batch -> {
+      for (int i = 0; i < batch.selected; i++) {
+        action.accept(batch.at(i));
+      }
+    });
+  }
+
+  public long count() {
+    return batches().mapToLong(batch -> batch.selected).sum();
+  }
+
+  private Stream<Batch<T>> batches() {
+    return Streams.chunked(owner.source, owner.batchSize)
+      .map(chunk -> {
+        var batch = new Batch<>(owner, chunk, longColumns, doubleColumns, objectColumns);
+        for (Step<T> step : steps) {
+          step.apply(batch);
+        }
+        return batch;
+      });
+  }
+
+  private static <T> Step<T> filterStep(Predicate<? super Cursor<T>> predicate) {
+    return batch -> {
+      int kept = 0;
+      for (int i = 0; i < batch.selected; i++) {
+        if (predicate.test(batch.at(i))) {
+          batch.selection[kept++] = batch.selection[i];
+        }
+      }
+      batch.selected = kept;
+    };
+  }
+
+  /**
+   * Declares the fields and the filters of an extended stream in order, returns the handles of the fields.
+   *
+   * The builder is mutable, unlike the stream: {@link #build()} copies the declarations,
+   *  so the fields and filters, that are declared later, do not change the streams, that are built already,
+   *  reading such a field from them throws `IllegalArgumentException`.
+   */
+  public static final class Builder<T> {
+
+    private final Stream<T> source;
+    private final int batchSize;
+    private final List<Step<T>> steps = new ArrayList<>();
+    private int longColumns;
+    private int doubleColumns;
+    private int objectColumns;
+
+    private Builder(Stream<T> source, int batchSize) {
+      this.source = source;
+      this.batchSize = batchSize;
+    }
+
+    public LongField addLong(ToLongFunction<? super Cursor<T>> value) {
+      var field = new LongField(this, longColumns++);
+      steps.add(batch -> {
+        long[] column = batch.longs[field.column];
+        for (int i = 0; i < batch.selected; i++) {
+          var cursor = batch.at(i);
+          column[cursor.row] = value.applyAsLong(cursor);
+        }
+      });
+      return field;
+    }
+
+    public DoubleField addDouble(ToDoubleFunction<? super Cursor<T>> value) {
+      var field = new DoubleField(this, doubleColumns++);
+      steps.add(batch -> {
+        double[] column = batch.doubles[field.column];
+        for (int i = 0; i < batch.selected; i++) {
+          var cursor = batch.at(i);
+          column[cursor.row] = value.applyAsDouble(cursor);
+        }
+      });
+      return field;
+    }
+
+    public <V> Field<V> add(Function<? super Cursor<T>, ? extends V> value) {
+      var field = new Field<V>(this, objectColumns++);
+      steps.add(batch -> {
+        Object[] column = batch.objects[field.column];
+        for (int i = 0; i < batch.selected; i++) {
+          var cursor = batch.at(i);
+          column[cursor.row] = value.apply(cursor);
+        }
+      });
+      return field;
+    }
+
+    /**
+     * Keeps the elements, that match the predicate, the next fields are computed only for them
+     *
+     * @return this builder
+     */
+    public Builder<T> filter(Predicate<? super Cursor<T>> predicate) {
+      steps.add(filterStep(predicate));
+      return this;
+    }
+
+    public ExtendedStream<T> build() {
+      return new ExtendedStream<>(this, List.copyOf(steps));
+    }
+  }
+
+  private interface Step<T> {
+    void apply(Batch<T> batch);
+  }
+}
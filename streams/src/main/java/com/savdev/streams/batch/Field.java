@@ -0,0 +1,17 @@
+package com.savdev.streams.batch;
+
+/**
+ * A handle of a reference field, a column of an {@link ExtendedStream}
+ *
+ * @param <V> type of the field value
+ */
+public final class Field<V> {
+
+  final ExtendedStream.Builder<?> owner;
+  final int column;
+
+  Field(ExtendedStream.Builder<?> owner, int column) {
+    this.owner = owner;
+    this.column = column;
+  }
+}
@@ -0,0 +1,15 @@
+package com.savdev.streams.batch;
+
+/**
+ * A handle of a `long` field, a column of an {@link ExtendedStream}
+ */
+public final class LongField {
+
+  final ExtendedStream.Builder<?> owner;
+  final int column;
+
+  LongField(ExtendedStream.Builder<?> owner, int column) {
+    this.owner = owner;
+    this.column = column;
+  }
+}
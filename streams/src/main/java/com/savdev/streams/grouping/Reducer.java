@@ -0,0 +1,89 @@
+package com.savdev.streams.grouping;
+
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A reduction of all the elements of a single group into a result.
+ *
+ * Unlike `Collector`, the intermediate state `A` is an immutable value:
+ *  - it is replaced on every step, but not mutated,
+ *  - it can be written to a spill file and read back (via `codec()`),
+ *  - two partial states of the same group can be combined (after reading them from different spill files)
+ *
+ * @param <T> type of the stream element
+ * @param <A> type of the intermediate (partial) state
+ * @param <R> type of the result for a group
+ */
+public interface Reducer<T, A, R> {
+
+  A identity();
+
+  A accumulate(A state, T element);
+
+  A combine(A left, A right);
+
+  R finish(A state);
+
+  SpillCodec<A> codec();
+
+  static <T, A, R> Reducer<T, A, R> of(
+    A identity,
+    BiFunction<A, T, A> accumulator,
+    BinaryOperator<A> combiner,
+    Function<A, R> finisher,
+    SpillCodec<A> codec) {
+    return new Reducer<>() {
+      @Override
+      public A identity() {
+        return identity;
+      }
+
+      @Override
+      public A accumulate(A state, T element) {
+        return accumulator.apply(state, element);
+      }
+
+      @Override
+      public A combine(A left, A right) {
+        return combiner.apply(left, right);
+      }
+
+      @Override
+      public R finish(A state) {
+        return finisher.apply(state);
+      }
+
+      @Override
+      public SpillCodec<A> codec() {
+        return codec;
+      }
+    };
+  }
+
+  static <T> Reducer<T, Long, Long> counting() {
+    return of(0L, (s, e) -> s + 1, Long::sum, Function.identity(), SpillCodec.LONG);
+  }
+
+  static <T> Reducer<T, Long, Long> summingLong(ToLongFunction<? super T> mapper) {
+    return of(0L, (s, e) -> s + mapper.applyAsLong(e), Long::sum, Function.identity(), SpillCodec.LONG);
+  }
+
+  static <T> Reducer<T, Double, Double> summingDouble(ToDoubleFunction<? super T> mapper) {
+    return of(0.0, (s, e) -> s + mapper.applyAsDouble(e), Double::sum, Function.identity(), SpillCodec.DOUBLE);
+  }
+
+  /**
+   * For an empty group (cannot happen, every group has at least one element) it would return `Long.MAX_VALUE`
+   */
+  static <T> Reducer<T, Long, Long> minLong(ToLongFunction<? super T> mapper) {
+    return of(Long.MAX_VALUE, (s, e) -> Math.min(s, mapper.applyAsLong(e)), Math::min, Function.identity(), SpillCodec.LONG);
+  }
+
+  static <T> Reducer<T, Long, Long> maxLong(ToLongFunction<? super T> mapper) {
+    return of(Long.MIN_VALUE, (s, e) -> Math.max(s, mapper.applyAsLong(e)), Math::max, Function.identity(), SpillCodec.LONG);
+  }
+}
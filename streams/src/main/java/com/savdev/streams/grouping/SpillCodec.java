@@ -0,0 +1,68 @@
+package com.savdev.streams.grouping;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes and reads values to/from spill files.
+ *
+ * A spill file is a temporary file on a local disk, it is read back only by the same JVM,
+ *  so the format does not need to be portable or versioned, it only needs to be compact.
+ *
+ * @param <T> type of the value
+ */
+public interface SpillCodec<T> {
+
+  void write(T value, DataOutput out) throws IOException;
+
+  T read(DataInput in) throws IOException;
+
+  SpillCodec<String> STRING = new SpillCodec<>() {
+    @Override
+    public void write(String value, DataOutput out) throws IOException {
+      out.writeUTF(value);
+    }
+
+    @Override
+    public String read(DataInput in) throws IOException {
+      return in.readUTF();
+    }
+  };
+
+  SpillCodec<Integer> INTEGER = new SpillCodec<>() {
+    @Override
+    public void write(Integer value, DataOutput out) throws IOException {
+      out.writeInt(value);
+    }
+
+    @Override
+    public Integer read(DataInput in) throws IOException {
+      return in.readInt();
+    }
+  };
+
+  SpillCodec<Long> LONG = new SpillCodec<>() {
+    @Override
+    public void write(Long value, DataOutput out) throws IOException {
+      out.writeLong(value);
+    }
+
+    @Override
+    public Long read(DataInput in) throws IOException {
+      return in.readLong();
+    }
+  };
+
+  SpillCodec<Double> DOUBLE = new SpillCodec<>() {
+    @Override
+    public void write(Double value, DataOutput out) throws IOException {
+      out.writeDouble(value);
+    }
+
+    @Override
+    public Double read(DataInput in) throws IOException {
+      return in.readDouble();
+    }
+  };
+}
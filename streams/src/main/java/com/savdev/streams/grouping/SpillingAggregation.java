@@ -0,0 +1,316 @@
+package com.savdev.streams.grouping;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A mutable container of {@link SpillingCollectors}, one per thread in a parallel stream.
+ */
+final class SpillingAggregation<T, K, A, R> {
+
+  //every level of spilling uses the next 4 bits of the hash to choose one of 16 partitions
+  static final int PARTITION_BITS = 4;
+  static final int PARTITIONS = 1 << PARTITION_BITS;
+  static final int MAX_LEVEL = Integer.SIZE / PARTITION_BITS - 1;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Function<? super T, ? extends K> classifier;
+  private final SpillCodec<K> keyCodec;
+  private final Reducer<? super T, A, R> reducer;
+  private final int maxGroupsInMemory;
+  private final Path spillDirectory;
+
+  private final Map<K, A> groups = new HashMap<>();
+  //level 0 spill files, created on the first spill
+  private SpillFiles spills;
+  //a temporary directory per container, the combined container deletes all of them
+  private final List<Path> directories = new ArrayList<>();
+
+  SpillingAggregation(
+    Function<? super T, ? extends K> classifier,
+    SpillCodec<K> keyCodec,
+    Reducer<? super T, A, R> reducer,
+    int maxGroupsInMemory,
+    Path spillDirectory) {
+    if (maxGroupsInMemory < 1) {
+      throw new IllegalArgumentException("Memory budget must be at least one group, but was " + maxGroupsInMemory);
+    }
+    this.classifier = classifier;
+    this.keyCodec = keyCodec;
+    this.reducer = reducer;
+    this.maxGroupsInMemory = maxGroupsInMemory;
+    this.spillDirectory = spillDirectory;
+  }
+
+  void add(T element) {
+    K key = classifier.apply(element);
+    A state = groups.get(key);
+    groups.put(key, reducer.accumulate(state == null ? reducer.identity() : state, element));
+    if (groups.size() > maxGroupsInMemory) {
+      spills().write(groups, 0);
+      groups.clear();
+    }
+  }
+
+  SpillingAggregation<T, K, A, R> combine(SpillingAggregation<T, K, A, R> other) {
+    if (other.spills != null) {
+      spills().addAll(other.spills);
+      directories.addAll(other.directories);
+    }
+    other.groups.forEach((key, state) -> {
+      groups.merge(key, state, reducer::combine);
+      if (groups.size() > maxGroupsInMemory) {
+        spills().write(groups, 0);
+        groups.clear();
+      }
+    });
+    return this;
+  }
+
+  /**
+   * @return the number of groups, passed to the `sink`
+   */
+  long finish(BiConsumer<? super K, ? super R> sink) {
+    long count;
+    try {
+      if (spills == null) {
+        groups.forEach((key, state) -> sink.accept(key, reducer.finish(state)));
+        return groups.size();
+      }
+      spills.write(groups, 0);
+      groups.clear();
+      spills.close();
+      count = aggregate(spills, 0, sink);
+    } catch (RuntimeException | Error e) {
+      //the files are not read anymore, the original failure is thrown, the failures of the clean up are suppressed
+      if (spills != null) {
+        spills.abort(e);
+      }
+      for (Path directory : directories) {
+        try {
+          deleteRecursively(directory);
+        } catch (UncheckedIOException cleanup) {
+          e.addSuppressed(cleanup);
+        }
+      }
+      throw e;
+    }
+    for (Path directory : directories) {
+      deleteRecursively(directory);
+    }
+    return count;
+  }
+
+  private long aggregate(SpillFiles files, int level, BiConsumer<? super K, ? super R> sink) {
+    long count = 0;
+    for (int p = 0; p < PARTITIONS; p++) {
+      count += aggregatePartition(files.partition(p), level, sink);
+    }
+    return count;
+  }
+
+  private long aggregatePartition(List<Path> files, int level, BiConsumer<? super K, ? super R> sink) {
+    var partition = new HashMap<K, A>();
+    SpillFiles next = null;
+    try {
+      for (Path file : files) {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+          while (in.readBoolean()) {
+            K key = keyCodec.read(in);
+            A state = reducer.codec().read(in);
+            partition.merge(key, state, reducer::combine);
+            //the last level is aggregated in memory, whatever the size is
+            if (partition.size() > maxGroupsInMemory && level < MAX_LEVEL) {
+              if (next == null) {
+                next = new SpillFiles();
+              }
+              next.write(partition, level + 1);
+              partition.clear();
+            }
+          }
+        } catch (IOException e) {
+          throw new UncheckedIOException("Could not read spill file " + file, e);
+        }
+        delete(file);
+      }
+      if (next != null) {
+        next.write(partition, level + 1);
+        partition.clear();
+        next.close();
+      }
+    } catch (RuntimeException | Error e) {
+      if (next != null) {
+        next.abort(e);
+      }
+      throw e;
+    }
+    if (next == null) {
+      partition.forEach((key, state) -> sink.accept(key, reducer.finish(state)));
+      return partition.size();
+    }
+    return aggregate(next, level + 1, sink);
+  }
+
+  private SpillFiles spills() {
+    if (spills == null) {
+      spills = new SpillFiles();
+    }
+    return spills;
+  }
+
+  private Path directory() {
+    if (directories.isEmpty()) {
+      try {
+        directories.add(Files.createTempDirectory(spillDirectory, "grouping-spill-"));
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not create a spill directory in " + spillDirectory, e);
+      }
+    }
+    return directories.getFirst();
+  }
+
+  /**
+   * Mixes the hash code (murmur3 finalizer), so keys with poor `hashCode()` are distributed over partitions,
+   *  then takes the bits of the given level.
+   */
+  static int partitionOf(Object key, int level) {
+    int h = key == null ? 0 : key.hashCode();
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return (h >>> (level * PARTITION_BITS)) & (PARTITIONS - 1);
+  }
+
+  private static void delete(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not delete " + path, e);
+    }
+  }
+
+  /**
+   * Deletes the files, which were not read yet, and the directory
+   */
+  private static void deleteRecursively(Path directory) {
+    try (var files = Files.list(directory)) {
+      files.forEach(SpillingAggregation::delete);
+    } catch (NoSuchFileException e) {
+      return;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not delete " + directory, e);
+    }
+    delete(directory);
+  }
+
+  /**
+   * Spill files of a single level, grouped by partitions.
+   *  A container appends all its spills of a partition to one file, so a partition has a file per container.
+   */
+  private final class SpillFiles {
+
+    private final List<List<Path>> partitions = new ArrayList<>(PARTITIONS);
+    //the open files of this container, the files of the combined containers are closed
+    private final DataOutputStream[] outputs = new DataOutputStream[PARTITIONS];
+
+    SpillFiles() {
+      for (int p = 0; p < PARTITIONS; p++) {
+        partitions.add(new ArrayList<>());
+      }
+    }
+
+    List<Path> partition(int p) {
+      return partitions.get(p);
+    }
+
+    void addAll(SpillFiles other) {
+      other.close();
+      for (int p = 0; p < PARTITIONS; p++) {
+        partitions.get(p).addAll(other.partitions.get(p));
+      }
+    }
+
+    /**
+     * Appends the groups to the files of their partitions, a file is created on the first group of its partition
+     */
+    void write(Map<K, A> groups, int level) {
+      try {
+        for (var entry : groups.entrySet()) {
+          var out = output(partitionOf(entry.getKey(), level));
+          out.writeBoolean(true);
+          keyCodec.write(entry.getKey(), out);
+          reducer.codec().write(entry.getValue(), out);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not write spill files into " + directory(), e);
+      }
+    }
+
+    private DataOutputStream output(int p) throws IOException {
+      if (outputs[p] == null) {
+        Path file = Files.createTempFile(directory(), "p" + p + "-", ".spill");
+        partitions.get(p).add(file);
+        outputs[p] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+      }
+      return outputs[p];
+    }
+
+    /**
+     * Ends and closes the open files, they can be read after it
+     */
+    void close() {
+      IOException failure = null;
+      for (int p = 0; p < PARTITIONS; p++) {
+        var out = outputs[p];
+        outputs[p] = null;
+        if (out != null) {
+          try (out) {
+            out.writeBoolean(false);
+          } catch (IOException e) {
+            if (failure == null) {
+              failure = e;
+            } else {
+              failure.addSuppressed(e);
+            }
+          }
+        }
+      }
+      if (failure != null) {
+        throw new UncheckedIOException("Could not write spill files into " + directory(), failure);
+      }
+    }
+
+    /**
+     * Closes the open files, when the aggregation has failed, so they can be deleted
+     */
+    void abort(Throwable failure) {
+      for (int p = 0; p < PARTITIONS; p++) {
+        var out = outputs[p];
+        outputs[p] = null;
+        if (out != null) {
+          try {
+            out.close();
+          } catch (IOException e) {
+            failure.addSuppressed(e);
+          }
+        }
+      }
+    }
+  }
+}
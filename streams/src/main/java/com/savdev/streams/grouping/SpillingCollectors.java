@@ -0,0 +1,85 @@
+package com.savdev.streams.grouping;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * `Collectors.groupingBy` keeps every group in memory, with hundreds of millions of rows it runs out of heap.
+ *
+ * These collectors do the external hash aggregation:
+ *  - rows are reduced into an in-memory map of partial states, like `groupingBy` does,
+ *  - once the number of groups in memory exceeds `maxGroupsInMemory`,
+ *    the partial states are written into spill files, partitioned by the hash of the key, and the map is cleared,
+ *  - at the end each partition is read back and aggregated separately,
+ *    so at most one partition is in memory at a time.
+ *    A partition that is still too big is spilled again, partitioned by other bits of the hash.
+ *
+ * The memory budget is a number of groups, but not bytes: JVM has no cheap way to measure the size of an object.
+ *
+ * Spill files are deleted, once they were read, or when the aggregation of the spilled partitions fails.
+ *  They are not deleted, if the stream fails with an exception before it, while the rows are reduced.
+ */
+public final class SpillingCollectors {
+
+  public static final int DEFAULT_MAX_GROUPS_IN_MEMORY = 1_000_000;
+
+  private SpillingCollectors() {}
+
+  public static <T, K, A, R> Collector<T, ?, Map<K, R>> groupingBy(
+    Function<? super T, ? extends K> classifier,
+    SpillCodec<K> keyCodec,
+    Reducer<? super T, A, R> reducer) {
+    return groupingBy(classifier, keyCodec, reducer, DEFAULT_MAX_GROUPS_IN_MEMORY);
+  }
+
+  /**
+   * The result map itself is kept in memory, use it, when the number of groups is small
+   *  and only the number of rows is huge.
+   *  If the number of groups does not fit into memory either, see
+   *  {@link #groupingBy(Function, SpillCodec, Reducer, int, Path, BiConsumer)}
+   */
+  public static <T, K, A, R> Collector<T, ?, Map<K, R>> groupingBy(
+    Function<? super T, ? extends K> classifier,
+    SpillCodec<K> keyCodec,
+    Reducer<? super T, A, R> reducer,
+    int maxGroupsInMemory) {
+    return Collector.of(
+      () -> new SpillingAggregation<T, K, A, R>(classifier, keyCodec, reducer, maxGroupsInMemory, defaultDirectory()),
+      SpillingAggregation::add,
+      SpillingAggregation::combine,
+      aggregation -> {
+        var result = new HashMap<K, R>();
+        aggregation.finish(result::put);
+        return result;
+      },
+      Collector.Characteristics.UNORDERED);
+  }
+
+  /**
+   * Groups are not collected into a map, but passed to the `sink` one partition at a time.
+   *
+   * @return the number of groups, passed to the `sink`
+   */
+  public static <T, K, A, R> Collector<T, ?, Long> groupingBy(
+    Function<? super T, ? extends K> classifier,
+    SpillCodec<K> keyCodec,
+    Reducer<? super T, A, R> reducer,
+    int maxGroupsInMemory,
+    Path spillDirectory,
+    BiConsumer<? super K, ? super R> sink) {
+    return Collector.of(
+      () -> new SpillingAggregation<T, K, A, R>(classifier, keyCodec, reducer, maxGroupsInMemory, spillDirectory),
+      SpillingAggregation::add,
+      SpillingAggregation::combine,
+      aggregation -> aggregation.finish(sink),
+      Collector.Characteristics.UNORDERED);
+  }
+
+  private static Path defaultDirectory() {
+    return Path.of(System.getProperty("java.io.tmpdir"));
+  }
+}
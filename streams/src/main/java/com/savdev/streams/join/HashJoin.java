@@ -0,0 +1,208 @@
+package com.savdev.streams.join;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A hash join: the smaller (build) side is collected into a hash table once,
+ *  the bigger (probe) side is streamed and looked up, lazily, without collecting it:
+ *
+ * <pre>
+ * var departments = HashJoin.build(departmentsStream, Department::id);
+ * departments.inner(employees.parallelStream(), Employee::departmentId)
+ *   .forEach(joined -&gt; ...);
+ * </pre>
+ *
+ * - the table is partitioned by the key hash: a parallel build stream appends elements into partitions
+ *   of its threads, the partitions are concatenated without copying,
+ *   and every partition builds its own `HashMap` in parallel, without locking,
+ * - the table is read-only, so many parallel probe streams can use it concurrently,
+ *   the join scales with the cores of the probe stream,
+ * - `null` keys never match, as in SQL.
+ */
+public final class HashJoin<K, R> {
+
+  private final int mask;
+  private final List<Map<K, Object>> partitions;
+  private final long size;
+
+  private HashJoin(List<Map<K, Object>> partitions, long size) {
+    this.mask = partitions.size() - 1;
+    this.partitions = partitions;
+    this.size = size;
+  }
+
+  public static <K, R> HashJoin<K, R> build(Stream<R> build, Function<? super R, ? extends K> key) {
+    int partitions = Integer.highestOneBit(Math.max(1, 4 * ForkJoinPool.getCommonPoolParallelism() - 1)) << 1;
+    try (build) {
+      return build.collect(Collector.<R, Buffers<K, R>, HashJoin<K, R>>of(
+        () -> new Buffers<>(partitions),
+        (buffers, element) -> {
+          K k = key.apply(element);
+          if (k != null) {
+            buffers.add(k, element);
+          }
+        },
+        Buffers::combine,
+        Buffers::toTable));
+    }
+  }
+
+  /**
+   * @return number of the build elements with not `null` keys
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * @return all the matching pairs of every probe element
+   */
+  public <L> Stream<Joined<L, R>> inner(Stream<L> probe, Function<? super L, ? extends K> key) {
+    return probe.mapMulti((left, sink) -> {
+      Object matches = lookup(key.apply(left));
+      if (matches instanceof Matches<?> list) {
+        for (Object right : list.elements) {
+          sink.accept(joined(left, right));
+        }
+      } else if (matches != null) {
+        sink.accept(joined(left, matches));
+      }
+    });
+  }
+
+  /**
+   * @return the same as {@link #inner(Stream, Function)}, plus the probe elements without a match, with `null` right
+   */
+  public <L> Stream<Joined<L, R>> leftOuter(Stream<L> probe, Function<? super L, ? extends K> key) {
+    return probe.mapMulti((left, sink) -> {
+      Object matches = lookup(key.apply(left));
+      if (matches instanceof Matches<?> list) {
+        for (Object right : list.elements) {
+          sink.accept(joined(left, right));
+        }
+      } else {
+        sink.accept(joined(left, matches));
+      }
+    });
+  }
+
+  /**
+   * @return the probe elements, that have at least one match, each of them once
+   */
+  public <L> Stream<L> semi(Stream<L> probe, Function<? super L, ? extends K> key) {
+    return probe.filter(left -> lookup(key.apply(left)) != null);
+  }
+
+  /**
+   * @return `null`, a single element, or `Matches` for duplicated keys
+   */
+  private Object lookup(K key) {
+    if (key == null) {
+      return null;
+    }
+    return partitions.get(partition(key, mask)).get(key);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <L, R> Joined<L, R> joined(L left, Object right) {
+    return new Joined<>(left, (R) right);
+  }
+
+  private static int partition(Object key, int mask) {
+    int h = key.hashCode() * 0x9E3779B9;
+    //the high bits are the most mixed ones, `HashMap` uses the low ones
+    return (h ^ (h >>> 16)) >>> 8 & mask;
+  }
+
+  /**
+   * Elements with the same key, a distinct class, so that a build element, which is a list itself, is not confused
+   */
+  private static final class Matches<R> {
+
+    final List<R> elements = new ArrayList<>(2);
+
+    Matches(R first, R second) {
+      elements.add(first);
+      elements.add(second);
+    }
+  }
+
+  /**
+   * Build elements of a single thread, by partitions,
+   *  keys and elements are kept in parallel lists, and lists of other threads are linked, but not copied
+   */
+  private static final class Buffers<K, R> {
+    private final List<List<List<Object>>> keys;
+    private final List<List<List<R>>> elements;
+
+    Buffers(int partitions) {
+      this.keys = new ArrayList<>(partitions);
+      this.elements = new ArrayList<>(partitions);
+      for (int i = 0; i < partitions; i++) {
+        keys.add(new ArrayList<>(List.of(new ArrayList<>())));
+        elements.add(new ArrayList<>(List.of(new ArrayList<>())));
+      }
+    }
+
+    void add(K key, R element) {
+      int p = partition(key, keys.size() - 1);
+      keys.get(p).getFirst().add(key);
+      elements.get(p).getFirst().add(element);
+    }
+
+    Buffers<K, R> combine(Buffers<K, R> other) {
+      for (int p = 0; p < keys.size(); p++) {
+        keys.get(p).addAll(other.keys.get(p));
+        elements.get(p).addAll(other.elements.get(p));
+      }
+      return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    HashJoin<K, R> toTable() {
+      var tables = new ArrayList<Map<K, Object>>(keys.size());
+      long[] sizes = new long[keys.size()];
+      for (int p = 0; p < keys.size(); p++) {
+        tables.add(null);
+      }
+      IntStream.range(0, keys.size()).parallel().forEach(p -> {
+        int size = 0;
+        for (List<Object> chunk : keys.get(p)) {
+          size += chunk.size();
+        }
+        var table = HashMap.<K, Object>newHashMap(size);
+        var keyChunks = keys.get(p);
+        var elementChunks = elements.get(p);
+        for (int c = 0; c < keyChunks.size(); c++) {
+          var chunkKeys = keyChunks.get(c);
+          var chunkElements = elementChunks.get(c);
+          for (int i = 0; i < chunkKeys.size(); i++) {
+            R element = chunkElements.get(i);
+            table.merge((K) chunkKeys.get(i), element, (existing, added) -> {
+              if (existing instanceof Matches<?> matches) {
+                ((Matches<R>) matches).elements.add((R) added);
+                return matches;
+              }
+              return new Matches<>((R) existing, (R) added);
+            });
+          }
+        }
+        sizes[p] = size;
+        tables.set(p, table);
+      });
+      long total = 0;
+      for (long size : sizes) {
+        total += size;
+      }
+      return new HashJoin<>(List.copyOf(tables), total);
+    }
+  }
+}
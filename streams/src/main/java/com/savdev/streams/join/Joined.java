@@ -0,0 +1,9 @@
+package com.savdev.streams.join;
+
+/**
+ * A pair of joined elements
+ *
+ * @param right `null` for a left element without a match in a left-outer join
+ */
+public record Joined<L, R>(L left, R right) {
+}
@@ -0,0 +1,62 @@
+package com.savdev.streams.join;
+
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A join of two streams, that are already sorted by the key (database cursors, sorted files):
+ *  both of them are streamed once, nothing, but the right elements of the current key, is kept in memory.
+ *
+ * The result is lazy and sequential, as the merge of sorted inputs is.
+ * An input, which is not sorted by the comparator, fails with `IllegalStateException`.
+ * `null` keys are not allowed.
+ */
+public final class SortMergeJoin {
+
+  private SortMergeJoin() {}
+
+  public static <L, R, K> Stream<Joined<L, R>> inner(
+    Stream<L> left, Function<? super L, ? extends K> leftKey,
+    Stream<R> right, Function<? super R, ? extends K> rightKey,
+    Comparator<? super K> comparator) {
+    return join(left, leftKey, right, rightKey, comparator, SortMergeSpliterator.Mode.INNER);
+  }
+
+  /**
+   * @return the same as {@link #inner}, plus the left elements without a match, with `null` right
+   */
+  public static <L, R, K> Stream<Joined<L, R>> leftOuter(
+    Stream<L> left, Function<? super L, ? extends K> leftKey,
+    Stream<R> right, Function<? super R, ? extends K> rightKey,
+    Comparator<? super K> comparator) {
+    return join(left, leftKey, right, rightKey, comparator, SortMergeSpliterator.Mode.LEFT_OUTER);
+  }
+
+  /**
+   * @return the left elements, that have at least one match, each of them once
+   */
+  public static <L, R, K> Stream<L> semi(
+    Stream<L> left, Function<? super L, ? extends K> leftKey,
+    Stream<R> right, Function<? super R, ? extends K> rightKey,
+    Comparator<? super K> comparator) {
+    return join(left, leftKey, right, rightKey, comparator, SortMergeSpliterator.Mode.SEMI)
+      .map(Joined::left);
+  }
+
+  private static <L, R, K> Stream<Joined<L, R>> join(
+    Stream<L> left, Function<? super L, ? extends K> leftKey,
+    Stream<R> right, Function<? super R, ? extends K> rightKey,
+    Comparator<? super K> comparator,
+    SortMergeSpliterator.Mode mode) {
+    var spliterator = new SortMergeSpliterator<L, R, K>(
+      left.iterator(), leftKey, right.iterator(), rightKey, comparator, mode);
+    return StreamSupport.stream(spliterator, false)
+      .onClose(() -> {
+        try (left; right) {
+          //closes both inputs, even if one of them fails
+        }
+      });
+  }
+}
@@ -0,0 +1,131 @@
+package com.savdev.streams.join;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Merges two sorted iterators, the right elements of the current key are buffered,
+ *  so duplicated keys on both sides produce all the pairs.
+ */
+final class SortMergeSpliterator<L, R, K> extends Spliterators.AbstractSpliterator<Joined<L, R>> {
+
+  enum Mode { INNER, LEFT_OUTER, SEMI }
+
+  private final Iterator<L> left;
+  private final Function<? super L, ? extends K> leftKey;
+  private final Iterator<R> right;
+  private final Function<? super R, ? extends K> rightKey;
+  private final Comparator<? super K> comparator;
+  private final Mode mode;
+
+  //right elements of `groupKey`
+  private final List<R> group = new ArrayList<>();
+  private K groupKey;
+  private boolean hasGroup;
+  //the first right element after the group
+  private R nextRight;
+  private K nextRightKey;
+  private boolean hasNextRight;
+
+  private K previousLeftKey;
+  private boolean hasPreviousLeft;
+  private boolean started;
+
+  //pairs of the current left element, that are not emitted yet
+  private L current;
+  private int emitted;
+  private int toEmit;
+
+  SortMergeSpliterator(
+    Iterator<L> left, Function<? super L, ? extends K> leftKey,
+    Iterator<R> right, Function<? super R, ? extends K> rightKey,
+    Comparator<? super K> comparator,
+    Mode mode) {
+    super(Long.MAX_VALUE, ORDERED | NONNULL);
+    this.left = left;
+    this.leftKey = leftKey;
+    this.right = right;
+    this.rightKey = rightKey;
+    this.comparator = comparator;
+    this.mode = mode;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super Joined<L, R>> action) {
+    if (!started) {
+      //nothing is pulled, until the first element is requested
+      started = true;
+      advanceRight();
+    }
+    while (emitted >= toEmit) {
+      if (!left.hasNext()) {
+        return false;
+      }
+      current = left.next();
+      K key = Objects.requireNonNull(leftKey.apply(current), "Left key must not be null");
+      if (hasPreviousLeft && comparator.compare(previousLeftKey, key) > 0) {
+        throw new IllegalStateException(
+          "Left input is not sorted by the key: " + key + " is after " + previousLeftKey);
+      }
+      previousLeftKey = key;
+      hasPreviousLeft = true;
+      emitted = 0;
+      toEmit = matches(key) ? mode == Mode.SEMI ? 1 : group.size() : mode == Mode.LEFT_OUTER ? 1 : 0;
+    }
+    R r = hasGroup && comparator.compare(groupKey, previousLeftKey) == 0 && mode != Mode.SEMI
+      ? group.get(emitted)
+      : null;
+    emitted++;
+    action.accept(new Joined<>(current, r));
+    return true;
+  }
+
+  /**
+   * Moves the right side to the group of the key, if it is not there yet
+   *
+   * @return `true`, if there are right elements with the key
+   */
+  private boolean matches(K key) {
+    if (hasGroup && comparator.compare(groupKey, key) == 0) {
+      return true;
+    }
+    //skip the right keys, that are less than the key
+    while (hasNextRight && comparator.compare(nextRightKey, key) < 0) {
+      advanceRight();
+    }
+    group.clear();
+    hasGroup = false;
+    if (!hasNextRight || comparator.compare(nextRightKey, key) != 0) {
+      return false;
+    }
+    groupKey = nextRightKey;
+    hasGroup = true;
+    while (hasNextRight && comparator.compare(nextRightKey, groupKey) == 0) {
+      group.add(nextRight);
+      advanceRight();
+    }
+    return true;
+  }
+
+  private void advanceRight() {
+    if (!right.hasNext()) {
+      hasNextRight = false;
+      return;
+    }
+    R r = right.next();
+    K key = Objects.requireNonNull(rightKey.apply(r), "Right key must not be null");
+    if (hasNextRight && comparator.compare(nextRightKey, key) > 0) {
+      throw new IllegalStateException(
+        "Right input is not sorted by the key: " + key + " is after " + nextRightKey);
+    }
+    nextRight = r;
+    nextRightKey = key;
+    hasNextRight = true;
+  }
+}
@@ -0,0 +1,68 @@
+package com.savdev.streams.primitive;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A growable `int[]`, like `ArrayList<Integer>`, but without boxing.
+ *
+ * It is an `IntConsumer`, so an expand function can write its values directly into it.
+ */
+public final class IntArrayBuilder implements IntConsumer {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private int[] elements;
+  private int size;
+
+  public IntArrayBuilder() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public IntArrayBuilder(int initialCapacity) {
+    elements = new int[Math.max(initialCapacity, 1)];
+  }
+
+  @Override
+  public void accept(int value) {
+    add(value);
+  }
+
+  public IntArrayBuilder add(int value) {
+    if (size == elements.length) {
+      grow(size + 1);
+    }
+    elements[size++] = value;
+    return this;
+  }
+
+  public IntArrayBuilder addAll(IntArrayBuilder other) {
+    if (size + other.size > elements.length) {
+      grow(size + other.size);
+    }
+    System.arraycopy(other.elements, 0, elements, size, other.size);
+    size += other.size;
+    return this;
+  }
+
+  public int get(int index) {
+    if (index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+    return elements[index];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int[] toArray() {
+    return Arrays.copyOf(elements, size);
+  }
+
+  private void grow(int minCapacity) {
+    //grows by 1.5, as `ArrayList` does
+    int capacity = Math.max(minCapacity, elements.length + (elements.length >> 1));
+    elements = Arrays.copyOf(elements, capacity);
+  }
+}
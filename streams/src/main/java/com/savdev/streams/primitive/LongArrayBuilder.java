@@ -0,0 +1,68 @@
+package com.savdev.streams.primitive;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A growable `long[]`, like `ArrayList<Long>`, but without boxing.
+ *
+ * It is an `LongConsumer`, so an expand function can write its values directly into it.
+ */
+public final class LongArrayBuilder implements LongConsumer {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private long[] elements;
+  private int size;
+
+  public LongArrayBuilder() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public LongArrayBuilder(int initialCapacity) {
+    elements = new long[Math.max(initialCapacity, 1)];
+  }
+
+  @Override
+  public void accept(long value) {
+    add(value);
+  }
+
+  public LongArrayBuilder add(long value) {
+    if (size == elements.length) {
+      grow(size + 1);
+    }
+    elements[size++] = value;
+    return this;
+  }
+
+  public LongArrayBuilder addAll(LongArrayBuilder other) {
+    if (size + other.size > elements.length) {
+      grow(size + other.size);
+    }
+    System.arraycopy(other.elements, 0, elements, size, other.size);
+    size += other.size;
+    return this;
+  }
+
+  public long get(int index) {
+    if (index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+    return elements[index];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public long[] toArray() {
+    return Arrays.copyOf(elements, size);
+  }
+
+  private void grow(int minCapacity) {
+    //grows by 1.5, as `ArrayList` does
+    int capacity = Math.max(minCapacity, elements.length + (elements.length >> 1));
+    elements = Arrays.copyOf(elements, capacity);
+  }
+}
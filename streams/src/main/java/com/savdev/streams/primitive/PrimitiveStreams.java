@@ -0,0 +1,93 @@
+package com.savdev.streams.primitive;
+
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Flattening of numeric streams without boxing.
+ *
+ * The boxed idiom, see `StreamsFlattenTest`:
+ *  `list.stream().flatMap(e -> IntStream.rangeClosed(1, e).boxed().map(v -> v + 10).toList().stream())`
+ *  boxes every value, allocates a list and a stream per element.
+ *
+ * `mapMulti` passes a sink (`IntConsumer`) into the expand function,
+ *  the function writes values directly into the downstream, nothing is allocated per element.
+ */
+public final class PrimitiveStreams {
+
+  private PrimitiveStreams() {}
+
+  public static IntStream flatten(IntStream stream, IntStream.IntMapMultiConsumer expander) {
+    return stream.mapMulti(expander);
+  }
+
+  public static LongStream flatten(LongStream stream, LongStream.LongMapMultiConsumer expander) {
+    return stream.mapMulti(expander);
+  }
+
+  public static <T> IntStream flattenToInt(Stream<T> stream, BiConsumer<? super T, ? super IntConsumer> expander) {
+    return stream.mapMultiToInt(expander);
+  }
+
+  public static <T> LongStream flattenToLong(Stream<T> stream, BiConsumer<? super T, ? super LongConsumer> expander) {
+    return stream.mapMultiToLong(expander);
+  }
+
+  /**
+   * Unlike `IntStream.toArray()` it returns a growable builder, that can be appended further
+   */
+  public static IntArrayBuilder toIntArrayBuilder(IntStream stream) {
+    return stream.collect(IntArrayBuilder::new, IntArrayBuilder::add, IntArrayBuilder::addAll);
+  }
+
+  public static LongArrayBuilder toLongArrayBuilder(LongStream stream) {
+    return stream.collect(LongArrayBuilder::new, LongArrayBuilder::add, LongArrayBuilder::addAll);
+  }
+
+  /**
+   * Collects a stream of objects into `int[]`, without `mapToInt(...).toArray()`
+   */
+  public static <T> Collector<T, IntArrayBuilder, int[]> toIntArray(ToIntFunction<? super T> mapper) {
+    return Collector.of(
+      IntArrayBuilder::new,
+      (builder, e) -> builder.add(mapper.applyAsInt(e)),
+      IntArrayBuilder::addAll,
+      IntArrayBuilder::toArray);
+  }
+
+  public static <T> Collector<T, LongArrayBuilder, long[]> toLongArray(ToLongFunction<? super T> mapper) {
+    return Collector.of(
+      LongArrayBuilder::new,
+      (builder, e) -> builder.add(mapper.applyAsLong(e)),
+      LongArrayBuilder::addAll,
+      LongArrayBuilder::toArray);
+  }
+
+  /**
+   * Expands every element into the values, the expand function writes them directly into the array builder
+   */
+  public static <T> Collector<T, IntArrayBuilder, int[]> flatteningToIntArray(
+    BiConsumer<? super T, ? super IntConsumer> expander) {
+    return Collector.of(
+      IntArrayBuilder::new,
+      (builder, e) -> expander.accept(e, builder),
+      IntArrayBuilder::addAll,
+      IntArrayBuilder::toArray);
+  }
+
+  public static <T> Collector<T, LongArrayBuilder, long[]> flatteningToLongArray(
+    BiConsumer<? super T, ? super LongConsumer> expander) {
+    return Collector.of(
+      LongArrayBuilder::new,
+      (builder, e) -> expander.accept(e, builder),
+      LongArrayBuilder::addAll,
+      LongArrayBuilder::toArray);
+  }
+}
@@ -0,0 +1,86 @@
+package com.savdev.streams.profile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Opt-in profiler of the stages of a stream pipeline, to find out, which `map`, `filter` or `flatMap` is slow:
+ *
+ * <pre>
+ * var profiler = PipelineProfiler.create("orders");
+ * var orders = profiler.profile(lines.stream())
+ *   .map("parse", Order::parse)
+ *   .filter("valid", Order::valid)
+ *   .stream()
+ *   .toList();
+ * log.info(profiler.report());
+ * </pre>
+ *
+ * - every stage counts its elements exactly,
+ * - time and allocation (via the thread allocation counter of `com.sun.management.ThreadMXBean`)
+ *   are measured only for a random sample of elements, to keep the overhead low, and estimated for all of them,
+ * - the sampled calls and the stage totals are also recorded as JFR events
+ *   `com.savdev.streams.StageSample` and `com.savdev.streams.StageSummary`,
+ *   when a JFR recording is running.
+ *
+ * The overhead is a few nanoseconds per element and stage for counting and the sampling decision,
+ *  plus about 200 ns per sampled element for the timer and the allocation counter.
+ *  It is below 5% for stages, that take more than ~200 ns per element (parsing, mapping to objects),
+ *  for trivial stages (`v -&gt; v + 1`) the counting itself is comparable with the stage.
+ */
+public final class PipelineProfiler {
+
+  public static final int DEFAULT_SAMPLE_EVERY = 1024;
+
+  private final String pipeline;
+  private final int sampleEvery;
+  private final List<StageStats> stages = new CopyOnWriteArrayList<>();
+
+  private PipelineProfiler(String pipeline, int sampleEvery) {
+    this.pipeline = pipeline;
+    this.sampleEvery = sampleEvery;
+  }
+
+  public static PipelineProfiler create(String pipeline) {
+    return create(pipeline, DEFAULT_SAMPLE_EVERY);
+  }
+
+  /**
+   * @param sampleEvery 1 to measure every element, 1024 to measure every 1024th element in average
+   */
+  public static PipelineProfiler create(String pipeline, int sampleEvery) {
+    if (sampleEvery < 1) {
+      throw new IllegalArgumentException("Sample rate must be at least 1, but was " + sampleEvery);
+    }
+    return new PipelineProfiler(pipeline, sampleEvery);
+  }
+
+  public <T> ProfiledStream<T> profile(Stream<T> stream) {
+    return new ProfiledStream<>(stream, this);
+  }
+
+  /**
+   * Report of all the stages, in their declaration order, also emits the JFR summary events
+   */
+  public PipelineReport report() {
+    var reports = new ArrayList<StageReport>(stages.size());
+    for (StageStats stage : stages) {
+      reports.add(stage.report());
+      stage.emitSummary();
+    }
+    return new PipelineReport(pipeline, sampleEvery, List.copyOf(reports));
+  }
+
+  StageStats stage(String name, String operation) {
+    for (StageStats stage : stages) {
+      if (stage.stage().equals(name)) {
+        throw new IllegalArgumentException("Stage '" + name + "' is already declared");
+      }
+    }
+    var stage = new StageStats(pipeline, name, operation, sampleEvery);
+    stages.add(stage);
+    return stage;
+  }
+}
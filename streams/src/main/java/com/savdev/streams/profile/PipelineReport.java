@@ -0,0 +1,54 @@
+package com.savdev.streams.profile;
+
+import java.util.List;
+
+/**
+ * Per-stage statistics of a profiled pipeline, `toString()` is a table for the logs
+ */
+public record PipelineReport(String pipeline, int sampleEvery, List<StageReport> stages) {
+
+  public StageReport stage(String name) {
+    for (StageReport stage : stages) {
+      if (stage.stage().equals(name)) {
+        return stage;
+      }
+    }
+    throw new IllegalArgumentException("Unknown stage: " + name);
+  }
+
+  /**
+   * @return the stage with the biggest estimated time
+   */
+  public StageReport slowest() {
+    StageReport slowest = null;
+    for (StageReport stage : stages) {
+      if (slowest == null || stage.estimatedNanos() > slowest.estimatedNanos()) {
+        slowest = stage;
+      }
+    }
+    return slowest;
+  }
+
+  @Override
+  public String toString() {
+    long total = 0;
+    for (StageReport stage : stages) {
+      total += stage.estimatedNanos();
+    }
+    var table = new StringBuilder()
+      .append("Pipeline '").append(pipeline).append("', every ").append(sampleEvery).append(" element sampled\n")
+      .append(String.format("%-20s %-8s %12s %12s %12s %7s %12s%n",
+        "stage", "op", "in", "out", "time, ms", "time %", "bytes/elem"));
+    for (StageReport stage : stages) {
+      table.append(String.format("%-20s %-8s %12d %12d %12.3f %7.1f %12.1f%n",
+        stage.stage(),
+        stage.operation(),
+        stage.elementsIn(),
+        stage.elementsOut(),
+        stage.estimatedNanos() / 1_000_000.0,
+        total == 0 ? 0.0 : 100.0 * stage.estimatedNanos() / total,
+        stage.bytesPerElement()));
+    }
+    return table.toString();
+  }
+}
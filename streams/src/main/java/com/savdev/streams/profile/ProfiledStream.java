@@ -0,0 +1,65 @@
+package com.savdev.streams.profile;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A stream, which intermediate operations are named and profiled,
+ *  call {@link #stream()} to continue with a usual stream.
+ *
+ * `flatMap` measures only the creation of the inner stream, its elements are counted as the output of the stage.
+ */
+public final class ProfiledStream<T> {
+
+  private final Stream<T> stream;
+  private final PipelineProfiler profiler;
+
+  ProfiledStream(Stream<T> stream, PipelineProfiler profiler) {
+    this.stream = stream;
+    this.profiler = profiler;
+  }
+
+  public <R> ProfiledStream<R> map(String stage, Function<? super T, ? extends R> mapper) {
+    var stats = profiler.stage(stage, "map");
+    return next(stream.map(e -> stats.apply(mapper, e)));
+  }
+
+  public ProfiledStream<T> filter(String stage, Predicate<? super T> predicate) {
+    var stats = profiler.stage(stage, "filter");
+    Function<T, Boolean> test = predicate::test;
+    return next(stream.filter(e -> {
+      boolean passed = stats.apply(test, e);
+      if (passed) {
+        stats.out(1);
+      }
+      return passed;
+    }));
+  }
+
+  public <R> ProfiledStream<R> flatMap(String stage, Function<? super T, ? extends Stream<? extends R>> mapper) {
+    var stats = profiler.stage(stage, "flatMap");
+    return next(stream.flatMap(e -> {
+      Stream<? extends R> inner = stats.apply(mapper, e);
+      return inner == null ? null : inner.peek(r -> stats.out(1));
+    }));
+  }
+
+  public ProfiledStream<T> peek(String stage, Consumer<? super T> action) {
+    var stats = profiler.stage(stage, "peek");
+    Function<T, Void> accept = e -> {
+      action.accept(e);
+      return null;
+    };
+    return next(stream.peek(e -> stats.apply(accept, e)));
+  }
+
+  public Stream<T> stream() {
+    return stream;
+  }
+
+  private <R> ProfiledStream<R> next(Stream<R> next) {
+    return new ProfiledStream<>(next, profiler);
+  }
+}
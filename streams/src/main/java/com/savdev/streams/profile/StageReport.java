@@ -0,0 +1,31 @@
+package com.savdev.streams.profile;
+
+/**
+ * Statistics of a single stage.
+ *
+ * Time and allocation are measured only for the sampled elements, the totals are estimated from them.
+ * The time of a stage is the time of its own function, without the next stages.
+ *
+ * @param elementsIn elements, that entered the stage, exact
+ * @param elementsOut elements, that passed a `filter`, or produced by a `flatMap`, exact
+ * @param sampled elements, for which time and allocation were measured
+ * @param estimatedNanos estimated total time of the stage
+ * @param estimatedAllocatedBytes estimated total allocation of the stage, `-1`, if the JVM does not support it
+ */
+public record StageReport(
+  String stage,
+  String operation,
+  long elementsIn,
+  long elementsOut,
+  long sampled,
+  long estimatedNanos,
+  long estimatedAllocatedBytes) {
+
+  public double nanosPerElement() {
+    return elementsIn == 0 ? 0 : (double) estimatedNanos / elementsIn;
+  }
+
+  public double bytesPerElement() {
+    return elementsIn == 0 || estimatedAllocatedBytes < 0 ? 0 : (double) estimatedAllocatedBytes / elementsIn;
+  }
+}
@@ -0,0 +1,27 @@
+package com.savdev.streams.profile;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A sampled call of a stage function, the JFR duration is the time of the call
+ */
+@Name("com.savdev.streams.StageSample")
+@Label("Stream Stage Sample")
+@Category({"Java Application", "Streams"})
+@Description("A sampled element, processed by a stage of a profiled stream pipeline")
+class StageSampleEvent extends jdk.jfr.Event {
+
+  @Label("Pipeline")
+  String pipeline;
+
+  @Label("Stage")
+  String stage;
+
+  @Label("Allocated")
+  @DataAmount
+  long allocated;
+}
@@ -0,0 +1,111 @@
+package com.savdev.streams.profile;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Counters of a single stage, updated concurrently by the threads of a parallel stream.
+ *
+ * Every element is counted, but only every `sampleEvery`-th one (randomly) is measured:
+ *  `System.nanoTime()` and the thread allocation counter are too expensive to be called for every element.
+ */
+final class StageStats {
+
+  private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+  private final String pipeline;
+  private final String stage;
+  private final String operation;
+  private final int sampleEvery;
+
+  private final LongAdder in = new LongAdder();
+  private final LongAdder out = new LongAdder();
+  private final LongAdder sampled = new LongAdder();
+  private final LongAdder sampledNanos = new LongAdder();
+  private final LongAdder sampledBytes = new LongAdder();
+
+  StageStats(String pipeline, String stage, String operation, int sampleEvery) {
+    this.pipeline = pipeline;
+    this.stage = stage;
+    this.operation = operation;
+    this.sampleEvery = sampleEvery;
+  }
+
+  String stage() {
+    return stage;
+  }
+
+  void out(long count) {
+    out.add(count);
+  }
+
+  /**
+   * The function and its argument are passed separately, so that no lambda is captured per element
+   */
+  <A, R> R apply(Function<? super A, ? extends R> function, A argument) {
+    in.increment();
+    if (sampleEvery > 1 && ThreadLocalRandom.current().nextInt(sampleEvery) != 0) {
+      return function.apply(argument);
+    }
+    var event = new StageSampleEvent();
+    event.begin();
+    long bytes = allocatedBytes();
+    long start = System.nanoTime();
+    R result = function.apply(argument);
+    long nanos = System.nanoTime() - start;
+    long allocated = allocatedBytes() - bytes;
+    sampled.increment();
+    sampledNanos.add(nanos);
+    sampledBytes.add(allocated);
+    if (event.shouldCommit()) {
+      event.pipeline = pipeline;
+      event.stage = stage;
+      event.allocated = allocated;
+      event.commit();
+    }
+    return result;
+  }
+
+  StageReport report() {
+    long elementsIn = in.sum();
+    long samples = sampled.sum();
+    long nanos = samples == 0 ? 0 : Math.round((double) sampledNanos.sum() / samples * elementsIn);
+    long bytes = THREADS == null
+      ? -1
+      : samples == 0 ? 0 : Math.round((double) sampledBytes.sum() / samples * elementsIn);
+    //a stage without filtering passes all the elements
+    long elementsOut = operation.equals("map") || operation.equals("peek") ? elementsIn : out.sum();
+    return new StageReport(stage, operation, elementsIn, elementsOut, samples, nanos, bytes);
+  }
+
+  void emitSummary() {
+    var report = report();
+    var event = new StageSummaryEvent();
+    if (event.shouldCommit()) {
+      event.pipeline = pipeline;
+      event.stage = stage;
+      event.elementsIn = report.elementsIn();
+      event.elementsOut = report.elementsOut();
+      event.estimatedNanos = report.estimatedNanos();
+      event.estimatedAllocated = report.estimatedAllocatedBytes();
+      event.commit();
+    }
+  }
+
+  private static long allocatedBytes() {
+    return THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes();
+  }
+
+  private static com.sun.management.ThreadMXBean threads() {
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+      && threads.isThreadAllocatedMemorySupported()) {
+      if (!threads.isThreadAllocatedMemoryEnabled()) {
+        threads.setThreadAllocatedMemoryEnabled(true);
+      }
+      return threads;
+    }
+    return null;
+  }
+}
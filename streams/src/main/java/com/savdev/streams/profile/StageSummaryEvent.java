@@ -0,0 +1,38 @@
+package com.savdev.streams.profile;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Totals of a stage, emitted for every stage, when the report is built
+ */
+@Name("com.savdev.streams.StageSummary")
+@Label("Stream Stage Summary")
+@Category({"Java Application", "Streams"})
+@Description("Element counts, estimated time and allocation of a stage of a profiled stream pipeline")
+class StageSummaryEvent extends jdk.jfr.Event {
+
+  @Label("Pipeline")
+  String pipeline;
+
+  @Label("Stage")
+  String stage;
+
+  @Label("Elements In")
+  long elementsIn;
+
+  @Label("Elements Out")
+  long elementsOut;
+
+  @Label("Estimated Time")
+  @Timespan
+  long estimatedNanos;
+
+  @Label("Estimated Allocation")
+  @DataAmount
+  long estimatedAllocated;
+}
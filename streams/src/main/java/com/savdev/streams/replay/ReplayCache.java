@@ -0,0 +1,236 @@
+package com.savdev.streams.replay;
+
+import com.savdev.streams.grouping.SpillCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Elements, pulled from the upstream, cached in chunks of {@link #CHUNK_SIZE} elements.
+ *
+ * - a single traversal at a time pulls from the upstream, under the lock,
+ * - the other traversals read the cached elements without locking: a chunk is published before the size,
+ *   and the size is volatile, so an element with an index below the size is always visible,
+ * - a full chunk above the memory budget is written into the spill file and dropped from memory,
+ *   chunks are written and read with positional IO, so traversals do not share a file position.
+ */
+final class ReplayCache<T> implements AutoCloseable {
+
+  static final int CHUNK_SIZE = 1024;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Stream<T> upstream;
+  private final Spliterator<T> source;
+
+  private volatile Chunk[] chunks = new Chunk[16];
+  private volatile long size;
+  private volatile boolean complete;
+  private RuntimeException failure;
+
+  private final SpillCodec<T> codec;
+  private final long maxChunksInMemory;
+  private final Path spillDirectory;
+  private long chunksInMemory;
+  private Path spillFile;
+  private FileChannel spill;
+  private long spillSize;
+
+  ReplayCache(Stream<T> upstream, SpillCodec<T> codec, long maxElementsInMemory, Path spillDirectory) {
+    this.upstream = upstream;
+    this.source = upstream.spliterator();
+    this.codec = codec;
+    this.maxChunksInMemory = Math.max(1, maxElementsInMemory / CHUNK_SIZE);
+    this.spillDirectory = spillDirectory;
+  }
+
+  long size() {
+    return size;
+  }
+
+  boolean isComplete() {
+    return complete;
+  }
+
+  boolean isSpilled() {
+    return spillFile != null;
+  }
+
+  /**
+   * Pulls from the upstream, until the element with the index is cached, or the upstream is exhausted,
+   *  the elements up to `prefetch` are pulled under the same lock
+   *
+   * @return `true`, if the element with the index is cached
+   */
+  boolean fill(long index, long prefetch) {
+    if (index < size) {
+      return true;
+    }
+    if (complete) {
+      return false;
+    }
+    lock.lock();
+    try {
+      if (failure != null) {
+        throw new IllegalStateException("Upstream of the replayable stream failed", failure);
+      }
+      long target = Math.max(index, prefetch);
+      try {
+        while (size <= target && !complete) {
+          if (!source.tryAdvance(this::append)) {
+            complete = true;
+            upstream.close();
+          }
+        }
+      } catch (RuntimeException e) {
+        failure = e;
+        throw e;
+      }
+      return index < size;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return elements of the chunk, either cached in memory, or read from the spill file into a new array
+   */
+  @SuppressWarnings("unchecked")
+  T[] chunk(int index) {
+    var chunk = chunks[index];
+    var elements = chunk.elements;
+    if (elements != null) {
+      return (T[]) elements;
+    }
+    return read(chunk);
+  }
+
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      try {
+        upstream.close();
+      } catch (RuntimeException | Error e) {
+        //the spill file is deleted anyway, a failure to delete it is thrown with the failure of the upstream
+        try {
+          deleteSpill();
+        } catch (UncheckedIOException cleanup) {
+          cleanup.addSuppressed(e);
+          throw cleanup;
+        }
+        throw e;
+      }
+      deleteSpill();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void deleteSpill() {
+    if (spill == null) {
+      return;
+    }
+    try {
+      try {
+        spill.close();
+      } finally {
+        Files.deleteIfExists(spillFile);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not delete spill file " + spillFile, e);
+    }
+  }
+
+  private void append(T element) {
+    long index = size;
+    int chunkIndex = (int) (index / CHUNK_SIZE);
+    int offset = (int) (index % CHUNK_SIZE);
+    if (offset == 0) {
+      var current = chunks;
+      if (chunkIndex == current.length) {
+        current = Arrays.copyOf(current, current.length * 2);
+      }
+      current[chunkIndex] = new Chunk(new Object[CHUNK_SIZE]);
+      chunks = current;
+    }
+    var chunk = chunks[chunkIndex];
+    chunk.elements[offset] = element;
+    size = index + 1;
+    if (offset == CHUNK_SIZE - 1) {
+      if (codec != null && chunksInMemory >= maxChunksInMemory) {
+        write(chunk);
+      } else {
+        chunksInMemory++;
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void write(Chunk chunk) {
+    try {
+      if (spill == null) {
+        spillFile = Files.createTempFile(spillDirectory, "replay-spill-", ".bin");
+        spill = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      }
+      var bytes = new ByteArrayOutputStream();
+      var out = new DataOutputStream(bytes);
+      for (Object element : chunk.elements) {
+        codec.write((T) element, out);
+      }
+      out.flush();
+      var buffer = ByteBuffer.wrap(bytes.toByteArray());
+      chunk.offset = spillSize;
+      chunk.bytes = buffer.remaining();
+      while (buffer.hasRemaining()) {
+        spillSize += spill.write(buffer, spillSize);
+      }
+      //the volatile write publishes the offset for the readers
+      chunk.elements = null;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not write spill file into " + spillDirectory, e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private T[] read(Chunk chunk) {
+    try {
+      var buffer = ByteBuffer.allocate(chunk.bytes);
+      while (buffer.hasRemaining()) {
+        if (spill.read(buffer, chunk.offset + buffer.position()) < 0) {
+          throw new IOException("Unexpected end of file");
+        }
+      }
+      var in = new DataInputStream(new ByteArrayInputStream(buffer.array()));
+      var elements = new Object[CHUNK_SIZE];
+      for (int i = 0; i < CHUNK_SIZE; i++) {
+        elements[i] = codec.read(in);
+      }
+      return (T[]) elements;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read spill file " + spillFile, e);
+    }
+  }
+
+  private static final class Chunk {
+    private volatile Object[] elements;
+    private long offset;
+    private int bytes;
+
+    Chunk(Object[] elements) {
+      this.elements = elements;
+    }
+  }
+}
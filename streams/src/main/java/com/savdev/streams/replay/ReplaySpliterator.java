@@ -0,0 +1,83 @@
+package com.savdev.streams.replay;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A single traversal of a {@link ReplayCache}, that pulls from the upstream, when it reaches the end of the cache.
+ *
+ * Splits only when the cache is complete, at chunk boundaries, so a parallel replay of a loaded cache is possible.
+ */
+final class ReplaySpliterator<T> implements Spliterator<T> {
+
+  private final ReplayCache<T> cache;
+  private long index;
+  //exclusive, `Long.MAX_VALUE`, while the size is unknown
+  private long end;
+
+  private int chunkIndex = -1;
+  private T[] chunk;
+
+  ReplaySpliterator(ReplayCache<T> cache, long index, long end) {
+    this.cache = cache;
+    this.index = index;
+    this.end = end;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (index >= end || !cache.fill(index, index)) {
+      return false;
+    }
+    action.accept(element(index++));
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super T> action) {
+    while (index < end) {
+      //pulls the rest of the chunk at once, it is not a short-circuit traversal
+      long chunkEnd = (index / ReplayCache.CHUNK_SIZE + 1) * ReplayCache.CHUNK_SIZE - 1;
+      if (!cache.fill(index, Math.min(chunkEnd, end - 1))) {
+        return;
+      }
+      long cached = Math.min(cache.size(), end);
+      while (index < cached) {
+        action.accept(element(index++));
+      }
+    }
+  }
+
+  @Override
+  public Spliterator<T> trySplit() {
+    if (end == Long.MAX_VALUE && cache.isComplete()) {
+      end = cache.size();
+    }
+    if (end == Long.MAX_VALUE || end - index < 2L * ReplayCache.CHUNK_SIZE) {
+      return null;
+    }
+    long middle = (index + (end - index) / 2) / ReplayCache.CHUNK_SIZE * ReplayCache.CHUNK_SIZE;
+    var prefix = new ReplaySpliterator<>(cache, index, middle);
+    index = middle;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return end == Long.MAX_VALUE ? Long.MAX_VALUE : end - index;
+  }
+
+  @Override
+  public int characteristics() {
+    return end == Long.MAX_VALUE ? ORDERED : ORDERED | SIZED | SUBSIZED;
+  }
+
+  private T element(long i) {
+    int index = (int) (i / ReplayCache.CHUNK_SIZE);
+    if (index != chunkIndex) {
+      chunk = cache.chunk(index);
+      chunkIndex = index;
+    }
+    return chunk[(int) (i % ReplayCache.CHUNK_SIZE)];
+  }
+}
@@ -0,0 +1,97 @@
+package com.savdev.streams.replay;
+
+import com.savdev.streams.grouping.SpillCodec;
+
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A stream source, that can be traversed many times, but pulls from an expensive upstream
+ *  (file parsing, decompression) only once:
+ *
+ * <pre>
+ * try (var orders = ReplayableStream.of(Files.lines(path).map(Order::parse))) {
+ *   long total = orders.stream().count();
+ *   orders.stream().forEach(order -&gt; process(order, total));
+ * }
+ * </pre>
+ *
+ * - the first traversal pulls elements from the upstream and caches them in chunks of arrays,
+ *   the later ones replay the cache, and continue pulling from the upstream, if it is not exhausted yet,
+ * - traversals can run concurrently, only pulling from the upstream is locked,
+ * - a traversal of a completely cached source can be parallel,
+ * - with a {@link SpillCodec}, chunks above the memory budget are written into a temporary file,
+ *   so the upstream can be bigger than the heap.
+ *
+ * The upstream is closed, when it is exhausted, or with the replayable stream.
+ */
+public final class ReplayableStream<T> implements AutoCloseable {
+
+  private final ReplayCache<T> cache;
+
+  private ReplayableStream(ReplayCache<T> cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * All the elements are cached in memory
+   */
+  public static <T> ReplayableStream<T> of(Stream<T> upstream) {
+    return new ReplayableStream<>(new ReplayCache<>(upstream, null, Long.MAX_VALUE, null));
+  }
+
+  /**
+   * @param maxElementsInMemory number of elements, cached in memory, the rest of them is spilled to disk,
+   *                            rounded down to whole chunks of 1024 elements, but not less than one chunk
+   * @param spillDirectory a directory for the temporary spill file
+   */
+  public static <T> ReplayableStream<T> of(
+    Stream<T> upstream,
+    SpillCodec<T> codec,
+    long maxElementsInMemory,
+    Path spillDirectory) {
+    if (maxElementsInMemory < 1) {
+      throw new IllegalArgumentException(
+        "Memory budget must be at least one element, but was " + maxElementsInMemory);
+    }
+    return new ReplayableStream<>(new ReplayCache<>(upstream, codec, maxElementsInMemory, spillDirectory));
+  }
+
+  /**
+   * A new traversal, from the first element
+   */
+  public Stream<T> stream() {
+    long end = cache.isComplete() ? cache.size() : Long.MAX_VALUE;
+    return StreamSupport.stream(new ReplaySpliterator<>(cache, 0, end), false);
+  }
+
+  /**
+   * @return number of elements, pulled from the upstream so far
+   */
+  public long cachedSize() {
+    return cache.size();
+  }
+
+  /**
+   * @return `true`, if the upstream is exhausted, and all its elements are cached
+   */
+  public boolean isComplete() {
+    return cache.isComplete();
+  }
+
+  /**
+   * @return `true`, if some chunks were spilled to disk
+   */
+  public boolean isSpilled() {
+    return cache.isSpilled();
+  }
+
+  /**
+   * Closes the upstream and deletes the spill file, do not close it, while it is being traversed
+   */
+  @Override
+  public void close() {
+    cache.close();
+  }
+}
@@ -0,0 +1,13 @@
+package com.savdev.streams.report;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * @param percentiles approximate percentiles by their names, e.g. `p50`, `p99`, `p99.9`
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record DoubleStats(double sum, double min, double max, double mean, Map<String, Double> percentiles)
+  implements MetricStats {
+}
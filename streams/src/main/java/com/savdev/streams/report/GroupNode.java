@@ -0,0 +1,156 @@
+package com.savdev.streams.report;
+
+import com.savdev.streams.stats.QuantileSketch;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A mutable node of a report, that is being collected.
+ *
+ * Elements are accumulated only into the leaves, the inner nodes get their statistics,
+ *  when the report is finished, by merging the statistics of their children.
+ * Statistics are kept in the primitive arrays, 3 values per metric: sum, min and max.
+ */
+final class GroupNode {
+
+  private final Object key;
+  private final Map<Object, GroupNode> children;
+  private long count;
+  private final long[] longs;
+  private final double[] doubles;
+  private final QuantileSketch[] sketches;
+  private final int sketchSize;
+
+  GroupNode(Object key, boolean leaf, int longMetrics, int doubleMetrics, int sketches, int sketchSize) {
+    this.key = key;
+    this.children = leaf ? null : new LinkedHashMap<>();
+    this.longs = new long[3 * longMetrics];
+    this.doubles = new double[3 * doubleMetrics];
+    for (int i = 0; i < longMetrics; i++) {
+      longs[3 * i + 1] = Long.MAX_VALUE;
+      longs[3 * i + 2] = Long.MIN_VALUE;
+    }
+    for (int i = 0; i < doubleMetrics; i++) {
+      doubles[3 * i + 1] = Double.POSITIVE_INFINITY;
+      doubles[3 * i + 2] = Double.NEGATIVE_INFINITY;
+    }
+    this.sketches = new QuantileSketch[sketches];
+    this.sketchSize = sketchSize;
+  }
+
+  Object key() {
+    return key;
+  }
+
+  long count() {
+    return count;
+  }
+
+  void increment() {
+    count++;
+  }
+
+  /**
+   * @return `null` for a leaf
+   */
+  Map<Object, GroupNode> children() {
+    return children;
+  }
+
+  void addLong(int slot, long value) {
+    int i = 3 * slot;
+    longs[i] += value;
+    longs[i + 1] = Math.min(longs[i + 1], value);
+    longs[i + 2] = Math.max(longs[i + 2], value);
+  }
+
+  void addDouble(int slot, double value) {
+    int i = 3 * slot;
+    doubles[i] += value;
+    doubles[i + 1] = Math.min(doubles[i + 1], value);
+    doubles[i + 2] = Math.max(doubles[i + 2], value);
+  }
+
+  long longSum(int slot) {
+    return longs[3 * slot];
+  }
+
+  long longMin(int slot) {
+    return longs[3 * slot + 1];
+  }
+
+  long longMax(int slot) {
+    return longs[3 * slot + 2];
+  }
+
+  double doubleSum(int slot) {
+    return doubles[3 * slot];
+  }
+
+  double doubleMin(int slot) {
+    return doubles[3 * slot + 1];
+  }
+
+  double doubleMax(int slot) {
+    return doubles[3 * slot + 2];
+  }
+
+  /**
+   * Sketches are created lazily, they are the biggest part of a node
+   */
+  QuantileSketch sketch(int index) {
+    var sketch = sketches[index];
+    if (sketch == null) {
+      sketch = sketches[index] = new QuantileSketch(sketchSize);
+    }
+    return sketch;
+  }
+
+  /**
+   * Merges the node of another thread into this one, sub-groups, that this node does not have, are moved as is
+   */
+  void merge(GroupNode other) {
+    mergeStats(other);
+    if (children != null) {
+      other.children.forEach((childKey, otherChild) -> {
+        var child = children.putIfAbsent(childKey, otherChild);
+        if (child != null) {
+          child.merge(otherChild);
+        }
+      });
+    }
+  }
+
+  /**
+   * Rolls the statistics of the sub-groups up, recursively
+   */
+  void rollUp() {
+    if (children == null) {
+      return;
+    }
+    for (GroupNode child : children.values()) {
+      child.rollUp();
+      mergeStats(child);
+    }
+  }
+
+  private void mergeStats(GroupNode other) {
+    count += other.count;
+    for (int i = 0; i < longs.length; i += 3) {
+      longs[i] += other.longs[i];
+      longs[i + 1] = Math.min(longs[i + 1], other.longs[i + 1]);
+      longs[i + 2] = Math.max(longs[i + 2], other.longs[i + 2]);
+    }
+    for (int i = 0; i < doubles.length; i += 3) {
+      doubles[i] += other.doubles[i];
+      doubles[i + 1] = Math.min(doubles[i + 1], other.doubles[i + 1]);
+      doubles[i + 2] = Math.max(doubles[i + 2], other.doubles[i + 2]);
+    }
+    for (int i = 0; i < sketches.length; i++) {
+      if (other.sketches[i] != null) {
+        sketch(i).merge(other.sketches[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,203 @@
+package com.savdev.streams.report;
+
+import com.savdev.streams.stats.QuantileSketch;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * A statistics report over nested groups, collected in a single pass:
+ *
+ * <pre>
+ * var report = GroupingReport.&lt;Order&gt;builder()
+ *   .groupBy("country", Order::country)
+ *   .groupBy("status", o -&gt; o.failed() ? "failed" : "valid")
+ *   .doubleStats("amount", Order::amount, 0.5, 0.99)
+ *   .longStats("items", Order::items)
+ *   .build();
+ * ReportNode root = report.run(orders.stream());
+ * </pre>
+ *
+ * - elements are not kept, there is no intermediate `Map&lt;K, List&lt;V&gt;&gt;`,
+ *   every group has only primitive accumulators of its metrics,
+ * - percentiles are approximate, see {@link QuantileSketch}, a sketch has a fixed size per group and metric,
+ * - parallel streams: every thread collects its own tree, the trees are merged,
+ * - the result is a tree of records, it can be serialized with Jackson.
+ */
+public final class GroupingReport<T> {
+
+  private record Level<T>(String name, Function<? super T, ?> key) {}
+
+  private final List<Level<T>> levels;
+  private final List<Metric<T>> metrics;
+  private final int longMetrics;
+  private final int doubleMetrics;
+  private final int sketches;
+  private final int sketchSize;
+
+  private GroupingReport(Builder<T> builder) {
+    this.levels = List.copyOf(builder.levels);
+    this.metrics = List.copyOf(builder.metrics);
+    this.longMetrics = builder.longMetrics;
+    this.doubleMetrics = builder.doubleMetrics;
+    this.sketches = builder.sketches;
+    this.sketchSize = builder.sketchSize;
+  }
+
+  public static <T> Builder<T> builder() {
+    return new Builder<>();
+  }
+
+  public Collector<T, ?, ReportNode> collector() {
+    return Collector.of(
+      () -> newNode(null, 0),
+      this::accumulate,
+      (left, right) -> {
+        left.merge(right);
+        return left;
+      },
+      root -> {
+        root.rollUp();
+        return toReport(root, 0);
+      });
+  }
+
+  public ReportNode run(Stream<? extends T> stream) {
+    try (stream) {
+      return stream.collect(collector());
+    }
+  }
+
+  private void accumulate(GroupNode root, T element) {
+    GroupNode node = root;
+    for (int depth = 0; depth < levels.size(); depth++) {
+      Object key = levels.get(depth).key().apply(element);
+      var children = node.children();
+      GroupNode child = children.get(key);
+      if (child == null) {
+        child = newNode(key, depth + 1);
+        children.put(key, child);
+      }
+      node = child;
+    }
+    node.increment();
+    for (Metric<T> metric : metrics) {
+      metric.add(node, element);
+    }
+  }
+
+  private GroupNode newNode(Object key, int depth) {
+    return new GroupNode(key, depth == levels.size(), longMetrics, doubleMetrics, sketches, sketchSize);
+  }
+
+  private ReportNode toReport(GroupNode node, int depth) {
+    Map<String, MetricStats> stats = new LinkedHashMap<>();
+    if (node.count() > 0) {
+      for (Metric<T> metric : metrics) {
+        stats.put(metric.name(), metric.stats(node));
+      }
+    }
+    var children = new ArrayList<ReportNode>();
+    if (node.children() != null) {
+      for (GroupNode child : node.children().values()) {
+        children.add(toReport(child, depth + 1));
+      }
+    }
+    String group = depth == 0 ? null : levels.get(depth - 1).name();
+    return new ReportNode(group, node.key(), node.count(), stats, children);
+  }
+
+  public static final class Builder<T> {
+
+    private final List<Level<T>> levels = new ArrayList<>();
+    private final List<Metric<T>> metrics = new ArrayList<>();
+    private final Set<String> names = new HashSet<>();
+    private int longMetrics;
+    private int doubleMetrics;
+    private int sketches;
+    private int sketchSize = QuantileSketch.DEFAULT_K;
+
+    private Builder() {}
+
+    /**
+     * Adds the next (nested) grouping level
+     */
+    public Builder<T> groupBy(String name, Function<? super T, ?> key) {
+      for (Level<T> level : levels) {
+        if (level.name().equals(name)) {
+          throw new IllegalArgumentException("Group '" + name + "' is already declared");
+        }
+      }
+      levels.add(new Level<>(name, key));
+      return this;
+    }
+
+    /**
+     * Sum, min, max and mean of a long value, and optionally its percentiles
+     *
+     * @param percentiles quantiles from 0 to 1, e.g. 0.5 and 0.99
+     */
+    public Builder<T> longStats(String name, ToLongFunction<? super T> value, double... percentiles) {
+      metrics.add(new Metric.LongMetric<>(
+        checkName(name), value, percentiles(percentiles), longMetrics++, sketchIndex(percentiles)));
+      return this;
+    }
+
+    /**
+     * Sum, min, max and mean of a double value, and optionally its percentiles
+     *
+     * @param percentiles quantiles from 0 to 1, e.g. 0.5 and 0.99
+     */
+    public Builder<T> doubleStats(String name, ToDoubleFunction<? super T> value, double... percentiles) {
+      metrics.add(new Metric.DoubleMetric<>(
+        checkName(name), value, percentiles(percentiles), doubleMetrics++, sketchIndex(percentiles)));
+      return this;
+    }
+
+    /**
+     * Size of the quantile sketches, a bigger size is more accurate, but takes more memory per group
+     */
+    public Builder<T> sketchSize(int k) {
+      //validated the same way, as the sketch does it
+      new QuantileSketch(k);
+      this.sketchSize = k;
+      return this;
+    }
+
+    public GroupingReport<T> build() {
+      return new GroupingReport<>(this);
+    }
+
+    private String checkName(String name) {
+      if (!names.add(name)) {
+        throw new IllegalArgumentException("Metric '" + name + "' is already declared");
+      }
+      return name;
+    }
+
+    private int sketchIndex(double[] percentiles) {
+      return percentiles.length == 0 ? -1 : sketches++;
+    }
+
+    private static Metric.Percentiles percentiles(double[] quantiles) {
+      var names = new String[quantiles.length];
+      for (int i = 0; i < quantiles.length; i++) {
+        if (!(quantiles[i] >= 0 && quantiles[i] <= 1)) {
+          throw new IllegalArgumentException("Percentile must be from 0 to 1, but was " + quantiles[i]);
+        }
+        names[i] = "p" + BigDecimal.valueOf(quantiles[i]).movePointRight(2).stripTrailingZeros().toPlainString();
+      }
+      return new Metric.Percentiles(quantiles.clone(), names);
+    }
+  }
+}
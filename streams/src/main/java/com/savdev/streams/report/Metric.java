@@ -0,0 +1,89 @@
+package com.savdev.streams.report;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A declared metric, it reads a primitive value from an element, without boxing,
+ *  and keeps its sum, min and max in the primitive arrays of a group node.
+ */
+sealed interface Metric<T> {
+
+  String name();
+
+  void add(GroupNode node, T element);
+
+  MetricStats stats(GroupNode node);
+
+  /**
+   * @param slot index of the metric in `GroupNode.longs`
+   * @param sketch index of the quantile sketch in `GroupNode.sketches` or `-1` without percentiles
+   */
+  record LongMetric<T>(String name, ToLongFunction<? super T> value, Percentiles percentiles, int slot, int sketch)
+    implements Metric<T> {
+
+    @Override
+    public void add(GroupNode node, T element) {
+      long v = value.applyAsLong(element);
+      node.addLong(slot, v);
+      if (sketch >= 0) {
+        node.sketch(sketch).add(v);
+      }
+    }
+
+    @Override
+    public MetricStats stats(GroupNode node) {
+      long sum = node.longSum(slot);
+      return new LongStats(
+        sum,
+        node.longMin(slot),
+        node.longMax(slot),
+        (double) sum / node.count(),
+        percentiles.of(node, sketch));
+    }
+  }
+
+  record DoubleMetric<T>(String name, ToDoubleFunction<? super T> value, Percentiles percentiles, int slot, int sketch)
+    implements Metric<T> {
+
+    @Override
+    public void add(GroupNode node, T element) {
+      double v = value.applyAsDouble(element);
+      node.addDouble(slot, v);
+      if (sketch >= 0) {
+        node.sketch(sketch).add(v);
+      }
+    }
+
+    @Override
+    public MetricStats stats(GroupNode node) {
+      double sum = node.doubleSum(slot);
+      return new DoubleStats(
+        sum,
+        node.doubleMin(slot),
+        node.doubleMax(slot),
+        sum / node.count(),
+        percentiles.of(node, sketch));
+    }
+  }
+
+  /**
+   * Requested percentiles with their names, e.g. `0.999` is `p99.9`
+   */
+  record Percentiles(double[] quantiles, String[] names) {
+
+    Map<String, Double> of(GroupNode node, int sketch) {
+      if (sketch < 0) {
+        return Map.of();
+      }
+      double[] values = node.sketch(sketch).quantiles(quantiles);
+      var result = new LinkedHashMap<String, Double>();
+      for (int i = 0; i < names.length; i++) {
+        result.put(names[i], values[i]);
+      }
+      return result;
+    }
+  }
+}
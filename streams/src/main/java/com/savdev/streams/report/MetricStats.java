@@ -0,0 +1,9 @@
+package com.savdev.streams.report;
+
+/**
+ * Statistics of a metric within a group, the count is the count of the group itself.
+ */
+public sealed interface MetricStats permits LongStats, DoubleStats {
+
+  double mean();
+}
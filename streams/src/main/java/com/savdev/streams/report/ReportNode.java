@@ -0,0 +1,43 @@
+package com.savdev.streams.report;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A node of a report tree, the root node is the total of all the elements.
+ *
+ * Empty fields are not serialized: the root has no `group` and `key`, leaves have no `children`.
+ *
+ * @param group name of the grouping level, e.g. `country`, `null` for the root
+ * @param key the group key at this level, `null` for the root
+ * @param count number of elements in the group
+ * @param metrics statistics by metric names, in the declaration order
+ * @param children sub-groups of the next grouping level, in the encounter order of their first elements
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record ReportNode(
+  String group,
+  Object key,
+  long count,
+  Map<String, MetricStats> metrics,
+  List<ReportNode> children) {
+
+  /**
+   * @return the sub-group with the key or `null`, if no element has such a key
+   */
+  public ReportNode child(Object key) {
+    for (ReportNode child : children) {
+      if (Objects.equals(child.key, key)) {
+        return child;
+      }
+    }
+    return null;
+  }
+
+  public MetricStats metric(String name) {
+    return metrics.get(name);
+  }
+}
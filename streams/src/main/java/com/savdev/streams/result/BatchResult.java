@@ -0,0 +1,18 @@
+package com.savdev.streams.result;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch: collected successes and failures.
+ *
+ * @param successes collected successful values, as the successes downstream collector produced them
+ * @param successCount number of successful elements
+ * @param failureCount number of failed elements, all of them, even if not all the error details are kept
+ * @param errors error details, at most `maxErrors` first failures in the encounter order
+ */
+public record BatchResult<S, E>(S successes, long successCount, long failureCount, List<E> errors) {
+
+  public boolean hasFailures() {
+    return failureCount > 0;
+  }
+}
@@ -0,0 +1,50 @@
+package com.savdev.streams.result;
+
+import java.util.function.Function;
+
+/**
+ * Either a successful value or an error, the error is a value, but not a thrown exception,
+ *  so it flows to the end of the pipeline, see `docs/FAQs/08_Lambdas_&_Streams/Result_Error_Collecting.md`
+ *
+ * @param <T> type of the value
+ * @param <E> type of the error
+ */
+public sealed interface Result<T, E> {
+
+  record Success<T, E>(T value) implements Result<T, E> {}
+
+  record Failure<T, E>(E error) implements Result<T, E> {}
+
+  static <T, E> Result<T, E> success(T value) {
+    return new Success<>(value);
+  }
+
+  static <T, E> Result<T, E> failure(E error) {
+    return new Failure<>(error);
+  }
+
+  /**
+   * Runs a fallible step, checked and unchecked exceptions become a failure
+   */
+  static <T, R> Result<R, Exception> attempt(T input, ThrowingFunction<? super T, ? extends R> step) {
+    try {
+      return success(step.apply(input));
+    } catch (Exception e) {
+      return failure(e);
+    }
+  }
+
+  default boolean isSuccess() {
+    return this instanceof Success;
+  }
+
+  /**
+   * The first failure wins, the next steps are skipped for a failed element
+   */
+  default <R> Result<R, E> map(Function<? super T, ? extends R> step) {
+    return switch (this) {
+      case Success<T, E> s -> success(step.apply(s.value()));
+      case Failure<T, E> f -> failure(f.error());
+    };
+  }
+}
@@ -0,0 +1,92 @@
+package com.savdev.streams.result;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Collectors, that partition successes and failures of a batch, without aborting it on the first failure.
+ *
+ * - successes go into a downstream collector (`toList()`, `counting()`, `summingLong()`, etc.),
+ * - failures are counted, only the first `maxErrors` error details are kept,
+ *   so a batch with millions of failures does not run out of memory,
+ * - parallel streams: partial error lists are linked, but not copied.
+ */
+public final class ResultCollectors {
+
+  private ResultCollectors() {}
+
+  public static <T, E> Collector<Result<T, E>, ?, BatchResult<List<T>, E>> partitioning(int maxErrors) {
+    return partitioning(Collectors.toList(), maxErrors);
+  }
+
+  /**
+   * For a stream of already wrapped results
+   */
+  public static <T, E, A, S> Collector<Result<T, E>, ?, BatchResult<S, E>> partitioning(
+    Collector<? super T, A, S> successes,
+    int maxErrors) {
+    BiConsumer<A, ? super T> accumulator = successes.accumulator();
+    return collector(
+      successes,
+      maxErrors,
+      (container, result) -> {
+        switch (result) {
+          case Result.Success<T, E> s -> container.success(accumulator, s.value());
+          case Result.Failure<T, E> f -> container.failure(f.error());
+        }
+      });
+  }
+
+  /**
+   * Maps every element with a fallible step and collects the results.
+   *
+   * The fast path: a successful value goes directly into the successes collector,
+   *  no `Result` wrapper and no exception handler is allocated for it,
+   *  only a failure is converted into an error via `onError`.
+   *
+   * @param onError converts the failed element and its exception into an error detail
+   */
+  public static <T, R, E, A, S> Collector<T, ?, BatchResult<S, E>> mapping(
+    ThrowingFunction<? super T, ? extends R> step,
+    BiFunction<? super T, ? super Exception, ? extends E> onError,
+    Collector<? super R, A, S> successes,
+    int maxErrors) {
+    BiConsumer<A, ? super R> accumulator = successes.accumulator();
+    return collector(
+      successes,
+      maxErrors,
+      (container, element) -> {
+        R value;
+        try {
+          value = step.apply(element);
+        } catch (Exception e) {
+          container.failure(onError.apply(element, e));
+          return;
+        }
+        container.success(accumulator, value);
+      });
+  }
+
+  private static <T, E, A, S> Collector<T, ?, BatchResult<S, E>> collector(
+    Collector<?, A, S> successes,
+    int maxErrors,
+    BiConsumer<ResultContainer<A, E>, T> accumulator) {
+    if (maxErrors < 0) {
+      throw new IllegalArgumentException("Max errors must not be negative, but was " + maxErrors);
+    }
+    Supplier<A> supplier = successes.supplier();
+    BinaryOperator<A> combiner = successes.combiner();
+    Function<A, S> finisher = successes.finisher();
+    return Collector.of(
+      () -> new ResultContainer<>(supplier.get(), maxErrors),
+      accumulator,
+      (left, right) -> left.combine(right, combiner),
+      container -> container.finish(finisher));
+  }
+}
@@ -0,0 +1,89 @@
+package com.savdev.streams.result;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * A mutable container of {@link ResultCollectors}.
+ *
+ * Errors are kept in a singly linked chain, so two containers of a parallel stream are combined
+ *  by linking the chains, without copying.
+ */
+final class ResultContainer<A, E> {
+
+  private A successes;
+  private long successCount;
+  private long failureCount;
+
+  private final int maxErrors;
+  private Node<E> head;
+  private Node<E> tail;
+  private int keptErrors;
+
+  ResultContainer(A successes, int maxErrors) {
+    this.successes = successes;
+    this.maxErrors = maxErrors;
+  }
+
+  <T> void success(BiConsumer<A, ? super T> accumulator, T value) {
+    accumulator.accept(successes, value);
+    successCount++;
+  }
+
+  void failure(E error) {
+    failureCount++;
+    if (keptErrors < maxErrors) {
+      append(new Node<>(error));
+      keptErrors++;
+    }
+  }
+
+  ResultContainer<A, E> combine(ResultContainer<A, E> right, BinaryOperator<A> combiner) {
+    successes = combiner.apply(successes, right.successes);
+    successCount += right.successCount;
+    failureCount += right.failureCount;
+    if (right.head != null && keptErrors < maxErrors) {
+      int taken = Math.min(maxErrors - keptErrors, right.keptErrors);
+      //cut the right chain after the errors, that still fit, walking at most `maxErrors` nodes
+      Node<E> last = right.head;
+      for (int i = 1; i < taken; i++) {
+        last = last.next;
+      }
+      last.next = null;
+      append(right.head);
+      tail = last;
+      keptErrors += taken;
+    }
+    return this;
+  }
+
+  <S> BatchResult<S, E> finish(Function<A, S> finisher) {
+    var errors = new ArrayList<E>(keptErrors);
+    for (Node<E> node = head; node != null; node = node.next) {
+      errors.add(node.error);
+    }
+    return new BatchResult<>(finisher.apply(successes), successCount, failureCount, Collections.unmodifiableList(errors));
+  }
+
+  private void append(Node<E> node) {
+    if (head == null) {
+      head = node;
+    } else {
+      tail.next = node;
+    }
+    tail = node;
+  }
+
+  private static final class Node<E> {
+    private final E error;
+    private Node<E> next;
+
+    Node(E error) {
+      this.error = error;
+    }
+  }
+}
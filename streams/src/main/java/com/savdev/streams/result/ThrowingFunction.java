@@ -0,0 +1,10 @@
+package com.savdev.streams.result;
+
+/**
+ * A function that is allowed to throw a checked exception.
+ */
+@FunctionalInterface
+public interface ThrowingFunction<T, R> {
+
+  R apply(T t) throws Exception;
+}
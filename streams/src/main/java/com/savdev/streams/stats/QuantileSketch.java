@@ -0,0 +1,279 @@
+package com.savdev.streams.stats;
+
+import java.util.Arrays;
+
+/**
+ * Approximate quantiles of a stream of doubles in a fixed memory, KLL sketch
+ *  (Karnin, Lang, Liberty, "Optimal Quantile Approximation in Streams").
+ *
+ * - values are kept in levels (compactors), a value at level `h` stands for `2^h` original values,
+ * - a full level is sorted and every second value (random odd or even ones) is moved to the next level,
+ * - capacities of the lower levels shrink geometrically, so about `3 * k` values are kept
+ *   for any number of added values,
+ * - sketches of parallel parts are merged, the result has the same accuracy as a single sketch,
+ * - the rank error is about `1.7 / k`, roughly 1% for the default `k = 200`,
+ *   `min` and `max` are exact.
+ *
+ * Not thread-safe, use one sketch per thread and {@link #merge(QuantileSketch)} them.
+ */
+public final class QuantileSketch {
+
+  public static final int DEFAULT_K = 200;
+
+  private static final int MIN_K = 8;
+  private static final double CAPACITY_DECAY = 2.0 / 3.0;
+  private static final int INITIAL_LEVEL_CAPACITY = 16;
+
+  private final int k;
+  private double[][] levels = new double[1][];
+  private int[] sizes = new int[1];
+  private int levelCount = 1;
+  private int retained;
+  private int maxRetained;
+
+  private long count;
+  private double min = Double.NaN;
+  private double max = Double.NaN;
+
+  private long random = 0x9E3779B97F4A7C15L;
+
+  public QuantileSketch() {
+    this(DEFAULT_K);
+  }
+
+  public QuantileSketch(int k) {
+    this.k = checkSize(k);
+    this.levels[0] = new double[INITIAL_LEVEL_CAPACITY];
+    this.maxRetained = capacity(0);
+  }
+
+  public void add(double value) {
+    if (Double.isNaN(value)) {
+      throw new IllegalArgumentException("NaN cannot be ranked");
+    }
+    if (count == 0) {
+      min = value;
+      max = value;
+    } else {
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+    }
+    count++;
+    append(0, value);
+    if (retained >= maxRetained) {
+      compress();
+    }
+  }
+
+  /**
+   * Adds all the values of the other sketch into this one, the other sketch is not changed
+   */
+  public QuantileSketch merge(QuantileSketch other) {
+    if (other.count == 0) {
+      return this;
+    }
+    if (count == 0) {
+      min = other.min;
+      max = other.max;
+    } else {
+      min = Math.min(min, other.min);
+      max = Math.max(max, other.max);
+    }
+    count += other.count;
+    while (levelCount < other.levelCount) {
+      grow();
+    }
+    for (int h = 0; h < other.levelCount; h++) {
+      for (int i = 0; i < other.sizes[h]; i++) {
+        append(h, other.levels[h][i]);
+      }
+    }
+    while (retained >= maxRetained) {
+      compress();
+    }
+    return this;
+  }
+
+  public long count() {
+    return count;
+  }
+
+  public double min() {
+    return min;
+  }
+
+  public double max() {
+    return max;
+  }
+
+  /**
+   * @param q the quantile, from 0 to 1, e.g. 0.99 for p99
+   * @return an approximate value at the quantile, `NaN` for an empty sketch
+   */
+  public double quantile(double q) {
+    return quantiles(q)[0];
+  }
+
+  /**
+   * Several quantiles at once, the retained values are sorted once
+   */
+  public double[] quantiles(double... qs) {
+    for (double q : qs) {
+      if (!(q >= 0 && q <= 1)) {
+        throw new IllegalArgumentException("Quantile must be from 0 to 1, but was " + q);
+      }
+    }
+    var result = new double[qs.length];
+    if (count == 0) {
+      Arrays.fill(result, Double.NaN);
+      return result;
+    }
+    var sorted = new SortedView();
+    for (int i = 0; i < qs.length; i++) {
+      if (qs[i] == 0) {
+        result[i] = min;
+      } else if (qs[i] == 1) {
+        result[i] = max;
+      } else {
+        result[i] = Math.clamp(sorted.valueAt(qs[i] * count), min, max);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return an approximate fraction of values, that are less than or equal to the value
+   */
+  public double rank(double value) {
+    if (count == 0) {
+      return Double.NaN;
+    }
+    long weight = 0;
+    for (int h = 0; h < levelCount; h++) {
+      for (int i = 0; i < sizes[h]; i++) {
+        if (levels[h][i] <= value) {
+          weight += 1L << h;
+        }
+      }
+    }
+    return (double) weight / count;
+  }
+
+  /**
+   * @return the number of values kept in memory
+   */
+  public int retained() {
+    return retained;
+  }
+
+  static int checkSize(int k) {
+    if (k < MIN_K) {
+      throw new IllegalArgumentException("Sketch size must be at least " + MIN_K + ", but was " + k);
+    }
+    return k;
+  }
+
+  private void append(int level, double value) {
+    var values = levels[level];
+    if (sizes[level] == values.length) {
+      values = levels[level] = Arrays.copyOf(values, values.length * 2);
+    }
+    values[sizes[level]++] = value;
+    retained++;
+  }
+
+  /**
+   * Compacts the lowest full level
+   */
+  private void compress() {
+    for (int h = 0; h < levelCount; h++) {
+      if (sizes[h] >= capacity(h)) {
+        if (h + 1 == levelCount) {
+          grow();
+        }
+        compact(h);
+        return;
+      }
+    }
+  }
+
+  private void compact(int level) {
+    var values = levels[level];
+    int size = sizes[level];
+    Arrays.sort(values, 0, size);
+    int pairs = size / 2;
+    int offset = nextBit();
+    for (int i = 0; i < pairs; i++) {
+      append(level + 1, values[2 * i + offset]);
+    }
+    //an odd value stays at the level
+    if (size % 2 != 0) {
+      values[0] = values[size - 1];
+    }
+    sizes[level] = size % 2;
+    retained -= 2 * pairs;
+  }
+
+  private void grow() {
+    levels = Arrays.copyOf(levels, levelCount + 1);
+    sizes = Arrays.copyOf(sizes, levelCount + 1);
+    levels[levelCount] = new double[INITIAL_LEVEL_CAPACITY];
+    levelCount++;
+    maxRetained = 0;
+    for (int h = 0; h < levelCount; h++) {
+      maxRetained += capacity(h);
+    }
+  }
+
+  private int capacity(int level) {
+    int depth = levelCount - level - 1;
+    return Math.max(2, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+  }
+
+  private int nextBit() {
+    //xorshift, a sketch is used by a single thread
+    random ^= random << 13;
+    random ^= random >>> 7;
+    random ^= random << 17;
+    return (int) (random & 1);
+  }
+
+  /**
+   * Retained values of all levels, sorted with their weights
+   */
+  private final class SortedView {
+    private final double[] values = new double[retained];
+    private final long[] cumulativeWeights = new long[retained];
+
+    SortedView() {
+      //levels are sorted separately and merged, the weight of a value depends on its level
+      var sortedLevels = new double[levelCount][];
+      for (int h = 0; h < levelCount; h++) {
+        sortedLevels[h] = Arrays.copyOf(levels[h], sizes[h]);
+        Arrays.sort(sortedLevels[h]);
+      }
+      var positions = new int[levelCount];
+      long weight = 0;
+      for (int i = 0; i < retained; i++) {
+        int next = -1;
+        for (int h = 0; h < levelCount; h++) {
+          if (positions[h] < sortedLevels[h].length
+            && (next < 0 || sortedLevels[h][positions[h]] < sortedLevels[next][positions[next]])) {
+            next = h;
+          }
+        }
+        values[i] = sortedLevels[next][positions[next]++];
+        weight += 1L << next;
+        cumulativeWeights[i] = weight;
+      }
+    }
+
+    double valueAt(double targetWeight) {
+      int index = Arrays.binarySearch(cumulativeWeights, (long) Math.ceil(targetWeight));
+      if (index < 0) {
+        index = -index - 1;
+      }
+      return values[Math.min(index, values.length - 1)];
+    }
+  }
+}
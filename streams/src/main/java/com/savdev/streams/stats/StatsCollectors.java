@@ -0,0 +1,89 @@
+package com.savdev.streams.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
+
+/**
+ * Collectors for huge streams with a fixed memory footprint:
+ *
+ * - `sorted().limit(k)` and collecting everything to sort it later keep all the elements in memory,
+ *   {@link #topK(int, Comparator)} keeps only `k` of them in a heap,
+ * - exact percentiles need all the values sorted, {@link #quantiles(ToDoubleFunction)} keeps a {@link QuantileSketch}.
+ *
+ * Both work in parallel streams: the heaps and the sketches of the threads are merged.
+ */
+public final class StatsCollectors {
+
+  private StatsCollectors() {}
+
+  /**
+   * @return the `k` greatest elements by the comparator, the greatest first
+   */
+  public static <T> Collector<T, ?, List<T>> topK(int k, Comparator<? super T> comparator) {
+    if (k < 1) {
+      throw new IllegalArgumentException("K must be at least 1, but was " + k);
+    }
+    return Collector.of(
+      () -> new PriorityQueue<T>(Math.min(k, 1024) + 1, comparator),
+      (heap, element) -> offer(heap, element, k, comparator),
+      (left, right) -> {
+        //the smaller heap is merged into the bigger one
+        var into = left.size() >= right.size() ? left : right;
+        var from = into == left ? right : left;
+        for (T element : from) {
+          offer(into, element, k, comparator);
+        }
+        return into;
+      },
+      heap -> {
+        var result = new ArrayList<T>(heap);
+        result.sort(comparator.reversed());
+        return result;
+      });
+  }
+
+  /**
+   * @return the `k` smallest elements by the comparator, the smallest first
+   */
+  public static <T> Collector<T, ?, List<T>> bottomK(int k, Comparator<? super T> comparator) {
+    return topK(k, comparator.reversed());
+  }
+
+  public static <T> Collector<T, ?, QuantileSketch> quantiles(ToDoubleFunction<? super T> value) {
+    return quantiles(value, QuantileSketch.DEFAULT_K);
+  }
+
+  /**
+   * @param k the sketch size, see {@link QuantileSketch}
+   */
+  public static <T> Collector<T, ?, QuantileSketch> quantiles(ToDoubleFunction<? super T> value, int k) {
+    QuantileSketch.checkSize(k);
+    return Collector.of(
+      () -> new QuantileSketch(k),
+      (sketch, element) -> sketch.add(value.applyAsDouble(element)),
+      QuantileSketch::merge,
+      Collector.Characteristics.UNORDERED,
+      Collector.Characteristics.IDENTITY_FINISH);
+  }
+
+  public static QuantileSketch quantiles(DoubleStream values) {
+    return values.collect(QuantileSketch::new, QuantileSketch::add, QuantileSketch::merge);
+  }
+
+  /**
+   * The heap top is the smallest of the kept elements, a smaller element is rejected without touching the heap
+   */
+  private static <T> void offer(PriorityQueue<T> heap, T element, int k, Comparator<? super T> comparator) {
+    if (heap.size() < k) {
+      heap.add(element);
+    } else if (comparator.compare(element, heap.peek()) > 0) {
+      heap.poll();
+      heap.add(element);
+    }
+  }
+}
@@ -1,5 +1,8 @@
 package com.savdev.streams;
 
+import com.savdev.streams.batch.ExtendedStream;
+import com.savdev.streams.batch.Field;
+import com.savdev.streams.batch.LongField;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -35,4 +38,20 @@ public class ExtendStreamElementTest {
     //index of the last element:
     Assertions.assertEquals(10, namesWithCustomField.getFirst().getValue().length());
   }
+
+  /**
+   * No wrapper per element: fields are parallel arrays of a batch, the downstream sees a reusable cursor
+   */
+  @Test
+  public void extend_with_flyweight_cursor() {
+    var names = ExtendedStream.builder(Stream.of("Alice", "Bob", "Charlie"));
+    Field<String> custom = names.add(c -> RandomStringUtils.randomAlphabetic(10));
+    LongField length = names.addLong(c -> c.element().length());
+    var namesWithCustomField = names.build()
+      .map(c -> c.element() + ":" + c.get(length) + ":" + c.get(custom))
+      .toList();
+    Assertions.assertEquals(3, namesWithCustomField.size());
+    Assertions.assertTrue(namesWithCustomField.getFirst().startsWith("Alice:5:"));
+    Assertions.assertEquals("Alice:5:".length() + 10, namesWithCustomField.getFirst().length());
+  }
 }
@@ -0,0 +1,99 @@
+package com.savdev.streams;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Batches and sliding windows of stream elements, without a stateful counter in `map`
+ */
+public class StreamChunkingTest {
+
+  @Test
+  public void chunked() {
+    var chunks = Streams.chunked(Stream.of("a", "b", "c", "d", "e"), 2)
+      .toList();
+    Assertions.assertEquals(
+      List.of(List.of("a", "b"), List.of("c", "d"), List.of("e")),
+      chunks);
+  }
+
+  @Test
+  public void sliding() {
+    var windows = Streams.sliding(Stream.of(1, 2, 3, 4, 5), 3, 1)
+      .toList();
+    Assertions.assertEquals(
+      List.of(List.of(1, 2, 3), List.of(2, 3, 4), List.of(3, 4, 5)),
+      windows);
+
+    //moving average
+    var averages = Streams.sliding(Stream.of(1, 2, 3, 4, 5, 6), 2, 2)
+      .map(w -> w.stream().mapToInt(Integer::intValue).average().orElseThrow())
+      .toList();
+    Assertions.assertEquals(List.of(1.5, 3.5, 5.5), averages);
+  }
+
+  /**
+   * A list is a sized source, it is split in parallel at chunk/window boundaries,
+   *  the result must be the same as for a sequential stream
+   */
+  @Test
+  public void chunkedAndSliding_parallel_sameAsSequential() {
+    for (int size : List.of(0, 1, 7, 100, 10_007)) {
+      var values = IntStream.range(0, size).boxed().toList();
+      for (int[] window : new int[][]{{1, 1}, {3, 3}, {64, 64}, {5, 2}, {2, 5}, {100, 1}}) {
+        Assertions.assertEquals(
+          Streams.chunked(values.stream(), window[0]).toList(),
+          Streams.chunked(values.parallelStream(), window[0]).toList(),
+          "chunked " + window[0] + " of " + size);
+        Assertions.assertEquals(
+          Streams.sliding(values.stream(), window[0], window[1]).toList(),
+          Streams.sliding(values.parallelStream(), window[0], window[1]).toList(),
+          "sliding " + window[0] + "/" + window[1] + " of " + size);
+        //not sized source
+        Assertions.assertEquals(
+          Streams.sliding(values.stream(), window[0], window[1]).toList(),
+          Streams.sliding(values.parallelStream().filter(v -> true), window[0], window[1]).toList(),
+          "sliding, not sized " + window[0] + "/" + window[1] + " of " + size);
+      }
+    }
+  }
+
+  @Test
+  public void chunked_expected() {
+    var chunks = Streams.chunked(IntStream.range(0, 10_000).boxed().toList().parallelStream(), 3)
+      .toList();
+    Assertions.assertEquals(3334, chunks.size());
+    for (int i = 0; i < chunks.size() - 1; i++) {
+      Assertions.assertEquals(List.of(3 * i, 3 * i + 1, 3 * i + 2), chunks.get(i));
+    }
+    Assertions.assertEquals(List.of(9999), chunks.getLast());
+  }
+
+  /**
+   * The same buffer is reused for every chunk, it must be processed synchronously
+   */
+  @Test
+  public void forEachChunk_reusesBuffer() {
+    var sums = new ArrayList<Integer>();
+    var buffers = new ArrayList<List<Integer>>();
+    Streams.forEachChunk(IntStream.range(0, 10).boxed(), 4, chunk -> {
+      sums.add(chunk.stream().mapToInt(Integer::intValue).sum());
+      buffers.add(chunk);
+    });
+    Assertions.assertEquals(List.of(6, 22, 17), sums);
+    Assertions.assertSame(buffers.get(0), buffers.get(2));
+  }
+
+  @Test
+  public void chunked_invalidSize() {
+    var e = Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> Streams.chunked(Stream.of(1), 0));
+    Assertions.assertEquals("Window size and step must be positive, but were 0 and 0", e.getMessage());
+  }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -54,4 +55,49 @@ public class StreamElementIndicesTest {
     //index of the last element (it was started with 1, but not with 0):
     Assertions.assertEquals(3, namesWithIndexes.getLast().index);
   }
+
+  /**
+   * A true stream, the index is attached by a spliterator, but not by a shared counter,
+   *  indices start with 0
+   */
+  @Test
+  public void indexOfElement_in_stream_viaZipWithIndex() {
+    var namesWithIndexes = Streams.zipWithIndex(Stream.of("Alice", "Bob", "Charlie"))
+      .toList();
+    Assertions.assertEquals(
+      List.of(new Indexed<>(0, "Alice"), new Indexed<>(1, "Bob"), new Indexed<>(2, "Charlie")),
+      namesWithIndexes);
+  }
+
+  /**
+   * With `AtomicInteger` in a parallel stream the indices do not match the positions of the elements,
+   *  `zipWithIndex` gives correct indices both for sized sources (list) and not sized sources (filtered stream).
+   */
+  @Test
+  public void indexOfElement_in_parallelStream_viaZipWithIndex() {
+    var values = IntStream.range(0, 100_000).boxed().toList();
+
+    Streams.zipWithIndex(values.parallelStream())
+      .forEach(e -> Assertions.assertEquals(e.index(), (long) e.value()));
+
+    var filtered = Streams.zipWithIndex(values.parallelStream().filter(v -> v % 2 == 0))
+      .toList();
+    Assertions.assertEquals(50_000, filtered.size());
+    filtered.forEach(e -> Assertions.assertEquals(e.index() * 2, (long) e.value()));
+  }
+
+  /**
+   * No `Indexed` wrapper per element, the index is passed as a primitive `long`
+   */
+  @Test
+  public void indexOfElement_in_parallelStream_viaForEachIndexed() {
+    var size = 100_000;
+    var positions = new AtomicLongArray(size);
+    Streams.forEachIndexed(
+      Stream.iterate(0, v -> v + 1).limit(size).parallel(),
+      (index, value) -> positions.set(value, index + 1));
+    for (int i = 0; i < size; i++) {
+      Assertions.assertEquals(i + 1, positions.get(i));
+    }
+  }
 }
@@ -0,0 +1,210 @@
+package com.savdev.streams;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Calling a slow service for every element of a stream, with a limited number of calls at the same time
+ */
+public class StreamMapAsyncTest {
+
+  /**
+   * 40 calls, 10 at the same time: the first 10 calls wait for each other, so they overlap,
+   *  and every one of them waits for the next one to complete, so the results must be reordered
+   */
+  @Test
+  public void mapAsync_ordered() {
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+    var started = new CountDownLatch(10);
+    var completed = new CountDownLatch[40];
+    Arrays.setAll(completed, i -> new CountDownLatch(1));
+
+    var r = Streams.mapAsync(
+        IntStream.range(0, 40).boxed(),
+        i -> {
+          maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+          started.countDown();
+          await(started);
+          //the first calls complete in the reverse order
+          if (i < 9) {
+            await(completed[i + 1]);
+          }
+          inFlight.decrementAndGet();
+          completed[i].countDown();
+          return "r" + i;
+        },
+        10,
+        true)
+      .toList();
+
+    Assertions.assertEquals(IntStream.range(0, 40).mapToObj(i -> "r" + i).toList(), r);
+    Assertions.assertTrue(maxInFlight.get() <= 10, "max in flight " + maxInFlight.get());
+  }
+
+  /**
+   * The first call waits, until another result is received, fast calls overtake it
+   */
+  @Test
+  public void mapAsync_unordered() {
+    var received = new CountDownLatch(1);
+    var r = Streams.mapAsync(
+        IntStream.range(0, 40).boxed(),
+        i -> {
+          if (i == 0) {
+            await(received);
+          }
+          return i;
+        },
+        8,
+        false)
+      .peek(i -> received.countDown())
+      .toList();
+
+    Assertions.assertEquals(40, r.size());
+    Assertions.assertEquals(IntStream.range(0, 40).boxed().toList(), r.stream().sorted().toList());
+    Assertions.assertTrue(r.getFirst() != 0, "first result " + r.getFirst());
+  }
+
+  /**
+   * The exception of a failed call is thrown to the caller, the other calls are cancelled
+   */
+  @Test
+  public void mapAsync_failure() {
+    var e = Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> Streams.mapAsync(
+          Stream.of("1", "2", "x", "4"),
+          Integer::parseInt,
+          2,
+          true)
+        .toList());
+    Assertions.assertEquals("For input string: \"x\"", e.getMessage());
+  }
+
+  /**
+   * A failed call is reported, while the calls before it in the encounter order still run, they are cancelled
+   */
+  @Test
+  public void mapAsync_orderedFailure_cancelsEarlierCalls() {
+    var started = new CountDownLatch(1);
+    var interrupted = new CountDownLatch(1);
+    var e = Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> Streams.mapAsync(
+          Stream.of("1", "x"),
+          s -> {
+            if (s.equals("1")) {
+              started.countDown();
+              blockUntilInterrupted(interrupted);
+            }
+            await(started);
+            return Integer.parseInt(s);
+          },
+          2,
+          true)
+        .toList());
+    Assertions.assertEquals("For input string: \"x\"", e.getMessage());
+    await(interrupted);
+  }
+
+  /**
+   * A failure of the source stream is thrown to the caller, the calls in flight are cancelled
+   */
+  @Test
+  public void mapAsync_sourceFailure_cancels() {
+    var started = new CountDownLatch(5);
+    var interrupted = new CountDownLatch(5);
+    var e = Assertions.assertThrows(
+      IllegalStateException.class,
+      () -> Streams.mapAsync(
+          IntStream.range(0, 100).boxed()
+            .map(i -> {
+              //the submitted calls run, when the source fails
+              if (i == 5) {
+                await(started);
+                throw new IllegalStateException("Source failed");
+              }
+              return i;
+            }),
+          i -> {
+            started.countDown();
+            blockUntilInterrupted(interrupted);
+            return i;
+          },
+          10,
+          true)
+        .toList());
+    Assertions.assertEquals("Source failed", e.getMessage());
+    await(interrupted);
+  }
+
+  /**
+   * Closing the stream, that was not fully consumed, cancels the calls in flight:
+   *  the first result is taken, the other 9 calls are interrupted, none of them completes
+   */
+  @Test
+  public void mapAsync_closeCancels() {
+    var completed = new AtomicInteger();
+    var started = new CountDownLatch(10);
+    var interrupted = new CountDownLatch(9);
+    List<Integer> first;
+    try (var r = Streams.mapAsync(
+      IntStream.range(0, 100).boxed(),
+      i -> {
+        started.countDown();
+        if (i > 0) {
+          blockUntilInterrupted(interrupted);
+        }
+        //the other calls run, when the first result is taken
+        await(started);
+        completed.incrementAndGet();
+        return i;
+      },
+      10,
+      true)) {
+      first = r.limit(1).toList();
+    }
+    await(interrupted);
+    Assertions.assertEquals(List.of(0), first);
+    Assertions.assertEquals(1, completed.get());
+  }
+
+  @Test
+  public void mapAsync_invalidConcurrency() {
+    var e = Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> Streams.mapAsync(Stream.of(1), i -> i, 0, true));
+    Assertions.assertEquals("Max concurrency must be at least 1, but was 0", e.getMessage());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      if (!latch.await(10, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("Timed out, the latch count is " + latch.getCount());
+      }
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Blocks a call, until it is cancelled, counts down the latch, when it is interrupted
+   */
+  private static void blockUntilInterrupted(CountDownLatch interrupted) {
+    try {
+      Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+    } catch (InterruptedException e) {
+      interrupted.countDown();
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -4,6 +4,9 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 
@@ -53,4 +56,57 @@ public class StreamsConcatenationTest {
     Assertions.assertEquals(List.of("a", "b",   "c", "d", "e", "f"), r.toList());
   }
 
+  /**
+   * Many streams to concatenate, including large streams and parallel processing
+   *  `Streams.concat` - a single spliterator over all the streams:
+   *  - no StackOverflowError, unlike `reduce(Stream::concat)`,
+   *  - keeps the exact size and splits in parallel, unlike `flatMap`
+   */
+  @Test
+  public void concat_manyStreams_viaStreamsConcat() {
+    var streams = IntStream.range(0, 100_000)
+      .mapToObj(i -> Stream.of(i))
+      .toList();
+    var r = Streams.concat(streams);
+    Assertions.assertEquals(
+      IntStream.range(0, 100_000).boxed().toList(),
+      r.toList());
+  }
+
+  @Test
+  public void concat_viaStreamsConcat_sizedAndParallel() {
+    var lists = IntStream.range(0, 1000)
+      .mapToObj(i -> IntStream.range(i * 10, i * 10 + 10).boxed().toList())
+      .toList();
+
+    var spliterator = Streams.concat(lists.stream().map(List::stream).toList()).spliterator();
+    Assertions.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+    Assertions.assertEquals(10_000, spliterator.getExactSizeIfKnown());
+
+    //`flatMap` result is not sized:
+    Assertions.assertEquals(
+      -1,
+      lists.stream().flatMap(List::stream).spliterator().getExactSizeIfKnown());
+
+    var r = Streams.concat(lists.stream().map(List::parallelStream).toList())
+      .map(i -> i * 2)
+      .toList();
+    Assertions.assertEquals(
+      IntStream.range(0, 10_000).map(i -> i * 2).boxed().toList(),
+      r);
+  }
+
+  /**
+   * Closing the concatenated stream closes all the source streams
+   */
+  @Test
+  public void concat_viaStreamsConcat_closesAllStreams() {
+    var closed = new AtomicInteger();
+    try (var r = Streams.concat(
+      Stream.of("a", "b").onClose(closed::incrementAndGet),
+      Stream.of("c", "d").onClose(closed::incrementAndGet))) {
+      Assertions.assertEquals(List.of("a", "b",   "c", "d"), r.toList());
+    }
+    Assertions.assertEquals(2, closed.get());
+  }
 }
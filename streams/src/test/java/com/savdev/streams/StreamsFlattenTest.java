@@ -1,9 +1,11 @@
 package com.savdev.streams;
 
+import com.savdev.streams.primitive.PrimitiveStreams;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -40,6 +42,52 @@ public class StreamsFlattenTest {
     );
   }
 
+  /**
+   * The same flattening, but without boxing:
+   *  `mapMulti` passes a sink into the expand function, no list and no stream per element
+   */
+  @Test
+  public void testFlatten_primitive() {
+    var r = PrimitiveStreams.flatten(
+        IntStream.rangeClosed(1, 5),
+        (e, sink) -> {
+          if (e > 1) {
+            int2Ints(e, sink);
+          } else {
+            sink.accept(e);
+          }
+        })
+      .toArray();
+    Assertions.assertArrayEquals(
+      new int[]{1, 11, 12, 11, 12, 13, 11, 12, 13, 14, 11, 12, 13, 14, 15},
+      r);
+  }
+
+  /**
+   * A stream of objects can be collected directly into a primitive array,
+   *  the expand function writes into the array builder
+   */
+  @Test
+  public void testFlatten_intoPrimitiveArray() {
+    var list = List.of(1, 2, 3, 4, 5);
+    var r = list.parallelStream()
+      .collect(PrimitiveStreams.flatteningToIntArray(this::int2Ints));
+    Assertions.assertArrayEquals(
+      list.stream().flatMap(e -> int2List(e).stream()).mapToInt(Integer::intValue).toArray(),
+      r);
+  }
+
+  /**
+   * Converts integer N into elements incremented by 10 from 1 to N and writes them into the sink
+   *
+   * For 5, it writes: 11, 12, 13, 14, 15
+   */
+  private void int2Ints(int i, IntConsumer sink) {
+    for (int v = 1; v <= i; v++) {
+      sink.accept(v + 10);
+    }
+  }
+
   /**
    * Converts integer N into a list of elements incremented by 10 from 1 to N
    *
@@ -0,0 +1,137 @@
+package com.savdev.streams.batch;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Computed fields as parallel arrays of a batch, instead of a wrapper object per element
+ */
+public class ExtendedStreamTest {
+
+  @Test
+  public void fields() {
+    var names = ExtendedStream.builder(Stream.of("Alice", "Bob", "Charlie"));
+    LongField length = names.addLong(c -> c.element().length());
+    DoubleField half = names.addDouble(c -> c.get(length) / 2.0);
+    Field<String> upper = names.add(c -> c.element().toUpperCase());
+
+    Assertions.assertEquals(
+      List.of("ALICE:5:2.5", "BOB:3:1.5", "CHARLIE:7:3.5"),
+      names.build().map(c -> c.get(upper) + ":" + c.get(length) + ":" + c.get(half)).toList());
+  }
+
+  /**
+   * A field after a filter is computed only for the elements, that passed it
+   */
+  @Test
+  public void filter() {
+    var computed = new AtomicInteger();
+    var values = ExtendedStream.builder(IntStream.range(0, 10_000).boxed(), 100);
+    var square = values
+      .filter(c -> c.element() % 10 == 0)
+      .addLong(c -> {
+        computed.incrementAndGet();
+        return (long) c.element() * c.element();
+      });
+    Assertions.assertEquals(
+      IntStream.range(0, 10_000).filter(v -> v % 10 == 0).mapToLong(v -> (long) v * v).sum(),
+      values.build().mapToLong(c -> c.get(square)).sum());
+    Assertions.assertEquals(1_000, computed.get());
+  }
+
+  /**
+   * A stage is immutable, a filter does not change the stage, it is applied to
+   */
+  @Test
+  public void filter_newStage() {
+    var values = ExtendedStream.of(IntStream.range(0, 100).boxed(), 16);
+    var evens = values.filter(c -> c.element() % 2 == 0);
+    evens.filter(c -> c.element() < 10);
+
+    Assertions.assertNotSame(values, evens);
+    Assertions.assertEquals(100, values.count());
+
+    var stages = ExtendedStream.of(IntStream.range(0, 100).boxed(), 16)
+      .filter(c -> c.element() % 2 == 0);
+    stages.filter(c -> c.element() < 10);
+    Assertions.assertEquals(50, stages.count());
+  }
+
+  /**
+   * The fields and filters, declared after `build()`, do not change the stream, that is built already
+   */
+  @Test
+  public void builder_buildCopiesDeclarations() {
+    var builder = ExtendedStream.builder(IntStream.range(0, 100).boxed(), 16);
+    var twice = builder.addLong(c -> 2L * c.element());
+    var built = builder.build();
+    builder.filter(c -> false);
+    builder.addLong(c -> {
+      throw new IllegalStateException("Declared after build");
+    });
+
+    Assertions.assertEquals(9_900, built.mapToLong(c -> c.get(twice)).sum());
+  }
+
+  @Test
+  public void parallel_sameAsSequential() {
+    var values = IntStream.range(0, 100_000).boxed().toList();
+    Assertions.assertEquals(enrich(values.stream()), enrich(values.parallelStream()));
+  }
+
+  private static List<String> enrich(Stream<Integer> source) {
+    var values = ExtendedStream.builder(source);
+    var odd = values.addLong(c -> c.element() % 2);
+    var label = values
+      .filter(c -> c.get(odd) == 0)
+      .add(c -> "even-" + c.element());
+    return values.build().map(c -> c.get(label)).toList();
+  }
+
+  @Test
+  public void count_and_forEach() {
+    var values = ExtendedStream.of(IntStream.range(0, 1_000).boxed(), 64)
+      .filter(c -> c.element() < 100);
+    Assertions.assertEquals(100, values.count());
+
+    var sum = new AtomicInteger();
+    var doubled = ExtendedStream.builder(IntStream.range(0, 1_000).boxed(), 64);
+    var twice = doubled.addLong(c -> 2L * c.element());
+    doubled.build().forEach(c -> sum.addAndGet((int) c.get(twice)));
+    Assertions.assertEquals(999_000, sum.get());
+  }
+
+  @Test
+  public void fieldOfAnotherStream() {
+    var other = ExtendedStream.builder(Stream.of("a")).addLong(c -> 1);
+    var e = Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> ExtendedStream.of(Stream.of("b")).mapToLong(c -> c.get(other)).sum());
+    Assertions.assertEquals("The field belongs to another extended stream", e.getMessage());
+  }
+
+  /**
+   * The builder is not frozen by `build()`, but its later fields are not columns of the stream, built already
+   */
+  @Test
+  public void fieldDeclaredAfterBuild() {
+    var builder = ExtendedStream.builder(Stream.of("a"));
+    var built = builder.build();
+    var length = builder.addLong(c -> c.element().length());
+    var e = Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> built.mapToLong(c -> c.get(length)).sum());
+    Assertions.assertEquals("The field was declared after the extended stream was built", e.getMessage());
+  }
+
+  @Test
+  public void invalidBatchSize() {
+    var e = Assertions.assertThrows(IllegalArgumentException.class, () -> ExtendedStream.builder(Stream.of(1), 0));
+    Assertions.assertEquals("Batch size must be at least 1, but was 0", e.getMessage());
+  }
+}
@@ -0,0 +1,131 @@
+package com.savdev.streams.grouping;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class SpillingCollectorsTest {
+
+  /**
+   * All the groups fit into memory, nothing is spilled, the result is the same as for `Collectors.groupingBy`
+   */
+  @Test
+  public void groupingBy_inMemory() {
+    Map<String, Long> counts = IntStream.range(0, 1000).boxed()
+      .collect(SpillingCollectors.groupingBy(
+        i -> "key" + (i % 10),
+        SpillCodec.STRING,
+        Reducer.counting()));
+    Assertions.assertEquals(10, counts.size());
+    Assertions.assertEquals(100L, counts.get("key3"));
+  }
+
+  /**
+   * Memory budget is 1000 groups for 20000 groups, so the partial states are spilled many times,
+   *  and the partitions of about 1250 groups are spilled again, while they are aggregated.
+   */
+  @Test
+  public void groupingBy_spilled_sameResultAsGroupingBy() {
+    var expected = IntStream.range(0, 100_000).boxed()
+      .collect(Collectors.groupingBy(i -> i % 20_000, Collectors.summingLong(i -> i)));
+
+    Map<Integer, Long> actual = IntStream.range(0, 100_000).boxed()
+      .collect(SpillingCollectors.groupingBy(
+        i -> i % 20_000,
+        SpillCodec.INTEGER,
+        Reducer.summingLong(i -> i),
+        1000));
+
+    Assertions.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void groupingBy_spilled_parallel() {
+    var expected = IntStream.range(0, 100_000).boxed()
+      .collect(Collectors.groupingBy(i -> i % 7777, Collectors.summarizingLong(i -> i)));
+
+    Map<Integer, Long> min = IntStream.range(0, 100_000).boxed()
+      .parallel()
+      .collect(SpillingCollectors.groupingBy(i -> i % 7777, SpillCodec.INTEGER, Reducer.minLong(i -> i), 1000));
+    Map<Integer, Long> max = IntStream.range(0, 100_000).boxed()
+      .parallel()
+      .collect(SpillingCollectors.groupingBy(i -> i % 7777, SpillCodec.INTEGER, Reducer.maxLong(i -> i), 1000));
+
+    Assertions.assertEquals(7777, min.size());
+    expected.forEach((key, stats) -> {
+      Assertions.assertEquals(stats.getMin(), min.get(key));
+      Assertions.assertEquals(stats.getMax(), max.get(key));
+    });
+  }
+
+  /**
+   * The result is not collected into a map, groups are passed to a consumer,
+   *  spill files and directories are deleted at the end
+   */
+  @Test
+  public void groupingBy_intoSink_spillFilesDeleted() throws IOException {
+    var directory = Files.createTempDirectory("spilling-test");
+    var sums = new HashMap<Long, Double>();
+
+    long groups = IntStream.range(0, 10_000).boxed()
+      .collect(SpillingCollectors.groupingBy(
+        i -> (long) (i % 3000),
+        SpillCodec.LONG,
+        Reducer.summingDouble(i -> 0.5),
+        1000,
+        directory,
+        sums::put));
+
+    Assertions.assertEquals(3000, groups);
+    Assertions.assertEquals(3000, sums.size());
+    //1, 3001, 6001 and 9001
+    Assertions.assertEquals(2.0, sums.get(1L));
+    try (var files = Files.list(directory)) {
+      Assertions.assertEquals(0, files.count());
+    }
+    Files.delete(directory);
+  }
+
+  /**
+   * The failure of the sink is thrown as is, the spill files, which were not read yet, are deleted
+   */
+  @Test
+  public void groupingBy_sinkFails_spillFilesDeleted() throws IOException {
+    var directory = Files.createTempDirectory("spilling-test");
+
+    var e = Assertions.assertThrows(
+      IllegalStateException.class,
+      () -> IntStream.range(0, 10_000).boxed()
+        .collect(SpillingCollectors.groupingBy(
+          i -> i % 3000,
+          SpillCodec.INTEGER,
+          Reducer.counting(),
+          1000,
+          directory,
+          (key, count) -> {
+            throw new IllegalStateException("Sink failed");
+          })));
+
+    Assertions.assertEquals("Sink failed", e.getMessage());
+    Assertions.assertEquals(0, e.getSuppressed().length);
+    try (var files = Files.list(directory)) {
+      Assertions.assertEquals(0, files.count());
+    }
+    Files.delete(directory);
+  }
+
+  @Test
+  public void groupingBy_invalidMemoryBudget() {
+    var e = Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> IntStream.range(0, 10).boxed()
+        .collect(SpillingCollectors.groupingBy(i -> i, SpillCodec.INTEGER, Reducer.counting(), 0)));
+    Assertions.assertEquals("Memory budget must be at least one group, but was 0", e.getMessage());
+  }
+}
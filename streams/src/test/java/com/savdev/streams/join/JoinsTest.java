@@ -0,0 +1,149 @@
+package com.savdev.streams.join;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Joining employees with departments, instead of collecting departments into a `Map` and looking up on one thread
+ */
+public class JoinsTest {
+
+  record Department(long id, String name) {}
+
+  record Employee(String name, long departmentId) {}
+
+  static final List<Department> DEPARTMENTS = List.of(
+    new Department(1, "IT"),
+    new Department(2, "Sales"),
+    new Department(2, "Sales Berlin"),
+    new Department(4, "HR"));
+
+  static final List<Employee> EMPLOYEES = List.of(
+    new Employee("Alice", 1),
+    new Employee("Bob", 2),
+    new Employee("Charlie", 3),
+    new Employee("Dave", 4));
+
+  @Test
+  public void hashJoin() {
+    var departments = HashJoin.build(DEPARTMENTS.stream(), Department::id);
+    Assertions.assertEquals(4, departments.size());
+
+    Assertions.assertEquals(
+      List.of("Alice:IT", "Bob:Sales", "Bob:Sales Berlin", "Dave:HR"),
+      departments.inner(EMPLOYEES.stream(), Employee::departmentId)
+        .map(j -> j.left().name() + ":" + j.right().name())
+        .toList());
+
+    Assertions.assertEquals(
+      List.of("Alice:IT", "Bob:Sales", "Bob:Sales Berlin", "Charlie:null", "Dave:HR"),
+      departments.leftOuter(EMPLOYEES.stream(), Employee::departmentId)
+        .map(j -> j.left().name() + ":" + (j.right() == null ? null : j.right().name()))
+        .toList());
+
+    Assertions.assertEquals(
+      List.of("Alice", "Bob", "Dave"),
+      departments.semi(EMPLOYEES.stream(), Employee::departmentId)
+        .map(Employee::name)
+        .toList());
+  }
+
+  @Test
+  public void sortMergeJoin() {
+    Assertions.assertEquals(
+      List.of("Alice:IT", "Bob:Sales", "Bob:Sales Berlin", "Dave:HR"),
+      SortMergeJoin.inner(
+          EMPLOYEES.stream(), Employee::departmentId,
+          DEPARTMENTS.stream(), Department::id,
+          Comparator.naturalOrder())
+        .map(j -> j.left().name() + ":" + j.right().name())
+        .toList());
+
+    Assertions.assertEquals(
+      List.of("Alice:IT", "Bob:Sales", "Bob:Sales Berlin", "Charlie:null", "Dave:HR"),
+      SortMergeJoin.leftOuter(
+          EMPLOYEES.stream(), Employee::departmentId,
+          DEPARTMENTS.stream(), Department::id,
+          Comparator.naturalOrder())
+        .map(j -> j.left().name() + ":" + (j.right() == null ? null : j.right().name()))
+        .toList());
+
+    Assertions.assertEquals(
+      List.of("Alice", "Bob", "Dave"),
+      SortMergeJoin.semi(
+          EMPLOYEES.stream(), Employee::departmentId,
+          DEPARTMENTS.stream(), Department::id,
+          Comparator.naturalOrder())
+        .map(Employee::name)
+        .toList());
+  }
+
+  /**
+   * Both joins return the same pairs as a nested loop, with duplicated keys on both sides
+   */
+  @Test
+  public void sameAsNestedLoop() {
+    var left = IntStream.range(0, 20_000).map(i -> i / 3 * 2).boxed().toList();
+    var right = IntStream.range(0, 10_000).map(i -> i / 2 * 3).boxed().toList();
+    var rightCounts = right.stream().collect(Collectors.groupingBy(r -> r, Collectors.counting()));
+    long expectedPairs = left.stream().mapToLong(l -> rightCounts.getOrDefault(l, 0L)).sum();
+    long unmatched = left.stream().filter(l -> !rightCounts.containsKey(l)).count();
+
+    var table = HashJoin.build(right.parallelStream(), r -> r);
+    Assertions.assertEquals(expectedPairs, table.inner(left.parallelStream(), l -> l).count());
+    Assertions.assertEquals(expectedPairs + unmatched, table.leftOuter(left.parallelStream(), l -> l).count());
+    Assertions.assertEquals(left.size() - unmatched, table.semi(left.parallelStream(), l -> l).count());
+    Assertions.assertTrue(table.inner(left.stream(), l -> l).allMatch(j -> j.left().equals(j.right())));
+
+    Assertions.assertEquals(
+      table.inner(left.stream(), l -> l).toList(),
+      SortMergeJoin.inner(left.stream(), l -> l, right.stream(), r -> r, Comparator.<Integer>naturalOrder()).toList());
+    Assertions.assertEquals(
+      table.leftOuter(left.stream(), l -> l).toList(),
+      SortMergeJoin.leftOuter(left.stream(), l -> l, right.stream(), r -> r, Comparator.<Integer>naturalOrder()).toList());
+    Assertions.assertEquals(
+      table.semi(left.stream(), l -> l).toList(),
+      SortMergeJoin.semi(left.stream(), l -> l, right.stream(), r -> r, Comparator.<Integer>naturalOrder()).toList());
+  }
+
+  @Test
+  public void nullKeys_neverMatch() {
+    var table = HashJoin.build(Stream.of("a", "b"), s -> s.equals("b") ? null : s);
+    Assertions.assertEquals(1, table.size());
+    Assertions.assertEquals(
+      List.of(new Joined<>("a", "a")),
+      table.inner(Stream.of("a", "b"), s -> s.equals("b") ? null : s).toList());
+  }
+
+  @Test
+  public void sortMergeJoin_notSorted() {
+    var joined = SortMergeJoin.inner(
+      Stream.of(1, 3, 2), l -> l,
+      Stream.of(1, 2, 3), r -> r,
+      Comparator.<Integer>naturalOrder());
+    var e = Assertions.assertThrows(IllegalStateException.class, joined::toList);
+    Assertions.assertEquals("Left input is not sorted by the key: 2 is after 3", e.getMessage());
+  }
+
+  /**
+   * Inputs are closed with the joined stream
+   */
+  @Test
+  public void sortMergeJoin_closesInputs() {
+    var closed = new AtomicInteger();
+    try (var joined = SortMergeJoin.inner(
+      Stream.of(1).onClose(closed::incrementAndGet), l -> l,
+      Stream.of(1).onClose(closed::incrementAndGet), r -> r,
+      Comparator.<Integer>naturalOrder())) {
+      Assertions.assertEquals(List.of(new Joined<>(1, 1)), joined.toList());
+    }
+    Assertions.assertEquals(2, closed.get());
+  }
+}
@@ -0,0 +1,105 @@
+package com.savdev.streams.profile;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Which stage of a pipeline is slow, and which one allocates
+ */
+public class PipelineProfilerTest {
+
+  @Test
+  public void counts() {
+    var profiler = PipelineProfiler.create("numbers");
+    var result = profiler.profile(IntStream.range(0, 10_000).boxed())
+      .filter("even", v -> v % 2 == 0)
+      .map("square", v -> (long) v * v)
+      .flatMap("twice", v -> Stream.of(v, v))
+      .stream()
+      .toList();
+    Assertions.assertEquals(10_000, result.size());
+
+    var report = profiler.report();
+    Assertions.assertEquals(List.of("even", "square", "twice"), report.stages().stream().map(StageReport::stage).toList());
+    Assertions.assertEquals(10_000, report.stage("even").elementsIn());
+    Assertions.assertEquals(5_000, report.stage("even").elementsOut());
+    Assertions.assertEquals(5_000, report.stage("square").elementsOut());
+    Assertions.assertEquals(10_000, report.stage("twice").elementsOut());
+  }
+
+  @Test
+  public void slowest_and_allocating() {
+    var profiler = PipelineProfiler.create("slow", 1);
+    profiler.profile(IntStream.range(0, 2_000).boxed().parallel())
+      .map("fast", v -> v + 1)
+      .map("slow", PipelineProfilerTest::spin)
+      .map("allocating", v -> new long[128])
+      .stream()
+      .forEach(v -> {});
+
+    var report = profiler.report();
+    Assertions.assertEquals("slow", report.slowest().stage());
+    Assertions.assertEquals(2_000, report.stage("slow").sampled());
+    Assertions.assertTrue(report.stage("allocating").bytesPerElement() >= 128 * 8,
+      "allocated: " + report.stage("allocating").bytesPerElement());
+    Assertions.assertTrue(report.stage("fast").bytesPerElement() < 128, report.toString());
+    Assertions.assertTrue(report.toString().startsWith("Pipeline 'slow', every 1 element sampled"));
+  }
+
+  @Test
+  public void jfrEvents() throws Exception {
+    var file = Files.createTempFile("profiler", ".jfr");
+    try (var recording = new Recording()) {
+      recording.enable("com.savdev.streams.StageSummary");
+      recording.enable("com.savdev.streams.StageSample").withoutThreshold();
+      recording.start();
+      var profiler = PipelineProfiler.create("jfr", 10);
+      profiler.profile(IntStream.range(0, 1_000).boxed())
+        .map("inc", v -> v + 1)
+        .stream()
+        .forEach(v -> {});
+      profiler.report();
+      recording.stop();
+      recording.dump(file);
+
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      var summary = events.stream()
+        .filter(e -> e.getEventType().getName().equals("com.savdev.streams.StageSummary"))
+        .toList();
+      Assertions.assertEquals(1, summary.size());
+      Assertions.assertEquals("inc", summary.getFirst().getString("stage"));
+      Assertions.assertEquals(1_000, summary.getFirst().getLong("elementsIn"));
+      Assertions.assertTrue(events.stream()
+        .anyMatch(e -> e.getEventType().getName().equals("com.savdev.streams.StageSample")));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void invalid() {
+    var e = Assertions.assertThrows(IllegalArgumentException.class, () -> PipelineProfiler.create("p", 0));
+    Assertions.assertEquals("Sample rate must be at least 1, but was 0", e.getMessage());
+
+    var profiler = PipelineProfiler.create("p");
+    var stream = profiler.profile(Stream.of(1)).map("inc", v -> v + 1);
+    e = Assertions.assertThrows(IllegalArgumentException.class, () -> stream.map("inc", v -> v + 1));
+    Assertions.assertEquals("Stage 'inc' is already declared", e.getMessage());
+  }
+
+  private static int spin(int value) {
+    long end = System.nanoTime() + 20_000;
+    while (System.nanoTime() < end) {
+      Thread.onSpinWait();
+    }
+    return value;
+  }
+}
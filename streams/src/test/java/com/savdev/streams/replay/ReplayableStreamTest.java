@@ -0,0 +1,136 @@
+package com.savdev.streams.replay;
+
+import com.savdev.streams.grouping.SpillCodec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A stream can be traversed only once, a replayable stream pulls from the upstream once,
+ *  but can be traversed many times, without collecting it into a `List` first
+ */
+public class ReplayableStreamTest {
+
+  @Test
+  public void replay() {
+    var pulled = new AtomicInteger();
+    try (var names = ReplayableStream.of(Stream.of("Alice", "Bob", "Charlie").peek(n -> pulled.incrementAndGet()))) {
+      //size first, processing next
+      long size = names.stream().count();
+      var indexed = names.stream()
+        .map(name -> name + " of " + size)
+        .toList();
+      Assertions.assertEquals(List.of("Alice of 3", "Bob of 3", "Charlie of 3"), indexed);
+      Assertions.assertEquals(3, pulled.get());
+    }
+  }
+
+  /**
+   * Only the elements, that were requested, are pulled
+   */
+  @Test
+  public void lazy() {
+    var pulled = new AtomicInteger();
+    try (var values = ReplayableStream.of(IntStream.range(0, 10_000).boxed().peek(v -> pulled.incrementAndGet()))) {
+      Assertions.assertEquals(List.of(0, 1, 2), values.stream().limit(3).toList());
+      Assertions.assertEquals(3, values.cachedSize());
+      Assertions.assertFalse(values.isComplete());
+
+      Assertions.assertEquals(49_995_000L, values.stream().mapToLong(Integer::longValue).sum());
+      Assertions.assertEquals(10_000, pulled.get());
+      Assertions.assertTrue(values.isComplete());
+    }
+  }
+
+  @Test
+  public void concurrentTraversals() throws Exception {
+    var pulled = new AtomicInteger();
+    var expected = IntStream.range(0, 100_000).boxed().toList();
+    try (var values = ReplayableStream.of(expected.stream().peek(v -> pulled.incrementAndGet()));
+         var executor = Executors.newFixedThreadPool(8)) {
+      var traversals = new ArrayList<Future<List<Integer>>>();
+      for (int i = 0; i < 8; i++) {
+        traversals.add(executor.submit(() -> values.stream().toList()));
+      }
+      for (Future<List<Integer>> traversal : traversals) {
+        Assertions.assertEquals(expected, traversal.get());
+      }
+      Assertions.assertEquals(100_000, pulled.get());
+
+      //a complete cache is replayed in parallel
+      Assertions.assertEquals(expected, values.stream().parallel().toList());
+    }
+  }
+
+  @Test
+  public void spill() throws IOException {
+    var directory = Files.createTempDirectory("replay-test");
+    var expected = IntStream.range(0, 10_000).mapToObj(i -> "value-" + i).toList();
+    try (var values = ReplayableStream.of(expected.stream(), SpillCodec.STRING, 2_048, directory)) {
+      Assertions.assertEquals(expected, values.stream().toList());
+      Assertions.assertTrue(values.isSpilled());
+      Assertions.assertEquals(expected, values.stream().toList());
+      Assertions.assertEquals(expected, values.stream().parallel().toList());
+      try (var files = Files.list(directory)) {
+        Assertions.assertEquals(1, files.count());
+      }
+    }
+    try (var files = Files.list(directory)) {
+      Assertions.assertEquals(0, files.count());
+    }
+    Files.delete(directory);
+  }
+
+  /**
+   * The failure of the upstream is thrown, when the stream is closed, the spill file is deleted anyway
+   */
+  @Test
+  public void close_upstreamFails_spillFileDeleted() throws IOException {
+    var directory = Files.createTempDirectory("replay-test");
+    var values = ReplayableStream.of(
+      IntStream.range(0, 10_000).mapToObj(i -> "value-" + i).onClose(() -> {
+        throw new IllegalStateException("Upstream failed");
+      }),
+      SpillCodec.STRING,
+      2_048,
+      directory);
+    //not exhausted, the upstream is closed only with the replayable stream
+    Assertions.assertEquals(5_000, values.stream().limit(5_000).count());
+    Assertions.assertTrue(values.isSpilled());
+
+    var e = Assertions.assertThrows(IllegalStateException.class, values::close);
+    Assertions.assertEquals("Upstream failed", e.getMessage());
+    try (var files = Files.list(directory)) {
+      Assertions.assertEquals(0, files.count());
+    }
+    Files.delete(directory);
+  }
+
+  @Test
+  public void upstreamClosed_whenExhausted() {
+    var closed = new AtomicBoolean();
+    var values = ReplayableStream.of(Stream.of(1, 2).onClose(() -> closed.set(true)));
+    values.stream().findFirst();
+    Assertions.assertFalse(closed.get());
+    values.stream().forEach(v -> {});
+    Assertions.assertTrue(closed.get());
+  }
+
+  @Test
+  public void invalidMemoryBudget() {
+    var e = Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> ReplayableStream.of(Stream.of("a"), SpillCodec.STRING, 0, null));
+    Assertions.assertEquals("Memory budget must be at least one element, but was 0", e.getMessage());
+  }
+}
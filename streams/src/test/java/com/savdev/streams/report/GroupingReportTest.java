@@ -0,0 +1,117 @@
+package com.savdev.streams.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Statistics report over nested groups: country -> valid/failed
+ */
+public class GroupingReportTest {
+
+  record Order(String country, boolean failed, double amount, long items) {}
+
+  static final List<Order> ORDERS = List.of(
+    new Order("DE", false, 10.0, 1),
+    new Order("US", false, 20.0, 2),
+    new Order("DE", true, 30.0, 3),
+    new Order("DE", false, 50.0, 4));
+
+  static final GroupingReport<Order> REPORT = GroupingReport.<Order>builder()
+    .groupBy("country", Order::country)
+    .groupBy("status", o -> o.failed() ? "failed" : "valid")
+    .doubleStats("amount", Order::amount)
+    .longStats("items", Order::items)
+    .build();
+
+  @Test
+  public void report() {
+    var root = REPORT.run(ORDERS.stream());
+
+    Assertions.assertEquals(4, root.count());
+    Assertions.assertEquals(new DoubleStats(110.0, 10.0, 50.0, 27.5, Map.of()), root.metric("amount"));
+    Assertions.assertEquals(new LongStats(10, 1, 4, 2.5, Map.of()), root.metric("items"));
+
+    var de = root.child("DE");
+    Assertions.assertEquals("country", de.group());
+    Assertions.assertEquals(3, de.count());
+    Assertions.assertEquals(List.of("valid", "failed"), de.children().stream().map(ReportNode::key).toList());
+
+    var deValid = de.child("valid");
+    Assertions.assertEquals("status", deValid.group());
+    Assertions.assertEquals(new DoubleStats(60.0, 10.0, 50.0, 30.0, Map.of()), deValid.metric("amount"));
+    Assertions.assertEquals(List.of(), deValid.children());
+
+    Assertions.assertEquals(1, root.child("US").child("valid").count());
+    Assertions.assertNull(root.child("US").child("failed"));
+  }
+
+  @Test
+  public void percentiles() {
+    var root = GroupingReport.<Integer>builder()
+      .groupBy("parity", v -> v % 2 == 0 ? "even" : "odd")
+      .longStats("value", Integer::longValue, 0.5, 0.99, 0.999)
+      .build()
+      .run(IntStream.rangeClosed(1, 100_000).boxed());
+
+    var even = (LongStats) root.child("even").metric("value");
+    Assertions.assertEquals(List.of("p50", "p99", "p99.9"), List.copyOf(even.percentiles().keySet()));
+    Assertions.assertEquals(50_000, even.percentiles().get("p50"), 1_000);
+    Assertions.assertEquals(99_000, even.percentiles().get("p99"), 1_000);
+
+    //the root percentiles are merged from the groups
+    var all = (LongStats) root.metric("value");
+    Assertions.assertEquals(50_000, all.percentiles().get("p50"), 1_000);
+    Assertions.assertEquals(5_000_050_000L, all.sum());
+  }
+
+  /**
+   * Every thread collects its own tree, the trees are merged, groups keep the encounter order
+   */
+  @Test
+  public void parallel_sameAsSequential() {
+    var orders = IntStream.range(0, 100_000)
+      .mapToObj(i -> new Order("C" + i % 13, i % 7 == 0, i % 100, i % 5))
+      .toList();
+    Assertions.assertEquals(REPORT.run(orders.stream()), REPORT.run(orders.parallelStream()));
+  }
+
+  @Test
+  public void empty() {
+    var root = REPORT.run(ORDERS.stream().filter(o -> false));
+    Assertions.assertEquals(new ReportNode(null, null, 0, Map.of(), List.of()), root);
+  }
+
+  /**
+   * Empty fields are not serialized
+   */
+  @Test
+  public void json() throws Exception {
+    var json = new ObjectMapper().writeValueAsString(REPORT.run(ORDERS.stream().filter(o -> o.country().equals("US"))));
+    Assertions.assertEquals(
+      "{\"count\":1,"
+        + "\"metrics\":{\"amount\":{\"sum\":20.0,\"min\":20.0,\"max\":20.0,\"mean\":20.0},\"items\":{\"sum\":2,\"min\":2,\"max\":2,\"mean\":2.0}},"
+        + "\"children\":[{\"group\":\"country\",\"key\":\"US\",\"count\":1,"
+        + "\"metrics\":{\"amount\":{\"sum\":20.0,\"min\":20.0,\"max\":20.0,\"mean\":20.0},\"items\":{\"sum\":2,\"min\":2,\"max\":2,\"mean\":2.0}},"
+        + "\"children\":[{\"group\":\"status\",\"key\":\"valid\",\"count\":1,"
+        + "\"metrics\":{\"amount\":{\"sum\":20.0,\"min\":20.0,\"max\":20.0,\"mean\":20.0},\"items\":{\"sum\":2,\"min\":2,\"max\":2,\"mean\":2.0}}}]}]}",
+      json);
+  }
+
+  @Test
+  public void invalid() {
+    var builder = GroupingReport.<Order>builder().doubleStats("amount", Order::amount);
+    var e = Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> builder.longStats("amount", Order::items));
+    Assertions.assertEquals("Metric 'amount' is already declared", e.getMessage());
+    e = Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> builder.longStats("items", Order::items, 99));
+    Assertions.assertEquals("Percentile must be from 0 to 1, but was 99.0", e.getMessage());
+  }
+}
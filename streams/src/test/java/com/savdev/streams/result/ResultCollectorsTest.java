@@ -0,0 +1,103 @@
+package com.savdev.streams.result;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A batch is not aborted on the first failure, successes and failures are collected separately
+ */
+public class ResultCollectorsTest {
+
+  @Test
+  public void partitioning() {
+    var batch = Stream.of("1", "x", "3", "y")
+      .map(s -> Result.attempt(s, Integer::parseInt))
+      .collect(ResultCollectors.partitioning(10));
+    Assertions.assertEquals(List.of(1, 3), batch.successes());
+    Assertions.assertEquals(2, batch.successCount());
+    Assertions.assertEquals(2, batch.failureCount());
+    Assertions.assertEquals(
+      List.of("For input string: \"x\"", "For input string: \"y\""),
+      batch.errors().stream().map(Exception::getMessage).toList());
+  }
+
+  @Test
+  public void mapping() {
+    var batch = Stream.of("1", "x", "3", "y")
+      .collect(ResultCollectors.mapping(
+        Integer::parseInt,
+        (s, e) -> "cannot parse " + s,
+        Collectors.summingInt(Integer::intValue),
+        10));
+    Assertions.assertEquals(4, batch.successes());
+    Assertions.assertEquals(List.of("cannot parse x", "cannot parse y"), batch.errors());
+    Assertions.assertTrue(batch.hasFailures());
+  }
+
+  @Test
+  public void result_map() {
+    Result<Integer, String> success = Result.success(2);
+    Result<Integer, String> failure = Result.failure("invalid");
+    Assertions.assertEquals(Result.success(4), success.map(v -> v * 2));
+    Assertions.assertEquals(Result.failure("invalid"), failure.map(v -> v * 2));
+    Assertions.assertTrue(success.isSuccess());
+    Assertions.assertFalse(failure.isSuccess());
+  }
+
+  /**
+   * All the failures are counted, but only the first `maxErrors` are kept
+   */
+  @Test
+  public void maxErrors() {
+    var batch = IntStream.range(0, 1_000).boxed()
+      .collect(ResultCollectors.mapping(
+        ResultCollectorsTest::failOdd,
+        (v, e) -> v,
+        Collectors.counting(),
+        3));
+    Assertions.assertEquals(500L, batch.successes());
+    Assertions.assertEquals(500, batch.failureCount());
+    Assertions.assertEquals(List.of(1, 3, 5), batch.errors());
+
+    var countOnly = IntStream.range(0, 10).boxed()
+      .collect(ResultCollectors.mapping(ResultCollectorsTest::failOdd, (v, e) -> v, Collectors.counting(), 0));
+    Assertions.assertEquals(5, countOnly.failureCount());
+    Assertions.assertEquals(List.of(), countOnly.errors());
+  }
+
+  /**
+   * The errors of the parallel parts are linked in the encounter order, the cap still applies
+   */
+  @Test
+  public void parallel_sameAsSequential() {
+    var values = IntStream.range(0, 100_000).boxed().toList();
+    for (int maxErrors : List.of(0, 1, 7, 1_000, 100_000)) {
+      var sequential = values.stream()
+        .collect(ResultCollectors.mapping(ResultCollectorsTest::failOdd, (v, e) -> v, Collectors.toList(), maxErrors));
+      var parallel = values.parallelStream()
+        .collect(ResultCollectors.mapping(ResultCollectorsTest::failOdd, (v, e) -> v, Collectors.toList(), maxErrors));
+      Assertions.assertEquals(sequential, parallel, "max errors: " + maxErrors);
+      Assertions.assertEquals(Math.min(maxErrors, 50_000), parallel.errors().size());
+    }
+  }
+
+  @Test
+  public void maxErrors_negative() {
+    var e = Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> ResultCollectors.partitioning(-1));
+    Assertions.assertEquals("Max errors must not be negative, but was -1", e.getMessage());
+  }
+
+  private static int failOdd(int value) throws Exception {
+    if (value % 2 != 0) {
+      throw new Exception("odd value: " + value);
+    }
+    return value;
+  }
+}
@@ -0,0 +1,76 @@
+package com.savdev.streams.stats;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Approximate quantiles in a fixed memory, the rank error of the default sketch is about 1%
+ */
+public class QuantileSketchTest {
+
+  @Test
+  public void quantiles() {
+    var sketch = new QuantileSketch();
+    var values = new Random(42).doubles(1_000_000, 0, 1_000).toArray();
+    for (double v : values) {
+      sketch.add(v);
+    }
+    Arrays.sort(values);
+    for (double q : new double[]{0.01, 0.25, 0.5, 0.9, 0.99}) {
+      double exact = values[(int) (q * values.length)];
+      //rank error, but not value error
+      Assertions.assertEquals(q, rankOf(values, sketch.quantile(q)), 0.02, "q = " + q);
+      Assertions.assertEquals(exact, sketch.quantile(q), 20, "q = " + q);
+    }
+    Assertions.assertEquals(values[0], sketch.quantile(0));
+    Assertions.assertEquals(values[values.length - 1], sketch.quantile(1));
+    Assertions.assertEquals(1_000_000, sketch.count());
+    Assertions.assertTrue(sketch.retained() < 4 * QuantileSketch.DEFAULT_K, "retained: " + sketch.retained());
+  }
+
+  @Test
+  public void merge() {
+    var values = new Random(7).doubles(200_000).map(v -> v * v).toArray();
+    var merged = new QuantileSketch();
+    for (int part = 0; part < 8; part++) {
+      var sketch = new QuantileSketch();
+      for (int i = part; i < values.length; i += 8) {
+        sketch.add(values[i]);
+      }
+      merged.merge(sketch);
+    }
+    Arrays.sort(values);
+    Assertions.assertEquals(values.length, merged.count());
+    for (double q : new double[]{0.1, 0.5, 0.99}) {
+      Assertions.assertEquals(q, rankOf(values, merged.quantile(q)), 0.02, "q = " + q);
+      Assertions.assertEquals(q, merged.rank(merged.quantile(q)), 0.02, "q = " + q);
+    }
+  }
+
+  @Test
+  public void small_exact() {
+    var sketch = new QuantileSketch();
+    for (int i = 100; i >= 1; i--) {
+      sketch.add(i);
+    }
+    Assertions.assertEquals(50.0, sketch.quantile(0.5));
+    Assertions.assertEquals(99.0, sketch.quantile(0.99));
+    Assertions.assertTrue(Double.isNaN(new QuantileSketch().quantile(0.5)));
+  }
+
+  @Test
+  public void invalid() {
+    var e = Assertions.assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(2));
+    Assertions.assertEquals("Sketch size must be at least 8, but was 2", e.getMessage());
+    e = Assertions.assertThrows(IllegalArgumentException.class, () -> new QuantileSketch().quantile(1.5));
+    Assertions.assertEquals("Quantile must be from 0 to 1, but was 1.5", e.getMessage());
+  }
+
+  private static double rankOf(double[] sorted, double value) {
+    int index = Arrays.binarySearch(sorted, value);
+    return (double) (index < 0 ? -index - 1 : index) / sorted.length;
+  }
+}
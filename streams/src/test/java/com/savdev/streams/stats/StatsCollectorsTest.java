@@ -0,0 +1,104 @@
+package com.savdev.streams.stats;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Top-K and percentiles, without `sorted()`, that keeps all the elements in memory
+ */
+public class StatsCollectorsTest {
+
+  @Test
+  public void topK() {
+    var top = IntStream.of(5, 1, 9, 3, 7, 9).boxed()
+      .collect(StatsCollectors.topK(3, Comparator.naturalOrder()));
+    Assertions.assertEquals(List.of(9, 9, 7), top);
+
+    var shortest = List.of("ccc", "a", "bb", "dddd").stream()
+      .collect(StatsCollectors.bottomK(2, Comparator.comparingInt(String::length)));
+    Assertions.assertEquals(List.of("a", "bb"), shortest);
+
+    //less elements than k
+    Assertions.assertEquals(List.of(2, 1), IntStream.of(1, 2).boxed()
+      .collect(StatsCollectors.topK(100, Comparator.naturalOrder())));
+  }
+
+  @Test
+  public void topK_parallel_sameAsSorted() {
+    var values = new Random(1).ints(1_000_000).boxed().toList();
+    var expected = values.stream()
+      .sorted(Comparator.reverseOrder())
+      .limit(100)
+      .toList();
+    Assertions.assertEquals(expected, values.parallelStream()
+      .collect(StatsCollectors.topK(100, Comparator.naturalOrder())));
+  }
+
+  @Test
+  public void quantiles() {
+    var sketch = LongStream.rangeClosed(1, 1_000_000).boxed().parallel()
+      .collect(StatsCollectors.quantiles(Long::doubleValue));
+    Assertions.assertEquals(1_000_000, sketch.count());
+    Assertions.assertEquals(500_000, sketch.quantile(0.5), 10_000);
+    Assertions.assertEquals(990_000, sketch.quantile(0.99), 10_000);
+    Assertions.assertEquals(1.0, sketch.min());
+    Assertions.assertEquals(1_000_000.0, sketch.max());
+
+    var primitive = StatsCollectors.quantiles(new Random(3).doubles(100_000).parallel());
+    Assertions.assertEquals(0.5, primitive.quantile(0.5), 0.01);
+  }
+
+  /**
+   * The values of `StreamTopKAndQuantilesBenchmark`: the real rank of a returned quantile
+   *  differs from the requested one by less than 1%, sequential and parallel
+   */
+  @Test
+  public void quantiles_rankError() {
+    for (int size : new int[]{10_000, 1_000_000}) {
+      var values = new Random(42).doubles(size).map(v -> v * v * 1_000).boxed().toList();
+      var sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+      for (var sketch : List.of(
+        values.stream().collect(StatsCollectors.quantiles(Double::doubleValue)),
+        values.parallelStream().collect(StatsCollectors.quantiles(Double::doubleValue)))) {
+        for (double q : new double[]{0.5, 0.99}) {
+          Assertions.assertTrue(rankError(sorted, sketch, q) < 0.01,
+            size + " values, q " + q + ": rank error " + rankError(sorted, sketch, q));
+        }
+      }
+    }
+  }
+
+  private static double rankError(double[] sorted, QuantileSketch sketch, double q) {
+    int index = Arrays.binarySearch(sorted, sketch.quantile(q));
+    return Math.abs((double) (index < 0 ? -index - 1 : index) / sorted.length - q);
+  }
+
+  /**
+   * Groups with a sketch per group, instead of lists of all the values
+   */
+  @Test
+  public void quantiles_perGroup() {
+    var p99 = IntStream.range(0, 100_000).boxed()
+      .collect(Collectors.groupingBy(
+        v -> v % 2 == 0 ? "even" : "odd",
+        Collectors.collectingAndThen(StatsCollectors.quantiles(Integer::doubleValue), s -> s.quantile(0.99))));
+    Assertions.assertEquals(99_000, p99.get("even"), 1_000);
+    Assertions.assertEquals(99_000, p99.get("odd"), 1_000);
+  }
+
+  @Test
+  public void invalid() {
+    var e = Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> StatsCollectors.topK(0, Comparator.<Integer>naturalOrder()));
+    Assertions.assertEquals("K must be at least 1, but was 0", e.getMessage());
+  }
+}